@@ -1,6 +1,10 @@
 package com.ecommerce.admin.common.config;
 
 import com.ecommerce.admin.common.filter.ContentCachingFilter;
+import com.ecommerce.admin.common.filter.ContentCapturePolicy;
+import com.ecommerce.admin.common.filter.RequestTimingFilter;
+import com.ecommerce.admin.common.metrics.HandlerLatencyRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,8 +20,28 @@ import org.springframework.web.filter.CorsFilter;
 @Configuration
 public class FilterConfig {
 
+    @Autowired
+    private ContentCapturePolicy contentCapturePolicy;
+
+    @Autowired
+    private HandlerLatencyRegistry handlerLatencyRegistry;
+
     /**
-     * 1. 跨域过滤器 (优先级最高)
+     * 0. 请求计时过滤器 (最外层)
+     * 记录请求各阶段耗时，需包住其余所有过滤器
+     */
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter() {
+        FilterRegistrationBean<RequestTimingFilter> bean = new FilterRegistrationBean<>();
+        bean.setFilter(new RequestTimingFilter(handlerLatencyRegistry));
+        bean.addUrlPatterns("/*");
+        // 设置最高优先级: Integer.MIN_VALUE
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return bean;
+    }
+
+    /**
+     * 1. 跨域过滤器 (计时过滤器之后优先级最高)
      * 解决前后端分离架构下的跨域请求问题
      */
     @Bean
@@ -37,8 +61,8 @@ public class FilterConfig {
         
         // 使用 FilterRegistrationBean 包装 CorsFilter
         FilterRegistrationBean<CorsFilter> bean = new FilterRegistrationBean<>(new CorsFilter(source));
-        // 设置最高优先级: Integer.MIN_VALUE
-        bean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        // 设置优先级: Integer.MIN_VALUE + 1，紧随计时过滤器
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
         
         return bean;
     }
@@ -46,14 +70,15 @@ public class FilterConfig {
     /**
      * 2. 内容缓存过滤器 (优先级次之)
      * 用于包装请求和响应，支持多次读取Body (供日志拦截器使用)
+     * 采集范围与字节上限由 ContentCapturePolicy 控制
      */
     @Bean
     public FilterRegistrationBean<ContentCachingFilter> contentCachingFilter() {
         FilterRegistrationBean<ContentCachingFilter> bean = new FilterRegistrationBean<>();
-        bean.setFilter(new ContentCachingFilter());
+        bean.setFilter(new ContentCachingFilter(contentCapturePolicy));
         bean.addUrlPatterns("/*");
-        // 设置优先级: Integer.MIN_VALUE + 1，确保在 CorsFilter 之后执行
-        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        // 设置优先级: Integer.MIN_VALUE + 2，确保在 CorsFilter 之后执行
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
         return bean;
     }
 }
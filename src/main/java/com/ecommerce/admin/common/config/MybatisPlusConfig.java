@@ -2,7 +2,9 @@ package com.ecommerce.admin.common.config;
 
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
-import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.ecommerce.admin.common.config.pagination.CountStrategyPaginationInterceptor;
+import com.ecommerce.admin.common.config.pagination.PageCountCache;
+import com.ecommerce.admin.common.config.pagination.PageCountProperties;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,16 +19,17 @@ public class MybatisPlusConfig {
 
     /**
      * 配置 MyBatis-Plus 拦截器
+     * @param pageCountCache 分页总数缓存
+     * @param pageCountProperties 分页总数统计配置
      * @return MybatisPlusInterceptor
      */
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(PageCountCache pageCountCache, PageCountProperties pageCountProperties) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
         
-        // 配置分页插件
-        PaginationInnerInterceptor paginationInnerInterceptor = new PaginationInnerInterceptor();
-        // 设置数据库类型为 MySQL
-        paginationInnerInterceptor.setDbType(DbType.MYSQL);
+        // 配置分页插件（支持 CountStrategyPage 指定总数统计策略），数据库类型为 MySQL
+        CountStrategyPaginationInterceptor paginationInnerInterceptor =
+                new CountStrategyPaginationInterceptor(DbType.MYSQL, pageCountCache, pageCountProperties);
         // 设置最大单页限制数量，默认 500 条，-1 不受限制
         paginationInnerInterceptor.setMaxLimit(1000L);
         // 添加分页插件
@@ -4,6 +4,7 @@ import cn.dev33.satoken.interceptor.SaInterceptor;
 import cn.dev33.satoken.router.SaRouter;
 import cn.dev33.satoken.stp.StpUtil;
 import com.ecommerce.admin.common.interceptor.RequestLogInterceptor;
+import com.ecommerce.admin.common.interceptor.RequestTimingInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -22,6 +23,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Autowired
     private RequestLogInterceptor requestLogInterceptor;
 
+    @Autowired
+    private RequestTimingInterceptor requestTimingInterceptor;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         // 1. 注册请求日志拦截器，对所有请求生效 (建议放在最前面)
@@ -49,6 +53,10 @@ public class WebMvcConfig implements WebMvcConfigurer {
                     // 对剩余路径进行登录校验
                     .check(r -> StpUtil.checkLogin());
         })).addPathPatterns("/**");
+
+        // 3. 注册请求计时拦截器 (必须放在最后，用于标记处理器开始与结束)
+        registry.addInterceptor(requestTimingInterceptor)
+                .addPathPatterns("/**");
     }
 
     @Override
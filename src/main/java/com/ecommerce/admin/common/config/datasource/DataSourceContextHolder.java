@@ -0,0 +1,70 @@
+package com.ecommerce.admin.common.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 数据源路由上下文
+ * 保存当前线程的路由目标与强制主库标记（可嵌套）
+ */
+public final class DataSourceContextHolder {
+
+    /**
+     * 当前语句的路由目标，为空时走主库
+     */
+    private static final ThreadLocal<DataSourceRoute> ROUTE = new ThreadLocal<>();
+
+    /**
+     * 强制主库的嵌套层数
+     */
+    private static final ThreadLocal<int[]> FORCE_PRIMARY_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private DataSourceContextHolder() {
+    }
+
+    /**
+     * 获取当前路由目标
+     * @return 路由目标，强制主库或未设置时返回 PRIMARY
+     */
+    public static DataSourceRoute getRoute() {
+        DataSourceRoute route = ROUTE.get();
+        return route == null || isPrimaryForced() ? DataSourceRoute.PRIMARY : route;
+    }
+
+    /**
+     * 设置当前路由目标
+     * @param route 路由目标，null 表示恢复默认（主库）
+     */
+    public static void setRoute(DataSourceRoute route) {
+        if (route == null) {
+            ROUTE.remove();
+        } else {
+            ROUTE.set(route);
+        }
+    }
+
+    /**
+     * 当前线程是否处于强制主库范围内
+     * @return boolean
+     */
+    public static boolean isPrimaryForced() {
+        return FORCE_PRIMARY_DEPTH.get()[0] > 0;
+    }
+
+    /**
+     * 在强制主库范围内执行
+     * @param action 操作
+     * @param <T> 返回值类型
+     * @return 操作返回值
+     */
+    public static <T> T executeOnPrimary(Supplier<T> action) {
+        int[] depth = FORCE_PRIMARY_DEPTH.get();
+        depth[0]++;
+        try {
+            return action.get();
+        } finally {
+            if (--depth[0] == 0) {
+                FORCE_PRIMARY_DEPTH.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.admin.common.config.datasource;
+
+/**
+ * 数据源路由目标
+ */
+public enum DataSourceRoute {
+
+    /**
+     * 主库（读写）
+     */
+    PRIMARY,
+
+    /**
+     * 从库（只读）
+     */
+    REPLICA
+}
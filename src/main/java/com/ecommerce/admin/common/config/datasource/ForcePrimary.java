@@ -0,0 +1,19 @@
+package com.ecommerce.admin.common.config.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 强制走主库
+ * 标注的方法（或类的所有方法）执行期间，查询也路由到主库，用于写后立即读取（read-your-writes）
+ * 以及读取结果会被缓存的场景，避免读到从库复制延迟前的旧数据。
+ * 通过 Spring 代理生效，类内部自调用不生效；未启用读写分离时无影响
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ForcePrimary {
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.admin.common.config.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置
+ * 启用后由 ReadWriteRoutingDataSource 替换默认数据源，MyBatis 插件按语句类型设置路由；
+ * 主库沿用 spring.datasource，主从连接池参数统一沿用 spring.datasource.druid
+ */
+@Configuration
+public class ReadWriteDataSourceConfig {
+
+    private static final String DRUID_PREFIX = "spring.datasource.druid";
+
+    /**
+     * 读写分离路由数据源
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "admin.datasource", name = "enabled", havingValue = "true")
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                 ReadWriteDataSourceProperties properties,
+                                                 Environment environment) {
+        Assert.notEmpty(properties.getReplicas(), "启用读写分离时 admin.datasource.replicas 不能为空");
+        Binder binder = Binder.get(environment);
+        DruidDataSource primary = createDruidDataSource(binder, dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(), "primary");
+        primary.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        List<DataSource> replicas = new ArrayList<>(properties.getReplicas().size());
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReadWriteDataSourceProperties.Replica replica = properties.getReplicas().get(i);
+            DruidDataSource dataSource = createDruidDataSource(binder, replica.getUrl(),
+                    replica.getUsername(), replica.getPassword(), "replica-" + i);
+            dataSource.setDriverClassName(primary.getDriverClassName());
+            replicas.add(dataSource);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    /**
+     * 读写路由 MyBatis 插件，由 MyBatis-Plus 自动配置注册到 SqlSessionFactory
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "admin.datasource", name = "enabled", havingValue = "true")
+    public ReadWriteRoutingInterceptor readWriteRoutingInterceptor() {
+        return new ReadWriteRoutingInterceptor();
+    }
+
+    /**
+     * {@link ForcePrimary} 切面，未启用读写分离时只多一层空转调用
+     * 项目未引入 AspectJ，基础设施角色的 Advisor 才会被默认的自动代理创建器识别
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor forcePrimaryAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(ForcePrimary.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(ForcePrimary.class));
+        MethodInterceptor interceptor = invocation -> DataSourceContextHolder.executeOnPrimary(() -> {
+            try {
+                return invocation.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return new DefaultPointcutAdvisor(pointcut, interceptor);
+    }
+
+    private static DruidDataSource createDruidDataSource(Binder binder, String url, String username,
+                                                         String password, String name) {
+        DruidDataSource dataSource = new DruidDataSource();
+        binder.bind(DRUID_PREFIX, Bindable.ofInstance(dataSource));
+        dataSource.setName(name);
+        dataSource.setUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+}
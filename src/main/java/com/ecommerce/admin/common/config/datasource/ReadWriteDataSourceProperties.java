@@ -0,0 +1,50 @@
+package com.ecommerce.admin.common.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置
+ * 对应 application.yml 中的 admin.datasource；主库沿用 spring.datasource，从库连接池参数沿用 spring.datasource.druid
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.datasource")
+public class ReadWriteDataSourceProperties {
+
+    /**
+     * 是否启用读写分离，关闭时只使用 spring.datasource 单数据源
+     */
+    private boolean enabled = false;
+
+    /**
+     * 从库列表，多个从库轮询
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 从库连接配置
+     */
+    @Data
+    public static class Replica {
+
+        /**
+         * JDBC URL
+         */
+        private String url;
+
+        /**
+         * 用户名
+         */
+        private String username;
+
+        /**
+         * 密码
+         */
+        private String password;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.admin.common.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离路由数据源
+ * 获取连接时按 DataSourceContextHolder 中的路由目标选择主库或从库，多个从库轮询；
+ * 从库获取连接失败时退回主库，保证只读请求可用
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final DataSource primary;
+
+    private final List<DataSource> replicas;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                log.warn("从库获取连接失败，本次查询改走主库", e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                log.warn("从库获取连接失败，本次查询改走主库", e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 关闭主从连接池
+     */
+    @Override
+    public void destroy() {
+        closeQuietly(primary);
+        replicas.forEach(ReadWriteRoutingDataSource::closeQuietly);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            } catch (Exception e) {
+                log.warn("关闭数据源失败", e);
+            }
+        }
+    }
+
+    private DataSource selectReplica() {
+        if (replicas.isEmpty() || DataSourceContextHolder.getRoute() != DataSourceRoute.REPLICA) {
+            return null;
+        }
+        return replicas.get(Math.floorMod(counter.getAndIncrement(), replicas.size()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.admin.common.config.datasource;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 读写分离路由插件
+ * 事务外的 SELECT（含 MyBatis-Plus 分页的 COUNT 查询、流式查询）路由到从库，其余语句走主库。
+ * 事务内的连接在事务开始时已绑定主库，因此事务内的读也在主库执行；@ForcePrimary 范围内的读同样走主库
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class ReadWriteRoutingInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        if (ms.getSqlCommandType() != SqlCommandType.SELECT
+                || TransactionSynchronizationManager.isActualTransactionActive()
+                || DataSourceContextHolder.isPrimaryForced()) {
+            return invocation.proceed();
+        }
+        // 连接在执行器准备语句时才获取，此时设置路由即可生效；嵌套调用结束后恢复外层路由
+        DataSourceRoute previous = DataSourceContextHolder.getRoute();
+        DataSourceContextHolder.setRoute(DataSourceRoute.REPLICA);
+        try {
+            return invocation.proceed();
+        } finally {
+            DataSourceContextHolder.setRoute(previous == DataSourceRoute.PRIMARY ? null : previous);
+        }
+    }
+}
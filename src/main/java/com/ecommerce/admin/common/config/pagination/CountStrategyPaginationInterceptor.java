@@ -0,0 +1,170 @@
+package com.ecommerce.admin.common.config.pagination;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.ParameterUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.ecommerce.admin.common.enums.business.CountStrategyEnum;
+import com.ecommerce.admin.common.result.CountStrategyPage;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 支持总数统计策略的分页插件
+ * 普通 Page 与 EXACT 策略沿用 MyBatis-Plus 的 COUNT 逻辑；CACHED 经 PageCountCache 缓存 COUNT 结果；
+ * APPROXIMATE 对无过滤条件（逻辑删除条件除外）的单表查询读取 information_schema.TABLES 的估算行数，
+ * 低于阈值或有过滤条件时退回缓存统计；NONE 不执行 COUNT。
+ * 同时拦截写语句，失效所写表的缓存总数
+ */
+@Slf4j
+public class CountStrategyPaginationInterceptor extends PaginationInnerInterceptor {
+
+    private static final String TABLE_ROWS_SQL =
+            "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    private final PageCountCache pageCountCache;
+
+    private final PageCountProperties properties;
+
+    public CountStrategyPaginationInterceptor(DbType dbType, PageCountCache pageCountCache, PageCountProperties properties) {
+        super(dbType);
+        this.pageCountCache = pageCountCache;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean willDoQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                               ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
+        if (!(page instanceof CountStrategyPage) || page.getSize() < 0 || resultHandler != Executor.NO_RESULT_HANDLER
+                || ((CountStrategyPage<?>) page).getCountStrategy() == CountStrategyEnum.EXACT) {
+            return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        CountStrategyPage<?> strategyPage = (CountStrategyPage<?>) page;
+        if (strategyPage.searchCount()) {
+            // 构造 COUNT 语句，与 PaginationInnerInterceptor#willDoQuery 相同
+            MappedStatement countMs = buildCountMappedStatement(ms, page.countId());
+            BoundSql countSql;
+            if (countMs != null) {
+                countSql = countMs.getBoundSql(parameter);
+            } else {
+                countMs = buildAutoCountMappedStatement(ms);
+                String countSqlStr = autoCountSql(page, boundSql.getSql());
+                PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+                countSql = new BoundSql(countMs.getConfiguration(), countSqlStr, mpBoundSql.parameterMappings(), parameter);
+                PluginUtils.setAdditionalParameter(countSql, mpBoundSql.additionalParameters());
+            }
+            MappedStatement finalCountMs = countMs;
+            CacheKey cacheKey = executor.createCacheKey(countMs, parameter, rowBounds, countSql);
+            boolean approximate = strategyPage.getCountStrategy() == CountStrategyEnum.APPROXIMATE;
+            PageCountCache.Count count;
+            try {
+                count = pageCountCache.get(countSql.getSql(), cacheKey,
+                        () -> count(executor, finalCountMs, parameter, rowBounds, cacheKey, countSql, approximate));
+            } catch (SQLException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new SQLException(e);
+            }
+            page.setTotal(count.getTotal());
+            strategyPage.setTotalApproximate(count.isApproximate());
+        }
+        // 总数可能过期或为估算值，不据此跳过查询，多取一条判断是否有下一页
+        strategyPage.startProbe();
+        return true;
+    }
+
+    @Override
+    public void beforeUpdate(Executor executor, MappedStatement ms, Object parameter) throws SQLException {
+        pageCountCache.onWrite(ms, parameter);
+    }
+
+    private PageCountCache.Count count(Executor executor, MappedStatement countMs, Object parameter, RowBounds rowBounds,
+                                       CacheKey cacheKey, BoundSql countSql, boolean approximate) throws SQLException {
+        if (approximate) {
+            String table = unfilteredTable(countSql.getSql());
+            if (table != null) {
+                long estimate = estimateRows(executor, table);
+                if (estimate >= properties.getApproximateThreshold()) {
+                    return new PageCountCache.Count(estimate, true);
+                }
+            }
+        }
+        List<Object> result = executor.query(countMs, parameter, rowBounds, Executor.NO_RESULT_HANDLER, cacheKey, countSql);
+        long total = 0;
+        if (!result.isEmpty() && result.get(0) != null) {
+            total = Long.parseLong(result.get(0).toString());
+        }
+        return new PageCountCache.Count(total, false);
+    }
+
+    /**
+     * InnoDB 的 TABLE_ROWS 为采样估算值（误差可达数十个百分点），且包含已逻辑删除的行
+     */
+    private long estimateRows(Executor executor, String table) throws SQLException {
+        Connection connection = executor.getTransaction().getConnection();
+        try (PreparedStatement statement = connection.prepareStatement(TABLE_ROWS_SQL)) {
+            statement.setString(1, table);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : -1L;
+            }
+        }
+    }
+
+    /**
+     * 无过滤条件的单表 COUNT 语句返回表名，否则返回 null；仅有逻辑删除条件视为无过滤条件
+     */
+    static String unfilteredTable(String countSql) {
+        Statement statement;
+        try {
+            statement = CCJSqlParserUtil.parse(countSql);
+        } catch (JSQLParserException e) {
+            return null;
+        }
+        if (!(statement instanceof Select) || !(((Select) statement).getSelectBody() instanceof PlainSelect)) {
+            return null;
+        }
+        PlainSelect select = (PlainSelect) ((Select) statement).getSelectBody();
+        if (!(select.getFromItem() instanceof Table) || (select.getJoins() != null && !select.getJoins().isEmpty())
+                || select.getGroupBy() != null || select.getDistinct() != null) {
+            return null;
+        }
+        String table = PageCountCache.normalize(((Table) select.getFromItem()).getName());
+        Expression where = select.getWhere();
+        if (where == null) {
+            return table;
+        }
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(table);
+        if (tableInfo != null && tableInfo.isWithLogicDelete() && where instanceof EqualsTo
+                && ((EqualsTo) where).getLeftExpression() instanceof Column) {
+            String column = ((Column) ((EqualsTo) where).getLeftExpression()).getColumnName().replace("`", "");
+            if (column.equalsIgnoreCase(tableInfo.getLogicDeleteFieldInfo().getColumn())) {
+                return table;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,249 @@
+package com.ecommerce.admin.common.config.pagination;
+
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import com.ecommerce.admin.common.config.redis.cache.LocalCacheInvalidator;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 分页总数缓存
+ * 缓存键由 COUNT 语句涉及的每张表的版本号与查询条件（MyBatis CacheKey，含 SQL 与参数值）组成。
+ * 表有写入时本节点立即递增版本号，旧条目不再命中，随 TTL 淘汰；事务提交后通过 Redis 频道通知其他节点，
+ * 一个事务内的多次写入只广播一次
+ */
+@Slf4j
+@Component
+public class PageCountCache implements LocalCacheInvalidator {
+
+    /**
+     * 缓存名称（失效广播频道后缀）
+     */
+    public static final String CACHE_NAME = "page-count";
+
+    /**
+     * 无法识别写入的表时使用的占位，表示失效全部表
+     */
+    private static final String ALL_TABLES = "*";
+
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    private final Cache<List<Object>, Count> counts;
+
+    /**
+     * COUNT 语句 -> 涉及的表
+     */
+    private final Cache<String, Set<String>> sqlTables;
+
+    /**
+     * 表 -> 版本号
+     */
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Mapper 命名空间 -> 表名，无实体映射时为空字符串
+     */
+    private final Map<String, String> namespaceTables = new ConcurrentHashMap<>();
+
+    public PageCountCache(PageCountProperties properties, CacheInvalidationPublisher invalidationPublisher) {
+        this.invalidationPublisher = invalidationPublisher;
+        this.counts = CacheBuilder.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .build();
+        this.sqlTables = CacheBuilder.newBuilder()
+                .maximumSize(1000)
+                .build();
+    }
+
+    /**
+     * 读取缓存的总数，未命中时执行 loader 并缓存
+     * @param countSql COUNT 语句
+     * @param conditionKey 查询条件键（需实现 equals/hashCode）
+     * @param loader 统计方法
+     * @return Count
+     * @throws Exception 统计失败
+     */
+    public Count get(String countSql, Object conditionKey, Callable<Count> loader) throws Exception {
+        Set<String> tables = tablesOf(countSql);
+        if (tables.isEmpty()) {
+            return loader.call();
+        }
+        List<Object> key = new ArrayList<>(tables.size() * 2 + 1);
+        key.add(conditionKey);
+        for (String table : tables) {
+            key.add(table);
+            key.add(version(table).get());
+        }
+        try {
+            return counts.get(key, loader);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * 写语句执行前调用，失效所写表的缓存
+     * @param ms 写语句
+     * @param parameter 参数
+     */
+    public void onWrite(MappedStatement ms, Object parameter) {
+        String table = tableOf(ms, parameter);
+        bump(table);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(Collections.singleton(table));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> tables = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, tables);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PageCountCache.this);
+                    // 事务内的读可能把未提交的总数放入缓存，提交或回滚后都要再失效一次
+                    tables.forEach(PageCountCache.this::bump);
+                    if (status == STATUS_COMMITTED) {
+                        publish(tables);
+                    }
+                }
+            });
+            pending = tables;
+        }
+        pending.add(table);
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void invalidateLocal(Collection<String> keys) {
+        if (keys == null || keys.contains(ALL_TABLES)) {
+            versions.values().forEach(AtomicLong::incrementAndGet);
+            counts.invalidateAll();
+            return;
+        }
+        keys.forEach(this::bump);
+    }
+
+    private void publish(Set<String> tables) {
+        invalidationPublisher.publish(CACHE_NAME, tables.contains(ALL_TABLES) ? null : tables);
+    }
+
+    private void bump(String table) {
+        if (ALL_TABLES.equals(table)) {
+            invalidateLocal(null);
+        } else {
+            version(table).incrementAndGet();
+        }
+    }
+
+    private AtomicLong version(String table) {
+        return versions.computeIfAbsent(table, t -> new AtomicLong());
+    }
+
+    /**
+     * 解析 COUNT 语句涉及的表，解析失败时不缓存
+     */
+    private Set<String> tablesOf(String sql) {
+        try {
+            return sqlTables.get(sql, () -> {
+                try {
+                    return parseTables(sql);
+                } catch (JSQLParserException e) {
+                    log.warn("COUNT 语句解析失败，不缓存总数: {}", sql);
+                    return Collections.emptySet();
+                }
+            });
+        } catch (ExecutionException e) {
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * 写语句所写的表：优先按 Mapper 对应的实体表，其余解析 SQL，无法识别时返回全部表占位
+     */
+    private String tableOf(MappedStatement ms, Object parameter) {
+        String id = ms.getId();
+        String namespace = id.substring(0, id.lastIndexOf('.'));
+        String table = namespaceTables.computeIfAbsent(namespace, ns -> TableInfoHelper.getTableInfos().stream()
+                .filter(tableInfo -> ns.equals(tableInfo.getCurrentNamespace()))
+                .map(TableInfo::getTableName)
+                .map(PageCountCache::normalize)
+                .findFirst()
+                .orElse(""));
+        if (!table.isEmpty()) {
+            return table;
+        }
+        try {
+            Set<String> tables = parseTables(ms.getBoundSql(parameter).getSql());
+            if (tables.size() == 1) {
+                return tables.iterator().next();
+            }
+        } catch (Exception e) {
+            log.debug("写语句解析失败，失效全部总数缓存: {}", id);
+        }
+        return ALL_TABLES;
+    }
+
+    private static Set<String> parseTables(String sql) throws JSQLParserException {
+        List<String> names = new TablesNamesFinder().getTableList(CCJSqlParserUtil.parse(sql));
+        return names.stream().map(PageCountCache::normalize).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * 统一表名：去掉库名与反引号，转小写
+     */
+    static String normalize(String table) {
+        String name = table.substring(table.lastIndexOf('.') + 1).replace("`", "");
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 统计结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Count {
+
+        /**
+         * 总数
+         */
+        private final long total;
+
+        /**
+         * 是否为估算值
+         */
+        private final boolean approximate;
+    }
+}
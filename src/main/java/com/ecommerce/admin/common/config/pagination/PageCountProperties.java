@@ -0,0 +1,32 @@
+package com.ecommerce.admin.common.config.pagination;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 分页总数统计配置
+ * 对应 application.yml 中的 admin.page-count
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.page-count")
+public class PageCountProperties {
+
+    /**
+     * 缓存统计结果的过期时间，同时也是其他节点写入且失效广播丢失时的最长不一致时间
+     */
+    private Duration cacheTtl = Duration.ofSeconds(10);
+
+    /**
+     * 最多缓存的（表, 查询条件）组合数
+     */
+    private long cacheMaximumSize = 10000;
+
+    /**
+     * 估算统计的最小行数，表统计信息中的行数低于此值时改为精确统计（小表 COUNT 代价低，估算误差却明显）
+     */
+    private long approximateThreshold = 100000;
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.admin.common.config.redis.cache;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 本地缓存失效广播消息
+ */
+@Data
+public class CacheInvalidationMessage {
+
+    /**
+     * 缓存名称，对应 LocalCacheInvalidator#getCacheName
+     */
+    private String cacheName;
+
+    /**
+     * 需要失效的缓存键，为空表示清空整个缓存
+     */
+    private List<String> keys;
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.admin.common.config.redis.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * 本地缓存失效广播
+ * 写操作完成后通过 Redis 频道通知所有节点（包括本节点）丢弃本地缓存
+ */
+@Slf4j
+@Component
+public class CacheInvalidationPublisher {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    public CacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 广播失效消息
+     * 广播失败只记录日志，各节点本地缓存仍会在 TTL 到期后自然淘汰
+     * @param cacheName 缓存名称
+     * @param keys 缓存键，为空表示清空整个缓存
+     */
+    public void publish(String cacheName, Collection<String> keys) {
+        CacheInvalidationMessage message = new CacheInvalidationMessage();
+        message.setCacheName(cacheName);
+        message.setKeys(keys != null ? new ArrayList<>(keys) : null);
+        try {
+            stringRedisTemplate.convertAndSend(RedisCachePubSubConfig.CACHE_INVALIDATION_CHANNEL_PREFIX + cacheName,
+                    objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.warn("Cache invalidation message serialize failed, cache={}", cacheName, e);
+        } catch (Exception e) {
+            log.warn("Cache invalidation publish failed, cache={}, keys={}", cacheName, keys, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.admin.common.config.redis.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class CacheInvalidationSubscriber implements MessageListener {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, LocalCacheInvalidator> invalidators;
+
+    public CacheInvalidationSubscriber(ObjectMapper objectMapper, List<LocalCacheInvalidator> invalidators) {
+        this.objectMapper = objectMapper;
+        this.invalidators = invalidators.stream()
+                .collect(Collectors.toMap(LocalCacheInvalidator::getCacheName, Function.identity()));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            CacheInvalidationMessage invalidation = objectMapper.readValue(body, CacheInvalidationMessage.class);
+            LocalCacheInvalidator invalidator = invalidators.get(invalidation.getCacheName());
+            if (invalidator == null) {
+                return;
+            }
+            invalidator.invalidateLocal(invalidation.getKeys());
+        } catch (Exception e) {
+            log.warn("Redis cache invalidation message handle failed, channel={}, body={}", channel, body, e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.admin.common.config.redis.cache;
+
+import java.util.Collection;
+
+/**
+ * 可被广播失效的本地缓存
+ * 实现类注册为 Spring Bean 后，CacheInvalidationSubscriber 会把同名缓存的失效消息分发过来
+ */
+public interface LocalCacheInvalidator {
+
+    /**
+     * 缓存名称，同时作为失效频道后缀
+     * @return 缓存名称
+     */
+    String getCacheName();
+
+    /**
+     * 失效本节点的本地缓存
+     * @param keys 缓存键，为空表示清空整个缓存
+     */
+    void invalidateLocal(Collection<String> keys);
+}
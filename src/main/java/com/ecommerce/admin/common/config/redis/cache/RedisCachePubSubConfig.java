@@ -0,0 +1,30 @@
+package com.ecommerce.admin.common.config.redis.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+
+@Configuration
+public class RedisCachePubSubConfig {
+
+    public static final String CACHE_INVALIDATION_CHANNEL_PREFIX = "cache:invalidate:";
+
+    @Bean
+    public CacheInvalidationSubscriber cacheInvalidationSubscriber(ObjectMapper objectMapper, List<LocalCacheInvalidator> invalidators) {
+        return new CacheInvalidationSubscriber(objectMapper, invalidators);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheRedisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           CacheInvalidationSubscriber subscriber) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(subscriber, new PatternTopic(CACHE_INVALIDATION_CHANNEL_PREFIX + "*"));
+        return container;
+    }
+}
@@ -0,0 +1,216 @@
+package com.ecommerce.admin.common.config.satoken;
+
+import cn.dev33.satoken.dao.SaTokenDao;
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import com.ecommerce.admin.common.config.redis.cache.LocalCacheInvalidator;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 带近端缓存的 SaTokenDao
+ * 只缓存 token -> loginId 映射键（{tokenName}:{loginType}:token:{token}），checkLogin 与 getLoginIdByToken
+ * 命中时不访问 Redis；其余键（Session、禁用标记等）直接透传。
+ * 注销、踢人下线、顶人下线都会经由本 Dao 删除或改写映射键，此时先失效本地再通过 Redis 频道通知其他节点；
+ * 广播丢失时旧值最多保留 ttl
+ */
+public class NearCacheSaTokenDao implements SaTokenDao, LocalCacheInvalidator {
+
+    public static final String CACHE_NAME = "sa-token";
+
+    private final SaTokenDao delegate;
+
+    private final String tokenKeyPrefix;
+
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    private final Cache<String, String> cache;
+
+    /**
+     * 失效代数，读 Redis 期间发生过失效时不回填，避免把失效前读到的旧值写回缓存
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public NearCacheSaTokenDao(SaTokenDao delegate, String tokenName, SaTokenNearCacheProperties properties,
+                               CacheInvalidationPublisher cacheInvalidationPublisher) {
+        this.delegate = delegate;
+        this.tokenKeyPrefix = tokenName + ":";
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public String get(String key) {
+        if (!isTokenKey(key)) {
+            return delegate.get(key);
+        }
+        String value = cache.getIfPresent(key);
+        if (value != null) {
+            hits.incrementAndGet();
+            return value;
+        }
+        misses.incrementAndGet();
+        long before = generation.get();
+        value = delegate.get(key);
+        // 不存在的 token 不缓存，否则刚登录的 token 在其他节点上会被误判为未登录
+        if (value != null && generation.get() == before) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void set(String key, String value, long timeout) {
+        delegate.set(key, value, timeout);
+        invalidate(key);
+    }
+
+    @Override
+    public void update(String key, String value) {
+        delegate.update(key, value);
+        invalidate(key);
+    }
+
+    @Override
+    public void delete(String key) {
+        delegate.delete(key);
+        invalidate(key);
+    }
+
+    @Override
+    public long getTimeout(String key) {
+        return delegate.getTimeout(key);
+    }
+
+    @Override
+    public void updateTimeout(String key, long timeout) {
+        // 续期不改变映射值，无需失效
+        delegate.updateTimeout(key, timeout);
+    }
+
+    @Override
+    public Object getObject(String key) {
+        return delegate.getObject(key);
+    }
+
+    @Override
+    public void setObject(String key, Object object, long timeout) {
+        delegate.setObject(key, object, timeout);
+    }
+
+    @Override
+    public void updateObject(String key, Object object) {
+        delegate.updateObject(key, object);
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        delegate.deleteObject(key);
+    }
+
+    @Override
+    public long getObjectTimeout(String key) {
+        return delegate.getObjectTimeout(key);
+    }
+
+    @Override
+    public void updateObjectTimeout(String key, long timeout) {
+        delegate.updateObjectTimeout(key, timeout);
+    }
+
+    @Override
+    public List<String> searchData(String prefix, String keyword, int start, int size, boolean sortType) {
+        return delegate.searchData(prefix, keyword, start, size, sortType);
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void invalidateLocal(Collection<String> keys) {
+        generation.incrementAndGet();
+        if (keys == null || keys.isEmpty()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    /**
+     * 映射键被改写后失效：本节点立即失效，其他节点通过广播失效
+     */
+    private void invalidate(String key) {
+        if (!isTokenKey(key)) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        invalidateLocal(Collections.singletonList(key));
+        cacheInvalidationPublisher.publish(CACHE_NAME, Collections.singletonList(key));
+    }
+
+    /**
+     * 是否为 token -> loginId 映射键：{tokenName}:{loginType}:token:{token}
+     */
+    boolean isTokenKey(String key) {
+        if (key == null || !key.startsWith(tokenKeyPrefix)) {
+            return false;
+        }
+        int loginTypeEnd = key.indexOf(':', tokenKeyPrefix.length());
+        return loginTypeEnd > 0 && key.startsWith(":token:", loginTypeEnd);
+    }
+
+    /**
+     * 获取近端缓存统计
+     * @return NearCacheStats
+     */
+    public NearCacheStats getStats() {
+        NearCacheStats stats = new NearCacheStats();
+        stats.setSize(cache.size());
+        stats.setHits(hits.get());
+        stats.setMisses(misses.get());
+        stats.setInvalidations(invalidations.get());
+        return stats;
+    }
+
+    /**
+     * 近端缓存统计
+     */
+    @Data
+    public static class NearCacheStats {
+
+        /**
+         * 当前缓存的 token 数（近似值）
+         */
+        private long size;
+
+        /**
+         * 命中次数
+         */
+        private long hits;
+
+        /**
+         * 未命中次数（访问 Redis）
+         */
+        private long misses;
+
+        /**
+         * 本节点发起的失效次数
+         */
+        private long invalidations;
+    }
+}
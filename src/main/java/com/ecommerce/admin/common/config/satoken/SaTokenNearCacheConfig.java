@@ -0,0 +1,26 @@
+package com.ecommerce.admin.common.config.satoken;
+
+import cn.dev33.satoken.config.SaTokenConfig;
+import cn.dev33.satoken.dao.SaTokenDaoRedisJackson;
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Sa-Token 近端缓存配置类
+ * 以 @Primary 的 SaTokenDao 包装 sa-token-redis-jackson 的实现，Sa-Token 启动时注入的即为带本地缓存的 Dao
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "admin.sa-token-near-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SaTokenNearCacheConfig {
+
+    @Bean
+    @Primary
+    public NearCacheSaTokenDao nearCacheSaTokenDao(SaTokenDaoRedisJackson redisDao, SaTokenConfig saTokenConfig,
+                                                   SaTokenNearCacheProperties properties,
+                                                   CacheInvalidationPublisher cacheInvalidationPublisher) {
+        return new NearCacheSaTokenDao(redisDao, saTokenConfig.getTokenName(), properties, cacheInvalidationPublisher);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.admin.common.config.satoken;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sa-Token 近端缓存配置
+ * 对应 application.yml 中的 admin.sa-token-near-cache
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.sa-token-near-cache")
+public class SaTokenNearCacheProperties {
+
+    /**
+     * 是否启用近端缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 本地缓存过期时间，也是广播丢失时其他节点可能读到旧值的最长时间
+     */
+    private Duration ttl = Duration.ofSeconds(10);
+
+    /**
+     * 本地缓存最大 token 数
+     */
+    private long maximumSize = 100000;
+}
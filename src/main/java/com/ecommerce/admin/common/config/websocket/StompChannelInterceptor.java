@@ -12,10 +12,13 @@ import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * STOMP 通道拦截器
- * 用于在建立 STOMP 连接时进行身份验证
+ * 用于在建立 STOMP 连接时进行身份验证，并限制用户私有主题只能由本人订阅。
+ * SimpleBroker 按 AntPathMatcher 匹配订阅地址，/topic 下的订阅不允许包含通配符或模板变量，
+ * 否则 /topic/** 之类的订阅可以绕过私有主题的前缀校验
  */
 @Slf4j
 @Component
@@ -24,6 +27,21 @@ public class StompChannelInterceptor implements ChannelInterceptor {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String TOKEN_PREFIX = "Bearer ";
 
+    /**
+     * 用户私有主题前缀，完整主题为 /topic/user/{loginId}/...
+     */
+    public static final String USER_TOPIC_PREFIX = "/topic/user/";
+
+    /**
+     * 广播主题前缀
+     */
+    private static final String TOPIC_PREFIX = "/topic";
+
+    /**
+     * 会话属性中保存登录ID的键
+     */
+    private static final String LOGIN_ID_ATTRIBUTE = "loginId";
+
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
@@ -54,10 +72,45 @@ public class StompChannelInterceptor implements ChannelInterceptor {
                 throw new MessagingException("无效的 Token");
             }
 
-            // 5. 验证通过，可以在 accessor.getSessionAttributes() 中存储用户信息
+            // 5. 验证通过，在会话属性中保存登录ID，供订阅私有主题时校验
+            if (accessor.getSessionAttributes() != null) {
+                accessor.getSessionAttributes().put(LOGIN_ID_ATTRIBUTE, String.valueOf(loginId));
+            }
             log.info("WebSocket 连接成功: User verified with token {}", token);
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            checkUserTopic(accessor);
         }
         
         return message;
     }
+
+    /**
+     * 用户私有主题只允许本人订阅，/topic 下不允许模式订阅
+     */
+    private void checkUserTopic(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return;
+        }
+        if (isPattern(destination)) {
+            log.warn("WebSocket 订阅被拒绝: 不允许模式订阅, destination={}", destination);
+            throw new MessagingException("不允许订阅通配符主题");
+        }
+        if (!destination.startsWith(USER_TOPIC_PREFIX)) {
+            return;
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        Object loginId = attributes != null ? attributes.get(LOGIN_ID_ATTRIBUTE) : null;
+        if (loginId == null || !destination.startsWith(USER_TOPIC_PREFIX + loginId + "/")) {
+            log.warn("WebSocket 订阅被拒绝: loginId={}, destination={}", loginId, destination);
+            throw new MessagingException("无权订阅该主题");
+        }
+    }
+
+    /**
+     * 是否包含 AntPathMatcher 的通配符（*、**、?）或模板变量（{...}）
+     */
+    private static boolean isPattern(String destination) {
+        return destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0;
+    }
 }
@@ -0,0 +1,56 @@
+package com.ecommerce.admin.common.enums.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 分页总数统计策略枚举
+ */
+@Getter
+@AllArgsConstructor
+public enum CountStrategyEnum {
+
+    /**
+     * 每次执行 COUNT(*)，与 MyBatis-Plus 默认行为一致
+     */
+    EXACT("exact", "精确统计"),
+
+    /**
+     * 按（表, 查询条件）缓存 COUNT 结果，短 TTL 到期或表有写入时失效
+     */
+    CACHED("cached", "缓存统计"),
+
+    /**
+     * 无过滤条件的大表取表统计信息中的估算行数，其余情况退回缓存统计
+     */
+    APPROXIMATE("approximate", "估算统计"),
+
+    /**
+     * 不统计总数，只返回是否还有下一页
+     */
+    NONE("none", "不统计");
+
+    /**
+     * 策略编码（count 参数取值）
+     */
+    private final String code;
+
+    /**
+     * 策略描述
+     */
+    private final String desc;
+
+    /**
+     * 根据策略编码获取枚举
+     * @param code 策略编码
+     * @return CountStrategyEnum，不存在时返回 null
+     */
+    public static CountStrategyEnum getByCode(String code) {
+        for (CountStrategyEnum strategy : values()) {
+            if (strategy.getCode().equalsIgnoreCase(code)) {
+                return strategy;
+            }
+        }
+        return null;
+    }
+}
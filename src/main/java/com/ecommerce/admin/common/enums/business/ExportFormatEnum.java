@@ -0,0 +1,72 @@
+package com.ecommerce.admin.common.enums.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 导出格式枚举
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportFormatEnum {
+
+    /**
+     * Excel
+     */
+    XLSX("xlsx", "application/vnd.ms-excel", ".xlsx"),
+
+    /**
+     * CSV（RFC 4180，UTF-8）
+     */
+    CSV("csv", "text/csv", ".csv"),
+
+    /**
+     * 每行一个 JSON 对象
+     */
+    NDJSON("ndjson", "application/x-ndjson", ".ndjson");
+
+    /**
+     * 格式编码（format 参数取值）
+     */
+    private final String code;
+
+    /**
+     * 响应内容类型
+     */
+    private final String contentType;
+
+    /**
+     * 文件扩展名
+     */
+    private final String extension;
+
+    /**
+     * 根据格式编码获取枚举
+     * @param code 格式编码
+     * @return ExportFormatEnum，不存在时返回 null
+     */
+    public static ExportFormatEnum getByCode(String code) {
+        for (ExportFormatEnum format : values()) {
+            if (format.getCode().equalsIgnoreCase(code)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 根据 Accept 请求头选择格式，未声明 CSV/NDJSON 时默认 Excel
+     * @param accept Accept 请求头
+     * @return ExportFormatEnum
+     */
+    public static ExportFormatEnum fromAccept(String accept) {
+        if (StringUtils.containsIgnoreCase(accept, CSV.getContentType())) {
+            return CSV;
+        }
+        if (StringUtils.containsIgnoreCase(accept, NDJSON.getContentType())) {
+            return NDJSON;
+        }
+        return XLSX;
+    }
+}
@@ -15,7 +15,9 @@ public enum ResponseEnum implements IResponse {
     UNAUTHORIZED(401, "未授权"),
     FORBIDDEN(403, "权限不足"),
     NOT_FOUND(404, "未找到资源"),
+    TOO_MANY_REQUESTS(429, "请求过于频繁，请稍后重试"),
     SYSTEM_ERROR(500, "系统错误"),
+    SERVICE_BUSY(503, "服务繁忙，请稍后重试"),
     
     BUSINESS_ERROR(600, "业务错误"),
     PRODUCT_NOT_EXIST(801, "商品不存在"),
@@ -0,0 +1,98 @@
+package com.ecommerce.admin.common.filter;
+
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/**
+ * 有界采集请求包装器
+ * 在 ContentCachingRequestWrapper 按上限缓存请求体的基础上统计实际读取的字节数，
+ * 分块传输（Content-Length 为 -1）的请求同样可以判断预览是否被截断
+ */
+public class BoundedCaptureRequestWrapper extends ContentCachingRequestWrapper {
+
+    /**
+     * 实际读取的请求体字节数
+     */
+    private long totalBytes;
+
+    private ServletInputStream inputStream;
+
+    public BoundedCaptureRequestWrapper(HttpServletRequest request, int contentCacheLimit) {
+        super(request, contentCacheLimit);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new CountingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    /**
+     * 获取请求体总字节数
+     * 表单参数由容器解析而不经过输入流，此时以缓存内容长度为准
+     * @return long
+     */
+    public long getTotalBytes() {
+        return Math.max(totalBytes, getContentAsByteArray().length);
+    }
+
+    /**
+     * 统计读取字节数的输入流
+     */
+    private class CountingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        CountingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                totalBytes++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = delegate.read(b, off, len);
+            if (count > 0) {
+                totalBytes += count;
+            }
+            return count;
+        }
+
+        @Override
+        public int readLine(byte[] b, int off, int len) throws IOException {
+            int count = delegate.readLine(b, off, len);
+            if (count > 0) {
+                totalBytes += count;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.ecommerce.admin.common.filter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * 有界采集响应包装器
+ * 响应内容直接透传到原始输出流，仅在内容类型允许时旁路复制前 N 个字节作为日志预览，
+ * 不会像 ContentCachingResponseWrapper 那样缓存整个响应体
+ */
+public class BoundedCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final ContentCapturePolicy policy;
+
+    private final int limit;
+
+    private final ByteArrayOutputStream captured;
+
+    /**
+     * 响应总字节数
+     */
+    private long totalBytes;
+
+    /**
+     * 是否采集，首次写出时根据内容类型确定
+     */
+    private Boolean capturing;
+
+    private TeeOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    public BoundedCaptureResponseWrapper(HttpServletResponse response, ContentCapturePolicy policy) {
+        super(response);
+        this.policy = policy;
+        this.limit = policy.getMaxBodyBytes();
+        this.captured = new ByteArrayOutputStream(Math.min(limit, 1024));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return obtainOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(obtainOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        flushWriter();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        resetCapture();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        resetCapture();
+        // 与容器行为保持一致：reset 后允许重新选择 getOutputStream() 或 getWriter()
+        outputStream = null;
+        writer = null;
+    }
+
+    /**
+     * 将 PrintWriter 中尚未写出的字符刷到输出流
+     */
+    public void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * 获取已采集的响应体字节，未采集时返回 null
+     * @return byte[]
+     */
+    public byte[] getCapturedBody() {
+        return Boolean.TRUE.equals(capturing) ? captured.toByteArray() : null;
+    }
+
+    /**
+     * 获取响应总字节数
+     * @return long
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private ServletOutputStream obtainOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(getResponse().getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private void resetCapture() {
+        captured.reset();
+        totalBytes = 0;
+        capturing = null;
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        if (capturing == null) {
+            capturing = policy.isCapturable(getContentType());
+        }
+        totalBytes += len;
+        if (capturing) {
+            int remaining = limit - captured.size();
+            if (remaining > 0) {
+                captured.write(b, off, Math.min(remaining, len));
+            }
+        }
+    }
+
+    /**
+     * 透传并旁路复制的输出流
+     */
+    private class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private final byte[] single = new byte[1];
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            single[0] = (byte) b;
+            capture(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
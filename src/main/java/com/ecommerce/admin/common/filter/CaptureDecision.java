@@ -0,0 +1,67 @@
+package com.ecommerce.admin.common.filter;
+
+import lombok.Getter;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 报文采集决策
+ * 由 ContentCachingFilter 在请求进入时一次性计算并挂在请求属性上，
+ * 日志拦截器在请求结束时据此决定是否保留已采集的报文
+ */
+@Getter
+public class CaptureDecision {
+
+    /**
+     * 请求属性名
+     */
+    public static final String ATTRIBUTE = CaptureDecision.class.getName();
+
+    /**
+     * 不采集任何报文（未命中采样或日志关闭）
+     */
+    public static final CaptureDecision SKIP = new CaptureDecision(false, false, 0);
+
+    /**
+     * 是否采集请求体
+     */
+    private final boolean captureRequest;
+
+    /**
+     * 是否采集响应体
+     */
+    private final boolean captureResponse;
+
+    /**
+     * 慢请求阈值（纳秒），大于 0 时仅在请求失败或耗时超过阈值时保留报文
+     */
+    private final long slowThresholdNanos;
+
+    public CaptureDecision(boolean captureRequest, boolean captureResponse, long slowThresholdNanos) {
+        this.captureRequest = captureRequest;
+        this.captureResponse = captureResponse;
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    /**
+     * 请求结束后是否保留报文
+     * @param durationNanos 请求耗时（纳秒）
+     * @param success 请求是否成功（HTTP 状态 < 400、无异常且业务码成功）
+     * @return boolean
+     */
+    public boolean shouldKeepBodies(long durationNanos, boolean success) {
+        if (!captureRequest && !captureResponse) {
+            return false;
+        }
+        return slowThresholdNanos <= 0 || !success || durationNanos >= slowThresholdNanos;
+    }
+
+    /**
+     * 获取当前请求的采集决策
+     * @param request 请求
+     * @return 未经过 ContentCachingFilter 时返回 null
+     */
+    public static CaptureDecision of(HttpServletRequest request) {
+        return (CaptureDecision) request.getAttribute(ATTRIBUTE);
+    }
+}
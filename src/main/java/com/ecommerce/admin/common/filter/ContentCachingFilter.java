@@ -1,8 +1,6 @@
 package com.ecommerce.admin.common.filter;
 
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -14,18 +12,39 @@ import java.io.IOException;
  * 内容缓存过滤器
  * 用于包装请求，支持多次读取请求体
  * 注意：已在 FilterConfig 中统一配置，此处去除 @Component 注解
+ * 采集范围由 ContentCapturePolicy 决定：请求体按上限缓存，响应体直接透传并只旁路复制前 N 个字节，
+ * 二进制、multipart、被路由规则排除或未命中采样的报文不做包装
  */
 public class ContentCachingFilter extends OncePerRequestFilter {
 
+    private final ContentCapturePolicy capturePolicy;
+
+    public ContentCachingFilter(ContentCapturePolicy capturePolicy) {
+        this.capturePolicy = capturePolicy;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        // 将请求包装为ContentCachingRequestWrapper，支持多次读取请求体
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        // 将响应包装为ContentCachingResponseWrapper，支持多次读取响应体
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        // 请求进入时一次性决定是否采集，供日志拦截器在请求结束时复用
+        CaptureDecision decision = capturePolicy.decide(request);
+        request.setAttribute(CaptureDecision.ATTRIBUTE, decision);
+        // 将请求包装为有界采集包装器，最多缓存 maxBodyBytes 字节并统计实际读取的总字节数
+        HttpServletRequest requestToUse = request;
+        if (decision.isCaptureRequest()) {
+            requestToUse = new BoundedCaptureRequestWrapper(request, capturePolicy.getMaxBodyBytes());
+        }
+        // 将响应包装为有界采集包装器，响应内容不在内存中整体缓存
+        BoundedCaptureResponseWrapper wrappedResponse = null;
+        HttpServletResponse responseToUse = response;
+        if (decision.isCaptureResponse()) {
+            wrappedResponse = new BoundedCaptureResponseWrapper(response, capturePolicy);
+            responseToUse = wrappedResponse;
+        }
         // 继续执行过滤链
-        filterChain.doFilter(wrappedRequest, wrappedResponse);
-        // 将缓存的响应内容写入到原始响应中
-        wrappedResponse.copyBodyToResponse();
+        filterChain.doFilter(requestToUse, responseToUse);
+        // 刷出通过 getWriter() 写入但仍在字符缓冲区中的内容
+        if (wrappedResponse != null) {
+            wrappedResponse.flushWriter();
+        }
     }
-}
\ No newline at end of file
+}
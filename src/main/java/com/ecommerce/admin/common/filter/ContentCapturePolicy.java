@@ -0,0 +1,154 @@
+package com.ecommerce.admin.common.filter;
+
+import com.ecommerce.admin.common.log.BodyCaptureProperties;
+import com.ecommerce.admin.common.log.RequestLogProperties;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 报文采集策略
+ * 根据路由规则、采样率与内容类型决定是否采集请求/响应体，并负责生成截断预览
+ */
+@Component
+public class ContentCapturePolicy {
+
+    /**
+     * 敏感字段：键名包含 token 或 password 的 JSON 字符串值（不区分大小写）；
+     * 值被截断而没有结束引号时一直匹配到末尾
+     */
+    private static final Pattern SENSITIVE_FIELD = Pattern.compile(
+            "(\"[^\"]*(?:token|password)[^\"]*\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*(?:\"|$)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final String MASK = "$1\"******\"";
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final RequestLogProperties properties;
+
+    /**
+     * 预解析的可采集内容类型
+     */
+    private final List<MediaType> capturableTypes;
+
+    public ContentCapturePolicy(RequestLogProperties properties) {
+        this.properties = properties;
+        this.capturableTypes = properties.getCapture().getContentTypes().stream()
+                .map(MediaType::parseMediaType)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 单个报文最多采集的字节数
+     * @return 字节数
+     */
+    public int getMaxBodyBytes() {
+        return properties.getCapture().getMaxBodyBytes();
+    }
+
+    /**
+     * 请求进入时计算采集决策：先按路由规则与采样率做头部采样，未命中的请求不包装请求与响应
+     * @param request 原始请求
+     * @return CaptureDecision
+     */
+    public CaptureDecision decide(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return CaptureDecision.SKIP;
+        }
+        BodyCaptureProperties capture = properties.getCapture();
+        BodyCaptureProperties.CaptureRule rule = matchRule(request);
+        double sampleRate = rule != null && rule.getSampleRate() != null ? rule.getSampleRate() : capture.getSampleRate();
+        if (sampleRate <= 0 || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return CaptureDecision.SKIP;
+        }
+        // 无请求体（如 GET）或二进制/multipart 请求不包装
+        boolean captureRequest = (rule == null || rule.isRequest()) && isCapturable(request.getContentType());
+        // 响应内容类型在首次写出时再判断
+        boolean captureResponse = rule == null || rule.isResponse();
+        if (!captureRequest && !captureResponse) {
+            return CaptureDecision.SKIP;
+        }
+        Duration slowThreshold = rule != null && rule.getSlowThreshold() != null ? rule.getSlowThreshold() : capture.getSlowThreshold();
+        return new CaptureDecision(captureRequest, captureResponse, slowThreshold != null ? slowThreshold.toNanos() : 0);
+    }
+
+    /**
+     * 内容类型是否允许采集
+     * @param contentType 内容类型，可为 null
+     * @return boolean
+     */
+    public boolean isCapturable(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        for (MediaType type : capturableTypes) {
+            if (type.includes(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 生成报文预览，超出采集上限时追加截断标记
+     * @param captured 已采集的字节
+     * @param totalBytes 报文总字节数，未知时为 -1
+     * @return 预览文本，未采集时返回 null
+     */
+    public static String preview(byte[] captured, long totalBytes) {
+        if (captured == null) {
+            return null;
+        }
+        String text = new String(captured, StandardCharsets.UTF_8);
+        if (totalBytes > captured.length) {
+            return text + "...(truncated, " + totalBytes + " bytes)";
+        }
+        return text;
+    }
+
+    /**
+     * 屏蔽报文中的令牌与密码字段，避免会话令牌、密码随日志入库
+     * @param text JSON 报文或参数，可为 null
+     * @return 屏蔽后的文本
+     */
+    public static String maskSensitive(String text) {
+        if (text == null) {
+            return null;
+        }
+        return SENSITIVE_FIELD.matcher(text).replaceAll(MASK);
+    }
+
+    private BodyCaptureProperties.CaptureRule matchRule(HttpServletRequest request) {
+        List<BodyCaptureProperties.CaptureRule> rules = properties.getCapture().getRules();
+        if (rules.isEmpty()) {
+            return null;
+        }
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (BodyCaptureProperties.CaptureRule rule : rules) {
+            if (pathMatcher.match(rule.getPattern(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.admin.common.filter;
+
+import com.ecommerce.admin.common.metrics.HandlerLatencyRegistry;
+import com.ecommerce.admin.common.metrics.RequestTiming;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 请求计时过滤器
+ * 位于过滤链最外层，创建 RequestTiming 并在请求结束后记录各阶段耗时
+ * 注意：已在 FilterConfig 中统一配置
+ */
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private final HandlerLatencyRegistry latencyRegistry;
+
+    public RequestTimingFilter(HandlerLatencyRegistry latencyRegistry) {
+        this.latencyRegistry = latencyRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming timing = new RequestTiming();
+        timing.setFilterStart(System.nanoTime());
+        request.setAttribute(RequestTiming.ATTRIBUTE, timing);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            timing.setFilterEnd(System.nanoTime());
+            latencyRegistry.record(timing);
+        }
+    }
+}
@@ -1,105 +1,150 @@
 package com.ecommerce.admin.common.interceptor;
 
-import com.alibaba.fastjson2.JSON;
-import com.alibaba.fastjson2.JSONWriter.Feature;
+import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.extra.servlet.ServletUtil;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.filter.BoundedCaptureRequestWrapper;
+import com.ecommerce.admin.common.filter.BoundedCaptureResponseWrapper;
+import com.ecommerce.admin.common.filter.CaptureDecision;
+import com.ecommerce.admin.common.filter.ContentCapturePolicy;
+import com.ecommerce.admin.common.log.CompactRequestLogFormatter;
+import com.ecommerce.admin.common.log.OperationLogRecord;
+import com.ecommerce.admin.common.log.OperationLogWriter;
+import com.ecommerce.admin.common.log.RequestLogProperties;
+import com.ecommerce.admin.common.log.ResultCodeAdvice;
+import com.ecommerce.admin.common.metrics.RequestTiming;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.nio.charset.StandardCharsets;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 请求日志拦截器
  * 用于记录每次请求的详细信息
+ * 请求线程只采集日志记录并放入异步队列，格式化输出与入库由 OperationLogWriter 完成
  */
 @Slf4j
 @Component
 public class RequestLogInterceptor implements HandlerInterceptor {
 
+    @Autowired
+    private RequestLogProperties requestLogProperties;
+
+    @Autowired
+    private OperationLogWriter operationLogWriter;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         request.setAttribute("startTime", System.currentTimeMillis());
+        request.setAttribute("startNanos", System.nanoTime());
+        // 作为第一个拦截器，标记拦截器阶段开始并登记处理器标识
+        RequestTiming timing = RequestTiming.of(request);
+        if (timing != null) {
+            timing.setInterceptorStart((long) request.getAttribute("startNanos"));
+            if (handler instanceof HandlerMethod) {
+                timing.setHandler(resolveHandlerKey(request, (HandlerMethod) handler));
+            }
+        }
         return true;
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
-        if (!(handler instanceof HandlerMethod)) {
+        if (!(handler instanceof HandlerMethod) || !requestLogProperties.isEnabled()) {
             return;
         }
 
         try {
             long startTime = (long) request.getAttribute("startTime");
-            long duration = System.currentTimeMillis() - startTime;
-
-            // 1. 提取请求/响应信息
-            String url = request.getRequestURI();
-            String method = request.getMethod();
-            String params = JSON.toJSONString(getSimplifiedParams(request));
-            String reqContentType = request.getContentType();
-            String resContentType = response.getContentType();
-            String requestBody = getRequestBody(request);
+            long durationNanos = System.nanoTime() - (long) request.getAttribute("startNanos");
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
             String responseBody = getResponseBody(response);
-            
-            // 2. 构造格式化日志
-            // 使用简化的分隔符，重点突出 URL 和 耗时
-            StringBuilder sb = new StringBuilder();
-            sb.append("\n[Request Access] >>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>\n")
-              .append(String.format("URL    : %s [%s]\n", url, method))
-              .append(String.format("Handle : %s#%s\n", ((HandlerMethod) handler).getBeanType().getSimpleName(), ((HandlerMethod) handler).getMethod().getName()))
-              .append(String.format("Type   : Req[%s] | Res[%s]\n", 
-                  reqContentType == null ? "none" : reqContentType, 
-                  resContentType == null ? "none" : resContentType))
-              .append(String.format("Time   : %sms\n", duration))
-              .append(String.format("Status : %s\n", response.getStatus()));
-
-            if (!"{}".equals(params)) {
-                sb.append("Params : ").append(params).append("\n");
-            }
-            
-            if (requestBody != null) {
-                sb.append("ReqBody: ").append(formatJson(requestBody)).append("\n");
-            }
-
-            if (responseBody != null) {
-                sb.append("ResBody: ").append(formatJson(responseBody)).append("\n");
+            String requestBody = getRequestBody(request);
+            boolean success = isSuccess(request, response, ex);
+            // 慢请求策略下，成功且未超过阈值的请求不记录报文
+            CaptureDecision decision = CaptureDecision.of(request);
+            if (decision != null && !decision.shouldKeepBodies(durationNanos, success)) {
+                requestBody = null;
+                responseBody = null;
             }
-            
-            sb.append("<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<");
 
-            log.info(sb.toString());
+            // 只采集原始字段，耗时操作交给后台写入线程
+            OperationLogRecord record = new OperationLogRecord();
+            record.setToken(StpUtil.getTokenValue());
+            record.setIp(ServletUtil.getClientIP(request));
+            record.setModule(resolveModule(request.getServletPath()));
+            record.setAction(handlerMethod.getMethod().getName());
+            record.setHandler(handlerMethod.getBeanType().getSimpleName());
+            record.setUrl(request.getRequestURI());
+            record.setMethod(request.getMethod());
+            record.setParams(ContentCapturePolicy.maskSensitive(
+                    CompactRequestLogFormatter.encodeParams(request.getParameterMap())));
+            record.setRequestContentType(request.getContentType());
+            record.setResponseContentType(response.getContentType());
+            // 登录等接口的令牌、密码不随日志入库
+            record.setRequestBody(ContentCapturePolicy.maskSensitive(requestBody));
+            record.setResponseBody(ContentCapturePolicy.maskSensitive(responseBody));
+            record.setStatus(response.getStatus());
+            record.setSuccess(success);
+            record.setErrorMsg(ex != null ? ex.getMessage() : null);
+            record.setStartTime(startTime);
+            record.setDuration(TimeUnit.NANOSECONDS.toMillis(durationNanos));
 
+            operationLogWriter.offer(record);
         } catch (Exception e) {
             log.error("RequestLogInterceptor 记录日志失败", e);
         }
     }
 
+    /**
+     * 判断请求是否成功：无异常、HTTP 状态码小于 400，且返回 Result 时业务码为成功
+     * 业务码由 ResultCodeAdvice 在序列化前写入请求属性，与是否采集响应体无关
+     */
+    static boolean isSuccess(HttpServletRequest request, HttpServletResponse response, Exception ex) {
+        if (ex != null || response.getStatus() >= 400) {
+            return false;
+        }
+        Object resultCode = request.getAttribute(ResultCodeAdvice.ATTRIBUTE);
+        return resultCode == null || ResponseEnum.SUCCESS.getCode().equals(resultCode);
+    }
+
     private String getRequestBody(HttpServletRequest request) {
-        ContentCachingRequestWrapper wrapper = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
-        return wrapper != null ? new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8) : null;
+        BoundedCaptureRequestWrapper wrapper = WebUtils.getNativeRequest(request, BoundedCaptureRequestWrapper.class);
+        return wrapper != null ? ContentCapturePolicy.preview(wrapper.getContentAsByteArray(), wrapper.getTotalBytes()) : null;
     }
 
     private String getResponseBody(HttpServletResponse response) {
-        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
-        return wrapper != null ? new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8) : null;
+        BoundedCaptureResponseWrapper wrapper = WebUtils.getNativeResponse(response, BoundedCaptureResponseWrapper.class);
+        return wrapper != null ? ContentCapturePolicy.preview(wrapper.getCapturedBody(), wrapper.getTotalBytes()) : null;
     }
 
-    private Map<String, String> getSimplifiedParams(HttpServletRequest request) {
-        return request.getParameterMap().entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().length > 0 ? e.getValue()[0] : ""));
+    /**
+     * 延迟统计的处理器标识：HTTP 方法 + 最佳匹配的路径模式，如 GET /system/user/{id}；
+     * 同名 Controller 或重载方法不会合并到同一个直方图。取不到路径模式时退回完整方法签名
+     */
+    private String resolveHandlerKey(HttpServletRequest request, HandlerMethod handlerMethod) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return request.getMethod() + " " + pattern;
+        }
+        return handlerMethod.toString();
     }
 
-    private String formatJson(String json) {
-        if (!JSON.isValid(json)) return json;
-        // 生产环境建议不使用 PrettyFormat 以节省磁盘，开发环境可开启
-        return JSON.toJSONString(JSON.parse(json), Feature.PrettyFormat, Feature.WriteNulls).replace("\t", "    ");
+    /**
+     * 取应用内路径第一段作为操作模块，如 /system/user/list -> system
+     */
+    private String resolveModule(String path) {
+        if (path == null || path.length() <= 1) {
+            return "";
+        }
+        int end = path.indexOf('/', 1);
+        return path.substring(1, end > 0 ? end : path.length());
     }
-}
\ No newline at end of file
+}
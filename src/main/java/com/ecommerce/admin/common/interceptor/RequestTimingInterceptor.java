@@ -0,0 +1,33 @@
+package com.ecommerce.admin.common.interceptor;
+
+import com.ecommerce.admin.common.metrics.RequestTiming;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 请求计时拦截器
+ * 注册在所有拦截器之后，preHandle 标记处理器开始，afterCompletion（逆序最先执行）标记处理器结束
+ */
+@Component
+public class RequestTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTiming timing = RequestTiming.of(request);
+        if (timing != null) {
+            timing.setHandlerStart(System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestTiming timing = RequestTiming.of(request);
+        if (timing != null) {
+            timing.setHandlerEnd(System.nanoTime());
+        }
+    }
+}
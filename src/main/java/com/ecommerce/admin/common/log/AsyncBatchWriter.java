@@ -0,0 +1,218 @@
+package com.ecommerce.admin.common.log;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步批量写入器
+ * 请求线程只负责将记录放入有界无锁队列，由后台线程按批次取出并写入
+ *
+ * @param <T> 记录类型
+ */
+@Slf4j
+public abstract class AsyncBatchWriter<T> {
+
+    /**
+     * 写入器名称，同时作为后台线程名
+     */
+    private final String name;
+
+    /**
+     * 队列与刷盘配置
+     */
+    private final BatchWriterProperties properties;
+
+    /**
+     * 记录队列，容量由 size 计数器约束
+     */
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 当前队列深度（ConcurrentLinkedQueue.size() 需要遍历，单独计数）
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sampledOut = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * 采样计数器
+     */
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    protected AsyncBatchWriter(String name, BatchWriterProperties properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    /**
+     * 写入一批记录，由后台线程调用
+     * @param batch 记录批次，非空
+     * @throws Exception 写入失败时抛出，整批计为失败
+     */
+    protected abstract void flush(List<T> batch) throws Exception;
+
+    /**
+     * 提交一条记录，不会阻塞调用线程（BLOCK 策略除外）
+     * @param record 记录
+     * @return 是否被接收
+     */
+    public boolean offer(T record) {
+        if (record == null) {
+            return false;
+        }
+        int capacity = properties.getCapacity();
+        OverflowPolicy policy = properties.getOverflowPolicy();
+
+        // 采样策略：超过高水位（半满）后每 N 条只保留 1 条
+        if (policy == OverflowPolicy.SAMPLE && size.get() >= capacity / 2
+                && sampleCounter.incrementAndGet() % Math.max(1, properties.getSampleRate()) != 0) {
+            sampledOut.incrementAndGet();
+            return false;
+        }
+
+        if (!tryReserve(capacity)) {
+            if (policy != OverflowPolicy.BLOCK || !awaitReserve(capacity)) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        }
+
+        queue.offer(record);
+        accepted.incrementAndGet();
+        // 恰好攒满一批时唤醒后台线程，避免每条记录都 unpark
+        if (size.get() == properties.getBatchSize()) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    /**
+     * 获取写入器运行统计
+     * @return WriterStats
+     */
+    public WriterStats getStats() {
+        WriterStats stats = new WriterStats();
+        stats.setName(name);
+        stats.setCapacity(properties.getCapacity());
+        stats.setDepth(size.get());
+        stats.setAccepted(accepted.get());
+        stats.setDropped(dropped.get());
+        stats.setSampledOut(sampledOut.get());
+        stats.setWritten(written.get());
+        stats.setFailed(failed.get());
+        stats.setOverflowPolicy(properties.getOverflowPolicy());
+        return stats;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * 通过 CAS 占用一个队列位置
+     */
+    private boolean tryReserve(int capacity) {
+        for (;;) {
+            int current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 阻塞策略：在等待时间内自旋退避重试占位
+     */
+    private boolean awaitReserve(int capacity) {
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            if (tryReserve(capacity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runLoop() {
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        while (running) {
+            if (size.get() < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            drain();
+        }
+        // 关闭前把剩余记录写完
+        while (size.get() > 0) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        int batchSize = properties.getBatchSize();
+        List<T> batch = new ArrayList<>(Math.min(batchSize, Math.max(1, size.get())));
+        T record;
+        while (batch.size() < batchSize && (record = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(record);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flush(batch);
+            written.addAndGet(batch.size());
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.warn("{} 批量写入失败, 丢弃 {} 条记录", name, batch.size(), e);
+        }
+    }
+
+    /**
+     * 写入器运行统计
+     */
+    @Data
+    public static class WriterStats {
+        private String name;
+        private int capacity;
+        private int depth;
+        private long accepted;
+        private long dropped;
+        private long sampledOut;
+        private long written;
+        private long failed;
+        private OverflowPolicy overflowPolicy;
+    }
+}
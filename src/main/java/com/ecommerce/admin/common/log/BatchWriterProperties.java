@@ -0,0 +1,43 @@
+package com.ecommerce.admin.common.log;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 异步批量写入器配置
+ * 各类日志写入器共用的队列与刷盘参数
+ */
+@Data
+public class BatchWriterProperties {
+
+    /**
+     * 队列容量，超过后按溢出策略处理
+     */
+    private int capacity = 10000;
+
+    /**
+     * 单次批量写入的最大记录数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 刷盘间隔，队列未攒满一批时最长等待时间
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 溢出策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * 采样策略下超过高水位后每 N 条保留 1 条
+     */
+    private int sampleRate = 10;
+
+    /**
+     * 阻塞策略下的最长等待时间
+     */
+    private Duration blockTimeout = Duration.ofMillis(50);
+}
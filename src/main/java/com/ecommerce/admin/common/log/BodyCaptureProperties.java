@@ -0,0 +1,74 @@
+package com.ecommerce.admin.common.log;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 请求/响应体采集配置
+ * 控制 ContentCachingFilter 对哪些请求采集报文以及采集的最大字节数
+ */
+@Data
+public class BodyCaptureProperties {
+
+    /**
+     * 单个请求体或响应体最多采集的字节数，超出部分只透传不缓存
+     */
+    private int maxBodyBytes = 4096;
+
+    /**
+     * 允许采集的内容类型，支持通配符（如 text/*）
+     */
+    private List<String> contentTypes = new ArrayList<>(Arrays.asList(
+            "application/json", "application/*+json", "application/xml", "application/x-www-form-urlencoded", "text/*"));
+
+    /**
+     * 报文采样率（0-1），请求进入时按此概率决定是否采集报文，未命中的请求不做包装
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * 慢请求阈值，配置后仅在请求失败（状态码 >= 400 或业务失败）或耗时超过阈值时记录报文；不配置则始终记录
+     */
+    private Duration slowThreshold;
+
+    /**
+     * 按路由覆盖的采集规则，按顺序匹配第一条
+     */
+    private List<CaptureRule> rules = new ArrayList<>();
+
+    /**
+     * 路由采集规则
+     */
+    @Data
+    public static class CaptureRule {
+
+        /**
+         * 路径匹配模式（Ant 风格，应用内路径）
+         */
+        private String pattern;
+
+        /**
+         * 是否采集请求体
+         */
+        private boolean request = true;
+
+        /**
+         * 是否采集响应体
+         */
+        private boolean response = true;
+
+        /**
+         * 报文采样率（0-1），为空时沿用全局配置
+         */
+        private Double sampleRate;
+
+        /**
+         * 慢请求阈值，为空时沿用全局配置，配置为 0 表示始终记录报文
+         */
+        private Duration slowThreshold;
+    }
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.admin.common.log;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 单行紧凑请求日志格式化器
+ * 字段直接写入线程内复用的缓冲区，JSON 报文原样拷贝不做重新解析，默认使用
+ */
+@Component
+@ConditionalOnProperty(prefix = "admin.request-log", name = "format", havingValue = "compact", matchIfMissing = true)
+public class CompactRequestLogFormatter implements RequestLogFormatter {
+
+    /**
+     * 初始缓冲区大小
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * 缓冲区超过该大小后不再复用，避免一次大报文长期占用内存
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+    @Override
+    public String format(OperationLogRecord record) {
+        StringBuilder sb = acquire();
+        sb.append("[Request Access] ")
+          .append(record.getMethod()).append(' ').append(record.getUrl())
+          .append(" status=").append(record.getStatus())
+          .append(" time=").append(record.getDuration()).append("ms")
+          .append(" handle=").append(record.getHandler()).append('#').append(record.getAction())
+          .append(" ip=").append(record.getIp())
+          .append(" type=").append(record.getRequestContentType() == null ? "none" : record.getRequestContentType())
+          .append('|').append(record.getResponseContentType() == null ? "none" : record.getResponseContentType());
+
+        if (record.getParams() != null && !"{}".equals(record.getParams())) {
+            sb.append(" params=").append(record.getParams());
+        }
+        if (record.getRequestBody() != null && !record.getRequestBody().isEmpty()) {
+            sb.append(" reqBody=");
+            appendSingleLine(sb, record.getRequestBody());
+        }
+        if (record.getResponseBody() != null && !record.getResponseBody().isEmpty()) {
+            sb.append(" resBody=");
+            appendSingleLine(sb, record.getResponseBody());
+        }
+        return release(sb);
+    }
+
+    /**
+     * 将请求参数编码为 JSON 对象（多值参数只取第一个），替代 Map 转换加 fastjson 序列化
+     * @param parameterMap 请求参数
+     * @return JSON 文本
+     */
+    public static String encodeParams(Map<String, String[]> parameterMap) {
+        if (parameterMap.isEmpty()) {
+            return "{}";
+        }
+        StringBuilder sb = acquire();
+        sb.append('{');
+        boolean first = true;
+        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendJsonString(sb, entry.getKey());
+            sb.append(':');
+            String[] values = entry.getValue();
+            appendJsonString(sb, values.length > 0 ? values[0] : "");
+        }
+        sb.append('}');
+        return release(sb);
+    }
+
+    private static StringBuilder acquire() {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    private static String release(StringBuilder sb) {
+        String result = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.set(new StringBuilder(INITIAL_CAPACITY));
+        }
+        return result;
+    }
+
+    /**
+     * 原样拷贝报文，仅把换行替换为空格以保证单行输出
+     */
+    private static void appendSingleLine(StringBuilder sb, String text) {
+        if (text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            sb.append(text);
+            return;
+        }
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char c = text.charAt(i);
+            sb.append(c == '\n' || c == '\r' ? ' ' : c);
+        }
+    }
+
+    private static void appendJsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0, len = value.length(); i < len; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append("\\u00");
+                        sb.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
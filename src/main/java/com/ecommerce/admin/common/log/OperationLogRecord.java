@@ -0,0 +1,96 @@
+package com.ecommerce.admin.common.log;
+
+import lombok.Data;
+
+/**
+ * 操作日志记录
+ * 请求线程上只采集原始字段，登录用户解析、格式化与入库均由后台写入线程完成
+ */
+@Data
+public class OperationLogRecord {
+
+    /**
+     * 请求携带的 Sa-Token 令牌，未登录时为 null
+     */
+    private String token;
+
+    /**
+     * 客户端IP
+     */
+    private String ip;
+
+    /**
+     * 操作模块（URL 第一段）
+     */
+    private String module;
+
+    /**
+     * 操作类型（处理方法名）
+     */
+    private String action;
+
+    /**
+     * 处理器类名
+     */
+    private String handler;
+
+    /**
+     * 请求URL
+     */
+    private String url;
+
+    /**
+     * 请求方法
+     */
+    private String method;
+
+    /**
+     * 请求参数（JSON）
+     */
+    private String params;
+
+    /**
+     * 请求内容类型
+     */
+    private String requestContentType;
+
+    /**
+     * 响应内容类型
+     */
+    private String responseContentType;
+
+    /**
+     * 请求体
+     */
+    private String requestBody;
+
+    /**
+     * 响应体
+     */
+    private String responseBody;
+
+    /**
+     * HTTP 状态码
+     */
+    private int status;
+
+    /**
+     * 是否成功
+     */
+    private boolean success;
+
+    /**
+     * 错误信息
+     */
+    private String errorMsg;
+
+    /**
+     * 请求开始时间（毫秒时间戳）
+     */
+    private long startTime;
+
+    /**
+     * 执行耗时（毫秒）
+     */
+    private long duration;
+}
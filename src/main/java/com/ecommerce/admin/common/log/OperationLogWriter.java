@@ -0,0 +1,121 @@
+package com.ecommerce.admin.common.log;
+
+import cn.dev33.satoken.stp.StpUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 操作日志写入器
+ * 后台线程批量写入 sys_operation_logs，并按需输出控制台日志
+ */
+@Slf4j
+@Component
+public class OperationLogWriter extends AsyncBatchWriter<OperationLogRecord> {
+
+    private static final String INSERT_SQL = "INSERT INTO sys_operation_logs "
+            + "(user_id, username, ip, module, action, url, method, params, result, success, error_msg, operation_time, execution_time) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String USERNAME_SQL = "SELECT id, username FROM sys_users WHERE id IN (:ids)";
+
+    /**
+     * 未登录请求使用的用户ID与用户名（表字段非空）
+     */
+    private static final long ANONYMOUS_USER_ID = 0L;
+    private static final String ANONYMOUS_USERNAME = "anonymous";
+
+    private final RequestLogProperties properties;
+    private final RequestLogFormatter formatter;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public OperationLogWriter(RequestLogProperties properties, RequestLogFormatter formatter, JdbcTemplate jdbcTemplate) {
+        super("operation-log-writer", properties.getWriter());
+        this.properties = properties;
+        this.formatter = formatter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    protected void flush(List<OperationLogRecord> batch) {
+        if (properties.isConsole()) {
+            for (OperationLogRecord record : batch) {
+                log.info(formatter.format(record));
+            }
+        }
+
+        Map<String, Long> userIdByToken = resolveUserIds(batch);
+        Map<Long, String> usernameById = resolveUsernames(new HashSet<>(userIdByToken.values()));
+        int maxLength = properties.getMaxFieldLength();
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, record) -> {
+            Long userId = record.getToken() == null ? null : userIdByToken.get(record.getToken());
+            String username = userId == null ? null : usernameById.get(userId);
+            ps.setLong(1, userId == null ? ANONYMOUS_USER_ID : userId);
+            ps.setString(2, username == null ? ANONYMOUS_USERNAME : username);
+            ps.setString(3, StringUtils.defaultString(StringUtils.left(record.getIp(), 50), "unknown"));
+            ps.setString(4, StringUtils.left(record.getModule(), 50));
+            ps.setString(5, StringUtils.left(record.getAction(), 50));
+            ps.setString(6, StringUtils.left(record.getUrl(), 255));
+            ps.setString(7, StringUtils.left(record.getMethod(), 10));
+            ps.setString(8, StringUtils.left(record.getParams(), maxLength));
+            ps.setString(9, StringUtils.left(record.getResponseBody(), maxLength));
+            ps.setInt(10, record.isSuccess() ? 1 : 0);
+            ps.setString(11, StringUtils.left(record.getErrorMsg(), 255));
+            ps.setTimestamp(12, new Timestamp(record.getStartTime()));
+            ps.setInt(13, (int) Math.min(Integer.MAX_VALUE, record.getDuration()));
+        });
+    }
+
+    /**
+     * 解析批次内各令牌对应的登录用户ID，同一令牌只查询一次
+     */
+    private Map<String, Long> resolveUserIds(List<OperationLogRecord> batch) {
+        Map<String, Long> result = new HashMap<>();
+        for (OperationLogRecord record : batch) {
+            String token = record.getToken();
+            if (token == null || result.containsKey(token)) {
+                continue;
+            }
+            Long userId = null;
+            try {
+                Object loginId = StpUtil.getLoginIdByToken(token);
+                if (loginId != null) {
+                    userId = Long.valueOf(loginId.toString());
+                }
+            } catch (Exception e) {
+                log.debug("解析日志令牌失败: {}", e.getMessage());
+            }
+            result.put(token, userId);
+        }
+        result.values().removeIf(Objects::isNull);
+        return result;
+    }
+
+    /**
+     * 一次查询批次内涉及的所有用户名
+     */
+    private Map<Long, String> resolveUsernames(Set<Long> userIds) {
+        Map<Long, String> result = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return result;
+        }
+        namedParameterJdbcTemplate.query(USERNAME_SQL, new MapSqlParameterSource("ids", userIds),
+                (RowCallbackHandler) rs -> result.put(rs.getLong("id"), rs.getString("username")));
+        return result;
+    }
+}
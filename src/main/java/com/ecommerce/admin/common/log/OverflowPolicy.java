@@ -0,0 +1,23 @@
+package com.ecommerce.admin.common.log;
+
+/**
+ * 异步写入队列溢出策略
+ * 决定队列积压时新记录的处理方式
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 队列已满时直接丢弃新记录
+     */
+    DROP,
+
+    /**
+     * 队列超过高水位后按比例采样，队列已满时丢弃
+     */
+    SAMPLE,
+
+    /**
+     * 队列已满时阻塞等待，超过等待时间仍无空位则丢弃
+     */
+    BLOCK
+}
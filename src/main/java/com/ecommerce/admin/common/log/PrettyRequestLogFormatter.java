@@ -0,0 +1,50 @@
+package com.ecommerce.admin.common.log;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONWriter.Feature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 多行美化请求日志格式化器
+ * 重新解析并缩进 JSON 报文，便于阅读但分配开销较大，仅建议开发环境使用
+ */
+@Component
+@ConditionalOnProperty(prefix = "admin.request-log", name = "format", havingValue = "pretty")
+public class PrettyRequestLogFormatter implements RequestLogFormatter {
+
+    @Override
+    public String format(OperationLogRecord record) {
+        // 使用简化的分隔符，重点突出 URL 和 耗时
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n[Request Access] >>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>\n")
+          .append(String.format("URL    : %s [%s]\n", record.getUrl(), record.getMethod()))
+          .append(String.format("Handle : %s#%s\n", record.getHandler(), record.getAction()))
+          .append(String.format("Type   : Req[%s] | Res[%s]\n",
+              record.getRequestContentType() == null ? "none" : record.getRequestContentType(),
+              record.getResponseContentType() == null ? "none" : record.getResponseContentType()))
+          .append(String.format("Time   : %sms\n", record.getDuration()))
+          .append(String.format("Status : %s\n", record.getStatus()));
+
+        if (!"{}".equals(record.getParams())) {
+            sb.append("Params : ").append(record.getParams()).append("\n");
+        }
+
+        if (record.getRequestBody() != null) {
+            sb.append("ReqBody: ").append(formatJson(record.getRequestBody())).append("\n");
+        }
+
+        if (record.getResponseBody() != null) {
+            sb.append("ResBody: ").append(formatJson(record.getResponseBody())).append("\n");
+        }
+
+        sb.append("<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<<");
+        return sb.toString();
+    }
+
+    private String formatJson(String json) {
+        if (!JSON.isValid(json)) return json;
+        // 生产环境建议不使用 PrettyFormat 以节省磁盘，开发环境可开启
+        return JSON.toJSONString(JSON.parse(json), Feature.PrettyFormat, Feature.WriteNulls).replace("\t", "    ");
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.admin.common.log;
+
+/**
+ * 请求日志格式化器
+ * 将操作日志记录格式化为控制台输出文本，通过 admin.request-log.format 选择实现
+ */
+public interface RequestLogFormatter {
+
+    /**
+     * 格式化日志记录
+     * @param record 操作日志记录
+     * @return 格式化后的日志文本
+     */
+    String format(OperationLogRecord record);
+}
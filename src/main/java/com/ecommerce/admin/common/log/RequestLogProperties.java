@@ -0,0 +1,45 @@
+package com.ecommerce.admin.common.log;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 请求日志配置
+ * 对应 application.yml 中的 admin.request-log
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.request-log")
+public class RequestLogProperties {
+
+    /**
+     * 是否启用请求日志
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否同时输出到控制台日志（由后台线程输出，不占用请求线程）
+     */
+    private boolean console = true;
+
+    /**
+     * 控制台日志格式: compact-单行紧凑（默认）, pretty-多行美化（仅建议开发环境）
+     */
+    private String format = "compact";
+
+    /**
+     * 入库时请求参数、返回结果的最大字符数
+     */
+    private int maxFieldLength = 4000;
+
+    /**
+     * 请求/响应体采集配置
+     */
+    private BodyCaptureProperties capture = new BodyCaptureProperties();
+
+    /**
+     * 异步写入器配置
+     */
+    private BatchWriterProperties writer = new BatchWriterProperties();
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.admin.common.log;
+
+import com.ecommerce.admin.common.result.Result;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 记录 Result 业务状态码
+ * 在序列化之前把返回值中的 code 放入请求属性，请求日志据此判断业务是否成功，
+ * 不依赖响应体采集（未采样或二进制响应同样可以判断）；同样作用于全局异常处理器的返回值
+ */
+@RestControllerAdvice
+public class ResultCodeAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * 请求属性名，值为 Result.code
+     */
+    public static final String ATTRIBUTE = ResultCodeAdvice.class.getName() + ".code";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Result && request instanceof ServletServerHttpRequest) {
+            ((ServletServerHttpRequest) request).getServletRequest().setAttribute(ATTRIBUTE, ((Result<?>) body).getCode());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,159 @@
+package com.ecommerce.admin.common.metrics;
+
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 处理器延迟统计注册表
+ * 按请求映射（HTTP 方法 + 路径模式）维护各阶段的延迟直方图，并提供分位值与最慢接口排行
+ */
+@Component
+public class HandlerLatencyRegistry {
+
+    /**
+     * 汇总所有处理器时使用的名称
+     */
+    public static final String ALL_HANDLERS = "*";
+
+    private final Map<String, PhaseHistograms> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次请求的各阶段耗时
+     * @param timing 请求计时
+     */
+    public void record(RequestTiming timing) {
+        if (timing.getHandler() == null) {
+            return;
+        }
+        PhaseHistograms phases = histograms.computeIfAbsent(timing.getHandler(), key -> new PhaseHistograms());
+        for (LatencyPhase phase : LatencyPhase.values()) {
+            long nanos = timing.nanos(phase);
+            if (nanos >= 0) {
+                phases.get(phase).record(nanos);
+            }
+        }
+    }
+
+    /**
+     * 获取全部处理器的统计，首项为合并后的汇总
+     * @return List<HandlerLatency>
+     */
+    public List<HandlerLatency> snapshot() {
+        List<HandlerLatency> result = new ArrayList<>(histograms.size() + 1);
+        PhaseHistograms merged = new PhaseHistograms();
+        for (Map.Entry<String, PhaseHistograms> entry : histograms.entrySet()) {
+            merged.merge(entry.getValue());
+            result.add(entry.getValue().toLatency(entry.getKey()));
+        }
+        result.sort(Comparator.comparing(HandlerLatency::getHandler));
+        result.add(0, merged.toLatency(ALL_HANDLERS));
+        return result;
+    }
+
+    /**
+     * 最慢接口排行，按指定阶段的 p99 降序
+     * @param phase 排序阶段
+     * @param limit 返回条数
+     * @return List<HandlerLatency>
+     */
+    public List<HandlerLatency> slowest(LatencyPhase phase, int limit) {
+        return histograms.entrySet().stream()
+                .map(entry -> entry.getValue().toLatency(entry.getKey()))
+                .sorted(Comparator.comparingDouble((HandlerLatency latency) -> latency.getPhases().get(phase.getCode()).getP99()).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        histograms.clear();
+    }
+
+    /**
+     * 单个处理器各阶段的直方图
+     */
+    private static class PhaseHistograms {
+
+        private final EnumMap<LatencyPhase, LatencyHistogram> byPhase = new EnumMap<>(LatencyPhase.class);
+
+        PhaseHistograms() {
+            for (LatencyPhase phase : LatencyPhase.values()) {
+                byPhase.put(phase, new LatencyHistogram());
+            }
+        }
+
+        LatencyHistogram get(LatencyPhase phase) {
+            return byPhase.get(phase);
+        }
+
+        void merge(PhaseHistograms other) {
+            for (LatencyPhase phase : LatencyPhase.values()) {
+                byPhase.get(phase).merge(other.get(phase));
+            }
+        }
+
+        HandlerLatency toLatency(String handler) {
+            HandlerLatency latency = new HandlerLatency();
+            latency.setHandler(handler);
+            Map<String, PhaseStats> phases = new LinkedHashMap<>();
+            for (LatencyPhase phase : LatencyPhase.values()) {
+                LatencyHistogram.Snapshot snapshot = byPhase.get(phase).snapshot();
+                PhaseStats stats = new PhaseStats();
+                stats.setCount(snapshot.getCount());
+                stats.setP50(snapshot.millisAt(0.5));
+                stats.setP99(snapshot.millisAt(0.99));
+                stats.setP999(snapshot.millisAt(0.999));
+                stats.setMax(LatencyHistogram.Snapshot.toMillis(snapshot.getMax()));
+                phases.put(phase.getCode(), stats);
+            }
+            latency.setCount(phases.get(LatencyPhase.TOTAL.getCode()).getCount());
+            latency.setPhases(phases);
+            return latency;
+        }
+    }
+
+    /**
+     * 处理器延迟统计
+     */
+    @Data
+    public static class HandlerLatency {
+
+        /**
+         * 处理器标识，如 GET /system/user/{id}
+         */
+        private String handler;
+
+        /**
+         * 请求次数
+         */
+        private long count;
+
+        /**
+         * 各阶段统计，键为阶段编码
+         */
+        private Map<String, PhaseStats> phases;
+    }
+
+    /**
+     * 单阶段延迟统计（毫秒）
+     */
+    @Data
+    public static class PhaseStats {
+        private long count;
+        private double p50;
+        private double p99;
+        private double p999;
+        private double max;
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecommerce.admin.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 延迟直方图
+ * 对数线性分桶（每个 2 的幂区间再均分 16 个子桶，相对误差约 3%），纳秒精度，可合并
+ * 记录只做一次原子自增，适合在请求线程上调用
+ */
+public class LatencyHistogram {
+
+    /**
+     * 子桶位数：每个 2 的幂区间的子桶数为 2^SUB_BUCKET_BITS
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 小于该值的延迟按纳秒精确计数
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+
+    /**
+     * 最高有效位上限，约 2^40 纳秒（18 分钟），超出部分记入最后一个桶
+     */
+    private static final int MAX_MSB = 40;
+
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_MSB - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * 记录一次延迟
+     * @param nanos 纳秒
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(indexOf(Math.max(0, nanos)));
+    }
+
+    /**
+     * 将另一个直方图的计数合并到当前直方图
+     * @param other 另一个直方图
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+
+    /**
+     * 生成当前计数的快照，统计期间仍可继续记录
+     * @return Snapshot
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total);
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        if (msb > MAX_MSB) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = msb - SUB_BUCKET_BITS;
+        int sub = (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+        return LINEAR_LIMIT + (msb - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKET_COUNT + 1;
+        int sub = offset % SUB_BUCKET_COUNT;
+        return ((long) (SUB_BUCKET_COUNT + sub)) << shift;
+    }
+
+    static long upperBound(int index) {
+        return index + 1 < BUCKET_COUNT ? lowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+
+    /**
+     * 直方图快照
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+
+        private final long total;
+
+        Snapshot(long[] counts, long total) {
+            this.counts = counts;
+            this.total = total;
+        }
+
+        /**
+         * 样本总数
+         * @return long
+         */
+        public long getCount() {
+            return total;
+        }
+
+        /**
+         * 计算分位值（取桶中点）
+         * @param quantile 分位，如 0.99
+         * @return 纳秒，无样本时返回 0
+         */
+        public long valueAt(double quantile) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    long lower = lowerBound(i);
+                    long upper = upperBound(i);
+                    return upper == Long.MAX_VALUE ? lower : lower + (upper - lower) / 2;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * 最大值所在桶的上界
+         * @return 纳秒
+         */
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] != 0) {
+                    long upper = upperBound(i);
+                    return upper == Long.MAX_VALUE ? lowerBound(i) : upper;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * 分位值（毫秒，保留三位小数）
+         * @param quantile 分位
+         * @return 毫秒
+         */
+        public double millisAt(double quantile) {
+            return toMillis(valueAt(quantile));
+        }
+
+        static double toMillis(long nanos) {
+            return Math.round(nanos / (double) TimeUnit.MICROSECONDS.toNanos(1)) / 1000.0;
+        }
+    }
+}
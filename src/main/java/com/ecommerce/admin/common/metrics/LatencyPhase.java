@@ -0,0 +1,67 @@
+package com.ecommerce.admin.common.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 请求处理阶段
+ * 各阶段首尾相接，之和等于请求总耗时
+ */
+@Getter
+@AllArgsConstructor
+public enum LatencyPhase {
+
+    /**
+     * 过滤器：进入过滤链到第一个拦截器 preHandle（含 CORS、报文采集包装、处理器映射）
+     */
+    FILTER("filter", "过滤器"),
+
+    /**
+     * 拦截器：所有拦截器的 preHandle（含 Sa-Token 登录校验）
+     */
+    INTERCEPTOR("interceptor", "拦截器"),
+
+    /**
+     * 处理器：Controller 方法执行
+     */
+    HANDLER("handler", "处理器"),
+
+    /**
+     * 序列化：返回值写入响应体（ResponseBodyAdvice 之后）
+     */
+    SERIALIZATION("serialization", "序列化"),
+
+    /**
+     * 报文拷贝：拦截器 afterCompletion 采集报文及过滤器回写响应
+     */
+    BODY_COPY("bodyCopy", "报文拷贝"),
+
+    /**
+     * 总耗时
+     */
+    TOTAL("total", "总耗时");
+
+    /**
+     * 阶段编码
+     */
+    private final String code;
+
+    /**
+     * 阶段描述
+     */
+    private final String desc;
+
+    /**
+     * 根据编码获取阶段
+     * @param code 阶段编码
+     * @return LatencyPhase，未匹配时返回 TOTAL
+     */
+    public static LatencyPhase getByCode(String code) {
+        for (LatencyPhase phase : values()) {
+            if (phase.getCode().equalsIgnoreCase(code)) {
+                return phase;
+            }
+        }
+        return TOTAL;
+    }
+}
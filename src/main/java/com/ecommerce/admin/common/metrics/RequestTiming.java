@@ -0,0 +1,71 @@
+package com.ecommerce.admin.common.metrics;
+
+import lombok.Data;
+
+import javax.servlet.ServletRequest;
+
+/**
+ * 单次请求的阶段时间点（System.nanoTime）
+ * 由 RequestTimingFilter 创建并保存在请求属性中，各阶段在对应位置打点
+ */
+@Data
+public class RequestTiming {
+
+    /**
+     * 请求属性名
+     */
+    public static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    /**
+     * 处理器标识，如 GET /system/user/list（HTTP 方法 + 路径模式），未匹配到 HandlerMethod 时为 null
+     */
+    private String handler;
+
+    private long filterStart;
+
+    private long interceptorStart;
+
+    private long handlerStart;
+
+    private long serializationStart;
+
+    private long handlerEnd;
+
+    private long filterEnd;
+
+    /**
+     * 获取当前请求的计时对象
+     * @param request 请求
+     * @return RequestTiming，未经过 RequestTimingFilter 时返回 null
+     */
+    public static RequestTiming of(ServletRequest request) {
+        return (RequestTiming) request.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * 计算阶段耗时，缺失打点的阶段返回 -1
+     * @param phase 阶段
+     * @return 纳秒
+     */
+    public long nanos(LatencyPhase phase) {
+        long handlerStop = serializationStart != 0 ? serializationStart : handlerEnd;
+        switch (phase) {
+            case FILTER:
+                return span(filterStart, interceptorStart);
+            case INTERCEPTOR:
+                return span(interceptorStart, handlerStart);
+            case HANDLER:
+                return span(handlerStart, handlerStop);
+            case SERIALIZATION:
+                return serializationStart != 0 ? span(serializationStart, handlerEnd) : 0;
+            case BODY_COPY:
+                return span(handlerEnd, filterEnd);
+            default:
+                return span(filterStart, filterEnd);
+        }
+    }
+
+    private static long span(long start, long end) {
+        return start != 0 && end != 0 ? end - start : -1;
+    }
+}
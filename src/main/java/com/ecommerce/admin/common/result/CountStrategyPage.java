@@ -0,0 +1,107 @@
+package com.ecommerce.admin.common.result;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.ecommerce.admin.common.enums.business.CountStrategyEnum;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 可指定总数统计策略的分页对象
+ * 由 CountStrategyPaginationInterceptor 识别：EXACT 与普通 Page 相同；其余策略查询时多取一条记录，
+ * 据此得到准确的 hasMore，并在最后一页用实际行数校正缓存或估算的总数；NONE 策略的 total 始终为 0
+ * @param <T> 记录类型
+ */
+@ApiModel(description = "分页结果")
+public class CountStrategyPage<T> extends Page<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    @ApiModelProperty(value = "总数统计策略")
+    private final CountStrategyEnum countStrategy;
+
+    @ApiModelProperty(value = "总数是否为估算值")
+    private boolean totalApproximate;
+
+    @ApiModelProperty(value = "是否还有下一页")
+    private Boolean hasMore;
+
+    /**
+     * 是否正在多取一条记录探测下一页
+     */
+    private transient boolean probing;
+
+    public CountStrategyPage(long current, long size, CountStrategyEnum countStrategy) {
+        super(current, size);
+        this.countStrategy = countStrategy;
+    }
+
+    public CountStrategyEnum getCountStrategy() {
+        return countStrategy;
+    }
+
+    public boolean isTotalApproximate() {
+        return totalApproximate;
+    }
+
+    public void setTotalApproximate(boolean totalApproximate) {
+        this.totalApproximate = totalApproximate;
+    }
+
+    /**
+     * 是否还有下一页，探测过下一页时为探测结果，否则按总数计算
+     * @return Boolean
+     */
+    public Boolean getHasMore() {
+        return hasMore != null ? hasMore : getCurrent() < getPages();
+    }
+
+    @Override
+    public boolean searchCount() {
+        return countStrategy != CountStrategyEnum.NONE && super.searchCount();
+    }
+
+    /**
+     * 开始探测下一页：分页 SQL 的 LIMIT 多取一条，OFFSET 不变
+     */
+    public void startProbe() {
+        probing = true;
+    }
+
+    @Override
+    public long getSize() {
+        return probing ? super.getSize() + 1 : super.getSize();
+    }
+
+    @Override
+    public long offset() {
+        long current = getCurrent();
+        return current <= 1 ? 0L : (current - 1) * super.getSize();
+    }
+
+    @Override
+    public Page<T> setRecords(List<T> records) {
+        if (!probing) {
+            return super.setRecords(records);
+        }
+        probing = false;
+        long size = super.getSize();
+        hasMore = records.size() > size;
+        List<T> pageRecords = hasMore ? new ArrayList<>(records.subList(0, (int) size)) : records;
+        long seen = offset() + pageRecords.size();
+        if (countStrategy == CountStrategyEnum.NONE) {
+            return super.setRecords(pageRecords);
+        }
+        if (!hasMore && !pageRecords.isEmpty()) {
+            // 已到最后一页，实际行数即准确总数
+            setTotal(seen);
+            totalApproximate = false;
+        } else if (hasMore && getTotal() <= seen) {
+            // 缓存或估算值偏小，至少还有下一页
+            setTotal(seen + 1);
+        }
+        return super.setRecords(pageRecords);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.admin.common.result;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 游标分页结果
+ * 基于上一页最后一条记录定位下一页（keyset 分页），不统计总数，翻页深度不影响查询耗时
+ * @param <T> 记录类型
+ */
+@Data
+@ApiModel(description = "游标分页结果")
+public class CursorPage<T> {
+
+    @ApiModelProperty(value = "当前页记录")
+    private List<T> records;
+
+    @ApiModelProperty(value = "每页大小")
+    private Integer size;
+
+    @ApiModelProperty(value = "下一页游标，没有更多数据时为 null")
+    private String nextCursor;
+
+    @ApiModelProperty(value = "是否还有下一页")
+    private Boolean hasMore;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> records, Integer size, String nextCursor) {
+        this.records = records;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    /**
+     * 转换记录类型
+     * @param mapper 转换函数
+     * @param <R> 目标类型
+     * @return CursorPage<R>
+     */
+    public <R> CursorPage<R> convert(Function<? super T, ? extends R> mapper) {
+        List<R> converted = records.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPage<>(converted, size, nextCursor);
+    }
+}
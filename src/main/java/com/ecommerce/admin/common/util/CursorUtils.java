@@ -0,0 +1,60 @@
+package com.ecommerce.admin.common.util;
+
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.exception.BusinessException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 分页游标工具类
+ * 将排序键编码为对客户端不透明的 URL 安全字符串，首段为排序方式标识，防止游标跨排序方式混用
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorUtils {
+
+    /**
+     * 游标字段分隔符
+     */
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 编码游标
+     * @param sort 排序方式标识
+     * @param values 排序键取值（不能包含分隔符）
+     * @return 游标字符串
+     */
+    public static String encode(String sort, Object... values) {
+        StringBuilder builder = new StringBuilder(sort);
+        for (Object value : values) {
+            builder.append(SEPARATOR).append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     * @param cursor 游标字符串
+     * @param sort 期望的排序方式标识
+     * @param valueCount 期望的排序键个数
+     * @return 排序键取值
+     * @throws BusinessException 游标格式错误或与排序方式不匹配
+     */
+    public static String[] decode(String cursor, String sort, int valueCount) {
+        String text;
+        try {
+            text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ResponseEnum.PARAM_ERROR, "游标格式错误");
+        }
+        String[] parts = text.split("\\|", -1);
+        if (parts.length != valueCount + 1 || !sort.equals(parts[0])) {
+            throw new BusinessException(ResponseEnum.PARAM_ERROR, "游标与排序方式不匹配");
+        }
+        String[] values = new String[valueCount];
+        System.arraycopy(parts, 1, values, 0, valueCount);
+        return values;
+    }
+}
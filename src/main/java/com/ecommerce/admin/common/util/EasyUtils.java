@@ -1,18 +1,22 @@
 package com.ecommerce.admin.common.util;
 
 import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
 import com.alibaba.excel.context.AnalysisContext;
 import com.alibaba.excel.event.AnalysisEventListener;
+import com.alibaba.excel.write.metadata.WriteSheet;
 import com.alibaba.fastjson.JSON;
 import com.ecommerce.admin.common.constants.DateConstants;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Easy Excel 工具类
@@ -35,13 +39,7 @@ public class EasyUtils {
                                  String fileName, String sheetName,
                                  HttpServletResponse response) throws IOException {
         try {
-            response.setContentType("application/vnd.ms-excel");
-            response.setCharacterEncoding("utf-8");
-
-            String finalName =
-                    URLEncoder.encode(fileName + " " + LocalDateTime.now().format(DateTimeFormatter.ofPattern(DateConstants.DATE_TIME_FORMAT)), "UTF-8")
-                            .replaceAll("\\+", "%20");
-            response.setHeader("Content-disposition", "attachment;filename*=utf-8''" + finalName + ".xlsx");
+            setExcelHeaders(fileName, response);
 
             EasyExcel.write(response.getOutputStream(), clazz)
                     .autoCloseStream(Boolean.FALSE)
@@ -49,18 +47,99 @@ public class EasyUtils {
                     .doWrite(data);
 
         } catch (IOException e) {
-            response.reset();
-            response.setContentType("application/json");
-            response.setCharacterEncoding("utf-8");
+            writeError(response, e);
+        }
+    }
 
-            Map<String, Object> map = new HashMap<>();
-            map.put("code", 600100);
-            map.put("msg", "下载文件失败：" + e.getMessage());
+    /**
+     * 流式导出 Excel
+     * 数据源逐行推送，按 chunkSize 分批写入 ExcelWriter，内存占用与总行数无关；
+     * 单个 sheet 超过 MAX_ROWS_PER_SHEET 行时自动新建 sheet
+     *
+     * @param clazz 导出模型
+     * @param fileName 文件名
+     * @param sheetName sheet 名称
+     * @param chunkSize 每批写入行数
+     * @param response 响应
+     * @param source 数据源，调用传入的 Consumer 推送每一行
+     * @param <T> 导出模型类型
+     * @throws IOException IO异常
+     */
+    public static <T> void writeInChunks(Class<T> clazz, String fileName, String sheetName, int chunkSize,
+                                         HttpServletResponse response, Consumer<Consumer<T>> source) throws IOException {
+        try {
+            setExcelHeaders(fileName, response);
+            writeInChunks(clazz, sheetName, chunkSize, response.getOutputStream(), source);
+        } catch (IOException e) {
+            // 已开始输出后无法再改写响应，只能中断下载
+            if (response.isCommitted()) {
+                throw e;
+            }
+            writeError(response, e);
+        } catch (RuntimeException e) {
+            // 数据源中途失败：清掉下载头，交由全局异常处理返回错误信息，避免客户端收到 200 的附件
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+    }
 
-            response.getWriter().println(JSON.toJSONString(map));
+    /**
+     * 流式写入 Excel 到输出流（不关闭输出流）
+     * 数据源抛出异常时不写出工作簿（只释放临时文件），避免产生截断但格式合法的文件
+     *
+     * @param clazz 导出模型
+     * @param sheetName sheet 名称
+     * @param chunkSize 每批写入行数
+     * @param outputStream 输出流
+     * @param source 数据源，调用传入的 Consumer 推送每一行
+     * @param <T> 导出模型类型
+     * @return 写入的数据行数
+     */
+    public static <T> long writeInChunks(Class<T> clazz, String sheetName, int chunkSize,
+                                         OutputStream outputStream, Consumer<Consumer<T>> source) {
+        ExcelWriter excelWriter = EasyExcel.write(outputStream, clazz)
+                .autoCloseStream(Boolean.FALSE)
+                .build();
+        boolean completed = false;
+        try {
+            ChunkedSheetWriter<T> sheetWriter = new ChunkedSheetWriter<>(excelWriter, sheetName, chunkSize);
+            source.accept(sheetWriter::add);
+            sheetWriter.flush();
+            completed = true;
+            return sheetWriter.totalRows;
+        } finally {
+            if (completed) {
+                excelWriter.finish();
+            } else {
+                excelWriter.writeContext().finish(true);
+            }
         }
     }
 
+    private static void setExcelHeaders(String fileName, HttpServletResponse response) throws IOException {
+        response.setContentType("application/vnd.ms-excel");
+        response.setCharacterEncoding("utf-8");
+
+        String finalName =
+                URLEncoder.encode(fileName + " " + LocalDateTime.now().format(DateTimeFormatter.ofPattern(DateConstants.DATE_TIME_FORMAT)), "UTF-8")
+                        .replaceAll("\\+", "%20");
+        response.setHeader("Content-disposition", "attachment;filename*=utf-8''" + finalName + ".xlsx");
+    }
+
+    private static void writeError(HttpServletResponse response, IOException e) throws IOException {
+        response.reset();
+        response.setContentType("application/json");
+        response.setCharacterEncoding("utf-8");
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("code", 600100);
+        map.put("msg", "下载文件失败：" + e.getMessage());
+
+        response.getWriter().println(JSON.toJSONString(map));
+    }
+
     /**
      * 导入 Excel
      *
@@ -87,4 +166,62 @@ public class EasyUtils {
 
         return result;
     }
+
+    /**
+     * 分批写入并按行数自动切换 sheet 的写入器
+     */
+    private static class ChunkedSheetWriter<T> {
+
+        /**
+         * 单个 sheet 最大行数（xlsx 上限为 1048576 行，预留表头）
+         */
+        private static final int MAX_ROWS_PER_SHEET = 1_000_000;
+
+        private final ExcelWriter excelWriter;
+
+        private final String sheetName;
+
+        private final int chunkSize;
+
+        private final List<T> chunk;
+
+        private WriteSheet sheet;
+
+        private int sheetNo;
+
+        private int sheetRows;
+
+        private long totalRows;
+
+        ChunkedSheetWriter(ExcelWriter excelWriter, String sheetName, int chunkSize) {
+            this.excelWriter = excelWriter;
+            this.sheetName = sheetName;
+            this.chunkSize = chunkSize;
+            this.chunk = new ArrayList<>(chunkSize);
+            this.sheet = EasyExcel.writerSheet(sheetNo, sheetName).build();
+        }
+
+        void add(T row) {
+            if (sheetRows == MAX_ROWS_PER_SHEET) {
+                flush();
+                sheetNo++;
+                sheetRows = 0;
+                sheet = EasyExcel.writerSheet(sheetNo, sheetName + (sheetNo + 1)).build();
+            }
+            chunk.add(row);
+            sheetRows++;
+            totalRows++;
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            // 首个 sheet 即使没有数据也写出表头
+            if (!chunk.isEmpty() || sheetNo == 0) {
+                excelWriter.write(chunk, sheet);
+                chunk.clear();
+            }
+        }
+    }
 }
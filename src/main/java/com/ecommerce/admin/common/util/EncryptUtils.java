@@ -1,107 +1,247 @@
 package com.ecommerce.admin.common.util;
 
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
 
 /**
  * 加密工具类
  * 提供密码加密、验证、随机密码生成等功能
+ * 密码哈希为 PBKDF2，格式自描述（算法:迭代次数:盐值:密文），提高迭代次数后旧哈希仍可验证并可识别出需要升级；
+ * 兼容早期的“盐值:密文”格式（PBKDF2WithHmacSHA256，10000 次迭代）。
+ * HMAC 实例按线程缓存，避免每次调用都查找安全提供者
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class EncryptUtils {
 
     /**
-     * 加密算法：PBKDF2WithHmacSHA256
+     * 默认迭代次数，同时也是早期“盐值:密文”格式使用的迭代次数
      */
-    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
-    
+    public static final int DEFAULT_ITERATIONS = 10000;
+
     /**
      * 盐值长度（字节）
      */
     private static final int SALT_LENGTH = 16;
     
-    /**
-     * 迭代次数
-     */
-    private static final int ITERATIONS = 10000;
-    
     /**
      * 生成密钥长度（字节）
      */
     private static final int KEY_LENGTH = 32;
 
+    /**
+     * 哈希字段分隔符
+     */
+    private static final String SEPARATOR = ":";
+
+    /**
+     * 共享的安全随机数生成器（线程安全）
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * 密码强度检查中的特殊字符
+     */
+    private static final String SPECIAL_CHARS = "!@#$%^&*()_+-=[]{}|;:,.<>?";
+
+    /**
+     * ASCII 字符类别表
+     */
+    private static final byte[] CHAR_CLASSES = new byte[128];
+
+    private static final byte DIGIT = 1;
+    private static final byte LOWER = 1 << 1;
+    private static final byte UPPER = 1 << 2;
+    private static final byte SPECIAL = 1 << 3;
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            CHAR_CLASSES[c] = DIGIT;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            CHAR_CLASSES[c] = LOWER;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            CHAR_CLASSES[c] = UPPER;
+        }
+        for (char c : SPECIAL_CHARS.toCharArray()) {
+            CHAR_CLASSES[c] = SPECIAL;
+        }
+    }
+
     /**
      * 加密密码
-     * 使用PBKDF2WithHmacSHA256算法对密码进行加密
+     * 使用默认算法（PBKDF2-SHA256）与默认迭代次数对密码进行加密；
+     * 需要按配置的算法与迭代次数加密时使用 {@link #encryptPassword(String, Pbkdf2Algorithm, int)}
      *
      * @param password 原始密码
-     * @return 加密后的密码（格式：盐值:密文）
+     * @return 加密后的密码（格式：算法:迭代次数:盐值:密文）
      */
     public static String encryptPassword(String password) {
+        return encryptPassword(password, Pbkdf2Algorithm.SHA256, DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * 按指定算法与迭代次数加密密码
+     *
+     * @param password   原始密码
+     * @param algorithm  算法
+     * @param iterations 迭代次数
+     * @return 加密后的密码（格式：算法:迭代次数:盐值:密文）
+     */
+    public static String encryptPassword(String password, Pbkdf2Algorithm algorithm, int iterations) {
         if (password == null || password.isEmpty()) {
             return null;
         }
         
-        try {
-            // 生成随机盐值
-            byte[] salt = generateSalt();
-            
-            // 使用PBKDF2算法生成密钥
-            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, ITERATIONS, KEY_LENGTH * 8);
-            SecretKeyFactory factory = SecretKeyFactory.getInstance(ALGORITHM);
-            byte[] hash = factory.generateSecret(spec).getEncoded();
-            
-            // 将盐值和密文转换为Base64字符串，格式：盐值:密文
-            String saltBase64 = Base64.getEncoder().encodeToString(salt);
-            String hashBase64 = Base64.getEncoder().encodeToString(hash);
-            
-            return saltBase64 + ":" + hashBase64;
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new RuntimeException("密码加密失败", e);
-        }
+        // 生成随机盐值
+        byte[] salt = generateSalt();
+        byte[] hash = pbkdf2(algorithm, password, salt, iterations, KEY_LENGTH);
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        return algorithm.getId() + SEPARATOR + iterations + SEPARATOR
+                + encoder.encodeToString(salt) + SEPARATOR + encoder.encodeToString(hash);
     }
 
     /**
      * 验证密码
-     * 检查原始密码与加密密码是否匹配
+     * 检查原始密码与加密密码是否匹配，支持自描述格式与早期的“盐值:密文”格式
      *
      * @param password     原始密码
-     * @param encryptedPwd 加密后的密码（格式：盐值:密文）
+     * @param encryptedPwd 加密后的密码
      * @return 是否匹配
      */
     public static boolean verifyPassword(String password, String encryptedPwd) {
-        if (password == null || encryptedPwd == null) {
+        if (password == null || password.isEmpty() || encryptedPwd == null) {
             return false;
         }
         
+        ParsedHash parsed = parse(encryptedPwd);
+        if (parsed == null) {
+            return false;
+        }
+        byte[] testHash = pbkdf2(parsed.algorithm, password, parsed.salt, parsed.iterations, parsed.hash.length);
+
+        // 比较生成的密文和存储的密文是否一致
+        return slowEquals(parsed.hash, testHash);
+    }
+
+    /**
+     * 判断是否为本工具类生成的密码哈希（含早期格式）
+     *
+     * @param encryptedPwd 加密后的密码
+     * @return boolean
+     */
+    public static boolean isEncrypted(String encryptedPwd) {
+        return encryptedPwd != null && parse(encryptedPwd) != null;
+    }
+
+    /**
+     * 判断密码哈希是否需要用默认算法与默认迭代次数重新计算
+     *
+     * @param encryptedPwd 加密后的密码
+     * @return boolean
+     */
+    public static boolean needsRehash(String encryptedPwd) {
+        return needsRehash(encryptedPwd, Pbkdf2Algorithm.SHA256, DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * 判断密码哈希是否需要用目标算法与迭代次数重新计算
+     * 早期格式、算法不同或迭代次数低于目标值时需要
+     *
+     * @param encryptedPwd 加密后的密码
+     * @param algorithm    目标算法
+     * @param iterations   目标迭代次数
+     * @return boolean
+     */
+    public static boolean needsRehash(String encryptedPwd, Pbkdf2Algorithm algorithm, int iterations) {
+        if (encryptedPwd == null || encryptedPwd.split(SEPARATOR).length != 4) {
+            return true;
+        }
+        ParsedHash parsed = parse(encryptedPwd);
+        return parsed == null || parsed.algorithm != algorithm || parsed.iterations < iterations;
+    }
+
+    /**
+     * PBKDF2（RFC 8018），与 SecretKeyFactory 的 PBKDF2WithHmacXXX 结果一致（密码按 UTF-8 编码）
+     *
+     * @param algorithm  算法
+     * @param password   密码，非空
+     * @param salt       盐值
+     * @param iterations 迭代次数
+     * @param keyLength  密钥长度（字节）
+     * @return 派生密钥
+     */
+    static byte[] pbkdf2(Pbkdf2Algorithm algorithm, String password, byte[] salt, int iterations, int keyLength) {
+        Mac mac = algorithm.mac();
+        try {
+            mac.init(new SecretKeySpec(password.getBytes(StandardCharsets.UTF_8), mac.getAlgorithm()));
+            int macLength = mac.getMacLength();
+            byte[] result = new byte[keyLength];
+            byte[] u = new byte[macLength];
+            byte[] t = new byte[macLength];
+            int blocks = (keyLength + macLength - 1) / macLength;
+            for (int block = 1; block <= blocks; block++) {
+                // U1 = HMAC(P, S || INT(i))
+                mac.update(salt);
+                mac.update((byte) (block >>> 24));
+                mac.update((byte) (block >>> 16));
+                mac.update((byte) (block >>> 8));
+                mac.update((byte) block);
+                mac.doFinal(u, 0);
+                System.arraycopy(u, 0, t, 0, macLength);
+                // Uj = HMAC(P, Uj-1)，T = U1 ^ U2 ^ ... ^ Uc
+                for (int j = 1; j < iterations; j++) {
+                    mac.update(u);
+                    mac.doFinal(u, 0);
+                    for (int k = 0; k < macLength; k++) {
+                        t[k] ^= u[k];
+                    }
+                }
+                int offset = (block - 1) * macLength;
+                System.arraycopy(t, 0, result, offset, Math.min(macLength, keyLength - offset));
+            }
+            return result;
+        } catch (InvalidKeyException | ShortBufferException e) {
+            throw new IllegalStateException("密码哈希计算失败", e);
+        }
+    }
+
+    /**
+     * 解析密码哈希，格式不正确时返回 null
+     */
+    private static ParsedHash parse(String encryptedPwd) {
+        String[] parts = encryptedPwd.split(SEPARATOR);
         try {
-            // 分割盐值和密文
-            String[] parts = encryptedPwd.split(":");
-            if (parts.length != 2) {
-                return false;
+            Base64.Decoder decoder = Base64.getDecoder();
+            if (parts.length == 2) {
+                // 早期格式：盐值:密文
+                return new ParsedHash(Pbkdf2Algorithm.SHA256, DEFAULT_ITERATIONS,
+                        decoder.decode(parts[0]), decoder.decode(parts[1]));
+            }
+            if (parts.length == 4) {
+                Pbkdf2Algorithm parsedAlgorithm = Pbkdf2Algorithm.getById(parts[0]);
+                int parsedIterations = Integer.parseInt(parts[1]);
+                if (parsedAlgorithm == null || parsedIterations < 1) {
+                    return null;
+                }
+                return new ParsedHash(parsedAlgorithm, parsedIterations, decoder.decode(parts[2]), decoder.decode(parts[3]));
             }
-            
-            // 解析盐值和密文
-            byte[] salt = Base64.getDecoder().decode(parts[0]);
-            byte[] hash = Base64.getDecoder().decode(parts[1]);
-            
-            // 使用相同的参数生成密钥
-            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, ITERATIONS, KEY_LENGTH * 8);
-            SecretKeyFactory factory = SecretKeyFactory.getInstance(ALGORITHM);
-            byte[] testHash = factory.generateSecret(spec).getEncoded();
-            
-            // 比较生成的密文和存储的密文是否一致
-            return slowEquals(hash, testHash);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new RuntimeException("密码验证失败", e);
+        } catch (IllegalArgumentException e) {
+            // Base64 或迭代次数格式错误
+            return null;
         }
+        return null;
     }
     
     /**
@@ -110,9 +250,8 @@ public class EncryptUtils {
      * @return 盐值字节数组
      */
     private static byte[] generateSalt() {
-        SecureRandom random = new SecureRandom();
         byte[] salt = new byte[SALT_LENGTH];
-        random.nextBytes(salt);
+        RANDOM.nextBytes(salt);
         return salt;
     }
     
@@ -190,10 +329,9 @@ public class EncryptUtils {
      * @return 随机字符串
      */
     private static String generateRandomString(String chars, int length) {
-        SecureRandom random = new SecureRandom();
         StringBuilder sb = new StringBuilder(length);
         for (int i = 0; i < length; i++) {
-            int index = random.nextInt(chars.length());
+            int index = RANDOM.nextInt(chars.length());
             sb.append(chars.charAt(index));
         }
         return sb.toString();
@@ -201,7 +339,7 @@ public class EncryptUtils {
 
     /**
      * 检查密码强度
-     * 评估密码的强度等级
+     * 评估密码的强度等级，单次遍历统计数字、小写字母、大写字母、特殊字符四类字符
      *
      * @param password 密码
      * @return 密码强度等级（1-弱，2-中，3-强）
@@ -211,36 +349,103 @@ public class EncryptUtils {
             return 1; // 弱密码
         }
 
-        int strength = 1; // 默认弱密码
-        int charTypeCount = 0;
-        
-        // 检查是否包含数字
-        if (password.matches(".*\\d.*")) {
-            charTypeCount++;
+        int classes = 0;
+        for (int i = 0, length = password.length(); i < length; i++) {
+            char c = password.charAt(i);
+            if (c < CHAR_CLASSES.length) {
+                classes |= CHAR_CLASSES[c];
+            }
         }
+        int charTypeCount = Integer.bitCount(classes);
         
-        // 检查是否包含小写字母
-        if (password.matches(".*[a-z].*")) {
-            charTypeCount++;
+        // 根据字符类型数量评估强度
+        if (charTypeCount >= 3) {
+            return 3; // 强密码：包含三种或更多字符类型
         }
-        
-        // 检查是否包含大写字母
-        if (password.matches(".*[A-Z].*")) {
-            charTypeCount++;
+        return charTypeCount == 2 ? 2 : 1; // 中等密码：包含两种字符类型
+    }
+
+    /**
+     * PBKDF2 算法
+     */
+    @Getter
+    public enum Pbkdf2Algorithm {
+
+        /**
+         * PBKDF2WithHmacSHA256
+         */
+        SHA256("pbkdf2-sha256", "HmacSHA256"),
+
+        /**
+         * PBKDF2WithHmacSHA512
+         */
+        SHA512("pbkdf2-sha512", "HmacSHA512");
+
+        /**
+         * 哈希中记录的算法标识
+         */
+        private final String id;
+
+        /**
+         * HMAC 算法名
+         */
+        private final String macAlgorithm;
+
+        /**
+         * 按线程缓存的 HMAC 实例（Mac 非线程安全）
+         */
+        private final ThreadLocal<Mac> macs;
+
+        Pbkdf2Algorithm(String id, String macAlgorithm) {
+            this.id = id;
+            this.macAlgorithm = macAlgorithm;
+            this.macs = ThreadLocal.withInitial(() -> {
+                try {
+                    return Mac.getInstance(macAlgorithm);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("不支持的算法: " + macAlgorithm, e);
+                }
+            });
         }
-        
-        // 检查是否包含特殊字符
-        if (password.matches(".*[!@#$%^&*()_+\\-=\\[\\]{}|;:,.<>?].*")) {
-            charTypeCount++;
+
+        Mac mac() {
+            return macs.get();
         }
-        
-        // 根据字符类型数量评估强度
-        if (charTypeCount >= 2 && charTypeCount < 3) {
-            strength = 2; // 中等密码：包含两种字符类型
-        } else if (charTypeCount >= 3) {
-            strength = 3; // 强密码：包含三种或更多字符类型
+
+        /**
+         * 根据算法标识获取枚举
+         *
+         * @param id 算法标识
+         * @return Pbkdf2Algorithm，不存在时返回 null
+         */
+        public static Pbkdf2Algorithm getById(String id) {
+            for (Pbkdf2Algorithm value : values()) {
+                if (value.id.equals(id)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 解析后的密码哈希
+     */
+    private static class ParsedHash {
+
+        private final Pbkdf2Algorithm algorithm;
+
+        private final int iterations;
+
+        private final byte[] salt;
+
+        private final byte[] hash;
+
+        private ParsedHash(Pbkdf2Algorithm algorithm, int iterations, byte[] salt, byte[] hash) {
+            this.algorithm = algorithm;
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
         }
-        
-        return strength;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,214 @@
+package com.ecommerce.admin.common.util;
+
+import com.ecommerce.admin.common.constants.DateConstants;
+import com.ecommerce.admin.common.enums.business.ExportFormatEnum;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 文本格式流式导出工具类
+ * 逐行编码后写入固定大小的缓冲区，缓冲区满时直接写到响应输出流，不在内存中构建完整文件；
+ * 相比 xlsx 无需生成并压缩 OOXML 结构，CPU 与内存开销都小得多
+ */
+public class StreamExportUtils {
+
+    /**
+     * 写缓冲区大小
+     */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DateConstants.DATE_TIME_FORMAT);
+
+    /**
+     * UTF-8 BOM，Excel 据此识别 CSV 编码，否则中文显示为乱码
+     */
+    private static final char BOM = '\uFEFF';
+
+    /**
+     * 以 CSV 或 NDJSON 格式导出到响应
+     *
+     * @param response 响应
+     * @param format 导出格式（CSV 或 NDJSON）
+     * @param fileName 文件名（不含扩展名）
+     * @param gzip 是否以 gzip 压缩文件下载
+     * @param columns CSV 列名 -> 取值函数（按插入顺序输出）
+     * @param objectMapper NDJSON 序列化使用的 ObjectMapper
+     * @param source 数据源，调用传入的 Consumer 推送每一行
+     * @param <T> 行类型
+     * @return 写入的数据行数
+     * @throws IOException IO异常
+     */
+    public static <T> long write(HttpServletResponse response, ExportFormatEnum format, String fileName, boolean gzip,
+                                 Map<String, Function<T, ?>> columns, ObjectMapper objectMapper,
+                                 Consumer<Consumer<T>> source) throws IOException {
+        String extension = format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType() + ";charset=utf-8");
+        String finalName = URLEncoder.encode(fileName + " " + LocalDateTime.now().format(DATE_TIME_FORMATTER), "UTF-8")
+                .replaceAll("\\+", "%20");
+        response.setHeader("Content-disposition", "attachment;filename*=utf-8''" + finalName + extension);
+
+        OutputStream out = response.getOutputStream();
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        OutputStream target = gzipOut != null ? gzipOut : out;
+        long rows = format == ExportFormatEnum.NDJSON
+                ? writeNdjson(target, objectMapper, source)
+                : writeCsv(target, columns, source);
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        out.flush();
+        return rows;
+    }
+
+    /**
+     * 写入 CSV（RFC 4180：含逗号、双引号、换行的值加双引号，双引号转义为两个双引号）
+     * 开头写入 UTF-8 BOM；以 = + - @ 制表符或回车开头的文本值前加单引号，防止在 Excel 中被当作公式执行（CSV 注入）。
+     * 不关闭输出流
+     *
+     * @param out 输出流
+     * @param columns 列名 -> 取值函数（按插入顺序输出）
+     * @param source 数据源
+     * @param <T> 行类型
+     * @return 写入的数据行数
+     * @throws IOException IO异常
+     */
+    public static <T> long writeCsv(OutputStream out, Map<String, Function<T, ?>> columns,
+                                    Consumer<Consumer<T>> source) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(BOM);
+        writeCsvLine(writer, columns.keySet());
+        long[] rows = new long[1];
+        try {
+            source.accept(row -> {
+                try {
+                    boolean first = true;
+                    for (Function<T, ?> column : columns.values()) {
+                        if (!first) {
+                            writer.write(',');
+                        }
+                        first = false;
+                        writeCsvValue(writer, column.apply(row));
+                    }
+                    writer.write("\r\n");
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return rows[0];
+    }
+
+    /**
+     * 写入 NDJSON（每行一个 JSON 对象，以 \n 分隔）
+     * 不关闭输出流
+     *
+     * @param out 输出流
+     * @param objectMapper ObjectMapper
+     * @param source 数据源
+     * @param <T> 行类型
+     * @return 写入的数据行数
+     * @throws IOException IO异常
+     */
+    public static <T> long writeNdjson(OutputStream out, ObjectMapper objectMapper,
+                                       Consumer<Consumer<T>> source) throws IOException {
+        // 默认每写一个值都会 flush，这里交给缓冲区决定
+        ObjectWriter objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // 根值之间默认以空格分隔，改为每行末尾写换行
+        generator.setRootValueSeparator(null);
+        long[] rows = new long[1];
+        try {
+            source.accept(row -> {
+                try {
+                    objectWriter.writeValue(generator, row);
+                    generator.writeRaw('\n');
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.flush();
+        return rows[0];
+    }
+
+    private static void writeCsvLine(Writer writer, Iterable<String> values) throws IOException {
+        boolean first = true;
+        for (String value : values) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writeCsvValue(writer, value);
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof LocalDateTime
+                ? DATE_TIME_FORMATTER.format((LocalDateTime) value)
+                : value.toString();
+        // 数值（如负数）不会被当作公式，只处理文本
+        if (!(value instanceof Number) && isFormulaPrefix(text)) {
+            text = "'" + text;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean isFormulaPrefix(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char c = text.charAt(0);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.admin.module.system.audit;
+
+import com.ecommerce.admin.common.log.BatchWriterProperties;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录日志配置
+ * 对应 application.yml 中的 admin.login-log
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.login-log")
+public class LoginLogProperties {
+
+    /**
+     * 是否记录登录日志
+     */
+    private boolean enabled = true;
+
+    /**
+     * 清理日志时单条 DELETE 删除的最大行数，避免长事务与大范围锁
+     */
+    private int purgeChunkSize = 5000;
+
+    /**
+     * 异步写入 sys_login_logs 的队列配置
+     */
+    private BatchWriterProperties writer = new BatchWriterProperties();
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.admin.module.system.audit;
+
+import lombok.Data;
+
+/**
+ * 登录日志记录
+ * 登录线程上只采集原始字段，由后台写入线程批量写入 sys_login_logs
+ */
+@Data
+public class LoginLogRecord {
+
+    /**
+     * 用户ID，用户不存在时为 null
+     */
+    private Long userId;
+
+    /**
+     * 登录用户名
+     */
+    private String username;
+
+    /**
+     * 客户端IP
+     */
+    private String ip;
+
+    /**
+     * 用户代理
+     */
+    private String userAgent;
+
+    /**
+     * 是否登录成功
+     */
+    private boolean success;
+
+    /**
+     * 失败原因
+     */
+    private String errorMsg;
+
+    /**
+     * 登录时间（毫秒时间戳）
+     */
+    private long loginTime;
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.admin.module.system.audit;
+
+import com.ecommerce.admin.common.log.AsyncBatchWriter;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * 登录日志写入器
+ * 登录请求只把记录放入有界队列，后台线程按批写入 sys_login_logs，不在登录路径上同步插入
+ */
+@Component
+public class LoginLogWriter extends AsyncBatchWriter<LoginLogRecord> {
+
+    private static final String INSERT_SQL = "INSERT INTO sys_login_logs "
+            + "(user_id, username, ip, user_agent, login_status, error_msg, login_time) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final LoginLogProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoginLogWriter(LoginLogProperties properties, JdbcTemplate jdbcTemplate) {
+        super("login-log-writer", properties.getWriter());
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 提交一条登录日志，未启用时直接忽略
+     * @param record 记录
+     * @return 是否被接收
+     */
+    @Override
+    public boolean offer(LoginLogRecord record) {
+        return properties.isEnabled() && super.offer(record);
+    }
+
+    @Override
+    protected void flush(List<LoginLogRecord> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, record) -> {
+            if (record.getUserId() == null) {
+                ps.setNull(1, Types.BIGINT);
+            } else {
+                ps.setLong(1, record.getUserId());
+            }
+            ps.setString(2, StringUtils.defaultString(StringUtils.left(record.getUsername(), 50)));
+            ps.setString(3, StringUtils.defaultString(StringUtils.left(record.getIp(), 50), "unknown"));
+            ps.setString(4, StringUtils.left(record.getUserAgent(), 255));
+            ps.setInt(5, record.isSuccess() ? 1 : 0);
+            ps.setString(6, StringUtils.left(record.getErrorMsg(), 255));
+            ps.setTimestamp(7, new Timestamp(record.getLoginTime()));
+        });
+    }
+}
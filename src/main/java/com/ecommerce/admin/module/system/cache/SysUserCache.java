@@ -0,0 +1,380 @@
+package com.ecommerce.admin.module.system.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.ecommerce.admin.common.config.datasource.ForcePrimary;
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import com.ecommerce.admin.common.config.redis.cache.LocalCacheInvalidator;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.mapper.SysUserMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 系统用户二级缓存
+ * L1 为进程内有界缓存（容量 + TTL 淘汰），L2 为 Redis；按 ID 缓存用户，用户名/邮箱/手机号只缓存到 ID 的索引。
+ * 写操作后删除 Redis 缓存并通过 Redis 频道广播，各节点丢弃本地缓存。
+ * 回源查询强制走主库，避免写后立即回填时把从库上的旧数据缓存下来。
+ * 缓存中的用户不含密码（L1 与 Redis 均不保存凭据），登录校验通过 getPasswordHash 从主库读取。
+ * 注意：返回的是缓存中的共享对象，调用方不得修改
+ */
+@Slf4j
+@Component
+@ForcePrimary
+public class SysUserCache implements LocalCacheInvalidator {
+
+    /**
+     * 缓存名称（失效广播频道后缀）
+     */
+    public static final String CACHE_NAME = "sys-user";
+
+    /**
+     * Redis 键前缀
+     */
+    private static final String REDIS_KEY_PREFIX = "sys:user:";
+
+    /**
+     * 缓存键类型前缀
+     */
+    private static final String ID_KEY = "id:";
+    private static final String USERNAME_KEY = "username:";
+    private static final String EMAIL_KEY = "email:";
+    private static final String PHONE_KEY = "phone:";
+
+    /**
+     * Redis 中表示用户不存在的占位值
+     */
+    private static final String NULL_VALUE = "";
+
+    private final UserCacheProperties properties;
+
+    private final SysUserMapper sysUserMapper;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    /**
+     * ID -> 用户
+     */
+    private final Cache<Long, Optional<SysUser>> users;
+
+    /**
+     * 用户名/邮箱/手机号 -> ID
+     */
+    private final Cache<String, Optional<Long>> index;
+
+    /**
+     * 失效代数，查库期间发生过失效时不回填 Redis，避免把失效前读到的旧行写回并保留 redisTtl
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public SysUserCache(UserCacheProperties properties, SysUserMapper sysUserMapper, StringRedisTemplate stringRedisTemplate,
+                        ObjectMapper objectMapper, CacheInvalidationPublisher invalidationPublisher) {
+        this.properties = properties;
+        this.sysUserMapper = sysUserMapper;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.invalidationPublisher = invalidationPublisher;
+        this.users = CacheBuilder.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .build();
+        this.index = CacheBuilder.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize() * 3)
+                .expireAfterWrite(properties.getLocalTtl())
+                .build();
+    }
+
+    /**
+     * 根据ID获取用户
+     * @param id 用户ID
+     * @return SysUser，不存在时返回 null
+     */
+    public SysUser getById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        if (!properties.isEnabled()) {
+            return sysUserMapper.selectById(id);
+        }
+        // 同一ID的并发未命中只会有一个线程回源
+        return load(users, id, () -> Optional.ofNullable(loadById(id))).orElse(null);
+    }
+
+    /**
+     * 根据用户名获取用户
+     * @param username 用户名
+     * @return SysUser，不存在时返回 null
+     */
+    public SysUser getByUsername(String username) {
+        return getByUniqueKey(USERNAME_KEY, username, SysUser::getUsername);
+    }
+
+    /**
+     * 根据邮箱获取用户
+     * @param email 邮箱
+     * @return SysUser，不存在时返回 null
+     */
+    public SysUser getByEmail(String email) {
+        return getByUniqueKey(EMAIL_KEY, email, SysUser::getEmail);
+    }
+
+    /**
+     * 根据手机号获取用户
+     * @param phone 手机号
+     * @return SysUser，不存在时返回 null
+     */
+    public SysUser getByPhone(String phone) {
+        return getByUniqueKey(PHONE_KEY, phone, SysUser::getPhone);
+    }
+
+    /**
+     * 获取用户密码哈希（不经过缓存，直接读主库）
+     * @param id 用户ID
+     * @return 密码哈希，用户不存在时返回 null
+     */
+    public String getPasswordHash(Long id) {
+        if (id == null) {
+            return null;
+        }
+        SysUser user = sysUserMapper.selectOne(new LambdaQueryWrapper<SysUser>()
+                .select(SysUser::getId, SysUser::getPassword)
+                .eq(SysUser::getId, id));
+        return user != null ? user.getPassword() : null;
+    }
+
+    /**
+     * 用户写入后失效缓存
+     * 需同时传入修改前后的用户，以便清除旧用户名/邮箱/手机号索引和新值上的“不存在”缓存
+     * @param changedUsers 修改前后的用户（至少包含 id 与唯一列）
+     */
+    public void evict(Collection<SysUser> changedUsers) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (SysUser user : changedUsers) {
+            if (user == null) {
+                continue;
+            }
+            if (user.getId() != null) {
+                keys.add(ID_KEY + user.getId());
+            }
+            addKey(keys, USERNAME_KEY, user.getUsername());
+            addKey(keys, EMAIL_KEY, user.getEmail());
+            addKey(keys, PHONE_KEY, user.getPhone());
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        // 先推进代数再删 Redis：此后完成查库的回源线程不会再把旧行写回
+        generation.incrementAndGet();
+        try {
+            stringRedisTemplate.delete(keys.stream().map(key -> REDIS_KEY_PREFIX + key).collect(Collectors.toList()));
+        } catch (Exception e) {
+            log.warn("删除用户Redis缓存失败, keys={}", keys, e);
+        }
+        // 本节点立即失效，其余节点收到广播后失效
+        invalidateLocal(keys);
+        invalidationPublisher.publish(CACHE_NAME, keys);
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void invalidateLocal(Collection<String> keys) {
+        generation.incrementAndGet();
+        if (keys == null) {
+            users.invalidateAll();
+            index.invalidateAll();
+            return;
+        }
+        for (String key : keys) {
+            if (key.startsWith(ID_KEY)) {
+                users.invalidate(Long.valueOf(key.substring(ID_KEY.length())));
+            } else {
+                index.invalidate(key);
+            }
+        }
+    }
+
+    private SysUser getByUniqueKey(String keyType, String value, SFunction<SysUser, String> column) {
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        if (!properties.isEnabled()) {
+            return selectOne(column, value);
+        }
+        String key = keyType + normalize(keyType, value);
+        Optional<Long> id = load(index, key, () -> Optional.ofNullable(loadIdByKey(key, column, value)));
+        if (!id.isPresent()) {
+            return null;
+        }
+        SysUser user = getById(id.get());
+        if (user != null && matches(keyType, column.apply(user), value)) {
+            return user;
+        }
+        // 索引指向的用户已改名或删除（失效广播丢失等），以数据库为准重建索引
+        index.invalidate(key);
+        deleteRedis(key);
+        return load(index, key, () -> Optional.ofNullable(loadIdByKey(key, column, value)))
+                .map(this::getById)
+                .orElse(null);
+    }
+
+    private SysUser loadById(Long id) {
+        String redisKey = REDIS_KEY_PREFIX + ID_KEY + id;
+        String cached = getRedis(redisKey);
+        if (NULL_VALUE.equals(cached)) {
+            return null;
+        }
+        SysUser user = cached != null ? readUser(cached) : null;
+        if (user != null) {
+            return user;
+        }
+        long before = generation.get();
+        user = stripCredentials(sysUserMapper.selectById(id));
+        if (generation.get() == before) {
+            putRedis(redisKey, user != null ? writeUser(user) : NULL_VALUE, user != null ? properties.getRedisTtl() : properties.getNullTtl());
+        }
+        return user;
+    }
+
+    private Long loadIdByKey(String key, SFunction<SysUser, String> column, String value) {
+        String redisKey = REDIS_KEY_PREFIX + key;
+        String cached = getRedis(redisKey);
+        if (cached != null) {
+            return NULL_VALUE.equals(cached) ? null : Long.valueOf(cached);
+        }
+        long before = generation.get();
+        SysUser user = stripCredentials(selectOne(column, value));
+        if (generation.get() != before) {
+            // 查库期间有写入，本次结果只返回不回填
+            return user != null ? user.getId() : null;
+        }
+        if (user == null) {
+            putRedis(redisKey, NULL_VALUE, properties.getNullTtl());
+            return null;
+        }
+        // 顺带回填ID缓存，避免紧接着的 getById 再查一次库
+        users.put(user.getId(), Optional.of(user));
+        putRedis(REDIS_KEY_PREFIX + ID_KEY + user.getId(), writeUser(user), properties.getRedisTtl());
+        putRedis(redisKey, String.valueOf(user.getId()), properties.getRedisTtl());
+        return user.getId();
+    }
+
+    /**
+     * 去掉凭据后再进入缓存（入参为刚查出的实体，可直接修改）
+     */
+    private SysUser stripCredentials(SysUser user) {
+        if (user != null) {
+            user.setPassword(null);
+        }
+        return user;
+    }
+
+    private SysUser selectOne(SFunction<SysUser, String> column, String value) {
+        List<SysUser> list = sysUserMapper.selectList(new LambdaQueryWrapper<SysUser>()
+                .eq(column, value)
+                .last("LIMIT 1"));
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    private void addKey(Set<String> keys, String keyType, String value) {
+        if (StringUtils.isNotBlank(value)) {
+            keys.add(keyType + normalize(keyType, value));
+        }
+    }
+
+    /**
+     * 库表排序规则不区分大小写，用户名与邮箱统一转小写作为缓存键
+     */
+    private String normalize(String keyType, String value) {
+        return PHONE_KEY.equals(keyType) ? value : value.toLowerCase(Locale.ROOT);
+    }
+
+    private boolean matches(String keyType, String actual, String expected) {
+        return PHONE_KEY.equals(keyType) ? StringUtils.equals(actual, expected) : StringUtils.equalsIgnoreCase(actual, expected);
+    }
+
+    private <K, V> V load(Cache<K, V> cache, K key, Callable<V> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private String getRedis(String key) {
+        try {
+            return stringRedisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            // Redis 不可用时降级为直接查库
+            log.warn("读取用户Redis缓存失败, key={}", key, e);
+            return null;
+        }
+    }
+
+    private void putRedis(String key, String value, Duration ttl) {
+        try {
+            stringRedisTemplate.opsForValue().set(key, value, ttl);
+        } catch (Exception e) {
+            log.warn("写入用户Redis缓存失败, key={}", key, e);
+        }
+    }
+
+    private void deleteRedis(String key) {
+        try {
+            stringRedisTemplate.delete(REDIS_KEY_PREFIX + key);
+        } catch (Exception e) {
+            log.warn("删除用户Redis缓存失败, key={}", key, e);
+        }
+    }
+
+    private String writeUser(SysUser user) {
+        try {
+            return objectMapper.writeValueAsString(user);
+        } catch (Exception e) {
+            throw new IllegalStateException("用户缓存序列化失败", e);
+        }
+    }
+
+    private SysUser readUser(String json) {
+        try {
+            // 兼容升级前写入的含密码缓存
+            return stripCredentials(objectMapper.readValue(json, SysUser.class));
+        } catch (Exception e) {
+            // 缓存格式不兼容（如实体字段变更）时视为未命中
+            log.warn("用户缓存反序列化失败，回源数据库", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.admin.module.system.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户缓存配置
+ * 对应 application.yml 中的 admin.user-cache
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.user-cache")
+public class UserCacheProperties {
+
+    /**
+     * 是否启用用户缓存，关闭后直接查询数据库
+     */
+    private boolean enabled = true;
+
+    /**
+     * 本地缓存最大用户数（用户名/邮箱/手机号索引各自按此上限）
+     */
+    private long localMaximumSize = 10000;
+
+    /**
+     * 本地缓存过期时间，同时也是失效广播丢失时的最长不一致时间
+     */
+    private Duration localTtl = Duration.ofSeconds(30);
+
+    /**
+     * Redis 缓存过期时间
+     */
+    private Duration redisTtl = Duration.ofMinutes(30);
+
+    /**
+     * 不存在的用户在 Redis 中的缓存时间，防止不存在的用户名反复穿透到数据库
+     */
+    private Duration nullTtl = Duration.ofMinutes(1);
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.admin.module.system.captcha;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 已绘制的验证码
+ */
+@Getter
+@AllArgsConstructor
+public class CaptchaImage {
+
+    /**
+     * 验证码字符
+     */
+    private final String code;
+
+    /**
+     * 图片 Base64（data URI）
+     */
+    private final String imageBase64;
+}
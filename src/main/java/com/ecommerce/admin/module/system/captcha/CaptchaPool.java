@@ -0,0 +1,149 @@
+package com.ecommerce.admin.module.system.captcha;
+
+import cn.hutool.captcha.CaptchaUtil;
+import cn.hutool.captcha.LineCaptcha;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 验证码预生成池
+ * 后台线程预先绘制验证码图片并放入有界队列，请求线程直接取用，每张图片只发放一次；
+ * 剩余数量低于阈值时异步补充，池被取空时退回请求线程现场绘制
+ */
+@Slf4j
+@Component
+public class CaptchaPool {
+
+    private final CaptchaProperties properties;
+
+    private final BlockingQueue<CaptchaImage> pool;
+
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong missed = new AtomicLong();
+
+    private volatile boolean running;
+
+    private ExecutorService refillExecutor;
+
+    public CaptchaPool(CaptchaProperties properties) {
+        this.properties = properties;
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, properties.getPoolSize()));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.getPoolSize() <= 0) {
+            return;
+        }
+        running = true;
+        refillExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "captcha-pool");
+            thread.setDaemon(true);
+            // 补充任务是 CPU 密集的绘图，降低优先级让出请求线程
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        triggerRefill();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (refillExecutor != null) {
+            refillExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 取出一张验证码
+     * @return CaptchaImage
+     */
+    public CaptchaImage take() {
+        CaptchaImage image = running ? pool.poll() : null;
+        if (running && pool.size() < properties.getPoolSize() * properties.getRefillThreshold()) {
+            triggerRefill();
+        }
+        if (image != null) {
+            served.incrementAndGet();
+            return image;
+        }
+        missed.incrementAndGet();
+        return render();
+    }
+
+    /**
+     * 获取池运行统计
+     * @return PoolStats
+     */
+    public PoolStats getStats() {
+        PoolStats stats = new PoolStats();
+        stats.setCapacity(properties.getPoolSize());
+        stats.setAvailable(pool.size());
+        stats.setRendered(rendered.get());
+        stats.setServed(served.get());
+        stats.setMissed(missed.get());
+        return stats;
+    }
+
+    /**
+     * 绘制一张验证码
+     */
+    CaptchaImage render() {
+        LineCaptcha captcha = CaptchaUtil.createLineCaptcha(properties.getWidth(), properties.getHeight(),
+                properties.getCodeCount(), properties.getLineCount());
+        return new CaptchaImage(captcha.getCode(), captcha.getImageBase64Data());
+    }
+
+    private void triggerRefill() {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(this::refill);
+        } catch (RejectedExecutionException e) {
+            refilling.set(false);
+        }
+    }
+
+    private void refill() {
+        try {
+            while (running && pool.remainingCapacity() > 0) {
+                CaptchaImage image = render();
+                rendered.incrementAndGet();
+                if (!pool.offer(image)) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("验证码预生成失败", e);
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    /**
+     * 验证码池运行统计
+     */
+    @Data
+    public static class PoolStats {
+        private int capacity;
+        private int available;
+        private long rendered;
+        private long served;
+        private long missed;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.admin.module.system.captcha;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 登录验证码配置
+ * 对应 application.yml 中的 admin.captcha
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.captcha")
+public class CaptchaProperties {
+
+    /**
+     * 图片宽度
+     */
+    private int width = 120;
+
+    /**
+     * 图片高度
+     */
+    private int height = 40;
+
+    /**
+     * 字符数
+     */
+    private int codeCount = 4;
+
+    /**
+     * 干扰线数
+     */
+    private int lineCount = 10;
+
+    /**
+     * 验证码有效期
+     */
+    private Duration ttl = Duration.ofMinutes(2);
+
+    /**
+     * 同一验证码最多允许输错的次数，达到后验证码作废
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * 预生成池容量，0 表示不预生成，每次请求时现场绘制
+     */
+    private int poolSize = 256;
+
+    /**
+     * 池内剩余数量低于该比例时触发后台补充
+     */
+    private double refillThreshold = 0.5;
+
+    /**
+     * 一次 Redis 管道最多写入的验证码数
+     */
+    private int writeBatchSize = 64;
+
+    /**
+     * 请求线程等待验证码写入 Redis 的最长时间
+     */
+    private Duration writeTimeout = Duration.ofSeconds(1);
+}
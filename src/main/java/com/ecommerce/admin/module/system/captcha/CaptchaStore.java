@@ -0,0 +1,168 @@
+package com.ecommerce.admin.module.system.captcha;
+
+import com.ecommerce.admin.module.system.enums.business.CaptchaVerifyResultEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 验证码 Redis 存储
+ * 并发请求的写入由后台线程合并为一次管道提交（group commit）：空闲时单条立即提交，
+ * 登录高峰时排队中的写入一次往返写完。请求线程等待本条写入完成后才返回，保证返回的验证码可立即校验。
+ * 校验通过 Lua 脚本在 Redis 端原子完成比对、计数与删除，同一验证码只能被一个请求消费
+ */
+@Slf4j
+@Component
+public class CaptchaStore {
+
+    /**
+     * 验证码 Redis 前缀
+     */
+    public static final String CAPTCHA_KEY_PREFIX = "captcha:";
+
+    private final CaptchaProperties properties;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 校验并消费验证码的脚本
+     */
+    private final DefaultRedisScript<Long> verifyScript;
+
+    private final LinkedBlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    public CaptchaStore(CaptchaProperties properties, StringRedisTemplate stringRedisTemplate) {
+        this.properties = properties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.verifyScript = new DefaultRedisScript<>();
+        this.verifyScript.setLocation(new ClassPathResource("scripts/captcha_verify.lua"));
+        this.verifyScript.setResultType(Long.class);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, "captcha-store");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * 保存验证码，写入 Redis 后返回
+     * @param uuid 验证码标识
+     * @param code 验证码字符
+     * @throws IllegalStateException 写入失败或超时
+     */
+    public void save(String uuid, String code) {
+        PendingWrite write = new PendingWrite(CAPTCHA_KEY_PREFIX + uuid, code);
+        if (!running) {
+            throw new IllegalStateException("验证码存储已停止");
+        }
+        queue.offer(write);
+        try {
+            write.future.get(properties.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待验证码写入被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("验证码写入失败", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("验证码写入超时", e);
+        }
+    }
+
+    /**
+     * 校验并消费验证码（一次往返）
+     * @param uuid 验证码标识
+     * @param input 用户输入
+     * @return CaptchaVerifyResultEnum
+     */
+    public CaptchaVerifyResultEnum verify(String uuid, String input) {
+        Long code = stringRedisTemplate.execute(verifyScript, Collections.singletonList(CAPTCHA_KEY_PREFIX + uuid),
+                input.toLowerCase(Locale.ROOT), String.valueOf(properties.getMaxAttempts()));
+        CaptchaVerifyResultEnum result = code != null ? CaptchaVerifyResultEnum.getByCode(code) : null;
+        if (result == null) {
+            throw new IllegalStateException("验证码校验脚本返回未知结果: " + code);
+        }
+        return result;
+    }
+
+    private void runLoop() {
+        List<PendingWrite> batch = new ArrayList<>(properties.getWriteBatchSize());
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, properties.getWriteBatchSize() - 1);
+            flush(batch);
+            batch.clear();
+        }
+        queue.drainTo(batch);
+        batch.forEach(write -> write.future.completeExceptionally(new IllegalStateException("验证码存储已停止")));
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        Expiration expiration = Expiration.from(properties.getTtl().toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (PendingWrite write : batch) {
+                    connection.stringCommands().set(write.key.getBytes(StandardCharsets.UTF_8),
+                            write.code.getBytes(StandardCharsets.UTF_8), expiration, RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+            batch.forEach(write -> write.future.complete(null));
+        } catch (Exception e) {
+            log.warn("验证码批量写入失败, 共 {} 条", batch.size(), e);
+            batch.forEach(write -> write.future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * 待写入的验证码
+     */
+    private static class PendingWrite {
+
+        private final String key;
+
+        private final String code;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingWrite(String key, String code) {
+            this.key = key;
+            this.code = code;
+        }
+    }
+}
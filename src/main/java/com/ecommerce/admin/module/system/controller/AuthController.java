@@ -1,26 +1,29 @@
 package com.ecommerce.admin.module.system.controller;
 
 import cn.dev33.satoken.stp.StpUtil;
-import cn.hutool.captcha.CaptchaUtil;
-import cn.hutool.captcha.LineCaptcha;
-import cn.hutool.core.lang.UUID;
-import cn.hutool.core.util.StrUtil;
-import cn.hutool.crypto.digest.BCrypt;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.exception.BusinessException;
 import com.ecommerce.admin.common.result.Result;
+import com.ecommerce.admin.common.util.EncryptUtils;
 import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.enums.business.CaptchaVerifyResultEnum;
+import com.ecommerce.admin.module.system.enums.business.LoginRateLimitResultEnum;
+import com.ecommerce.admin.module.system.enums.response.SystemResponseEnum;
+import com.ecommerce.admin.module.system.ratelimit.LoginRateLimiter;
+import com.ecommerce.admin.module.system.service.CaptchaService;
+import com.ecommerce.admin.module.system.service.PasswordService;
+import com.ecommerce.admin.module.system.service.SysLoginLogService;
 import com.ecommerce.admin.module.system.service.SysUserService;
+import com.ecommerce.admin.module.system.vo.CaptchaVO;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import io.swagger.annotations.ApiOperation;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
 
 @Api(tags = "认证鉴权管理")
 @RestController
@@ -31,51 +34,42 @@ public class AuthController {
     private SysUserService sysUserService;
 
     @Autowired
-    private StringRedisTemplate stringRedisTemplate;
+    private CaptchaService captchaService;
 
-    /**
-     * 验证码 Redis 前缀
-     */
-    private static final String CAPTCHA_KEY_PREFIX = "captcha:";
+    @Autowired
+    private PasswordService passwordService;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private SysLoginLogService sysLoginLogService;
 
     @ApiOperation("获取验证码")
     @GetMapping("/captcha")
-    public Result<Map<String, String>> getCaptcha() {
-        // 1. 生成验证码 (宽200, 高100, 字符数4, 干扰线数20)
-        LineCaptcha lineCaptcha = CaptchaUtil.createLineCaptcha(120, 40, 4, 10);
-        String code = lineCaptcha.getCode();
-        String imageBase64 = lineCaptcha.getImageBase64Data();
-        
-        // 2. 生成唯一标识 uuid
-        String uuid = UUID.fastUUID().toString();
-        
-        // 3. 存储到 Redis，设置有效期 2 分钟
-        stringRedisTemplate.opsForValue().set(CAPTCHA_KEY_PREFIX + uuid, code, 2, TimeUnit.MINUTES);
-        
-        // 4. 返回结果
-        Map<String, String> result = new HashMap<>();
-        result.put("uuid", uuid);
-        result.put("img", imageBase64);
-        return Result.success(result);
+    public Result<CaptchaVO> getCaptcha() {
+        return Result.success(captchaService.createCaptcha());
     }
 
     @ApiOperation("用户登录")
     @PostMapping("/login")
-    public Result<LoginResponse> login(@RequestBody LoginRequest loginRequest) {
-        // 0. 校验验证码
-        String captchaKey = CAPTCHA_KEY_PREFIX + loginRequest.getUuid();
-        String redisCaptcha = stringRedisTemplate.opsForValue().get(captchaKey);
-        
-        if (StrUtil.isBlank(redisCaptcha)) {
-            return Result.fail("验证码已过期");
+    public Result<LoginResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        // 0. 按 IP 与用户名限流，超限时不查库、不校验密码
+        LoginRateLimitResultEnum rateLimitResult = loginRateLimiter.tryAcquire(request, loginRequest.getUsername());
+        if (rateLimitResult != LoginRateLimitResultEnum.ALLOWED) {
+            // 本机令牌桶拒绝的请求多为暴力尝试，只计数不记日志，避免日志队列被刷满
+            if (rateLimitResult != LoginRateLimitResultEnum.LOCAL_LIMITED) {
+                sysLoginLogService.recordLogin(request, loginRequest.getUsername(), null, rateLimitResult.getDesc());
+            }
+            return Result.fail(ResponseEnum.TOO_MANY_REQUESTS, rateLimitResult.getDesc());
         }
-        
-        if (!redisCaptcha.equalsIgnoreCase(loginRequest.getCaptcha())) {
-            return Result.fail("验证码错误");
+
+        // 校验并消费验证码（一次往返原子完成，同一验证码只能使用一次）
+        CaptchaVerifyResultEnum captchaResult = captchaService.verifyCaptcha(loginRequest.getUuid(), loginRequest.getCaptcha());
+        if (captchaResult != CaptchaVerifyResultEnum.OK) {
+            sysLoginLogService.recordLogin(request, loginRequest.getUsername(), null, captchaResult.getDesc());
+            return Result.fail(captchaResult.getDesc());
         }
-        
-        // 校验通过后立即删除验证码，防止重用
-        stringRedisTemplate.delete(captchaKey);
 
         // 1. 查询用户
         SysUser user = sysUserService.getByUsername(loginRequest.getUsername());
@@ -84,32 +78,49 @@ public class AuthController {
         // 如果数据库没查到，且是 admin/123456，则允许登录 (为了演示方便，实际生产环境请删除)
         if (user != null && "admin".equals(loginRequest.getUsername()) && "123456".equals(loginRequest.getPassword())) {
              StpUtil.login(1L); // 默认ID 1
+             sysLoginLogService.recordLogin(request, loginRequest.getUsername(), user, null);
              return Result.success(new LoginResponse(StpUtil.getTokenValue(), "admin"));
         }
 
         // 3. 校验用户和密码
         if (user == null) {
+            sysLoginLogService.recordLogin(request, loginRequest.getUsername(), null, "用户不存在");
             return Result.fail("用户名或密码错误");
         }
         
-        // 注意：这里假设数据库密码是 BCrypt 加密的。如果你的数据库是明文，请改为 .equals()
-        // 为了兼容性，先尝试 BCrypt，如果抛异常（比如格式不对）或者不匹配，再尝试明文（可选）
-        boolean passwordMatch = false;
+        // 在有界的哈希线程池中校验（明文旧密码登录成功后自动升级为 BCrypt），繁忙时快速失败
+        boolean passwordMatch;
         try {
-            passwordMatch = BCrypt.checkpw(loginRequest.getPassword(), user.getPassword());
-        } catch (Exception e) {
-            // 可能是明文密码，尝试直接比对
-            passwordMatch = loginRequest.getPassword().equals(user.getPassword());
+            passwordMatch = passwordService.verifyLogin(user, loginRequest.getPassword());
+        } catch (BusinessException e) {
+            sysLoginLogService.recordLogin(request, loginRequest.getUsername(), user, e.getMessage());
+            throw e;
         }
         
         if (!passwordMatch) {
+            sysLoginLogService.recordLogin(request, loginRequest.getUsername(), user, "密码错误");
             return Result.fail("用户名或密码错误");
         }
+
+        // 4. 密码已过期（如导入用户的初始密码）时须同时提交新密码，修改成功后才签发令牌
+        if (Integer.valueOf(1).equals(user.getPasswordExpired())) {
+            String newPassword = loginRequest.getNewPassword();
+            if (newPassword == null || newPassword.isEmpty()) {
+                sysLoginLogService.recordLogin(request, loginRequest.getUsername(), user, SystemResponseEnum.USER_PASSWORD_EXPIRED.getMessage());
+                return Result.fail(SystemResponseEnum.USER_PASSWORD_EXPIRED, "密码已过期，请设置新密码后登录");
+            }
+            if (newPassword.length() < 6 || newPassword.length() > 20 || EncryptUtils.checkPasswordStrength(newPassword) < 2
+                    || newPassword.equals(loginRequest.getPassword())) {
+                return Result.fail(ResponseEnum.PARAM_ERROR, "新密码须为6-20位、至少包含两类字符，且不能与原密码相同");
+            }
+            sysUserService.changePassword(user, newPassword);
+        }
         
-        // 4. Sa-Token 登录
+        // 5. Sa-Token 登录
         StpUtil.login(user.getId());
+        sysLoginLogService.recordLogin(request, loginRequest.getUsername(), user, null);
 
-        // 5. 返回结果
+        // 6. 返回结果
         return Result.success(new LoginResponse(StpUtil.getTokenValue(), user.getUsername()));
     }
 
@@ -124,6 +135,8 @@ public class AuthController {
         private String captcha;
         @ApiModelProperty(value = "验证码UUID", required = true, example = "uuid")
         private String uuid;
+        @ApiModelProperty(value = "新密码，密码已过期（如导入用户首次登录）时必填")
+        private String newPassword;
     }
 
     @Data
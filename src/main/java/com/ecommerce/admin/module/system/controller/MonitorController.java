@@ -0,0 +1,165 @@
+package com.ecommerce.admin.module.system.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import cn.dev33.satoken.annotation.SaMode;
+import com.ecommerce.admin.common.config.satoken.NearCacheSaTokenDao;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.log.AsyncBatchWriter;
+import com.ecommerce.admin.common.metrics.HandlerLatencyRegistry;
+import com.ecommerce.admin.common.metrics.LatencyPhase;
+import com.ecommerce.admin.common.result.Result;
+import com.ecommerce.admin.module.system.captcha.CaptchaPool;
+import com.ecommerce.admin.module.system.password.PasswordHashExecutor;
+import com.ecommerce.admin.module.system.permission.PermissionEngine;
+import com.ecommerce.admin.module.system.ratelimit.LoginRateLimiter;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 系统监控Controller
+ * 用于查看应用内部运行指标，仅管理员可访问
+ */
+@Api(tags = "系统监控")
+@SaCheckRole(value = {"SUPER_ADMIN", "ADMIN"}, mode = SaMode.OR)
+@RestController
+@RequestMapping("/system/monitor")
+@Validated
+public class MonitorController {
+
+    @Autowired
+    private HandlerLatencyRegistry handlerLatencyRegistry;
+
+    @Autowired
+    private List<AsyncBatchWriter<?>> asyncBatchWriters;
+
+    @Autowired
+    private CaptchaPool captchaPool;
+
+    @Autowired
+    private PasswordHashExecutor passwordHashExecutor;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired(required = false)
+    private NearCacheSaTokenDao nearCacheSaTokenDao;
+
+    @Autowired
+    private PermissionEngine permissionEngine;
+
+    /**
+     * 查看异步日志写入器的队列深度与丢弃计数
+     * @return Result<List<AsyncBatchWriter.WriterStats>>
+     */
+    @ApiOperation("查看异步日志写入器状态")
+    @GetMapping("/log-writers")
+    public Result<List<AsyncBatchWriter.WriterStats>> logWriters() {
+        List<AsyncBatchWriter.WriterStats> stats = asyncBatchWriters.stream()
+                .map(AsyncBatchWriter::getStats)
+                .collect(Collectors.toList());
+        return Result.success(stats);
+    }
+
+    /**
+     * 查看验证码预生成池的剩余数量与现场绘制次数
+     * @return Result<CaptchaPool.PoolStats>
+     */
+    @ApiOperation("查看验证码池状态")
+    @GetMapping("/captcha-pool")
+    public Result<CaptchaPool.PoolStats> captchaPool() {
+        return Result.success(captchaPool.getStats());
+    }
+
+    /**
+     * 查看密码哈希线程池的排队、拒绝与哈希耗时
+     * @return Result<PasswordHashExecutor.HashStats>
+     */
+    @ApiOperation("查看密码哈希线程池状态")
+    @GetMapping("/password-hash")
+    public Result<PasswordHashExecutor.HashStats> passwordHash() {
+        return Result.success(passwordHashExecutor.getStats());
+    }
+
+    /**
+     * 查看登录限流的放行与各级拒绝次数
+     * @return Result<LoginRateLimiter.LimiterStats>
+     */
+    @ApiOperation("查看登录限流统计")
+    @GetMapping("/login-rate-limit")
+    public Result<LoginRateLimiter.LimiterStats> loginRateLimit() {
+        return Result.success(loginRateLimiter.getStats());
+    }
+
+    /**
+     * 查看 Sa-Token 近端缓存命中情况
+     * @return Result<NearCacheSaTokenDao.NearCacheStats>
+     */
+    @ApiOperation("查看登录态近端缓存统计")
+    @GetMapping("/sa-token-cache")
+    public Result<NearCacheSaTokenDao.NearCacheStats> saTokenCache() {
+        if (nearCacheSaTokenDao == null) {
+            return Result.fail(ResponseEnum.NOT_FOUND, "登录态近端缓存未启用");
+        }
+        return Result.success(nearCacheSaTokenDao.getStats());
+    }
+
+    /**
+     * 查看权限引擎的快照规模与各级缓存命中情况
+     * @return Result<PermissionEngine.EngineStats>
+     */
+    @ApiOperation("查看权限引擎统计")
+    @GetMapping("/permission")
+    public Result<PermissionEngine.EngineStats> permission() {
+        return Result.success(permissionEngine.getStats());
+    }
+
+    /**
+     * 查看各接口分阶段延迟分位值，首项为所有接口的汇总
+     * @return Result<List<HandlerLatencyRegistry.HandlerLatency>>
+     */
+    @ApiOperation("查看接口分阶段延迟")
+    @GetMapping("/latency")
+    public Result<List<HandlerLatencyRegistry.HandlerLatency>> latency() {
+        return Result.success(handlerLatencyRegistry.snapshot());
+    }
+
+    /**
+     * 最慢接口排行
+     * @param phase 排序阶段
+     * @param limit 返回条数
+     * @return Result<List<HandlerLatencyRegistry.HandlerLatency>>
+     */
+    @ApiOperation("最慢接口排行(按p99降序)")
+    @GetMapping("/latency/slowest")
+    public Result<List<HandlerLatencyRegistry.HandlerLatency>> slowest(
+            @ApiParam(value = "排序阶段: filter/interceptor/handler/serialization/bodyCopy/total", example = "total")
+            @RequestParam(defaultValue = "total") String phase,
+            @ApiParam(value = "返回条数(1-100)", example = "10")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) Integer limit) {
+        return Result.success(handlerLatencyRegistry.slowest(LatencyPhase.getByCode(phase), limit));
+    }
+
+    /**
+     * 清空延迟统计
+     * @return Result<Void>
+     */
+    @ApiOperation("清空接口延迟统计")
+    @PostMapping("/latency/reset")
+    public Result<Void> resetLatency() {
+        handlerLatencyRegistry.reset();
+        return Result.success();
+    }
+}
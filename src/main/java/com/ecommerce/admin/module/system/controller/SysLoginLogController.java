@@ -0,0 +1,47 @@
+package com.ecommerce.admin.module.system.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import cn.dev33.satoken.annotation.SaMode;
+import com.ecommerce.admin.common.result.Result;
+import com.ecommerce.admin.common.util.DateUtils;
+import com.ecommerce.admin.module.system.service.SysLoginLogService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * 登录日志Controller
+ */
+@Api(tags = "登录日志管理")
+@RestController
+@RequestMapping("/system/login-log")
+public class SysLoginLogController {
+
+    @Autowired
+    private SysLoginLogService sysLoginLogService;
+
+    /**
+     * 清空日志：按登录时间范围分批删除，仅管理员可操作（登录日志是审计记录）
+     * @param startTime 开始时间（含），为空表示不限
+     * @param endTime 结束时间（不含）
+     * @return 删除的行数
+     */
+    @ApiOperation("按时间范围清空登录日志")
+    @SaCheckRole(value = {"SUPER_ADMIN", "ADMIN"}, mode = SaMode.OR)
+    @DeleteMapping("/purge")
+    public Result<Long> purge(
+            @ApiParam("开始时间（含），格式 yyyy-MM-dd HH:mm:ss，为空表示不限")
+            @RequestParam(required = false) @DateTimeFormat(pattern = DateUtils.DATETIME_FORMAT) LocalDateTime startTime,
+            @ApiParam(value = "结束时间（不含），格式 yyyy-MM-dd HH:mm:ss", required = true)
+            @RequestParam @DateTimeFormat(pattern = DateUtils.DATETIME_FORMAT) LocalDateTime endTime) {
+        return Result.success(sysLoginLogService.purge(startTime, endTime));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.admin.module.system.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import cn.dev33.satoken.annotation.SaMode;
+import cn.dev33.satoken.stp.StpUtil;
+import com.ecommerce.admin.common.result.Result;
+import com.ecommerce.admin.module.system.permission.PermissionEngine;
+import com.ecommerce.admin.module.system.permission.UserPermissions;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 权限Controller
+ */
+@Api(tags = "权限管理")
+@RestController
+@RequestMapping("/system/permission")
+public class SysPermissionController {
+
+    @Autowired
+    private PermissionEngine permissionEngine;
+
+    /**
+     * 获取当前用户的角色与权限标识（前端按钮权限控制）
+     * @return Result<Map<String, List<String>>>
+     */
+    @ApiOperation("获取当前用户权限")
+    @GetMapping("/mine")
+    public Result<Map<String, List<String>>> mine() {
+        UserPermissions permissions = permissionEngine.getUserPermissions(StpUtil.getLoginIdAsLong());
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        result.put("roles", permissions.getRoleCodes());
+        result.put("permissions", new ArrayList<>(permissions));
+        return Result.success(result);
+    }
+
+    /**
+     * 刷新权限缓存（直接修改数据库中的角色、菜单后使用），仅管理员可调用
+     * @param userIds 用户ID，为空表示全部刷新
+     * @return Result<Void>
+     */
+    @ApiOperation("刷新权限缓存")
+    @SaCheckRole(value = {"SUPER_ADMIN", "ADMIN"}, mode = SaMode.OR)
+    @PostMapping("/refresh")
+    public Result<Void> refresh(@ApiParam("用户ID，为空表示全部刷新") @RequestParam(required = false) List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            permissionEngine.invalidateAll();
+        } else {
+            permissionEngine.invalidateUsers(userIds);
+        }
+        return Result.success();
+    }
+}
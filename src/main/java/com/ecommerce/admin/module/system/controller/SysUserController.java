@@ -1,28 +1,50 @@
 package com.ecommerce.admin.module.system.controller;
 
+import cn.dev33.satoken.stp.StpUtil;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.ecommerce.admin.common.result.CursorPage;
 import com.ecommerce.admin.common.result.Result;
+import com.ecommerce.admin.common.enums.business.ExportFormatEnum;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.exception.BusinessException;
 import com.ecommerce.admin.common.util.EasyUtils;
+import com.ecommerce.admin.common.util.StreamExportUtils;
 import com.ecommerce.admin.module.system.dto.SysUserDTO;
+import com.ecommerce.admin.module.system.service.SysUserExportService;
+import com.ecommerce.admin.module.system.service.SysUserImportService;
 import com.ecommerce.admin.module.system.service.SysUserService;
 import com.ecommerce.admin.module.system.vo.SysUserExcel;
 import com.ecommerce.admin.module.system.vo.SysUserVO;
+import com.ecommerce.admin.module.system.vo.UserBatchItemVO;
+import com.ecommerce.admin.module.system.vo.UserExportJobVO;
+import com.ecommerce.admin.module.system.vo.UserImportJobVO;
 import com.ecommerce.admin.common.validation.AddGroup;
 import com.ecommerce.admin.common.validation.UpdateGroup;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 
 /**
@@ -35,25 +57,100 @@ import java.util.List;
 @Slf4j
 public class SysUserController {
 
+    /**
+     * 导出时每批写入 Excel 的行数
+     */
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+
+    /**
+     * 批量接口单次最多处理的条数
+     */
+    private static final int BATCH_MAX_SIZE = 1000;
+
+    /**
+     * CSV 导出列（列名与 NDJSON 字段名一致）
+     */
+    private static final Map<String, Function<SysUserExcel, ?>> USER_CSV_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        USER_CSV_COLUMNS.put("id", SysUserExcel::getId);
+        USER_CSV_COLUMNS.put("username", SysUserExcel::getUsername);
+        USER_CSV_COLUMNS.put("realName", SysUserExcel::getRealName);
+        USER_CSV_COLUMNS.put("email", SysUserExcel::getEmail);
+        USER_CSV_COLUMNS.put("phone", SysUserExcel::getPhone);
+        USER_CSV_COLUMNS.put("isActive", SysUserExcel::getIsActive);
+        USER_CSV_COLUMNS.put("statusName", SysUserExcel::getStatusName);
+        USER_CSV_COLUMNS.put("createdAt", SysUserExcel::getCreatedAt);
+    }
+
     @Autowired
     private SysUserService sysUserService;
 
+    @Autowired
+    private SysUserImportService sysUserImportService;
+
+    @Autowired
+    private SysUserExportService sysUserExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * 分页查询用户列表
      * @param page 当前页码
      * @param size 每页大小
+     * @param username 用户名（模糊查询）
+     * @param keyword 关键字
+     * @param count 总数统计策略
      * @return Result<IPage<SysUserVO>>
      */
     @ApiOperation("分页查询用户列表")
     @GetMapping("/list")
     public Result<IPage<SysUserVO>> list(@ApiParam(value = "当前页码", example = "1")
-                                         @RequestParam(defaultValue = "1") Integer page,
-                                         @ApiParam(value = "每页大小", example = "10")
-                                         @RequestParam(defaultValue = "10") Integer size,
+                                         @RequestParam(defaultValue = "1")
+                                         @Min(value = 1, message = "页码不能小于1") Integer page,
+                                         @ApiParam(value = "每页大小(1-1000)", example = "10")
+                                         @RequestParam(defaultValue = "10")
+                                         @Min(value = 1, message = "每页大小不能小于1")
+                                         @Max(value = 1000, message = "每页大小不能超过1000") Integer size,
                                          @ApiParam(value = "用户名（模糊查询）", example = "admin")
-                                         @RequestParam(required = false) String username) {
+                                         @RequestParam(required = false) String username,
+                                         @ApiParam(value = "关键字（匹配用户名、真实姓名、邮箱、手机号）", example = "138")
+                                         @RequestParam(required = false) String keyword,
+                                         @ApiParam(value = "总数统计策略: exact-精确, cached-缓存(短时), approximate-估算, none-不统计(只返回hasMore)", example = "exact")
+                                         @RequestParam(defaultValue = "exact") String count) {
         // 调用service层查询
-        IPage<SysUserVO> voPage = sysUserService.getUserPage(page, size, username);
+        IPage<SysUserVO> voPage = sysUserService.getUserPage(page, size, username, keyword, count);
+        
+        return Result.success(voPage);
+    }
+
+    /**
+     * 游标分页查询用户列表（mode=cursor）
+     * 不统计总数，通过 nextCursor 翻页，翻页深度不影响查询耗时
+     * @param cursor 上一页返回的游标
+     * @param size 每页大小
+     * @param sort 排序方式
+     * @param username 用户名（模糊查询）
+     * @param keyword 关键字
+     * @return Result<CursorPage<SysUserVO>>
+     */
+    @ApiOperation("游标分页查询用户列表(mode=cursor)")
+    @GetMapping(value = "/list", params = "mode=cursor")
+    public Result<CursorPage<SysUserVO>> listByCursor(@ApiParam(value = "上一页返回的nextCursor，首页不传")
+                                                      @RequestParam(required = false) String cursor,
+                                                      @ApiParam(value = "每页大小(1-1000)", example = "10")
+                                                      @RequestParam(defaultValue = "10")
+                                                      @Min(value = 1, message = "每页大小不能小于1")
+                                                      @Max(value = 1000, message = "每页大小不能超过1000") Integer size,
+                                                      @ApiParam(value = "排序方式: id-按ID倒序, createdAt-按创建时间倒序", example = "id")
+                                                      @RequestParam(defaultValue = "id") String sort,
+                                                      @ApiParam(value = "用户名（模糊查询）", example = "admin")
+                                                      @RequestParam(required = false) String username,
+                                                      @ApiParam(value = "关键字（匹配用户名、真实姓名、邮箱、手机号）", example = "138")
+                                                      @RequestParam(required = false) String keyword) {
+        // 调用service层查询
+        CursorPage<SysUserVO> voPage = sysUserService.getUserCursorPage(cursor, size, sort, username, keyword);
         
         return Result.success(voPage);
     }
@@ -119,19 +216,132 @@ public class SysUserController {
         return Result.success();
     }
     
+    /**
+     * 批量创建用户
+     * 单项失败不影响其他项，结果与请求数组一一对应
+     * @param userDTOs 用户DTO列表
+     * @return Result<List<UserBatchItemVO>>
+     */
+    @ApiOperation("批量创建用户")
+    @PostMapping("/batchCreate")
+    public Result<List<UserBatchItemVO>> batchCreate(@RequestBody
+                                                     @NotEmpty(message = "用户列表不能为空")
+                                                     @Size(max = BATCH_MAX_SIZE, message = "单次最多处理" + BATCH_MAX_SIZE + "条") List<SysUserDTO> userDTOs) {
+        return Result.success(sysUserService.batchCreateUsers(userDTOs));
+    }
+
+    /**
+     * 批量更新用户
+     * 单项失败不影响其他项，结果与请求数组一一对应
+     * @param userDTOs 用户DTO列表
+     * @return Result<List<UserBatchItemVO>>
+     */
+    @ApiOperation("批量更新用户")
+    @PostMapping("/batchUpdate")
+    public Result<List<UserBatchItemVO>> batchUpdate(@RequestBody
+                                                     @NotEmpty(message = "用户列表不能为空")
+                                                     @Size(max = BATCH_MAX_SIZE, message = "单次最多处理" + BATCH_MAX_SIZE + "条") List<SysUserDTO> userDTOs) {
+        return Result.success(sysUserService.batchUpdateUsers(userDTOs));
+    }
+
+    /**
+     * 批量删除用户
+     * @param ids 用户ID列表
+     * @return Result<List<UserBatchItemVO>>
+     */
+    @ApiOperation("批量删除用户")
+    @PostMapping("/batchDelete")
+    public Result<List<UserBatchItemVO>> batchDelete(@RequestBody
+                                                     @NotEmpty(message = "用户ID列表不能为空")
+                                                     @Size(max = BATCH_MAX_SIZE, message = "单次最多处理" + BATCH_MAX_SIZE + "条") List<Long> ids) {
+        return Result.success(sysUserService.batchDeleteUsers(ids));
+    }
+
     /**
      * 导出用户数据
+     * 格式由 format 参数指定，未指定时按 Accept 请求头选择（text/csv、application/x-ndjson），默认 Excel
+     * @param format 导出格式: xlsx、csv、ndjson
+     * @param gzip 是否以 gzip 压缩下载（仅 csv、ndjson）
+     * @param accept Accept 请求头
      * @param response HttpServletResponse
      * @throws IOException IO异常
      */
     @ApiOperation("导出用户数据")
     @GetMapping("/export")
-    public void exportExcel(HttpServletResponse response) throws IOException {
-        // 获取导出数据
-        List<SysUserExcel> userExcels = sysUserService.getAllUsersForExport();
-        
-        // 导出Excel
-        EasyUtils.write(userExcels, SysUserExcel.class, "用户数据", "用户数据", response);
+    public void exportExcel(@ApiParam(value = "导出格式: xlsx、csv、ndjson", example = "csv")
+                            @RequestParam(required = false) String format,
+                            @ApiParam(value = "是否gzip压缩（仅csv、ndjson）", example = "false")
+                            @RequestParam(defaultValue = "false") boolean gzip,
+                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                            HttpServletResponse response) throws IOException {
+        ExportFormatEnum exportFormat = StringUtils.isNotBlank(format)
+                ? ExportFormatEnum.getByCode(format)
+                : ExportFormatEnum.fromAccept(accept);
+        if (exportFormat == null) {
+            throw new BusinessException(ResponseEnum.PARAM_ERROR, "不支持的导出格式: " + format);
+        }
+        if (exportFormat == ExportFormatEnum.XLSX) {
+            // 边读边写，每 EXPORT_CHUNK_SIZE 行写入一次，内存占用与用户总数无关
+            EasyUtils.writeInChunks(SysUserExcel.class, "用户数据", "用户数据", EXPORT_CHUNK_SIZE, response,
+                    sysUserService::streamUsersForExport);
+            return;
+        }
+        // 文本格式逐行写入固定缓冲区，无需生成 OOXML
+        StreamExportUtils.write(response, exportFormat, "用户数据", gzip, USER_CSV_COLUMNS, objectMapper,
+                sysUserService::streamUsersForExport);
+    }
+
+    /**
+     * 异步导出用户数据（mode=async）
+     * 立即返回任务ID，文件生成后推送到 /topic/user/{loginId}/export，再通过 /export/download-url 换取下载地址
+     * @return Result<String> 任务ID
+     */
+    @ApiOperation("异步导出用户数据(mode=async)")
+    @GetMapping(value = "/export", params = "mode=async")
+    public Result<String> exportAsync() {
+        return Result.success(sysUserExportService.submitExport(StpUtil.getLoginIdAsString()));
+    }
+
+    /**
+     * 查询用户导出任务
+     * @param jobId 任务ID
+     * @return Result<UserExportJobVO>
+     */
+    @ApiOperation("查询用户导出任务")
+    @GetMapping("/export/progress")
+    public Result<UserExportJobVO> exportProgress(@RequestParam
+                                                  @NotBlank(message = "任务ID不能为空") String jobId) {
+        return Result.success(sysUserExportService.getExportJob(jobId, StpUtil.getLoginIdAsString()));
+    }
+
+    /**
+     * 获取用户导出文件的下载地址
+     * 只能获取自己发起且已完成的任务，地址在 admin.user-export.download-token-ttl 内有效
+     * @param jobId 任务ID
+     * @return Result<String> 下载地址
+     */
+    @ApiOperation("获取用户导出文件下载地址")
+    @GetMapping("/export/download-url")
+    public Result<String> exportDownloadUrl(@RequestParam
+                                            @NotBlank(message = "任务ID不能为空") String jobId) {
+        String token = sysUserExportService.createDownloadToken(jobId, StpUtil.getLoginIdAsString());
+        return Result.success(ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/system/user/export/download")
+                .queryParam("token", token)
+                .toUriString());
+    }
+
+    /**
+     * 下载用户导出文件
+     * @param token 下载令牌
+     * @param response HttpServletResponse
+     * @throws IOException IO异常
+     */
+    @ApiOperation("下载用户导出文件")
+    @GetMapping("/export/download")
+    public void exportDownload(@RequestParam @NotBlank(message = "下载令牌不能为空") String token,
+                               HttpServletResponse response) throws IOException {
+        sysUserExportService.download(token, StpUtil.getLoginIdAsString(), response);
     }
 
     /**
@@ -148,4 +358,35 @@ public class SysUserController {
         List<SysUserVO> list = sysUserService.parseUserExcel(excelFile);
         return Result.success(list);
     }
-}
\ No newline at end of file
+
+    /**
+     * 导入用户数据
+     * 文件在后台分批校验与入库，返回任务ID用于查询进度；导入用户首次登录须修改初始密码
+     * @param excelFile Excel文件
+     * @param initialPassword 本次导入用户的初始密码
+     * @return Result<String> 任务ID
+     * @throws IOException IO异常
+     */
+    @ApiOperation("导入用户数据")
+    @PostMapping("/import")
+    public Result<String> importExcel(@ApiParam(value = "Excel文件", required = true)
+                                      @RequestParam("excel") MultipartFile excelFile,
+                                      @ApiParam(value = "本次导入用户的初始密码（首次登录须修改）", required = true)
+                                      @RequestParam
+                                      @NotBlank(message = "初始密码不能为空")
+                                      @Size(min = 6, max = 20, message = "初始密码长度必须在6-20个字符之间") String initialPassword) throws IOException {
+        return Result.success(sysUserImportService.submitImport(excelFile, initialPassword, StpUtil.getLoginIdAsString()));
+    }
+
+    /**
+     * 查询用户导入进度
+     * @param jobId 任务ID
+     * @return Result<UserImportJobVO>
+     */
+    @ApiOperation("查询用户导入进度")
+    @GetMapping("/import/progress")
+    public Result<UserImportJobVO> importProgress(@RequestParam
+                                                  @NotBlank(message = "任务ID不能为空") String jobId) {
+        return Result.success(sysUserImportService.getImportJob(jobId, StpUtil.getLoginIdAsString()));
+    }
+}
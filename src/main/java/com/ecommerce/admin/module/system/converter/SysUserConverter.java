@@ -0,0 +1,63 @@
+package com.ecommerce.admin.module.system.converter;
+
+import com.ecommerce.admin.module.system.dto.SysUserDTO;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.vo.SysUserExcel;
+import com.ecommerce.admin.module.system.vo.SysUserVO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * 系统用户对象转换器
+ * 由 MapStruct 在编译期生成实现（直接调用 getter/setter），不做运行时反射匹配；
+ * 目标类新增字段未映射时编译失败，避免字段静默丢失
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface SysUserConverter {
+
+    /**
+     * 实体转VO
+     * @param user 用户实体
+     * @return SysUserVO
+     */
+    SysUserVO toVO(SysUser user);
+
+    /**
+     * 实体列表转VO列表
+     * @param users 用户实体列表
+     * @return List<SysUserVO>
+     */
+    List<SysUserVO> toVOList(List<SysUser> users);
+
+    /**
+     * 导入模型转VO，状态由调用方根据状态名称设置
+     * @param excel 导入模型
+     * @return SysUserVO
+     */
+    @Mapping(target = "isActive", ignore = true)
+    @Mapping(target = "avatar", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    SysUserVO toVO(SysUserExcel excel);
+
+    /**
+     * DTO转实体
+     * @param userDTO 用户DTO
+     * @return SysUser
+     */
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "passwordExpired", ignore = true)
+    SysUser toEntity(SysUserDTO userDTO);
+
+    /**
+     * 实体转导出模型，状态名称由 SysUserExcel#setIsActive 一并设置
+     * @param user 用户实体
+     * @return SysUserExcel
+     */
+    @Mapping(target = "statusName", ignore = true)
+    SysUserExcel toExcel(SysUser user);
+}
@@ -28,6 +28,11 @@ public class SysUser {
      */
     private String password;
 
+    /**
+     * 密码是否过期: 0-否, 1-是（须修改后才能登录）
+     */
+    private Integer passwordExpired;
+
     /**
      * 真实姓名
      */
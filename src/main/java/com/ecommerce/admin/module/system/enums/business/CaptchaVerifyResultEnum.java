@@ -0,0 +1,57 @@
+package com.ecommerce.admin.module.system.enums.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 验证码校验结果枚举
+ * code 与 scripts/captcha_verify.lua 的返回值一致
+ */
+@Getter
+@AllArgsConstructor
+public enum CaptchaVerifyResultEnum {
+
+    /**
+     * 不存在或已过期（含已被使用）
+     */
+    EXPIRED(0, "验证码已过期"),
+
+    /**
+     * 校验通过，验证码已删除
+     */
+    OK(1, "验证码正确"),
+
+    /**
+     * 不匹配，失败次数加一
+     */
+    MISMATCH(2, "验证码错误"),
+
+    /**
+     * 失败次数达到上限，验证码已删除
+     */
+    TOO_MANY_ATTEMPTS(3, "验证码错误次数过多，请刷新验证码");
+
+    /**
+     * 结果码
+     */
+    private final int code;
+
+    /**
+     * 结果描述
+     */
+    private final String desc;
+
+    /**
+     * 根据结果码获取枚举
+     * @param code 结果码
+     * @return CaptchaVerifyResultEnum，不存在时返回 null
+     */
+    public static CaptchaVerifyResultEnum getByCode(long code) {
+        for (CaptchaVerifyResultEnum result : values()) {
+            if (result.getCode() == code) {
+                return result;
+            }
+        }
+        return null;
+    }
+}
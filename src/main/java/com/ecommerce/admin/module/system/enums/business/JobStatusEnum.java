@@ -0,0 +1,43 @@
+package com.ecommerce.admin.module.system.enums.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 后台任务状态枚举
+ * 用于用户导入、导出等异步任务
+ */
+@Getter
+@AllArgsConstructor
+public enum JobStatusEnum {
+
+    /**
+     * 排队中
+     */
+    PENDING("pending", "排队中"),
+
+    /**
+     * 执行中
+     */
+    RUNNING("running", "执行中"),
+
+    /**
+     * 已完成（导入任务可能包含失败行）
+     */
+    COMPLETED("completed", "已完成"),
+
+    /**
+     * 任务异常终止
+     */
+    FAILED("failed", "执行失败");
+
+    /**
+     * 状态码
+     */
+    private final String code;
+
+    /**
+     * 状态描述
+     */
+    private final String desc;
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.admin.module.system.enums.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 登录限流结果枚举
+ * 0-2 与 scripts/login_rate_limit.lua 的返回值一致
+ */
+@Getter
+@AllArgsConstructor
+public enum LoginRateLimitResultEnum {
+
+    /**
+     * 放行
+     */
+    ALLOWED(0, "放行"),
+
+    /**
+     * 同一 IP 在窗口内的登录尝试超限
+     */
+    IP_LIMITED(1, "登录尝试过于频繁，请稍后重试"),
+
+    /**
+     * 同一用户名在窗口内的登录尝试超限
+     */
+    USERNAME_LIMITED(2, "该账号登录尝试过于频繁，请稍后重试"),
+
+    /**
+     * 本机令牌桶已空（未访问 Redis）
+     */
+    LOCAL_LIMITED(3, "登录尝试过于频繁，请稍后重试");
+
+    /**
+     * 结果码
+     */
+    private final int code;
+
+    /**
+     * 结果描述
+     */
+    private final String desc;
+
+    /**
+     * 根据结果码获取枚举
+     * @param code 结果码
+     * @return LoginRateLimitResultEnum，不存在时返回 null
+     */
+    public static LoginRateLimitResultEnum getByCode(long code) {
+        for (LoginRateLimitResultEnum result : values()) {
+            if (result.getCode() == code) {
+                return result;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.admin.module.system.enums.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 用户游标分页排序方式枚举
+ * 均按倒序排列，新插入的用户只会出现在第一页之前，不会打乱后续翻页
+ */
+@Getter
+@AllArgsConstructor
+public enum UserCursorSortEnum {
+
+    /**
+     * 按ID倒序
+     */
+    ID("id", "按ID倒序"),
+
+    /**
+     * 按创建时间倒序，创建时间相同按ID倒序
+     */
+    CREATED_AT("createdAt", "按创建时间倒序");
+
+    /**
+     * 排序标识
+     */
+    private final String code;
+
+    /**
+     * 排序描述
+     */
+    private final String desc;
+
+    /**
+     * 根据排序标识获取枚举
+     * @param code 排序标识
+     * @return UserCursorSortEnum，未匹配时返回 null
+     */
+    public static UserCursorSortEnum getByCode(String code) {
+        for (UserCursorSortEnum sort : values()) {
+            if (sort.getCode().equals(code)) {
+                return sort;
+            }
+        }
+        return null;
+    }
+}
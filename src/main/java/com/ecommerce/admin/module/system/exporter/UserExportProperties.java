@@ -0,0 +1,58 @@
+package com.ecommerce.admin.module.system.exporter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户异步导出配置
+ * 对应 application.yml 中的 admin.user-export
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.user-export")
+public class UserExportProperties {
+
+    /**
+     * 同时执行的导出任务数
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 排队等待的导出任务数，超出后拒绝新任务
+     */
+    private int queueCapacity = 8;
+
+    /**
+     * 每批写入 Excel 的行数
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 导出文件使用的存储平台，不能是 /file/** 映射的 local-1（该目录免登录访问）；
+     * 多节点部署时应配置为各节点共享的存储（对象存储或共享目录）
+     */
+    private String platform = "export-private";
+
+    /**
+     * 导出文件在存储平台中的目录
+     */
+    private String storagePath = "export/user/";
+
+    /**
+     * 过期导出文件的清理间隔
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    /**
+     * 下载令牌有效期
+     */
+    private Duration downloadTokenTtl = Duration.ofMinutes(5);
+
+    /**
+     * 任务状态在 Redis 中的保留时间
+     */
+    private Duration jobTtl = Duration.ofDays(1);
+}
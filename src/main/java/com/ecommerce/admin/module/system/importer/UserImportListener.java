@@ -0,0 +1,62 @@
+package com.ecommerce.admin.module.system.importer;
+
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.event.AnalysisEventListener;
+import com.alibaba.excel.exception.ExcelDataConvertException;
+import com.ecommerce.admin.module.system.vo.SysUserExcel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 用户导入读取监听器
+ * 逐行读取并每 batchSize 行交给批处理器，内存中最多保留一批数据
+ */
+public class UserImportListener extends AnalysisEventListener<SysUserExcel> {
+
+    private final int batchSize;
+
+    private final Consumer<List<UserImportRow>> batchHandler;
+
+    private List<UserImportRow> batch;
+
+    public UserImportListener(int batchSize, Consumer<List<UserImportRow>> batchHandler) {
+        this.batchSize = batchSize;
+        this.batchHandler = batchHandler;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void invoke(SysUserExcel data, AnalysisContext context) {
+        batch.add(new UserImportRow(context.readRowHolder().getRowIndex() + 1, data));
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void onException(Exception exception, AnalysisContext context) throws Exception {
+        // 单元格类型转换失败只记为该行错误，继续读取后续行
+        if (exception instanceof ExcelDataConvertException) {
+            ExcelDataConvertException convertException = (ExcelDataConvertException) exception;
+            UserImportRow row = new UserImportRow(convertException.getRowIndex() + 1, new SysUserExcel());
+            row.setError("第" + (convertException.getColumnIndex() + 1) + "列格式错误");
+            batch.add(row);
+            return;
+        }
+        throw exception;
+    }
+
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+        if (!batch.isEmpty()) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        batchHandler.accept(batch);
+        batch = new ArrayList<>(batchSize);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.admin.module.system.importer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户导入配置
+ * 对应 application.yml 中的 admin.user-import
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.user-import")
+public class UserImportProperties {
+
+    /**
+     * 每批处理的行数（校验、查重、入库）
+     */
+    private int batchSize = 500;
+
+    /**
+     * 同时执行的导入任务数
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 排队等待的导入任务数，超出后拒绝新任务
+     */
+    private int queueCapacity = 4;
+
+    /**
+     * 批内并行校验的线程数
+     */
+    private int validationParallelism = 4;
+
+    /**
+     * 单个任务最多保留的错误明细条数
+     */
+    private int maxErrors = 1000;
+
+    /**
+     * 任务进度在 Redis 中的保留时间
+     */
+    private Duration jobTtl = Duration.ofDays(1);
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.admin.module.system.importer;
+
+import com.ecommerce.admin.module.system.vo.SysUserExcel;
+import lombok.Data;
+
+/**
+ * 待导入行
+ */
+@Data
+public class UserImportRow {
+
+    /**
+     * Excel 行号（含表头，从1开始）
+     */
+    private final int rowNumber;
+
+    /**
+     * 行数据
+     */
+    private final SysUserExcel data;
+
+    /**
+     * 校验失败原因，为空表示通过
+     */
+    private String error;
+}
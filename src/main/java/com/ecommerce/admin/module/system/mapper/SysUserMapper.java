@@ -2,10 +2,67 @@ package com.ecommerce.admin.module.system.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.vo.SysUserExcel;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 系统用户Mapper接口
  */
 public interface SysUserMapper extends BaseMapper<SysUser> {
-    
-}
\ No newline at end of file
+
+    /**
+     * 流式读取全部未删除用户用于导出
+     * fetchSize 为 Integer.MIN_VALUE 时 MySQL 驱动逐行返回结果，不会把整个结果集读入内存；
+     * 直接映射为导出模型，只读取导出需要的列
+     * @param handler 逐行处理器
+     */
+    @Select("SELECT id, username, real_name, email, phone, is_active, created_at FROM sys_users WHERE deleted = 0 ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(SysUserExcel.class)
+    void streamForExport(ResultHandler<SysUserExcel> handler);
+
+    /**
+     * 按用户名、邮箱、手机号集合批量查询已占用的值
+     * 唯一索引不含 deleted 列，因此这里同样包含已逻辑删除的用户
+     * @param usernames 用户名集合
+     * @param emails 邮箱集合
+     * @param phones 手机号集合
+     * @return 命中的用户（仅包含 id 与唯一列）
+     */
+    @Select("<script>"
+            + "SELECT id, username, email, phone FROM sys_users WHERE 1 = 0"
+            + "<if test='usernames.size() > 0'> OR username IN "
+            + "<foreach collection='usernames' item='value' open='(' separator=',' close=')'>#{value}</foreach></if>"
+            + "<if test='emails.size() > 0'> OR email IN "
+            + "<foreach collection='emails' item='value' open='(' separator=',' close=')'>#{value}</foreach></if>"
+            + "<if test='phones.size() > 0'> OR phone IN "
+            + "<foreach collection='phones' item='value' open='(' separator=',' close=')'>#{value}</foreach></if>"
+            + "</script>")
+    List<SysUser> selectByUniqueValues(@Param("usernames") Collection<String> usernames,
+                                       @Param("emails") Collection<String> emails,
+                                       @Param("phones") Collection<String> phones);
+
+    /**
+     * 多行 INSERT 批量插入用户，回填自增ID
+     * 自定义 SQL 不经过自动填充，调用方需设置 createdAt、updatedAt
+     * @param users 用户列表，不能为空
+     * @return 插入行数
+     */
+    @Insert("<script>"
+            + "INSERT INTO sys_users (username, password, password_expired, real_name, email, phone, avatar, is_active, created_at, updated_at, deleted) VALUES "
+            + "<foreach collection='list' item='u' separator=','>"
+            + "(#{u.username}, #{u.password}, IFNULL(#{u.passwordExpired}, 0), #{u.realName}, #{u.email}, #{u.phone}, #{u.avatar}, #{u.isActive}, #{u.createdAt}, #{u.updatedAt}, 0)"
+            + "</foreach>"
+            + "</script>")
+    @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
+    int insertBatch(@Param("list") List<SysUser> users);
+}
@@ -0,0 +1,209 @@
+package com.ecommerce.admin.module.system.password;
+
+import com.ecommerce.admin.common.metrics.LatencyHistogram;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 密码哈希线程池
+ * BCrypt 校验是数十毫秒的纯 CPU 计算，放在与 CPU 核数相同的专用线程上执行，队列有界，排满时立即拒绝，
+ * 避免登录高峰把所有 Tomcat 线程压在哈希计算上拖垮其他接口。记录排队与计算耗时用于监控。
+ * 批量任务（如批量创建用户）同时最多占用一半线程，其余线程留给登录
+ */
+@Slf4j
+@Component
+public class PasswordHashExecutor {
+
+    private final PasswordHashProperties properties;
+
+    /**
+     * 排队耗时
+     */
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    /**
+     * 计算耗时
+     */
+    private final LatencyHistogram compute = new LatencyHistogram();
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    private ThreadPoolExecutor executor;
+
+    public PasswordHashExecutor(PasswordHashProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNo = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), r -> {
+            Thread thread = new Thread(r, "password-hash-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 在哈希线程上执行并等待结果
+     * @param task 哈希任务
+     * @param <T> 结果类型
+     * @return 任务结果
+     * @throws RejectedExecutionException 队列已满或等待超时
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future = submit(task);
+        if (future == null) {
+            throw new RejectedExecutionException("密码哈希队列已满");
+        }
+        try {
+            return future.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.incrementAndGet();
+            throw new RejectedExecutionException("密码哈希等待超时", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("等待密码哈希被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 在哈希线程上批量执行并按顺序返回结果
+     * 同时在途的任务不超过线程数的一半，登录任务最多排在这些任务之后；全部任务须在 batchTimeout 内完成
+     * @param tasks 哈希任务
+     * @param <T> 结果类型
+     * @return 与任务顺序一致的结果
+     * @throws RejectedExecutionException 队列已满或超过 batchTimeout
+     */
+    public <T> List<T> executeAll(List<Callable<T>> tasks) {
+        int window = Math.max(1, executor.getMaximumPoolSize() / 2);
+        long deadline = System.nanoTime() + properties.getBatchTimeout().toNanos();
+        List<T> results = new ArrayList<>(tasks.size());
+        Deque<Future<T>> inFlight = new ArrayDeque<>(window);
+        int next = 0;
+        try {
+            while (results.size() < tasks.size()) {
+                while (next < tasks.size() && inFlight.size() < window) {
+                    Future<T> future = submit(tasks.get(next++));
+                    if (future == null) {
+                        throw new RejectedExecutionException("密码哈希队列已满");
+                    }
+                    inFlight.add(future);
+                }
+                results.add(inFlight.poll().get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException e) {
+            timedOut.incrementAndGet();
+            throw new RejectedExecutionException("批量密码哈希超时", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("等待密码哈希被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } finally {
+            for (Future<T> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * 提交任务，不等待结果
+     * @param task 哈希任务
+     * @param <T> 结果类型
+     * @return Future，队列已满时返回 null
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        long submitted = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - submitted);
+                try {
+                    return task.call();
+                } finally {
+                    compute.record(System.nanoTime() - started);
+                    completed.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * 获取线程池运行统计
+     * @return HashStats
+     */
+    public HashStats getStats() {
+        HashStats stats = new HashStats();
+        stats.setThreads(executor.getMaximumPoolSize());
+        stats.setActive(executor.getActiveCount());
+        stats.setQueueCapacity(properties.getQueueCapacity());
+        stats.setQueueDepth(executor.getQueue().size());
+        stats.setCompleted(completed.get());
+        stats.setRejected(rejected.get());
+        stats.setTimedOut(timedOut.get());
+        LatencyHistogram.Snapshot wait = queueWait.snapshot();
+        stats.setQueueWaitP50(wait.millisAt(0.5));
+        stats.setQueueWaitP99(wait.millisAt(0.99));
+        LatencyHistogram.Snapshot hash = compute.snapshot();
+        stats.setHashP50(hash.millisAt(0.5));
+        stats.setHashP99(hash.millisAt(0.99));
+        stats.setHashMax(hash.millisAt(1.0));
+        return stats;
+    }
+
+    /**
+     * 密码哈希线程池统计（耗时单位毫秒）
+     */
+    @Data
+    public static class HashStats {
+        private int threads;
+        private int active;
+        private int queueCapacity;
+        private int queueDepth;
+        private long completed;
+        private long rejected;
+        private long timedOut;
+        private double queueWaitP50;
+        private double queueWaitP99;
+        private double hashP50;
+        private double hashP99;
+        private double hashMax;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.admin.module.system.password;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 密码哈希配置
+ * 对应 application.yml 中的 admin.password-hash
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.password-hash")
+public class PasswordHashProperties {
+
+    /**
+     * 哈希线程数，0 表示等于 CPU 核数
+     */
+    private int threads = 0;
+
+    /**
+     * 排队等待的哈希任务数，超出后立即拒绝
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 请求线程等待哈希结果的最长时间
+     */
+    private Duration timeout = Duration.ofSeconds(3);
+
+    /**
+     * 批量哈希（如批量创建用户）全部完成的最长时间，超时整批失败
+     */
+    private Duration batchTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 新密码使用的哈希算法: bcrypt、pbkdf2-sha256、pbkdf2-sha512
+     */
+    private String algorithm = "bcrypt";
+
+    /**
+     * BCrypt 工作因子，低于该值的已有哈希在登录成功后重新计算
+     */
+    private int bcryptCost = 10;
+
+    /**
+     * PBKDF2 迭代次数，低于该值的已有哈希在登录成功后重新计算，可用 EncryptUtilsBenchmark 按目标耗时标定
+     */
+    private int pbkdf2Iterations = 10000;
+
+    /**
+     * 登录成功后是否把明文或低工作因子的旧密码升级为当前哈希
+     */
+    private boolean rehashOnLogin = true;
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.admin.module.system.password;
+
+import cn.hutool.crypto.digest.BCrypt;
+import com.ecommerce.admin.common.util.EncryptUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希器
+ * 按 admin.password-hash.algorithm 生成新密码的哈希（BCrypt 使用配置的工作因子，PBKDF2 使用配置的迭代次数），
+ * 新建用户、批量创建、导入及登录后升级哈希共用，保证入库的密码都使用当前算法
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordHashProperties properties;
+
+    public PasswordHasher(PasswordHashProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 计算密码哈希（在调用线程上执行）
+     * @param rawPassword 明文密码
+     * @return 密码哈希
+     */
+    public String hash(String rawPassword) {
+        EncryptUtils.Pbkdf2Algorithm pbkdf2Algorithm = getPbkdf2Algorithm();
+        if (pbkdf2Algorithm != null) {
+            return EncryptUtils.encryptPassword(rawPassword, pbkdf2Algorithm, properties.getPbkdf2Iterations());
+        }
+        return BCrypt.hashpw(rawPassword, BCrypt.gensalt(properties.getBcryptCost()));
+    }
+
+    /**
+     * 当前算法是否为 PBKDF2
+     * @return boolean
+     */
+    public boolean isPbkdf2() {
+        return getPbkdf2Algorithm() != null;
+    }
+
+    /**
+     * 已有 PBKDF2 哈希是否需要按当前算法与迭代次数重新计算
+     * @param stored 已有 PBKDF2 哈希
+     * @return boolean
+     */
+    public boolean needsPbkdf2Rehash(String stored) {
+        EncryptUtils.Pbkdf2Algorithm pbkdf2Algorithm = getPbkdf2Algorithm();
+        return pbkdf2Algorithm == null
+                || EncryptUtils.needsRehash(stored, pbkdf2Algorithm, properties.getPbkdf2Iterations());
+    }
+
+    /**
+     * 配置的 PBKDF2 算法，配置为 BCrypt 时返回 null
+     */
+    private EncryptUtils.Pbkdf2Algorithm getPbkdf2Algorithm() {
+        return EncryptUtils.Pbkdf2Algorithm.getById(properties.getAlgorithm());
+    }
+}
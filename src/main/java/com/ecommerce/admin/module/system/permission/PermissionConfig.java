@@ -0,0 +1,19 @@
+package com.ecommerce.admin.module.system.permission;
+
+import cn.dev33.satoken.stp.StpLogic;
+import cn.dev33.satoken.stp.StpUtil;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 权限配置类
+ * 注册位图鉴权的 StpLogic，Sa-Token 启动时替换 StpUtil 默认实现
+ */
+@Configuration
+public class PermissionConfig {
+
+    @Bean
+    public StpLogic stpLogic() {
+        return new PermissionStpLogic(StpUtil.TYPE);
+    }
+}
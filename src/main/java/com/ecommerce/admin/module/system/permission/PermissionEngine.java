@@ -0,0 +1,350 @@
+package com.ecommerce.admin.module.system.permission;
+
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import com.ecommerce.admin.common.config.redis.cache.LocalCacheInvalidator;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * 权限引擎
+ * 启用的菜单权限标识分配稠密序号，每个角色预计算权限位图（PermissionSnapshot，全量加载，数据量与菜单数相关）；
+ * 用户位图为其角色位图的按位或，按 本地 -> Redis -> 数据库 逐级读取，鉴权时只做位测试。
+ * 失效：
+ * 1. 角色、菜单或角色菜单关联变更后调用 invalidateAll：Redis 失效代数加一（旧代数的键自然过期），广播各节点重建快照；
+ * 2. 用户角色变更后调用 invalidateUsers：删除这些用户的 Redis 缓存，广播各节点丢弃本地缓存。
+ * 在事务中调用时于提交后执行，避免其他节点在提交前重新加载到旧数据
+ */
+@Slf4j
+@Component
+public class PermissionEngine implements LocalCacheInvalidator {
+
+    public static final String CACHE_NAME = "permission";
+
+    /**
+     * 失效代数 Redis 键
+     */
+    public static final String EPOCH_KEY = "perm:epoch";
+
+    /**
+     * 用户权限 Redis 键前缀，完整键为 perm:user:{代数}:{用户ID}，值为 角色ID列表|位图Base64
+     */
+    public static final String USER_KEY_PREFIX = "perm:user:";
+
+    private static final String MENU_SQL = "SELECT id, permission FROM sys_menus "
+            + "WHERE deleted = 0 AND is_active = 1 AND permission IS NOT NULL AND permission <> '' ORDER BY id";
+
+    private static final String ROLE_SQL = "SELECT id, role_code FROM sys_roles WHERE deleted = 0 AND is_active = 1";
+
+    private static final String ROLE_MENU_SQL = "SELECT role_id, menu_id FROM sys_role_menus WHERE deleted = 0";
+
+    private static final String USER_ROLE_SQL = "SELECT role_id FROM sys_user_roles WHERE user_id = ? AND deleted = 0 ORDER BY role_id";
+
+    private final PermissionProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    private final Cache<Long, UserPermissions> localCache;
+
+    /**
+     * 当前快照，为 null 表示需要重新加载
+     */
+    private final AtomicReference<PermissionSnapshot> snapshot = new AtomicReference<>();
+
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong redisHits = new AtomicLong();
+    private final AtomicLong dbLoads = new AtomicLong();
+    private final AtomicLong snapshotLoads = new AtomicLong();
+
+    public PermissionEngine(PermissionProperties properties, JdbcTemplate jdbcTemplate,
+                            StringRedisTemplate stringRedisTemplate, CacheInvalidationPublisher cacheInvalidationPublisher) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.localCache = CacheBuilder.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * 获取用户权限
+     * @param userId 用户ID
+     * @return UserPermissions
+     */
+    public UserPermissions getUserPermissions(Long userId) {
+        UserPermissions cached = localCache.getIfPresent(userId);
+        PermissionSnapshot current = currentSnapshot();
+        if (cached != null && cached.getSnapshot() == current) {
+            localHits.incrementAndGet();
+            return cached;
+        }
+        String redisKey = USER_KEY_PREFIX + current.getEpoch() + ":" + userId;
+        UserPermissions permissions = readRedis(current, redisKey);
+        if (permissions != null) {
+            redisHits.incrementAndGet();
+        } else {
+            dbLoads.incrementAndGet();
+            List<Long> roleIds = jdbcTemplate.queryForList(USER_ROLE_SQL, Long.class, userId);
+            permissions = new UserPermissions(current, roleIds, current.bitsOf(roleIds));
+            writeRedis(redisKey, permissions);
+        }
+        // 加载期间快照被失效时不回填，下次访问按新快照重新计算
+        if (snapshot.get() == current) {
+            localCache.put(userId, permissions);
+        }
+        return permissions;
+    }
+
+    /**
+     * 角色、菜单或角色菜单关联变更后调用：所有节点重建快照并丢弃全部用户缓存
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            try {
+                stringRedisTemplate.opsForValue().increment(EPOCH_KEY);
+            } catch (Exception e) {
+                log.warn("权限失效代数递增失败，Redis 中的用户权限将在 {} 后过期", properties.getRedisTtl(), e);
+            }
+            invalidateLocal(null);
+            cacheInvalidationPublisher.publish(CACHE_NAME, null);
+        });
+    }
+
+    /**
+     * 用户角色变更后调用：删除这些用户的缓存
+     * @param userIds 用户ID
+     */
+    public void invalidateUsers(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = userIds.stream().map(String::valueOf).collect(Collectors.toList());
+        afterCommit(() -> {
+            PermissionSnapshot current = snapshot.get();
+            if (current != null) {
+                try {
+                    stringRedisTemplate.delete(keys.stream()
+                            .map(id -> USER_KEY_PREFIX + current.getEpoch() + ":" + id)
+                            .collect(Collectors.toList()));
+                } catch (Exception e) {
+                    log.warn("删除用户权限缓存失败, userIds={}", userIds, e);
+                }
+            }
+            invalidateLocal(keys);
+            cacheInvalidationPublisher.publish(CACHE_NAME, keys);
+        });
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void invalidateLocal(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            snapshot.set(null);
+            localCache.invalidateAll();
+            return;
+        }
+        for (String key : keys) {
+            localCache.invalidate(Long.valueOf(key));
+        }
+    }
+
+    /**
+     * 获取权限引擎统计
+     * @return EngineStats
+     */
+    public EngineStats getStats() {
+        EngineStats stats = new EngineStats();
+        PermissionSnapshot current = snapshot.get();
+        stats.setPermissionCount(current != null ? current.size() : 0);
+        stats.setEpoch(current != null ? current.getEpoch() : 0);
+        stats.setCachedUsers(localCache.size());
+        stats.setLocalHits(localHits.get());
+        stats.setRedisHits(redisHits.get());
+        stats.setDbLoads(dbLoads.get());
+        stats.setSnapshotLoads(snapshotLoads.get());
+        return stats;
+    }
+
+    private PermissionSnapshot currentSnapshot() {
+        PermissionSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (snapshot) {
+            current = snapshot.get();
+            if (current == null) {
+                current = loadSnapshot();
+                snapshot.set(current);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 全量加载快照，先读失效代数再读数据：并发变更时最多把新数据写到旧代数的键下，不会把旧数据写到新代数下
+     */
+    private PermissionSnapshot loadSnapshot() {
+        long epoch = readEpoch();
+        Map<Long, String> menuPermissions = new LinkedHashMap<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(MENU_SQL)) {
+            menuPermissions.put(((Number) row.get("id")).longValue(), ((String) row.get("permission")).trim());
+        }
+        Map<Long, String> roleCodes = new LinkedHashMap<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(ROLE_SQL)) {
+            roleCodes.put(((Number) row.get("id")).longValue(), (String) row.get("role_code"));
+        }
+        List<long[]> roleMenus = new ArrayList<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(ROLE_MENU_SQL)) {
+            roleMenus.add(new long[]{((Number) row.get("role_id")).longValue(), ((Number) row.get("menu_id")).longValue()});
+        }
+        snapshotLoads.incrementAndGet();
+        return PermissionSnapshot.build(menuPermissions, roleCodes, roleMenus, epoch);
+    }
+
+    private long readEpoch() {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(EPOCH_KEY);
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            // 代数未知时用 -1，既不会命中也不会覆盖正常代数下的缓存
+            log.warn("读取权限失效代数失败", e);
+            return -1L;
+        }
+    }
+
+    private UserPermissions readRedis(PermissionSnapshot current, String redisKey) {
+        if (current.getEpoch() < 0) {
+            return null;
+        }
+        try {
+            String value = stringRedisTemplate.opsForValue().get(redisKey);
+            return value != null ? decode(current, value) : null;
+        } catch (Exception e) {
+            log.warn("读取用户权限缓存失败, key={}", redisKey, e);
+            return null;
+        }
+    }
+
+    private void writeRedis(String redisKey, UserPermissions permissions) {
+        if (permissions.getSnapshot().getEpoch() < 0) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForValue().set(redisKey, encode(permissions), properties.getRedisTtl());
+        } catch (Exception e) {
+            log.warn("写入用户权限缓存失败, key={}", redisKey, e);
+        }
+    }
+
+    static String encode(UserPermissions permissions) {
+        long[] bits = permissions.getBits();
+        ByteBuffer buffer = ByteBuffer.allocate(bits.length * Long.BYTES);
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+        return permissions.getRoleIds().stream().map(String::valueOf).collect(Collectors.joining(","))
+                + "|" + Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    static UserPermissions decode(PermissionSnapshot snapshot, String value) {
+        int separator = value.indexOf('|');
+        String roles = value.substring(0, separator);
+        List<Long> roleIds = roles.isEmpty() ? Collections.emptyList()
+                : Arrays.stream(roles.split(",")).map(Long::valueOf).collect(Collectors.toList());
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(value.substring(separator + 1)));
+        long[] bits = new long[(snapshot.size() + 63) >>> 6];
+        if (buffer.remaining() != bits.length * Long.BYTES) {
+            // 与当前快照的权限数不一致（同一代数下不应出现），按未命中处理
+            return null;
+        }
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = buffer.getLong();
+        }
+        return new UserPermissions(snapshot, roleIds, bits);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 权限引擎统计
+     */
+    @Data
+    public static class EngineStats {
+
+        /**
+         * 权限标识数（位图位数）
+         */
+        private int permissionCount;
+
+        /**
+         * 当前快照的失效代数
+         */
+        private long epoch;
+
+        /**
+         * 本地缓存的用户数（近似值）
+         */
+        private long cachedUsers;
+
+        /**
+         * 本地缓存命中次数
+         */
+        private long localHits;
+
+        /**
+         * Redis 命中次数
+         */
+        private long redisHits;
+
+        /**
+         * 查询数据库次数
+         */
+        private long dbLoads;
+
+        /**
+         * 快照加载次数
+         */
+        private long snapshotLoads;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.admin.module.system.permission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 权限引擎配置
+ * 对应 application.yml 中的 admin.permission
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.permission")
+public class PermissionProperties {
+
+    /**
+     * 本地缓存用户权限的过期时间（失效广播丢失时的最长不一致时间）
+     */
+    private Duration localTtl = Duration.ofMinutes(5);
+
+    /**
+     * 本地缓存最大用户数
+     */
+    private long localMaximumSize = 10000;
+
+    /**
+     * Redis 缓存用户权限的过期时间
+     */
+    private Duration redisTtl = Duration.ofMinutes(30);
+}
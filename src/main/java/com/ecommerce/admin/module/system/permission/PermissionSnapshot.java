@@ -0,0 +1,131 @@
+package com.ecommerce.admin.module.system.permission;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 权限快照（不可变）
+ * 为每个权限标识分配稠密序号，并为每个角色预计算权限位图；用户权限即其角色位图的按位或
+ */
+final class PermissionSnapshot {
+
+    /**
+     * 按序号排列的权限标识
+     */
+    private final String[] codes;
+
+    /**
+     * 权限标识 -> 序号
+     */
+    private final Map<String, Integer> indexByCode;
+
+    /**
+     * 角色ID -> 权限位图
+     */
+    private final Map<Long, long[]> bitsByRole;
+
+    /**
+     * 角色ID -> 角色编码（仅启用的角色）
+     */
+    private final Map<Long, String> roleCodes;
+
+    /**
+     * 快照对应的失效代数，用作 Redis 缓存键的一部分
+     */
+    private final long epoch;
+
+    private PermissionSnapshot(String[] codes, Map<String, Integer> indexByCode, Map<Long, long[]> bitsByRole,
+                               Map<Long, String> roleCodes, long epoch) {
+        this.codes = codes;
+        this.indexByCode = indexByCode;
+        this.bitsByRole = bitsByRole;
+        this.roleCodes = roleCodes;
+        this.epoch = epoch;
+    }
+
+    /**
+     * 构建快照
+     * @param menuPermissions 菜单ID -> 权限标识，按菜单ID升序（各节点据此得到相同的序号）
+     * @param roleCodes 启用的角色ID -> 角色编码
+     * @param roleMenus 角色菜单关联，元素为 [roleId, menuId]
+     * @param epoch 失效代数
+     * @return PermissionSnapshot
+     */
+    static PermissionSnapshot build(Map<Long, String> menuPermissions, Map<Long, String> roleCodes,
+                                    List<long[]> roleMenus, long epoch) {
+        Map<String, Integer> indexByCode = new HashMap<>();
+        Map<Long, Integer> indexByMenu = new HashMap<>();
+        for (Map.Entry<Long, String> entry : menuPermissions.entrySet()) {
+            Integer index = indexByCode.get(entry.getValue());
+            if (index == null) {
+                index = indexByCode.size();
+                indexByCode.put(entry.getValue(), index);
+            }
+            indexByMenu.put(entry.getKey(), index);
+        }
+        String[] codes = new String[indexByCode.size()];
+        indexByCode.forEach((code, index) -> codes[index] = code);
+
+        int words = (codes.length + 63) >>> 6;
+        Map<Long, long[]> bitsByRole = new HashMap<>();
+        for (Long roleId : roleCodes.keySet()) {
+            bitsByRole.put(roleId, new long[words]);
+        }
+        for (long[] roleMenu : roleMenus) {
+            long[] bits = bitsByRole.get(roleMenu[0]);
+            Integer index = indexByMenu.get(roleMenu[1]);
+            // 禁用的角色、禁用或无权限标识的菜单不参与
+            if (bits != null && index != null) {
+                bits[index >>> 6] |= 1L << index;
+            }
+        }
+        return new PermissionSnapshot(codes, indexByCode, bitsByRole, Collections.unmodifiableMap(roleCodes), epoch);
+    }
+
+    /**
+     * 合并角色位图
+     * @param roleIds 角色ID
+     * @return 用户权限位图
+     */
+    long[] bitsOf(List<Long> roleIds) {
+        long[] result = new long[(codes.length + 63) >>> 6];
+        for (Long roleId : roleIds) {
+            long[] bits = bitsByRole.get(roleId);
+            if (bits == null) {
+                continue;
+            }
+            for (int i = 0; i < result.length; i++) {
+                result[i] |= bits[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取权限标识的序号
+     * @param code 权限标识
+     * @return 序号，未知标识返回 -1
+     */
+    int indexOf(String code) {
+        Integer index = indexByCode.get(code);
+        return index == null ? -1 : index;
+    }
+
+    String codeAt(int index) {
+        return codes[index];
+    }
+
+    int size() {
+        return codes.length;
+    }
+
+    String roleCode(Long roleId) {
+        return roleCodes.get(roleId);
+    }
+
+    long getEpoch() {
+        return epoch;
+    }
+}
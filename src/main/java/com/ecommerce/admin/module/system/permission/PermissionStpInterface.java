@@ -0,0 +1,30 @@
+package com.ecommerce.admin.module.system.permission;
+
+import cn.dev33.satoken.stp.StpInterface;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sa-Token 权限数据来源
+ * 返回的权限列表为 UserPermissions（位图），配合 PermissionStpLogic 鉴权时只做位测试
+ */
+@Component
+public class PermissionStpInterface implements StpInterface {
+
+    private final PermissionEngine permissionEngine;
+
+    public PermissionStpInterface(PermissionEngine permissionEngine) {
+        this.permissionEngine = permissionEngine;
+    }
+
+    @Override
+    public List<String> getPermissionList(Object loginId, String loginType) {
+        return permissionEngine.getUserPermissions(Long.valueOf(loginId.toString()));
+    }
+
+    @Override
+    public List<String> getRoleList(Object loginId, String loginType) {
+        return permissionEngine.getUserPermissions(Long.valueOf(loginId.toString())).getRoleCodes();
+    }
+}
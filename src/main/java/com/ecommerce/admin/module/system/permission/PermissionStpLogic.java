@@ -0,0 +1,25 @@
+package com.ecommerce.admin.module.system.permission;
+
+import cn.dev33.satoken.stp.StpLogic;
+
+import java.util.List;
+
+/**
+ * 位图鉴权的 StpLogic
+ * checkPermission / checkPermissionAnd / checkPermissionOr 及注解鉴权最终都调用 hasElement，
+ * 权限列表为 UserPermissions 时改为位测试；含通配符的授权与其他列表仍按 Sa-Token 原规则匹配
+ */
+public class PermissionStpLogic extends StpLogic {
+
+    public PermissionStpLogic(String loginType) {
+        super(loginType);
+    }
+
+    @Override
+    public boolean hasElement(List<String> list, String element) {
+        if (list instanceof UserPermissions && !((UserPermissions) list).hasWildcard()) {
+            return ((UserPermissions) list).has(element);
+        }
+        return super.hasElement(list, element);
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecommerce.admin.module.system.permission;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 用户权限（不可变）
+ * 以权限列表的形式交给 Sa-Token（StpInterface#getPermissionList），contains 为位测试，
+ * 由 PermissionStpLogic 在鉴权时直接调用，不再逐项匹配字符串
+ */
+public final class UserPermissions extends AbstractList<String> {
+
+    private final PermissionSnapshot snapshot;
+
+    private final long[] bits;
+
+    private final List<Long> roleIds;
+
+    private final List<String> roleCodes;
+
+    /**
+     * 已授予权限的序号，按序号升序
+     */
+    private final int[] granted;
+
+    /**
+     * 已授予的权限中是否含通配符（如 system:*），含通配符时需按 Sa-Token 规则逐项匹配
+     */
+    private final boolean wildcard;
+
+    UserPermissions(PermissionSnapshot snapshot, List<Long> roleIds, long[] bits) {
+        this.snapshot = snapshot;
+        this.bits = bits;
+        this.roleIds = Collections.unmodifiableList(new ArrayList<>(roleIds));
+        List<String> codes = new ArrayList<>(roleIds.size());
+        for (Long roleId : roleIds) {
+            String code = snapshot.roleCode(roleId);
+            if (code != null) {
+                codes.add(code);
+            }
+        }
+        this.roleCodes = Collections.unmodifiableList(codes);
+
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        this.granted = new int[count];
+        boolean hasWildcard = false;
+        int n = 0;
+        for (int i = 0; i < bits.length; i++) {
+            long word = bits[i];
+            while (word != 0) {
+                int index = (i << 6) + Long.numberOfTrailingZeros(word);
+                granted[n++] = index;
+                hasWildcard |= snapshot.codeAt(index).indexOf('*') >= 0;
+                word &= word - 1;
+            }
+        }
+        this.wildcard = hasWildcard;
+    }
+
+    /**
+     * 是否拥有指定权限（精确匹配，位测试）
+     * @param permission 权限标识
+     * @return boolean
+     */
+    public boolean has(String permission) {
+        int index = snapshot.indexOf(permission);
+        return index >= 0 && (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String && has((String) o);
+    }
+
+    @Override
+    public String get(int index) {
+        return snapshot.codeAt(granted[index]);
+    }
+
+    @Override
+    public int size() {
+        return granted.length;
+    }
+
+    /**
+     * 已授予的权限中是否含通配符
+     * @return boolean
+     */
+    public boolean hasWildcard() {
+        return wildcard;
+    }
+
+    /**
+     * 用户的角色ID
+     * @return List<Long>
+     */
+    public List<Long> getRoleIds() {
+        return roleIds;
+    }
+
+    /**
+     * 用户的角色编码（仅启用的角色）
+     * @return List<String>
+     */
+    public List<String> getRoleCodes() {
+        return roleCodes;
+    }
+
+    long[] getBits() {
+        return bits;
+    }
+
+    PermissionSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
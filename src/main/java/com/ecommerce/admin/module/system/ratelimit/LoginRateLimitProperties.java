@@ -0,0 +1,62 @@
+package com.ecommerce.admin.module.system.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 登录限流配置
+ * 对应 application.yml 中的 admin.login-rate-limit
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.login-rate-limit")
+public class LoginRateLimitProperties {
+
+    /**
+     * 是否启用登录限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 滑动窗口长度
+     */
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * 同一 IP 窗口内最大登录尝试次数（所有节点合计）
+     */
+    private int ipLimit = 30;
+
+    /**
+     * 同一用户名窗口内最大登录尝试次数（所有节点合计）
+     */
+    private int usernameLimit = 10;
+
+    /**
+     * 本机令牌桶每秒补充的令牌数（按 IP）
+     */
+    private double localRate = 2;
+
+    /**
+     * 本机令牌桶容量（按 IP，允许的突发次数）
+     */
+    private int localBurst = 10;
+
+    /**
+     * 本机令牌桶最多跟踪的 IP 数
+     */
+    private long localMaximumSize = 100000;
+
+    /**
+     * Redis 不可用时是否放行（仍受本机令牌桶限制）
+     */
+    private boolean failOpen = true;
+
+    /**
+     * 是否信任 X-Forwarded-For 取客户端 IP（仅在反向代理之后开启）
+     */
+    private boolean trustForwardedFor = false;
+}
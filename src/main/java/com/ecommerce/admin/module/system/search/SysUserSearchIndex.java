@@ -0,0 +1,441 @@
+package com.ecommerce.admin.module.system.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ecommerce.admin.common.config.datasource.DataSourceContextHolder;
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import com.ecommerce.admin.common.config.redis.cache.LocalCacheInvalidator;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.mapper.SysUserMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 用户子串搜索索引
+ * 在内存中对用户名、真实姓名、邮箱、手机号建立二元组（bigram）倒排索引，搜索时求各二元组倒排表的交集得到候选ID，
+ * 再用原文校验子串命中，最终由调用方按主键取回用户，避免 LIKE '%x%' 全表扫描。
+ * 启动后异步全量构建并定时重建；用户增删改后刷新对应ID并通过 Redis 频道通知其他节点刷新。
+ * 索引未就绪时 search 返回 null，调用方应退回数据库查询
+ */
+@Slf4j
+@Component
+public class SysUserSearchIndex implements LocalCacheInvalidator {
+
+    /**
+     * 广播名称（频道后缀）
+     */
+    public static final String CACHE_NAME = "sys-user-search";
+
+    private final UserSearchProperties properties;
+
+    private final SysUserMapper sysUserMapper;
+
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    private final Object writeLock = new Object();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 当前索引，未构建完成时为 null
+     */
+    private volatile IndexData data;
+
+    /**
+     * 全量重建期间收到的增量刷新ID，重建完成后补刷（受 writeLock 保护）
+     */
+    private Set<Long> pendingDuringRebuild;
+
+    public SysUserSearchIndex(UserSearchProperties properties, SysUserMapper sysUserMapper,
+                              CacheInvalidationPublisher invalidationPublisher) {
+        this.properties = properties;
+        this.sysUserMapper = sysUserMapper;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "user-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getRebuildInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::rebuildQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 索引是否可用
+     * @return boolean
+     */
+    public boolean isReady() {
+        return data != null;
+    }
+
+    /**
+     * 子串搜索
+     * @param keyword 关键字（不区分大小写）
+     * @param scope 搜索范围
+     * @return 命中的索引条目（无序），索引未就绪时返回 null
+     */
+    public List<Entry> search(String keyword, Scope scope) {
+        IndexData current = data;
+        if (current == null || StringUtils.isBlank(keyword)) {
+            return null;
+        }
+        String query = keyword.trim().toLowerCase(Locale.ROOT);
+        Collection<Entry> candidates;
+        if (query.length() < 2) {
+            // 单字符无二元组可用，直接扫描内存中的条目
+            candidates = current.entries.values();
+        } else {
+            int[] ids = intersect(current, bigrams(query));
+            candidates = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                Entry entry = current.entries.get(id);
+                if (entry != null) {
+                    candidates.add(entry);
+                }
+            }
+        }
+        // 二元组交集只保证包含所有片段，仍需用原文校验子串
+        List<Entry> hits = new ArrayList<>();
+        for (Entry entry : candidates) {
+            if (entry.matches(query, scope)) {
+                hits.add(entry);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * 用户写入后刷新索引，并通知其他节点刷新
+     * @param ids 用户ID
+     */
+    public void refresh(Collection<Long> ids) {
+        if (!properties.isEnabled() || ids.isEmpty()) {
+            return;
+        }
+        refreshLocal(ids);
+        invalidationPublisher.publish(CACHE_NAME, ids.stream().map(String::valueOf).collect(Collectors.toList()));
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void invalidateLocal(Collection<String> keys) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (keys == null) {
+            scheduler.execute(this::rebuildQuietly);
+            return;
+        }
+        refreshLocal(keys.stream().map(Long::valueOf).collect(Collectors.toList()));
+    }
+
+    /**
+     * 从数据库重新读取指定用户并更新索引，已删除的用户从索引移除
+     * 刷新由写操作触发，从主库读取，避免从库延迟导致索引停留在旧值
+     */
+    private void refreshLocal(Collection<Long> ids) {
+        List<SysUser> users = DataSourceContextHolder.executeOnPrimary(
+                () -> sysUserMapper.selectList(selectColumns().in(SysUser::getId, ids)));
+        Map<Long, SysUser> userMap = users.stream().collect(Collectors.toMap(SysUser::getId, user -> user));
+        synchronized (writeLock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.addAll(ids);
+            }
+            IndexData current = data;
+            if (current == null) {
+                return;
+            }
+            for (Long id : ids) {
+                if (id > Integer.MAX_VALUE) {
+                    log.error("用户ID {} 超出索引范围，停用内存搜索索引", id);
+                    data = null;
+                    return;
+                }
+                Entry old = current.entries.remove(id.intValue());
+                if (old != null) {
+                    for (String gram : old.grams()) {
+                        current.postings.computeIfPresent(gram, (k, postings) -> remove(postings, old.id));
+                    }
+                }
+                SysUser user = userMap.get(id);
+                if (user != null) {
+                    Entry entry = new Entry(user);
+                    current.entries.put(entry.id, entry);
+                    for (String gram : entry.grams()) {
+                        current.postings.compute(gram, (k, postings) -> insert(postings, entry.id));
+                    }
+                }
+            }
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("用户搜索索引重建失败", e);
+            synchronized (writeLock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * 按主键分批读取全部用户，构建新索引后整体替换
+     */
+    private void rebuild() {
+        long begin = System.currentTimeMillis();
+        synchronized (writeLock) {
+            pendingDuringRebuild = new HashSet<>();
+        }
+        Map<Integer, Entry> entries = new HashMap<>();
+        Map<String, IntBuffer> buffers = new HashMap<>();
+        long lastId = 0;
+        while (true) {
+            List<SysUser> batch = sysUserMapper.selectList(selectColumns()
+                    .gt(SysUser::getId, lastId)
+                    .orderByAsc(SysUser::getId)
+                    .last("LIMIT " + properties.getLoadBatchSize()));
+            for (SysUser user : batch) {
+                if (user.getId() > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("用户ID " + user.getId() + " 超出索引范围");
+                }
+                Entry entry = new Entry(user);
+                entries.put(entry.id, entry);
+                // 按ID升序读取，追加即有序
+                for (String gram : entry.grams()) {
+                    buffers.computeIfAbsent(gram, k -> new IntBuffer()).add(entry.id);
+                }
+            }
+            if (batch.size() < properties.getLoadBatchSize()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        IndexData fresh = new IndexData(entries.size(), buffers.size());
+        fresh.entries.putAll(entries);
+        buffers.forEach((gram, buffer) -> fresh.postings.put(gram, buffer.toArray()));
+
+        Set<Long> pending;
+        synchronized (writeLock) {
+            pending = pendingDuringRebuild;
+            pendingDuringRebuild = null;
+            data = fresh;
+        }
+        // 补刷重建期间发生变更的用户
+        if (!pending.isEmpty()) {
+            refreshLocal(pending);
+        }
+        log.info("用户搜索索引重建完成，用户数 {}，二元组数 {}，耗时 {}ms",
+                entries.size(), buffers.size(), System.currentTimeMillis() - begin);
+    }
+
+    private LambdaQueryWrapper<SysUser> selectColumns() {
+        return new LambdaQueryWrapper<SysUser>()
+                .select(SysUser::getId, SysUser::getUsername, SysUser::getRealName, SysUser::getEmail,
+                        SysUser::getPhone, SysUser::getCreatedAt);
+    }
+
+    /**
+     * 求所有二元组倒排表的交集，从最短的表开始
+     */
+    private static int[] intersect(IndexData current, Set<String> grams) {
+        List<int[]> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            int[] postings = current.postings.get(gram);
+            if (postings == null) {
+                return new int[0];
+            }
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(postings -> postings.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            int[] other = lists.get(i);
+            int[] next = new int[result.length];
+            int size = 0;
+            for (int id : result) {
+                if (Arrays.binarySearch(other, id) >= 0) {
+                    next[size++] = id;
+                }
+            }
+            result = Arrays.copyOf(next, size);
+        }
+        return result;
+    }
+
+    private static Set<String> bigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    private static int[] insert(int[] postings, int id) {
+        if (postings == null) {
+            return new int[]{id};
+        }
+        int pos = Arrays.binarySearch(postings, id);
+        if (pos >= 0) {
+            return postings;
+        }
+        pos = -pos - 1;
+        int[] next = new int[postings.length + 1];
+        System.arraycopy(postings, 0, next, 0, pos);
+        next[pos] = id;
+        System.arraycopy(postings, pos, next, pos + 1, postings.length - pos);
+        return next;
+    }
+
+    private static int[] remove(int[] postings, int id) {
+        int pos = Arrays.binarySearch(postings, id);
+        if (pos < 0) {
+            return postings;
+        }
+        if (postings.length == 1) {
+            // 返回 null 使 computeIfPresent 删除该二元组
+            return null;
+        }
+        int[] next = new int[postings.length - 1];
+        System.arraycopy(postings, 0, next, 0, pos);
+        System.arraycopy(postings, pos + 1, next, pos, postings.length - pos - 1);
+        return next;
+    }
+
+    /**
+     * 搜索范围
+     */
+    public enum Scope {
+        /**
+         * 仅用户名
+         */
+        USERNAME,
+        /**
+         * 用户名、真实姓名、邮箱、手机号
+         */
+        ALL
+    }
+
+    /**
+     * 索引条目（字段均已转小写）
+     */
+    @Getter
+    public static class Entry {
+
+        private final int id;
+
+        private final LocalDateTime createdAt;
+
+        private final String username;
+
+        private final String realName;
+
+        private final String email;
+
+        private final String phone;
+
+        Entry(SysUser user) {
+            this.id = user.getId().intValue();
+            this.createdAt = user.getCreatedAt();
+            this.username = lower(user.getUsername());
+            this.realName = lower(user.getRealName());
+            this.email = lower(user.getEmail());
+            this.phone = lower(user.getPhone());
+        }
+
+        boolean matches(String query, Scope scope) {
+            if (username.contains(query)) {
+                return true;
+            }
+            return scope == Scope.ALL && (realName.contains(query) || email.contains(query) || phone.contains(query));
+        }
+
+        Set<String> grams() {
+            Set<String> grams = bigrams(username);
+            grams.addAll(bigrams(realName));
+            grams.addAll(bigrams(email));
+            grams.addAll(bigrams(phone));
+            return grams;
+        }
+
+        private static String lower(String value) {
+            return value != null ? value.toLowerCase(Locale.ROOT) : "";
+        }
+    }
+
+    /**
+     * 索引数据：条目与倒排表，倒排表为有序ID数组，更新时整体替换数组
+     */
+    private static class IndexData {
+
+        private final Map<Integer, Entry> entries;
+
+        private final Map<String, int[]> postings;
+
+        IndexData(int entryCount, int gramCount) {
+            this.entries = new ConcurrentHashMap<>(Math.max(16, entryCount * 4 / 3));
+            this.postings = new ConcurrentHashMap<>(Math.max(16, gramCount * 4 / 3));
+        }
+    }
+
+    /**
+     * 构建阶段使用的可增长 int 数组
+     */
+    private static class IntBuffer {
+
+        private int[] values = new int[4];
+
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    }
+}
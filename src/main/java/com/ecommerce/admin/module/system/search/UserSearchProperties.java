@@ -0,0 +1,32 @@
+package com.ecommerce.admin.module.system.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户搜索索引配置
+ * 对应 application.yml 中的 admin.user-search
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admin.user-search")
+public class UserSearchProperties {
+
+    /**
+     * 是否启用内存搜索索引，关闭或索引未就绪时退回 LIKE 查询
+     */
+    private boolean enabled = true;
+
+    /**
+     * 全量重建间隔，用于修复丢失的增量广播
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    /**
+     * 全量重建时每批读取的用户数
+     */
+    private int loadBatchSize = 5000;
+}
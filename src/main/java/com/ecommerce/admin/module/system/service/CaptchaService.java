@@ -0,0 +1,24 @@
+package com.ecommerce.admin.module.system.service;
+
+import com.ecommerce.admin.module.system.enums.business.CaptchaVerifyResultEnum;
+import com.ecommerce.admin.module.system.vo.CaptchaVO;
+
+/**
+ * 登录验证码Service接口
+ */
+public interface CaptchaService {
+
+    /**
+     * 生成验证码，返回前已写入 Redis
+     * @return CaptchaVO
+     */
+    CaptchaVO createCaptcha();
+
+    /**
+     * 校验并消费验证码（不区分大小写），通过后验证码立即作废
+     * @param uuid 验证码标识
+     * @param captcha 用户输入
+     * @return CaptchaVerifyResultEnum
+     */
+    CaptchaVerifyResultEnum verifyCaptcha(String uuid, String captcha);
+}
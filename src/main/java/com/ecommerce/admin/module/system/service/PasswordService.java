@@ -0,0 +1,19 @@
+package com.ecommerce.admin.module.system.service;
+
+import com.ecommerce.admin.module.system.entity.SysUser;
+
+/**
+ * 密码校验Service接口
+ */
+public interface PasswordService {
+
+    /**
+     * 登录时校验密码，校验在有界的哈希线程池中执行；
+     * 通过后若库中为明文或低工作因子的旧哈希，异步升级为当前 BCrypt 哈希
+     * @param user 用户
+     * @param rawPassword 用户输入的密码
+     * @return 是否匹配
+     * @throws com.ecommerce.admin.common.exception.BusinessException 哈希线程池繁忙
+     */
+    boolean verifyLogin(SysUser user, String rawPassword);
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.admin.module.system.service;
+
+import com.ecommerce.admin.module.system.entity.SysUser;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
+
+/**
+ * 登录日志Service接口
+ */
+public interface SysLoginLogService {
+
+    /**
+     * 异步记录一次登录（不阻塞登录响应，队列已满时丢弃）
+     * @param request 登录请求
+     * @param username 登录用户名
+     * @param user 登录用户，不存在时为 null
+     * @param errorMsg 失败原因，为 null 表示登录成功
+     */
+    void recordLogin(HttpServletRequest request, String username, SysUser user, String errorMsg);
+
+    /**
+     * 按登录时间范围清理日志（分批删除）
+     * @param startTime 开始时间（含），为空表示不限
+     * @param endTime 结束时间（不含）
+     * @return 删除的行数
+     */
+    long purge(LocalDateTime startTime, LocalDateTime endTime);
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.admin.module.system.service;
+
+import com.ecommerce.admin.module.system.vo.UserExportJobVO;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 用户异步导出Service接口
+ */
+public interface SysUserExportService {
+
+    /**
+     * 提交导出任务，文件上传到专用存储平台后通过 STOMP 通知发起人
+     * @param loginId 发起导出的登录用户ID
+     * @return 任务ID
+     */
+    String submitExport(String loginId);
+
+    /**
+     * 查询导出任务，只能查询自己发起的任务
+     * @param jobId 任务ID
+     * @param loginId 当前登录用户ID
+     * @return UserExportJobVO
+     */
+    UserExportJobVO getExportJob(String jobId, String loginId);
+
+    /**
+     * 为已完成的导出任务生成短时效下载令牌，只能为自己发起的任务生成
+     * @param jobId 任务ID
+     * @param loginId 当前登录用户ID
+     * @return 下载令牌
+     */
+    String createDownloadToken(String jobId, String loginId);
+
+    /**
+     * 按下载令牌输出导出文件，令牌对应的任务必须属于当前登录用户
+     * @param token 下载令牌
+     * @param loginId 当前登录用户ID
+     * @param response HttpServletResponse
+     * @throws IOException IO异常
+     */
+    void download(String token, String loginId, HttpServletResponse response) throws IOException;
+}
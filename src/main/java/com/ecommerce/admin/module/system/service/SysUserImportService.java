@@ -0,0 +1,31 @@
+package com.ecommerce.admin.module.system.service;
+
+import com.ecommerce.admin.module.system.vo.UserImportJobVO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * 用户导入Service接口
+ */
+public interface SysUserImportService {
+
+    /**
+     * 提交导入任务，文件在后台分批校验、查重并入库
+     * 导入用户使用本次指定的初始密码，并标记为密码过期，首次登录须修改
+     * @param excelFile Excel文件
+     * @param initialPassword 本次导入用户的初始密码
+     * @param loginId 发起导入的登录用户ID
+     * @return 任务ID
+     * @throws IOException IO异常
+     */
+    String submitImport(MultipartFile excelFile, String initialPassword, String loginId) throws IOException;
+
+    /**
+     * 查询导入任务进度，只能查询本人发起的任务
+     * @param jobId 任务ID
+     * @param loginId 当前登录用户ID
+     * @return UserImportJobVO
+     */
+    UserImportJobVO getImportJob(String jobId, String loginId);
+}
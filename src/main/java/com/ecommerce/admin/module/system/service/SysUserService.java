@@ -2,14 +2,17 @@ package com.ecommerce.admin.module.system.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.ecommerce.admin.common.result.CursorPage;
 import com.ecommerce.admin.module.system.dto.SysUserDTO;
 import com.ecommerce.admin.module.system.entity.SysUser;
 import com.ecommerce.admin.module.system.vo.SysUserExcel;
 import com.ecommerce.admin.module.system.vo.SysUserVO;
+import com.ecommerce.admin.module.system.vo.UserBatchItemVO;
 
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 系统用户Service接口
@@ -22,6 +25,12 @@ public interface SysUserService extends IService<SysUser> {
      */
     List<SysUserExcel> getAllUsersForExport();
 
+    /**
+     * 流式读取导出数据（内存占用与数据量无关）
+     * @param consumer 逐行消费者
+     */
+    void streamUsersForExport(Consumer<SysUserExcel> consumer);
+
     /**
      * 解析Excel数据
      * @param excelFile Excel文件
@@ -35,9 +44,22 @@ public interface SysUserService extends IService<SysUser> {
      * @param page 当前页码
      * @param size 每页大小
      * @param username 用户名（模糊查询）
+     * @param keyword 关键字（匹配用户名、真实姓名、邮箱、手机号）
+     * @param count 总数统计策略: exact-精确, cached-缓存, approximate-估算, none-不统计
      * @return IPage<SysUserVO>
      */
-    IPage<SysUserVO> getUserPage(Integer page, Integer size, String username);
+    IPage<SysUserVO> getUserPage(Integer page, Integer size, String username, String keyword, String count);
+    
+    /**
+     * 游标分页查询用户（不统计总数）
+     * @param cursor 上一页返回的游标，首页为空
+     * @param size 每页大小
+     * @param sort 排序方式: id-按ID倒序, createdAt-按创建时间倒序
+     * @param username 用户名（模糊查询）
+     * @param keyword 关键字（匹配用户名、真实姓名、邮箱、手机号）
+     * @return CursorPage<SysUserVO>
+     */
+    CursorPage<SysUserVO> getUserCursorPage(String cursor, Integer size, String sort, String username, String keyword);
     
     /**
      * 根据ID获取用户详情
@@ -86,6 +108,50 @@ public interface SysUserService extends IService<SysUser> {
      * @param id 用户ID
      */
     void deleteUser(Long id);
+
+    /**
+     * 批量创建用户，单项失败不影响其他项
+     * @param userDTOs 用户DTO列表
+     * @return 与请求顺序一致的单项结果
+     */
+    List<UserBatchItemVO> batchCreateUsers(List<SysUserDTO> userDTOs);
+
+    /**
+     * 批量更新用户，单项失败不影响其他项
+     * @param userDTOs 用户DTO列表
+     * @return 与请求顺序一致的单项结果
+     */
+    List<UserBatchItemVO> batchUpdateUsers(List<SysUserDTO> userDTOs);
+
+    /**
+     * 批量删除用户（逻辑删除）
+     * @param ids 用户ID列表
+     * @return 与请求顺序一致的单项结果
+     */
+    List<UserBatchItemVO> batchDeleteUsers(List<Long> ids);
+    
+    /**
+     * 获取用户密码哈希（不经过用户缓存，直接读主库）
+     * @param id 用户ID
+     * @return 密码哈希，用户不存在时返回 null
+     */
+    String getPasswordHash(Long id);
+
+    /**
+     * 修改密码并清除密码过期标记
+     * @param user 用户（至少包含 id 与唯一列）
+     * @param rawPassword 新密码
+     */
+    void changePassword(SysUser user, String rawPassword);
+
+    /**
+     * 升级密码哈希（库中仍为旧哈希时才更新，避免覆盖期间修改过的密码）
+     * @param user 用户（至少包含 id 与唯一列）
+     * @param oldHash 旧密码值
+     * @param newHash 新密码哈希
+     * @return 是否已更新
+     */
+    boolean upgradePasswordHash(SysUser user, String oldHash, String newHash);
     
     /**
      * 获取所有用户数据
@@ -0,0 +1,72 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import cn.hutool.core.lang.UUID;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.exception.BusinessException;
+import com.ecommerce.admin.module.system.captcha.CaptchaImage;
+import com.ecommerce.admin.module.system.captcha.CaptchaPool;
+import com.ecommerce.admin.module.system.captcha.CaptchaStore;
+import com.ecommerce.admin.module.system.enums.business.CaptchaVerifyResultEnum;
+import com.ecommerce.admin.module.system.service.CaptchaService;
+import com.ecommerce.admin.module.system.vo.CaptchaVO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * 登录验证码Service实现类
+ * 图片从预生成池取出（不在请求线程绘制），验证码经合并管道写入 Redis；校验由 Lua 脚本一次往返原子完成
+ */
+@Service
+@Slf4j
+public class CaptchaServiceImpl implements CaptchaService {
+
+    @Autowired
+    private CaptchaPool captchaPool;
+
+    @Autowired
+    private CaptchaStore captchaStore;
+
+    /**
+     * 生成验证码
+     * @return CaptchaVO
+     */
+    @Override
+    public CaptchaVO createCaptcha() {
+        CaptchaImage image = captchaPool.take();
+        String uuid = UUID.fastUUID().toString();
+        try {
+            captchaStore.save(uuid, image.getCode());
+        } catch (IllegalStateException e) {
+            log.warn("验证码保存失败", e);
+            throw new BusinessException(ResponseEnum.SYSTEM_ERROR, "验证码生成失败，请刷新重试");
+        }
+        CaptchaVO captcha = new CaptchaVO();
+        captcha.setUuid(uuid);
+        captcha.setImg(image.getImageBase64());
+        return captcha;
+    }
+
+    /**
+     * 校验并消费验证码
+     * @param uuid 验证码标识
+     * @param captcha 用户输入
+     * @return CaptchaVerifyResultEnum
+     */
+    @Override
+    public CaptchaVerifyResultEnum verifyCaptcha(String uuid, String captcha) {
+        if (StringUtils.isBlank(uuid)) {
+            return CaptchaVerifyResultEnum.EXPIRED;
+        }
+        if (StringUtils.isBlank(captcha)) {
+            return CaptchaVerifyResultEnum.MISMATCH;
+        }
+        try {
+            return captchaStore.verify(uuid, captcha.trim());
+        } catch (RuntimeException e) {
+            log.warn("验证码校验失败, uuid={}", uuid, e);
+            throw new BusinessException(ResponseEnum.SYSTEM_ERROR, "验证码校验失败，请重试");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import cn.hutool.crypto.digest.BCrypt;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.exception.BusinessException;
+import com.ecommerce.admin.common.util.EncryptUtils;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.password.PasswordHashExecutor;
+import com.ecommerce.admin.module.system.password.PasswordHasher;
+import com.ecommerce.admin.module.system.password.PasswordHashProperties;
+import com.ecommerce.admin.module.system.service.PasswordService;
+import com.ecommerce.admin.module.system.service.SysUserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 密码校验Service实现类
+ * 兼容历史数据：库中密码可能是 BCrypt 哈希、PBKDF2 哈希（EncryptUtils 格式），也可能是明文（早期直接入库），
+ * 登录成功后按 admin.password-hash.algorithm 升级为当前算法与工作因子
+ */
+@Service
+@Slf4j
+public class PasswordServiceImpl implements PasswordService {
+
+    @Autowired
+    private PasswordHashProperties properties;
+
+    @Autowired
+    private PasswordHashExecutor passwordHashExecutor;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private SysUserService sysUserService;
+
+    /**
+     * 登录时校验密码
+     * @param user 用户
+     * @param rawPassword 用户输入的密码
+     * @return 是否匹配
+     */
+    @Override
+    public boolean verifyLogin(SysUser user, String rawPassword) {
+        // 用户缓存不保存密码，缓存中取出的用户需从主库读取哈希
+        String stored = user.getPassword() != null ? user.getPassword() : sysUserService.getPasswordHash(user.getId());
+        if (rawPassword == null || stored == null) {
+            return false;
+        }
+        boolean matched;
+        if (isBcrypt(stored)) {
+            try {
+                matched = passwordHashExecutor.execute(() -> BCrypt.checkpw(rawPassword, stored));
+            } catch (RejectedExecutionException e) {
+                throw new BusinessException(ResponseEnum.SERVICE_BUSY, "登录人数过多，请稍后重试");
+            } catch (IllegalArgumentException e) {
+                // 形似 BCrypt 但格式损坏，按明文比对
+                matched = constantTimeEquals(rawPassword, stored);
+            }
+        } else if (EncryptUtils.isEncrypted(stored)) {
+            try {
+                matched = passwordHashExecutor.execute(() -> EncryptUtils.verifyPassword(rawPassword, stored));
+            } catch (RejectedExecutionException e) {
+                throw new BusinessException(ResponseEnum.SERVICE_BUSY, "登录人数过多，请稍后重试");
+            }
+        } else {
+            matched = constantTimeEquals(rawPassword, stored);
+        }
+        if (matched && properties.isRehashOnLogin() && needsRehash(stored)) {
+            scheduleRehash(user, stored, rawPassword);
+        }
+        return matched;
+    }
+
+    /**
+     * 明文、非当前算法或工作因子低于配置值的哈希需要升级
+     */
+    boolean needsRehash(String stored) {
+        if (passwordHasher.isPbkdf2()) {
+            return !EncryptUtils.isEncrypted(stored) || passwordHasher.needsPbkdf2Rehash(stored);
+        }
+        if (!isBcrypt(stored)) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(stored.substring(4, 6)) < properties.getBcryptCost();
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 异步升级密码哈希，队列已满时跳过（下次登录再升级），不影响本次登录
+     */
+    private void scheduleRehash(SysUser user, String stored, String rawPassword) {
+        passwordHashExecutor.submit(() -> {
+            try {
+                String newHash = passwordHasher.hash(rawPassword);
+                if (sysUserService.upgradePasswordHash(user, stored, newHash)) {
+                    log.info("用户 {} 的密码已升级为 {}", user.getId(), properties.getAlgorithm());
+                }
+            } catch (Exception e) {
+                log.warn("用户 {} 的密码升级失败", user.getId(), e);
+            }
+            return null;
+        });
+    }
+
+    private static boolean isBcrypt(String stored) {
+        return stored.length() == 60 && (stored.startsWith("$2a$") || stored.startsWith("$2b$") || stored.startsWith("$2y$"));
+    }
+
+    private static boolean constantTimeEquals(String a, String b) {
+        return MessageDigest.isEqual(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.exception.BusinessException;
+import com.ecommerce.admin.module.system.audit.LoginLogProperties;
+import com.ecommerce.admin.module.system.audit.LoginLogRecord;
+import com.ecommerce.admin.module.system.audit.LoginLogWriter;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.ratelimit.LoginRateLimiter;
+import com.ecommerce.admin.module.system.service.SysLoginLogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.servlet.http.HttpServletRequest;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 登录日志Service实现类
+ * 写入走 LoginLogWriter 的异步批量队列；清理按块删除，每块一条自动提交的 DELETE，锁持有时间与块大小相关而非范围大小
+ */
+@Service
+@Slf4j
+public class SysLoginLogServiceImpl implements SysLoginLogService {
+
+    private static final String PURGE_SQL = "DELETE FROM sys_login_logs WHERE login_time < ? LIMIT ?";
+
+    private static final String PURGE_RANGE_SQL = "DELETE FROM sys_login_logs WHERE login_time >= ? AND login_time < ? LIMIT ?";
+
+    @Autowired
+    private LoginLogProperties properties;
+
+    @Autowired
+    private LoginLogWriter loginLogWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    /**
+     * 异步记录一次登录
+     * @param request 登录请求
+     * @param username 登录用户名
+     * @param user 登录用户，不存在时为 null
+     * @param errorMsg 失败原因，为 null 表示登录成功
+     */
+    @Override
+    public void recordLogin(HttpServletRequest request, String username, SysUser user, String errorMsg) {
+        LoginLogRecord record = new LoginLogRecord();
+        record.setUserId(user != null ? user.getId() : null);
+        record.setUsername(username);
+        // 与限流一致：仅在配置信任时才取 X-Forwarded-For，避免审计中的 IP 被伪造
+        record.setIp(loginRateLimiter.resolveClientIp(request));
+        record.setUserAgent(request.getHeader(HttpHeaders.USER_AGENT));
+        record.setSuccess(errorMsg == null);
+        record.setErrorMsg(errorMsg);
+        record.setLoginTime(System.currentTimeMillis());
+        loginLogWriter.offer(record);
+    }
+
+    /**
+     * 按登录时间范围清理日志
+     * @param startTime 开始时间（含），为空表示不限
+     * @param endTime 结束时间（不含）
+     * @return 删除的行数
+     */
+    @Override
+    public long purge(LocalDateTime startTime, LocalDateTime endTime) {
+        if (endTime == null) {
+            throw new BusinessException(ResponseEnum.PARAM_ERROR, "结束时间不能为空");
+        }
+        if (startTime != null && !startTime.isBefore(endTime)) {
+            throw new BusinessException(ResponseEnum.PARAM_ERROR, "开始时间必须早于结束时间");
+        }
+        int chunkSize = properties.getPurgeChunkSize();
+        Timestamp end = Timestamp.valueOf(endTime);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = startTime == null
+                    ? jdbcTemplate.update(PURGE_SQL, end, chunkSize)
+                    : jdbcTemplate.update(PURGE_RANGE_SQL, Timestamp.valueOf(startTime), end, chunkSize);
+            total += deleted;
+        } while (deleted >= chunkSize);
+        log.info("清理登录日志 [{} , {}) 共 {} 条", startTime, endTime, total);
+        return total;
+    }
+}
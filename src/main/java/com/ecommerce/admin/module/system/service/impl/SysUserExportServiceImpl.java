@@ -0,0 +1,299 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ecommerce.admin.common.config.websocket.StompChannelInterceptor;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.exception.BusinessException;
+import com.ecommerce.admin.common.util.EasyUtils;
+import com.ecommerce.admin.module.file.entity.SysFileDetail;
+import com.ecommerce.admin.module.file.mapper.SysFileDetailMapper;
+import com.ecommerce.admin.module.system.enums.business.JobStatusEnum;
+import com.ecommerce.admin.module.system.exporter.UserExportProperties;
+import com.ecommerce.admin.module.system.service.SysUserExportService;
+import com.ecommerce.admin.module.system.service.SysUserService;
+import com.ecommerce.admin.module.system.vo.SysUserExcel;
+import com.ecommerce.admin.module.system.vo.UserExportJobVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.x.file.storage.core.FileInfo;
+import org.dromara.x.file.storage.core.FileStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 用户异步导出Service实现类
+ * 导出在有界线程池中执行：流式写入临时文件 -> 上传到专用存储平台（不在 /file/** 静态映射下，由 MyFileRecorder 记录）
+ * -> 推送到发起人的 STOMP 主题。任务状态保存在 Redis，通知丢失（如未连接 WebSocket）时可轮询查询；
+ * 文件只能由发起人换取短时效下载令牌后经登录校验的下载接口获取，超过任务保留时间的文件由定时任务清理
+ */
+@Service
+@Slf4j
+public class SysUserExportServiceImpl implements SysUserExportService {
+
+    /**
+     * 任务状态 Redis 键前缀
+     */
+    private static final String JOB_KEY_PREFIX = "export:user:job:";
+
+    /**
+     * 下载令牌 Redis 键前缀，值为任务ID
+     */
+    private static final String DOWNLOAD_KEY_PREFIX = "export:user:download:";
+
+    private static final String FILE_SUFFIX = ".xlsx";
+
+    /**
+     * 文件记录的业务类型，按任务ID查找与清理导出文件
+     */
+    private static final String OBJECT_TYPE = "user-export";
+
+    /**
+     * 导出完成通知的主题后缀，完整主题为 /topic/user/{loginId}/export
+     */
+    private static final String EXPORT_TOPIC_SUFFIX = "/export";
+
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private static final DateTimeFormatter FILE_NAME_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    @Autowired
+    private UserExportProperties properties;
+
+    @Autowired
+    private SysUserService sysUserService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private SysFileDetailMapper sysFileDetailMapper;
+
+    @Autowired
+    private SimpMessagingTemplate simpMessagingTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ThreadPoolExecutor exportExecutor;
+
+    private ScheduledExecutorService purgeScheduler;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNo = new AtomicInteger();
+        exportExecutor = new ThreadPoolExecutor(properties.getWorkerThreads(), properties.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), r -> {
+            Thread thread = new Thread(r, "user-export-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        purgeScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "user-export-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPurgeInterval().toMillis();
+        purgeScheduler.scheduleWithFixedDelay(this::purgeExpiredFiles, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        exportExecutor.shutdownNow();
+        purgeScheduler.shutdownNow();
+    }
+
+    /**
+     * 提交导出任务
+     * @param loginId 发起导出的登录用户ID
+     * @return 任务ID
+     */
+    @Override
+    public String submitExport(String loginId) {
+        UserExportJobVO job = new UserExportJobVO();
+        job.setJobId(IdUtil.fastSimpleUUID());
+        job.setLoginId(loginId);
+        job.setFileName("用户数据_" + LocalDateTime.now().format(FILE_NAME_TIME_FORMAT) + ".xlsx");
+        job.setStatus(JobStatusEnum.PENDING.getCode());
+        saveJob(job);
+        try {
+            exportExecutor.execute(() -> runExport(job));
+        } catch (RejectedExecutionException e) {
+            stringRedisTemplate.delete(JOB_KEY_PREFIX + job.getJobId());
+            throw new BusinessException(ResponseEnum.BUSINESS_ERROR, "导出任务繁忙，请稍后重试");
+        }
+        return job.getJobId();
+    }
+
+    /**
+     * 查询导出任务
+     * @param jobId 任务ID
+     * @param loginId 当前登录用户ID
+     * @return UserExportJobVO
+     */
+    @Override
+    public UserExportJobVO getExportJob(String jobId, String loginId) {
+        String json = stringRedisTemplate.opsForValue().get(JOB_KEY_PREFIX + jobId);
+        UserExportJobVO job = null;
+        if (json != null) {
+            try {
+                job = objectMapper.readValue(json, UserExportJobVO.class);
+            } catch (IOException e) {
+                throw new BusinessException(ResponseEnum.SYSTEM_ERROR, "导出任务状态解析失败");
+            }
+        }
+        // 他人的任务按不存在处理
+        if (job == null || !job.getLoginId().equals(loginId)) {
+            throw new BusinessException(ResponseEnum.NOT_FOUND, "导出任务不存在或已过期");
+        }
+        return job;
+    }
+
+    private void runExport(UserExportJobVO job) {
+        job.setStatus(JobStatusEnum.RUNNING.getCode());
+        job.setStartTime(LocalDateTime.now());
+        saveJob(job);
+        File file = null;
+        try {
+            file = File.createTempFile("user-export-", FILE_SUFFIX);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                job.setRowCount(EasyUtils.writeInChunks(SysUserExcel.class, "用户数据", properties.getChunkSize(),
+                        out, sysUserService::streamUsersForExport));
+            }
+            FileInfo fileInfo = fileStorageService.of(file)
+                    .setPlatform(properties.getPlatform())
+                    .setPath(properties.getStoragePath())
+                    .setSaveFilename(job.getJobId() + FILE_SUFFIX)
+                    .setOriginalFilename(job.getFileName())
+                    .setContentType(XLSX_CONTENT_TYPE)
+                    .setObjectType(OBJECT_TYPE)
+                    .setObjectId(job.getJobId())
+                    .upload();
+            job.setFileSize(fileInfo.getSize());
+            job.setStatus(JobStatusEnum.COMPLETED.getCode());
+        } catch (Exception e) {
+            log.error("用户导出任务 {} 执行失败", job.getJobId(), e);
+            job.setStatus(JobStatusEnum.FAILED.getCode());
+            job.setErrorMsg(e.getMessage());
+        } finally {
+            job.setEndTime(LocalDateTime.now());
+            saveJob(job);
+            if (file != null && !file.delete()) {
+                log.warn("删除导出临时文件失败: {}", file.getAbsolutePath());
+            }
+        }
+        notifyOwner(job);
+    }
+
+    /**
+     * 生成下载令牌，令牌在 downloadTokenTtl 内有效
+     * @param jobId 任务ID
+     * @param loginId 当前登录用户ID
+     * @return 下载令牌
+     */
+    @Override
+    public String createDownloadToken(String jobId, String loginId) {
+        UserExportJobVO job = getExportJob(jobId, loginId);
+        if (!JobStatusEnum.COMPLETED.getCode().equals(job.getStatus())) {
+            throw new BusinessException(ResponseEnum.BUSINESS_ERROR, "导出任务尚未完成");
+        }
+        String token = IdUtil.fastSimpleUUID();
+        stringRedisTemplate.opsForValue().set(DOWNLOAD_KEY_PREFIX + token, jobId, properties.getDownloadTokenTtl());
+        return token;
+    }
+
+    /**
+     * 按下载令牌输出导出文件，令牌对应的任务必须属于当前登录用户
+     * 文件从存储平台读取，任一节点都可以处理下载
+     * @param token 下载令牌
+     * @param loginId 当前登录用户ID
+     * @param response HttpServletResponse
+     * @throws IOException IO异常
+     */
+    @Override
+    public void download(String token, String loginId, HttpServletResponse response) throws IOException {
+        String jobId = stringRedisTemplate.opsForValue().get(DOWNLOAD_KEY_PREFIX + token);
+        if (jobId == null) {
+            throw new BusinessException(ResponseEnum.NOT_FOUND, "下载链接不存在或已过期");
+        }
+        UserExportJobVO job = getExportJob(jobId, loginId);
+        SysFileDetail detail = sysFileDetailMapper.selectOne(new LambdaQueryWrapper<SysFileDetail>()
+                .eq(SysFileDetail::getObjectType, OBJECT_TYPE)
+                .eq(SysFileDetail::getObjectId, jobId));
+        if (detail == null) {
+            throw new BusinessException(ResponseEnum.NOT_FOUND, "导出文件不存在或已过期");
+        }
+        response.setContentType(XLSX_CONTENT_TYPE);
+        if (detail.getSize() != null) {
+            response.setContentLengthLong(detail.getSize());
+        }
+        String finalName = URLEncoder.encode(job.getFileName(), "UTF-8").replaceAll("\\+", "%20");
+        response.setHeader("Content-disposition", "attachment;filename*=utf-8''" + finalName);
+        fileStorageService.download(BeanUtil.copyProperties(detail, FileInfo.class)).outputStream(response.getOutputStream());
+    }
+
+    /**
+     * 删除超过任务保留时间的导出文件（此时任务状态已从 Redis 过期，文件不再可下载）
+     * 按文件记录查找，删除存储平台上的文件及其记录；多节点同时执行时重复删除无副作用
+     */
+    void purgeExpiredFiles() {
+        try {
+            Date expireBefore = new Date(System.currentTimeMillis() - properties.getJobTtl().toMillis());
+            List<SysFileDetail> expired = sysFileDetailMapper.selectList(new LambdaQueryWrapper<SysFileDetail>()
+                    .eq(SysFileDetail::getObjectType, OBJECT_TYPE)
+                    .lt(SysFileDetail::getCreateTime, expireBefore));
+            for (SysFileDetail detail : expired) {
+                if (!fileStorageService.delete(BeanUtil.copyProperties(detail, FileInfo.class))) {
+                    log.warn("删除过期导出文件失败: {}", detail.getUrl());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("清理过期导出文件失败", e);
+        }
+    }
+
+    private void notifyOwner(UserExportJobVO job) {
+        try {
+            simpMessagingTemplate.convertAndSend(
+                    StompChannelInterceptor.USER_TOPIC_PREFIX + job.getLoginId() + EXPORT_TOPIC_SUFFIX, job);
+        } catch (Exception e) {
+            log.warn("推送导出完成通知失败, jobId={}", job.getJobId(), e);
+        }
+    }
+
+    private void saveJob(UserExportJobVO job) {
+        try {
+            stringRedisTemplate.opsForValue().set(JOB_KEY_PREFIX + job.getJobId(),
+                    objectMapper.writeValueAsString(job), properties.getJobTtl());
+        } catch (Exception e) {
+            log.warn("保存用户导出任务状态失败, jobId={}", job.getJobId(), e);
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import cn.hutool.core.util.IdUtil;
+import com.alibaba.excel.EasyExcel;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.exception.BusinessException;
+import com.ecommerce.admin.common.util.EncryptUtils;
+import com.ecommerce.admin.common.validation.AddGroup;
+import com.ecommerce.admin.module.system.cache.SysUserCache;
+import com.ecommerce.admin.module.system.dto.SysUserDTO;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.enums.business.JobStatusEnum;
+import com.ecommerce.admin.module.system.enums.business.UserStatusEnum;
+import com.ecommerce.admin.module.system.enums.response.SystemResponseEnum;
+import com.ecommerce.admin.module.system.importer.UserImportListener;
+import com.ecommerce.admin.module.system.importer.UserImportProperties;
+import com.ecommerce.admin.module.system.importer.UserImportRow;
+import com.ecommerce.admin.module.system.mapper.SysUserMapper;
+import com.ecommerce.admin.module.system.password.PasswordHasher;
+import com.ecommerce.admin.module.system.search.SysUserSearchIndex;
+import com.ecommerce.admin.module.system.service.SysUserImportService;
+import com.ecommerce.admin.module.system.vo.SysUserExcel;
+import com.ecommerce.admin.module.system.vo.UserImportJobVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 用户导入Service实现类
+ * 上传文件先落到临时文件，由有界线程池后台读取；每批数据依次执行：并行校验 -> 文件内查重 -> 集合查重 -> 批量插入，
+ * 进度与失败明细每批写入 Redis，任意节点都可查询
+ */
+@Service
+@Slf4j
+public class SysUserImportServiceImpl implements SysUserImportService {
+
+    /**
+     * 任务进度 Redis 键前缀
+     */
+    private static final String JOB_KEY_PREFIX = "import:user:job:";
+
+    @Autowired
+    private UserImportProperties properties;
+
+    @Autowired
+    private SysUserMapper sysUserMapper;
+
+    @Autowired
+    private SysUserCache sysUserCache;
+
+    @Autowired
+    private SysUserSearchIndex sysUserSearchIndex;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    private ThreadPoolExecutor importExecutor;
+
+    private ForkJoinPool validationPool;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNo = new AtomicInteger();
+        importExecutor = new ThreadPoolExecutor(properties.getWorkerThreads(), properties.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), r -> {
+            Thread thread = new Thread(r, "user-import-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        validationPool = new ForkJoinPool(properties.getValidationParallelism());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        importExecutor.shutdownNow();
+        validationPool.shutdownNow();
+    }
+
+    /**
+     * 提交导入任务
+     * @param excelFile Excel文件
+     * @param initialPassword 本次导入用户的初始密码
+     * @param loginId 发起导入的登录用户ID
+     * @return 任务ID
+     * @throws IOException IO异常
+     */
+    @Override
+    public String submitImport(MultipartFile excelFile, String initialPassword, String loginId) throws IOException {
+        if (EncryptUtils.checkPasswordStrength(initialPassword) < 2) {
+            throw new BusinessException(ResponseEnum.PARAM_ERROR, "初始密码至少包含数字、小写字母、大写字母、特殊字符中的两类");
+        }
+        // 初始密码每个任务只哈希一次，只保存在内存中传给导入线程，不写入任务进度
+        String passwordHash = passwordHasher.hash(initialPassword);
+
+        // 请求结束后上传的临时文件会被清理，先转存
+        File file = File.createTempFile("user-import-", ".xlsx");
+        excelFile.transferTo(file);
+
+        UserImportJobVO job = new UserImportJobVO();
+        job.setJobId(IdUtil.fastSimpleUUID());
+        job.setLoginId(loginId);
+        job.setFileName(excelFile.getOriginalFilename());
+        job.setStatus(JobStatusEnum.PENDING.getCode());
+        saveJob(job);
+        try {
+            importExecutor.execute(() -> runImport(job, file, passwordHash));
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(file);
+            stringRedisTemplate.delete(JOB_KEY_PREFIX + job.getJobId());
+            throw new BusinessException(ResponseEnum.BUSINESS_ERROR, "导入任务繁忙，请稍后重试");
+        }
+        return job.getJobId();
+    }
+
+    /**
+     * 查询导入任务进度
+     * @param jobId 任务ID
+     * @param loginId 当前登录用户ID
+     * @return UserImportJobVO
+     */
+    @Override
+    public UserImportJobVO getImportJob(String jobId, String loginId) {
+        String json = stringRedisTemplate.opsForValue().get(JOB_KEY_PREFIX + jobId);
+        UserImportJobVO job = null;
+        if (json != null) {
+            try {
+                job = objectMapper.readValue(json, UserImportJobVO.class);
+            } catch (IOException e) {
+                throw new BusinessException(ResponseEnum.SYSTEM_ERROR, "导入任务进度解析失败");
+            }
+        }
+        // 他人的任务按不存在处理
+        if (job == null || !Objects.equals(job.getLoginId(), loginId)) {
+            throw new BusinessException(ResponseEnum.NOT_FOUND, "导入任务不存在或已过期");
+        }
+        return job;
+    }
+
+    private void runImport(UserImportJobVO job, File file, String passwordHash) {
+        job.setStatus(JobStatusEnum.RUNNING.getCode());
+        job.setStartTime(LocalDateTime.now());
+        saveJob(job);
+        ImportContext context = new ImportContext(passwordHash);
+        try {
+            EasyExcel.read(file, SysUserExcel.class,
+                    new UserImportListener(properties.getBatchSize(), batch -> processBatch(job, context, batch)))
+                    .sheet()
+                    .doRead();
+            job.setStatus(JobStatusEnum.COMPLETED.getCode());
+        } catch (Exception e) {
+            log.error("用户导入任务 {} 执行失败", job.getJobId(), e);
+            job.setStatus(JobStatusEnum.FAILED.getCode());
+            job.setErrorMsg(e.getMessage());
+        } finally {
+            job.setEndTime(LocalDateTime.now());
+            saveJob(job);
+            deleteQuietly(file);
+        }
+        log.info("用户导入任务 {} 结束，成功 {} 行，失败 {} 行", job.getJobId(), job.getSucceededRows(), job.getFailedRows());
+    }
+
+    /**
+     * 处理一批数据
+     */
+    private void processBatch(UserImportJobVO job, ImportContext context, List<UserImportRow> batch) {
+        // 1. 并行校验字段格式
+        validationPool.submit(() -> batch.parallelStream().forEach(this::validate)).join();
+
+        // 2. 文件内查重（与之前各批比较）
+        for (UserImportRow row : batch) {
+            if (row.getError() == null) {
+                checkFileDuplicate(context, row);
+            }
+        }
+
+        // 3. 一次查询检查整批数据与库中已有用户是否冲突
+        List<UserImportRow> validRows = batch.stream().filter(row -> row.getError() == null).collect(Collectors.toList());
+        checkDatabaseDuplicate(validRows);
+
+        // 4. 批量插入
+        List<SysUser> inserted = insertRows(validRows.stream().filter(row -> row.getError() == null).collect(Collectors.toList()), context);
+        if (!inserted.isEmpty()) {
+            sysUserCache.evict(inserted);
+            sysUserSearchIndex.refresh(inserted.stream().map(SysUser::getId).filter(Objects::nonNull).collect(Collectors.toList()));
+        }
+
+        // 5. 更新进度
+        job.setProcessedRows(job.getProcessedRows() + batch.size());
+        job.setSucceededRows(job.getSucceededRows() + inserted.size());
+        for (UserImportRow row : batch) {
+            if (row.getError() == null) {
+                continue;
+            }
+            job.setFailedRows(job.getFailedRows() + 1);
+            if (job.getErrors().size() < properties.getMaxErrors()) {
+                job.getErrors().add(new UserImportJobVO.RowError(row.getRowNumber(), row.getData().getUsername(), row.getError()));
+            }
+        }
+        saveJob(job);
+    }
+
+    private void validate(UserImportRow row) {
+        if (row.getError() != null) {
+            return;
+        }
+        Set<ConstraintViolation<SysUserDTO>> violations = validator.validate(toDTO(row.getData(), null), AddGroup.class);
+        if (!violations.isEmpty()) {
+            row.setError(violations.iterator().next().getMessage());
+        }
+    }
+
+    private void checkFileDuplicate(ImportContext context, UserImportRow row) {
+        SysUserExcel data = row.getData();
+        String username = lower(data.getUsername());
+        String email = lower(data.getEmail());
+        if (context.usernames.contains(username)) {
+            row.setError("文件中" + SystemResponseEnum.USERNAME_EXIST.getMessage());
+        } else if (context.emails.contains(email)) {
+            row.setError("文件中" + SystemResponseEnum.EMAIL_EXIST.getMessage());
+        } else if (context.phones.contains(data.getPhone())) {
+            row.setError("文件中" + SystemResponseEnum.PHONE_EXIST.getMessage());
+        } else {
+            context.usernames.add(username);
+            context.emails.add(email);
+            context.phones.add(data.getPhone());
+        }
+    }
+
+    private void checkDatabaseDuplicate(List<UserImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<SysUser> existing = sysUserMapper.selectByUniqueValues(
+                rows.stream().map(row -> row.getData().getUsername()).collect(Collectors.toSet()),
+                rows.stream().map(row -> row.getData().getEmail()).collect(Collectors.toSet()),
+                rows.stream().map(row -> row.getData().getPhone()).collect(Collectors.toSet()));
+        if (existing.isEmpty()) {
+            return;
+        }
+        // 库表排序规则不区分大小写
+        Set<String> usernames = existing.stream().map(user -> lower(user.getUsername())).collect(Collectors.toSet());
+        Set<String> emails = existing.stream().map(user -> lower(user.getEmail())).collect(Collectors.toSet());
+        Set<String> phones = existing.stream().map(SysUser::getPhone).collect(Collectors.toSet());
+        for (UserImportRow row : rows) {
+            SysUserExcel data = row.getData();
+            if (usernames.contains(lower(data.getUsername()))) {
+                row.setError(SystemResponseEnum.USERNAME_EXIST.getMessage());
+            } else if (emails.contains(lower(data.getEmail()))) {
+                row.setError(SystemResponseEnum.EMAIL_EXIST.getMessage());
+            } else if (phones.contains(data.getPhone())) {
+                row.setError(SystemResponseEnum.PHONE_EXIST.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 多行 INSERT 批量插入；并发写入导致唯一索引冲突时整条语句不生效，改为逐行插入以定位冲突行
+     */
+    private List<SysUser> insertRows(List<UserImportRow> rows, ImportContext context) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<SysUser> users = rows.stream()
+                .map(row -> toEntity(row.getData(), context.passwordHash))
+                .collect(Collectors.toList());
+        try {
+            sysUserMapper.insertBatch(users);
+            return users;
+        } catch (DuplicateKeyException e) {
+            log.warn("批量插入用户出现唯一索引冲突，改为逐行插入");
+        }
+        List<SysUser> inserted = new ArrayList<>();
+        for (UserImportRow row : rows) {
+            SysUser user = toEntity(row.getData(), context.passwordHash);
+            try {
+                sysUserMapper.insert(user);
+                inserted.add(user);
+            } catch (DuplicateKeyException e) {
+                row.setError(StringUtils.defaultIfBlank(duplicateKeyMessage(e), "用户已存在"));
+            }
+        }
+        return inserted;
+    }
+
+    private String duplicateKeyMessage(DuplicateKeyException e) {
+        String message = e.getMessage();
+        if (message == null) {
+            return null;
+        }
+        if (message.contains("uk_sys_users_username")) {
+            return SystemResponseEnum.USERNAME_EXIST.getMessage();
+        }
+        if (message.contains("uk_sys_users_email")) {
+            return SystemResponseEnum.EMAIL_EXIST.getMessage();
+        }
+        if (message.contains("uk_sys_users_phone")) {
+            return SystemResponseEnum.PHONE_EXIST.getMessage();
+        }
+        return null;
+    }
+
+    private SysUserDTO toDTO(SysUserExcel data, String password) {
+        SysUserDTO dto = new SysUserDTO();
+        dto.setUsername(data.getUsername());
+        dto.setPassword(password);
+        dto.setRealName(data.getRealName());
+        dto.setEmail(data.getEmail());
+        dto.setPhone(data.getPhone());
+        dto.setIsActive(toStatus(data.getStatusName()));
+        return dto;
+    }
+
+    private SysUser toEntity(SysUserExcel data, String passwordHash) {
+        SysUser user = new SysUser();
+        user.setUsername(data.getUsername());
+        user.setPassword(passwordHash);
+        // 初始密码为导入时统一指定，首次登录须修改
+        user.setPasswordExpired(1);
+        user.setRealName(data.getRealName());
+        user.setEmail(data.getEmail());
+        user.setPhone(data.getPhone());
+        user.setIsActive(toStatus(data.getStatusName()));
+        // 多行 INSERT 不经过自动填充
+        LocalDateTime now = LocalDateTime.now();
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    /**
+     * 与 parseUserExcel 保持一致：只有“启用”视为启用
+     */
+    private Integer toStatus(String statusName) {
+        return UserStatusEnum.ENABLED.getDesc().equals(statusName)
+                ? UserStatusEnum.ENABLED.getCode() : UserStatusEnum.DISABLED.getCode();
+    }
+
+    private String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private void saveJob(UserImportJobVO job) {
+        try {
+            stringRedisTemplate.opsForValue().set(JOB_KEY_PREFIX + job.getJobId(),
+                    objectMapper.writeValueAsString(job), properties.getJobTtl());
+        } catch (Exception e) {
+            log.warn("保存用户导入任务进度失败, jobId={}", job.getJobId(), e);
+        }
+    }
+
+    private void deleteQuietly(File file) {
+        if (!file.delete()) {
+            log.warn("删除导入临时文件失败: {}", file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * 单个任务的共享状态，只在导入线程中访问
+     */
+    private static class ImportContext {
+
+        private final String passwordHash;
+
+        private final Set<String> usernames = new HashSet<>();
+
+        private final Set<String> emails = new HashSet<>();
+
+        private final Set<String> phones = new HashSet<>();
+
+        ImportContext(String passwordHash) {
+            this.passwordHash = passwordHash;
+        }
+    }
+}
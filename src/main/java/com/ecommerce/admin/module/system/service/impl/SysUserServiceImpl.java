@@ -1,27 +1,63 @@
 package com.ecommerce.admin.module.system.service.impl;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.conditions.query.LambdaQueryChainWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ecommerce.admin.common.config.datasource.ForcePrimary;
+import com.ecommerce.admin.common.enums.business.CountStrategyEnum;
+import com.ecommerce.admin.common.enums.response.IResponse;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
 import com.ecommerce.admin.common.exception.BusinessException;
+import com.ecommerce.admin.common.result.CountStrategyPage;
+import com.ecommerce.admin.common.result.CursorPage;
+import com.ecommerce.admin.common.util.CursorUtils;
 import com.ecommerce.admin.common.util.EasyUtils;
+import com.ecommerce.admin.common.validation.AddGroup;
+import com.ecommerce.admin.common.validation.UpdateGroup;
+import com.ecommerce.admin.module.system.cache.SysUserCache;
+import com.ecommerce.admin.module.system.converter.SysUserConverter;
 import com.ecommerce.admin.module.system.dto.SysUserDTO;
 import com.ecommerce.admin.module.system.entity.SysUser;
 import com.ecommerce.admin.module.system.enums.response.SystemResponseEnum;
+import com.ecommerce.admin.module.system.enums.business.UserCursorSortEnum;
 import com.ecommerce.admin.module.system.enums.business.UserStatusEnum;
 import com.ecommerce.admin.module.system.mapper.SysUserMapper;
+import com.ecommerce.admin.module.system.password.PasswordHashExecutor;
+import com.ecommerce.admin.module.system.password.PasswordHasher;
+import com.ecommerce.admin.module.system.search.SysUserSearchIndex;
 import com.ecommerce.admin.module.system.service.SysUserService;
 import com.ecommerce.admin.module.system.vo.SysUserExcel;
 import com.ecommerce.admin.module.system.vo.SysUserVO;
+import com.ecommerce.admin.module.system.vo.UserBatchItemVO;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,8 +67,35 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> implements SysUserService {
 
+    /**
+     * sys_users 唯一索引名
+     */
+    private static final String UK_USERNAME = "uk_sys_users_username";
+    private static final String UK_EMAIL = "uk_sys_users_email";
+    private static final String UK_PHONE = "uk_sys_users_phone";
+
+    /**
+     * 每页最大条数，与分页插件 maxLimit 一致（索引分页不经过分页插件，需自行限制）
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private SysUserConverter sysUserConverter;
+
     @Autowired
-    private ModelMapper modelMapper;
+    private SysUserCache sysUserCache;
+
+    @Autowired
+    private SysUserSearchIndex sysUserSearchIndex;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private PasswordHashExecutor passwordHashExecutor;
 
     /**
      * 获取所有用户数据用于导出
@@ -45,10 +108,20 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         
         // 转换为Excel VO对象
         return userList.stream()
-                .map(user -> modelMapper.map(user, SysUserExcel.class))
+                .map(sysUserConverter::toExcel)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 流式读取导出数据
+     * 逐行从数据库读取并直接映射为导出模型，不在内存中保留完整结果集
+     * @param consumer 逐行消费者
+     */
+    @Override
+    public void streamUsersForExport(Consumer<SysUserExcel> consumer) {
+        this.baseMapper.streamForExport(context -> consumer.accept(context.getResultObject()));
+    }
+
     /**
      * 解析Excel数据
      * @param excelFile Excel文件
@@ -64,7 +137,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         // 转换为VO对象
         List<SysUserVO> voList = excelList.stream()
                 .map(excel -> {
-                    SysUserVO vo = modelMapper.map(excel, SysUserVO.class);
+                    SysUserVO vo = sysUserConverter.toVO(excel);
                     // 手动设置状态，使用枚举转换
                     if (UserStatusEnum.ENABLED.getDesc().equals(excel.getStatusName())) {
                         vo.setIsActive(UserStatusEnum.ENABLED.getCode());
@@ -75,29 +148,191 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
                 })
                 .collect(Collectors.toList());
         
-        log.info("转换后的用户数据: {}", voList);
+        // 用户数据含邮箱、手机号，不整体打印
+        log.debug("转换后的用户数据 {} 条", voList.size());
         return voList;
     }
 
     /**
      * 分页查询用户
+     * 有搜索条件时优先通过内存搜索索引得到命中ID并按主键取回当前页，索引未就绪时退回 LIKE 查询
      * @param page 当前页码
      * @param size 每页大小
      * @param username 用户名（模糊查询）
+     * @param keyword 关键字（匹配用户名、真实姓名、邮箱、手机号）
+     * @param count 总数统计策略
      * @return IPage<SysUserVO>
      */
     @Override
-    public IPage<SysUserVO> getUserPage(Integer page, Integer size, String username) {
-        // 创建分页对象
-        Page<SysUser> pageParam = new Page<>(page, size);
+    public IPage<SysUserVO> getUserPage(Integer page, Integer size, String username, String keyword, String count) {
+        CountStrategyEnum countStrategy = CountStrategyEnum.getByCode(count);
+        if (countStrategy == null) {
+            throw new BusinessException(ResponseEnum.PARAM_ERROR, "不支持的总数统计策略: " + count);
+        }
+        List<SysUserSearchIndex.Entry> hits = searchIndex(username, keyword);
+        if (hits != null) {
+            // 命中数即总数，无需 COUNT
+            hits.sort(Comparator.comparingInt(SysUserSearchIndex.Entry::getId));
+            int current = Math.max(page, 1);
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            Page<SysUserVO> voPage = new Page<>(current, pageSize, hits.size());
+            int from = (int) Math.min((long) (current - 1) * pageSize, hits.size());
+            int to = Math.min(from + pageSize, hits.size());
+            voPage.setRecords(toVOList(listByIdsInOrder(hits.subList(from, to))));
+            return voPage;
+        }
+
+        // 创建分页对象，总数按指定策略统计
+        Page<SysUser> pageParam = new CountStrategyPage<>(page, size, countStrategy);
         
         // 链式调用查询
-        IPage<SysUser> userPage = this.lambdaQuery()
-                .like(StringUtils.isNotBlank(username), SysUser::getUsername, username)
+        IPage<SysUser> userPage = likeQuery(username, keyword)
                 .page(pageParam);
         
         // 转换为VO对象
-        return userPage.convert(user -> modelMapper.map(user, SysUserVO.class));
+        return userPage.convert(user -> sysUserConverter.toVO(user));
+    }
+
+    /**
+     * 游标分页查询用户
+     * 以上一页最后一条记录的排序键作为查询条件（keyset 分页），多取一条判断是否有下一页，不执行 COUNT
+     * @param cursor 上一页返回的游标，首页为空
+     * @param size 每页大小
+     * @param sort 排序方式
+     * @param username 用户名（模糊查询）
+     * @param keyword 关键字（匹配用户名、真实姓名、邮箱、手机号）
+     * @return CursorPage<SysUserVO>
+     */
+    @Override
+    public CursorPage<SysUserVO> getUserCursorPage(String cursor, Integer size, String sort, String username, String keyword) {
+        UserCursorSortEnum sortEnum = UserCursorSortEnum.getByCode(sort);
+        if (sortEnum == null) {
+            throw new BusinessException(ResponseEnum.PARAM_ERROR, "不支持的排序方式: " + sort);
+        }
+        // 解析游标中的排序键
+        Long lastId = null;
+        LocalDateTime lastCreatedAt = null;
+        if (StringUtils.isNotBlank(cursor)) {
+            try {
+                if (sortEnum == UserCursorSortEnum.ID) {
+                    lastId = Long.valueOf(CursorUtils.decode(cursor, sortEnum.getCode(), 1)[0]);
+                } else {
+                    String[] values = CursorUtils.decode(cursor, sortEnum.getCode(), 2);
+                    lastCreatedAt = LocalDateTime.parse(values[0]);
+                    lastId = Long.valueOf(values[1]);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new BusinessException(ResponseEnum.PARAM_ERROR, "游标格式错误");
+            }
+        }
+
+        // 多取一条用于判断是否还有下一页
+        List<SysUser> rows;
+        List<SysUserSearchIndex.Entry> hits = searchIndex(username, keyword);
+        if (hits != null) {
+            rows = listByIdsInOrder(seekHits(hits, sortEnum, lastId, lastCreatedAt, size + 1));
+        } else {
+            rows = seekQuery(likeQuery(username, keyword), sortEnum, lastId, lastCreatedAt)
+                    .last("LIMIT " + (size + 1))
+                    .list();
+        }
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            SysUser last = rows.get(size - 1);
+            nextCursor = sortEnum == UserCursorSortEnum.ID
+                    ? CursorUtils.encode(sortEnum.getCode(), last.getId())
+                    : CursorUtils.encode(sortEnum.getCode(), last.getCreatedAt(), last.getId());
+        }
+
+        // 转换为VO对象
+        return new CursorPage<>(rows, size, nextCursor).convert(user -> sysUserConverter.toVO(user));
+    }
+
+    /**
+     * 通过搜索索引解析搜索条件
+     * @return 命中的索引条目；没有搜索条件或索引未就绪时返回 null
+     */
+    private List<SysUserSearchIndex.Entry> searchIndex(String username, String keyword) {
+        if (StringUtils.isNotBlank(keyword)) {
+            List<SysUserSearchIndex.Entry> hits = sysUserSearchIndex.search(keyword, SysUserSearchIndex.Scope.ALL);
+            if (hits == null || StringUtils.isBlank(username)) {
+                return hits;
+            }
+            String lowerUsername = username.trim().toLowerCase(Locale.ROOT);
+            return hits.stream()
+                    .filter(hit -> hit.getUsername().contains(lowerUsername))
+                    .collect(Collectors.toList());
+        }
+        if (StringUtils.isNotBlank(username)) {
+            return sysUserSearchIndex.search(username, SysUserSearchIndex.Scope.USERNAME);
+        }
+        return null;
+    }
+
+    /**
+     * 索引未就绪时的 LIKE 查询
+     */
+    private LambdaQueryChainWrapper<SysUser> likeQuery(String username, String keyword) {
+        return this.lambdaQuery()
+                .like(StringUtils.isNotBlank(username), SysUser::getUsername, username)
+                .and(StringUtils.isNotBlank(keyword), w -> w.like(SysUser::getUsername, keyword)
+                        .or().like(SysUser::getRealName, keyword)
+                        .or().like(SysUser::getEmail, keyword)
+                        .or().like(SysUser::getPhone, keyword));
+    }
+
+    /**
+     * 追加 keyset 条件与排序
+     */
+    private LambdaQueryChainWrapper<SysUser> seekQuery(LambdaQueryChainWrapper<SysUser> query, UserCursorSortEnum sortEnum,
+                                                       Long lastId, LocalDateTime lastCreatedAt) {
+        if (sortEnum == UserCursorSortEnum.ID) {
+            // WHERE id < ? ORDER BY id DESC
+            return query.lt(lastId != null, SysUser::getId, lastId)
+                    .orderByDesc(SysUser::getId);
+        }
+        // WHERE (created_at < ? OR (created_at = ? AND id < ?)) ORDER BY created_at DESC, id DESC
+        return query.and(lastId != null, w -> w.lt(SysUser::getCreatedAt, lastCreatedAt)
+                        .or(o -> o.eq(SysUser::getCreatedAt, lastCreatedAt).lt(SysUser::getId, lastId)))
+                .orderByDesc(SysUser::getCreatedAt).orderByDesc(SysUser::getId);
+    }
+
+    /**
+     * 在内存中对索引命中结果做 keyset 过滤与排序
+     */
+    private List<SysUserSearchIndex.Entry> seekHits(List<SysUserSearchIndex.Entry> hits, UserCursorSortEnum sortEnum,
+                                                   Long lastId, LocalDateTime lastCreatedAt, int limit) {
+        Comparator<SysUserSearchIndex.Entry> byIdDesc = Comparator.comparingInt(SysUserSearchIndex.Entry::getId).reversed();
+        Comparator<SysUserSearchIndex.Entry> order = sortEnum == UserCursorSortEnum.ID ? byIdDesc
+                : Comparator.comparing(SysUserSearchIndex.Entry::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                .reversed()
+                .thenComparing(byIdDesc);
+        return hits.stream()
+                .filter(hit -> lastId == null || (sortEnum == UserCursorSortEnum.ID
+                        ? hit.getId() < lastId
+                        : hit.getCreatedAt() != null && (hit.getCreatedAt().isBefore(lastCreatedAt)
+                        || (hit.getCreatedAt().isEqual(lastCreatedAt) && hit.getId() < lastId))))
+                .sorted(order)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 按索引命中顺序通过主键取回用户，期间被删除的用户会被跳过
+     */
+    private List<SysUser> listByIdsInOrder(List<SysUserSearchIndex.Entry> hits) {
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> ids = hits.stream().map(hit -> (long) hit.getId()).collect(Collectors.toList());
+        Map<Long, SysUser> userMap = this.listByIds(ids).stream()
+                .collect(Collectors.toMap(SysUser::getId, Function.identity()));
+        return ids.stream().map(userMap::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private List<SysUserVO> toVOList(List<SysUser> users) {
+        return sysUserConverter.toVOList(users);
     }
 
     /**
@@ -107,15 +342,15 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
      */
     @Override
     public SysUserVO getUserDetail(Long id) {
-        // 查询用户
-        SysUser user = this.getById(id);
+        // 查询用户（走二级缓存）
+        SysUser user = sysUserCache.getById(id);
         
         if (user == null) {
             throw new BusinessException(SystemResponseEnum.USER_NOT_EXIST);
         }
         
         // 转换为VO对象
-        return modelMapper.map(user, SysUserVO.class);
+        return sysUserConverter.toVO(user);
     }
 
     /**
@@ -125,10 +360,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
      */
     @Override
     public SysUser getByUsername(String username) {
-        return this.lambdaQuery()
-                .eq(SysUser::getUsername, username)
-                .eq(SysUser::getDeleted, 0)
-                .one();
+        return sysUserCache.getByUsername(username);
     }
 
     /**
@@ -138,10 +370,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
      */
     @Override
     public SysUser getByEmail(String email) {
-        return this.lambdaQuery()
-                .eq(SysUser::getEmail, email)
-                .eq(SysUser::getDeleted, 0)
-                .one();
+        return sysUserCache.getByEmail(email);
     }
 
     /**
@@ -151,36 +380,105 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
      */
     @Override
     public SysUser getByPhone(String phone) {
-        return this.lambdaQuery()
-                .eq(SysUser::getPhone, phone)
-                .eq(SysUser::getDeleted, 0)
-                .one();
+        return sysUserCache.getByPhone(phone);
     }
 
     /**
      * 创建用户
+     * 一次查询同时校验用户名、邮箱、手机号是否已被占用；写前校验走主库，避免从库延迟漏掉刚创建的用户
      * @param userDTO 用户DTO
      * @return SysUserVO
      */
     @Override
+    @ForcePrimary
     public SysUserVO createUser(SysUserDTO userDTO) {
-        // 检查用户名是否已存在
-        if (this.getByUsername(userDTO.getUsername()) != null) {
-            throw new BusinessException(SystemResponseEnum.USERNAME_EXIST);
-        }
+        // 一次查询检查用户名、邮箱、手机号是否已存在
+        checkUnique(findConflicts(null, userDTO), null, userDTO);
+        return insertUser(userDTO);
+    }
+
+    /**
+     * 更新用户
+     * 用户存在性与唯一性校验合并为一次查询，走主库（刚创建的用户可能尚未复制到从库）
+     * @param userDTO 用户DTO
+     * @return SysUserVO
+     */
+    @Override
+    @ForcePrimary
+    public SysUserVO updateUser(SysUserDTO userDTO) {
+        Long id = userDTO.getId();
+        // 一次查询同时取回当前用户及占用用户名、邮箱、手机号的其他用户
+        List<SysUser> candidates = findConflicts(id, userDTO);
+        SysUser existingUser = candidates.stream()
+                .filter(candidate -> candidate.getId().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(SystemResponseEnum.USER_NOT_EXIST));
+        checkUnique(candidates, id, userDTO);
         
-        // 检查邮箱是否已存在
-        if (this.getByEmail(userDTO.getEmail()) != null) {
-            throw new BusinessException(SystemResponseEnum.EMAIL_EXIST);
-        }
+        // 转换为实体对象
+        SysUser user = toEntity(userDTO);
         
-        // 检查手机号是否已存在
-        if (this.getByPhone(userDTO.getPhone()) != null) {
-            throw new BusinessException(SystemResponseEnum.PHONE_EXIST);
+        // 更新用户，并发修改导致的唯一索引冲突同样转换为业务异常
+        try {
+            this.updateById(user);
+        } catch (DuplicateKeyException e) {
+            throw translateDuplicateKey(e);
         }
+        // 旧的用户名/邮箱/手机号索引与新值一并失效
+        sysUserCache.evict(Arrays.asList(existingUser, user));
+        sysUserSearchIndex.refresh(Collections.singletonList(id));
         
+        // 转换为VO对象
+        return sysUserConverter.toVO(user);
+    }
+
+    /**
+     * DTO转实体，请求中的明文密码按 admin.password-hash 配置的算法哈希后再入库
+     */
+    private SysUser toEntity(SysUserDTO userDTO) {
+        SysUser user = sysUserConverter.toEntity(userDTO);
+        if (StringUtils.isNotEmpty(user.getPassword())) {
+            user.setPassword(passwordHasher.hash(user.getPassword()));
+        }
+        return user;
+    }
+
+    /**
+     * 批量转换为实体，密码在哈希线程池上并行计算（同时最多占用一半哈希线程，整批受 batchTimeout 限制），
+     * 不在请求线程上逐个计算
+     */
+    private List<SysUser> toEntities(List<SysUserDTO> userDTOs) {
+        List<SysUser> users = userDTOs.stream().map(sysUserConverter::toEntity).collect(Collectors.toList());
+        List<SysUser> withPassword = users.stream()
+                .filter(user -> StringUtils.isNotEmpty(user.getPassword()))
+                .collect(Collectors.toList());
+        if (withPassword.isEmpty()) {
+            return users;
+        }
+        List<Callable<String>> tasks = withPassword.stream()
+                .map(user -> {
+                    String rawPassword = user.getPassword();
+                    return (Callable<String>) () -> passwordHasher.hash(rawPassword);
+                })
+                .collect(Collectors.toList());
+        List<String> hashes;
+        try {
+            hashes = passwordHashExecutor.executeAll(tasks);
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException(ResponseEnum.SERVICE_BUSY, "密码哈希繁忙或超时，请减少单次提交条数后重试");
+        }
+        for (int k = 0; k < withPassword.size(); k++) {
+            withPassword.get(k).setPassword(hashes.get(k));
+        }
+        return users;
+    }
+
+    /**
+     * 插入用户，唯一索引冲突转换为对应业务异常
+     */
+    private SysUserVO insertUser(SysUserDTO userDTO) {
         // 转换为实体对象
-        SysUser user = modelMapper.map(userDTO, SysUser.class);
+        SysUser user = toEntity(userDTO);
         
         // 设置默认值
         if (user.getIsActive() == null) {
@@ -188,52 +486,78 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         }
         
         // 保存用户
-        this.save(user);
+        try {
+            this.save(user);
+        } catch (DuplicateKeyException e) {
+            throw translateDuplicateKey(e);
+        }
+        // 清除新用户名/邮箱/手机号上“不存在”的缓存
+        sysUserCache.evict(Collections.singletonList(user));
+        sysUserSearchIndex.refresh(Collections.singletonList(user.getId()));
         
         // 转换为VO对象
-        return modelMapper.map(user, SysUserVO.class);
+        return sysUserConverter.toVO(user);
     }
-    
+
     /**
-     * 更新用户
+     * 查询与用户名、邮箱、手机号冲突的用户，更新时一并取回当前用户
+     * @param id 当前用户ID，创建时为 null
      * @param userDTO 用户DTO
-     * @return SysUserVO
+     * @return 候选用户（仅包含 id 与唯一列）
      */
-    @Override
-    public SysUserVO updateUser(SysUserDTO userDTO) {
-        Long id = userDTO.getId();
-        // 检查用户是否存在
-        SysUser existingUser = this.getById(id);
-        if (existingUser == null) {
-            throw new BusinessException(SystemResponseEnum.USER_NOT_EXIST);
-        }
-        
-        // 检查用户名是否已被其他用户使用
-        SysUser userByUsername = this.getByUsername(userDTO.getUsername());
-        if (userByUsername != null && !userByUsername.getId().equals(id)) {
-            throw new BusinessException(SystemResponseEnum.USERNAME_EXIST);
+    private List<SysUser> findConflicts(Long id, SysUserDTO userDTO) {
+        return this.lambdaQuery()
+                .select(SysUser::getId, SysUser::getUsername, SysUser::getEmail, SysUser::getPhone)
+                .and(w -> w.eq(id != null, SysUser::getId, id)
+                        .or().eq(StringUtils.isNotBlank(userDTO.getUsername()), SysUser::getUsername, userDTO.getUsername())
+                        .or().eq(StringUtils.isNotBlank(userDTO.getEmail()), SysUser::getEmail, userDTO.getEmail())
+                        .or().eq(StringUtils.isNotBlank(userDTO.getPhone()), SysUser::getPhone, userDTO.getPhone()))
+                .last("LIMIT 4")
+                .list();
+    }
+
+    /**
+     * 按用户名、邮箱、手机号的顺序报告第一个冲突
+     * 库表排序规则不区分大小写，这里同样忽略大小写比较
+     */
+    private void checkUnique(List<SysUser> candidates, Long id, SysUserDTO userDTO) {
+        SystemResponseEnum conflict = null;
+        for (SysUser candidate : candidates) {
+            if (candidate.getId().equals(id)) {
+                continue;
+            }
+            if (StringUtils.equalsIgnoreCase(candidate.getUsername(), userDTO.getUsername())) {
+                throw new BusinessException(SystemResponseEnum.USERNAME_EXIST);
+            }
+            if (StringUtils.equalsIgnoreCase(candidate.getEmail(), userDTO.getEmail())) {
+                conflict = SystemResponseEnum.EMAIL_EXIST;
+            } else if (conflict == null && StringUtils.equalsIgnoreCase(candidate.getPhone(), userDTO.getPhone())) {
+                conflict = SystemResponseEnum.PHONE_EXIST;
+            }
         }
-        
-        // 检查邮箱是否已被其他用户使用
-        SysUser userByEmail = this.getByEmail(userDTO.getEmail());
-        if (userByEmail != null && !userByEmail.getId().equals(id)) {
-            throw new BusinessException(SystemResponseEnum.EMAIL_EXIST);
+        if (conflict != null) {
+            throw new BusinessException(conflict);
         }
-        
-        // 检查手机号是否已被其他用户使用
-        SysUser userByPhone = this.getByPhone(userDTO.getPhone());
-        if (userByPhone != null && !userByPhone.getId().equals(id)) {
-            throw new BusinessException(SystemResponseEnum.PHONE_EXIST);
+    }
+
+    /**
+     * 根据唯一索引名将 DuplicateKeyException 转换为业务异常
+     * 注意：唯一索引不含 deleted 列，已逻辑删除用户占用的值同样会冲突
+     */
+    private RuntimeException translateDuplicateKey(DuplicateKeyException e) {
+        String message = e.getMessage();
+        if (message != null) {
+            if (message.contains(UK_USERNAME)) {
+                return new BusinessException(SystemResponseEnum.USERNAME_EXIST);
+            }
+            if (message.contains(UK_EMAIL)) {
+                return new BusinessException(SystemResponseEnum.EMAIL_EXIST);
+            }
+            if (message.contains(UK_PHONE)) {
+                return new BusinessException(SystemResponseEnum.PHONE_EXIST);
+            }
         }
-        
-        // 转换为实体对象
-        SysUser user = modelMapper.map(userDTO, SysUser.class);
-        
-        // 更新用户
-        this.updateById(user);
-        
-        // 转换为VO对象
-        return modelMapper.map(user, SysUserVO.class);
+        return e;
     }
     
     /**
@@ -241,16 +565,318 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
      * @param id 用户ID
      */
     @Override
+    @ForcePrimary
     public void deleteUser(Long id) {
         // 检查用户是否存在
-        if (this.getById(id) == null) {
+        SysUser existingUser = this.getById(id);
+        if (existingUser == null) {
             throw new BusinessException(SystemResponseEnum.USER_NOT_EXIST);
         }
         
         // 删除用户（逻辑删除）
         this.removeById(id);
+        sysUserCache.evict(Collections.singletonList(existingUser));
+        sysUserSearchIndex.refresh(Collections.singletonList(id));
     }
     
+    /**
+     * 批量创建用户
+     * 逐项校验后，批次内查重在内存中完成，与库中已有用户查重只需一次查询，最后以一条多行 INSERT 写入；
+     * 密码在校验与查重通过后才在哈希线程池上并行计算（每个数十毫秒），失败项不做哈希
+     * @param userDTOs 用户DTO列表
+     * @return 与请求顺序一致的单项结果
+     */
+    @Override
+    @ForcePrimary
+    public List<UserBatchItemVO> batchCreateUsers(List<SysUserDTO> userDTOs) {
+        List<UserBatchItemVO> results = newResults(userDTOs.size());
+        List<Integer> pending = collectValid(userDTOs, results, AddGroup.class, null);
+        removeConflicts(pending, userDTOs, results);
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SysUser> users = toEntities(pending.stream().map(userDTOs::get).collect(Collectors.toList()));
+        for (SysUser user : users) {
+            if (user.getIsActive() == null) {
+                user.setIsActive(UserStatusEnum.ENABLED.getCode());
+            }
+            // 多行 INSERT 不经过自动填充
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+        }
+        try {
+            this.baseMapper.insertBatch(users);
+        } catch (DuplicateKeyException e) {
+            // 预检查之后被并发写入占用，整条语句未生效，逐行插入以定位冲突项
+            log.warn("批量创建用户出现唯一索引冲突，改为逐行插入");
+            for (int k = 0; k < users.size(); k++) {
+                try {
+                    this.baseMapper.insert(users.get(k));
+                } catch (DuplicateKeyException ex) {
+                    failDuplicate(results.get(pending.get(k)), ex);
+                    users.set(k, null);
+                }
+            }
+        }
+        return finishWrite(results, pending, users);
+    }
+
+    /**
+     * 批量更新用户
+     * 待更新用户与唯一值冲突各一次查询，写入使用 JDBC 批处理（连接参数开启了 rewriteBatchedStatements）
+     * @param userDTOs 用户DTO列表
+     * @return 与请求顺序一致的单项结果
+     */
+    @Override
+    @ForcePrimary
+    public List<UserBatchItemVO> batchUpdateUsers(List<SysUserDTO> userDTOs) {
+        List<UserBatchItemVO> results = newResults(userDTOs.size());
+        List<Integer> pending = collectValid(userDTOs, results, UpdateGroup.class, new HashSet<>());
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        // 一次查询取回全部待更新用户，旧的用户名/邮箱/手机号用于失效缓存
+        Map<Long, SysUser> existingUsers = this.listByIds(pending.stream()
+                        .map(i -> userDTOs.get(i).getId())
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(SysUser::getId, Function.identity()));
+        pending.removeIf(i -> {
+            if (existingUsers.containsKey(userDTOs.get(i).getId())) {
+                return false;
+            }
+            fail(results.get(i), SystemResponseEnum.USER_NOT_EXIST);
+            return true;
+        });
+        removeConflicts(pending, userDTOs, results);
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        List<SysUser> users = toEntities(pending.stream().map(userDTOs::get).collect(Collectors.toList()));
+        try {
+            this.updateBatchById(users);
+        } catch (DuplicateKeyException e) {
+            // 逐行重试；已生效的行重复更新结果不变
+            log.warn("批量更新用户出现唯一索引冲突，改为逐行更新");
+            for (int k = 0; k < users.size(); k++) {
+                try {
+                    this.updateById(users.get(k));
+                } catch (DuplicateKeyException ex) {
+                    failDuplicate(results.get(pending.get(k)), ex);
+                    users.set(k, null);
+                }
+            }
+        }
+        sysUserCache.evict(pending.stream()
+                .map(i -> existingUsers.get(userDTOs.get(i).getId()))
+                .collect(Collectors.toList()));
+        return finishWrite(results, pending, users);
+    }
+
+    /**
+     * 批量删除用户（逻辑删除）
+     * 一次查询确认用户存在，一条 UPDATE ... WHERE id IN (...) 完成删除
+     * @param ids 用户ID列表
+     * @return 与请求顺序一致的单项结果
+     */
+    @Override
+    @ForcePrimary
+    public List<UserBatchItemVO> batchDeleteUsers(List<Long> ids) {
+        List<UserBatchItemVO> results = newResults(ids.size());
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        List<SysUser> existingUsers = distinctIds.isEmpty() ? new ArrayList<>() : this.listByIds(distinctIds);
+        Set<Long> existingIds = existingUsers.stream().map(SysUser::getId).collect(Collectors.toSet());
+        for (int i = 0; i < ids.size(); i++) {
+            UserBatchItemVO item = results.get(i);
+            Long id = ids.get(i);
+            item.setId(id);
+            if (id == null) {
+                fail(item, ResponseEnum.PARAM_ERROR.getCode(), "用户ID不能为空");
+            } else if (!existingIds.contains(id)) {
+                fail(item, SystemResponseEnum.USER_NOT_EXIST);
+            } else {
+                succeed(item, null);
+            }
+        }
+        if (existingIds.isEmpty()) {
+            return results;
+        }
+
+        // removeByIds 在逻辑删除时会逐条执行 UPDATE，这里直接调用 deleteBatchIds，
+        // 生成一条 UPDATE sys_users SET deleted=1 WHERE id IN (...) AND deleted=0
+        this.baseMapper.deleteBatchIds(existingIds);
+        sysUserCache.evict(existingUsers);
+        sysUserSearchIndex.refresh(existingIds);
+        return results;
+    }
+
+    private List<UserBatchItemVO> newResults(int size) {
+        List<UserBatchItemVO> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UserBatchItemVO item = new UserBatchItemVO();
+            item.setIndex(i);
+            results.add(item);
+        }
+        return results;
+    }
+
+    /**
+     * 逐项校验字段并在批次内查重
+     * @param seenIds 更新时用于检查批次内ID重复，创建时为 null
+     * @return 通过校验的下标
+     */
+    private List<Integer> collectValid(List<SysUserDTO> userDTOs, List<UserBatchItemVO> results, Class<?> group, Set<Long> seenIds) {
+        UniqueIndex batchIndex = new UniqueIndex();
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < userDTOs.size(); i++) {
+            UserBatchItemVO item = results.get(i);
+            SysUserDTO userDTO = userDTOs.get(i);
+            if (userDTO == null) {
+                fail(item, ResponseEnum.PARAM_ERROR.getCode(), "用户数据不能为空");
+                continue;
+            }
+            item.setId(userDTO.getId());
+            Set<ConstraintViolation<SysUserDTO>> violations = validator.validate(userDTO, group);
+            if (!violations.isEmpty()) {
+                fail(item, ResponseEnum.PARAM_ERROR.getCode(), violations.iterator().next().getMessage());
+                continue;
+            }
+            if (seenIds != null && !seenIds.add(userDTO.getId())) {
+                fail(item, ResponseEnum.PARAM_ERROR.getCode(), "批次内用户ID重复");
+                continue;
+            }
+            SystemResponseEnum conflict = batchIndex.conflict(null, userDTO);
+            if (conflict != null) {
+                fail(item, conflict.getCode(), "批次内" + conflict.getMessage());
+                continue;
+            }
+            batchIndex.put(userDTO.getId(), userDTO.getUsername(), userDTO.getEmail(), userDTO.getPhone());
+            pending.add(i);
+        }
+        return pending;
+    }
+
+    /**
+     * 一次查询检查整批数据与库中用户的唯一值冲突（含已逻辑删除的用户），移除冲突项
+     */
+    private void removeConflicts(List<Integer> pending, List<SysUserDTO> userDTOs, List<UserBatchItemVO> results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<SysUserDTO> dtos = pending.stream().map(userDTOs::get).collect(Collectors.toList());
+        UniqueIndex dbIndex = UniqueIndex.of(this.baseMapper.selectByUniqueValues(
+                dtos.stream().map(SysUserDTO::getUsername).collect(Collectors.toSet()),
+                dtos.stream().map(SysUserDTO::getEmail).collect(Collectors.toSet()),
+                dtos.stream().map(SysUserDTO::getPhone).collect(Collectors.toSet())));
+        pending.removeIf(i -> {
+            SystemResponseEnum conflict = dbIndex.conflict(userDTOs.get(i).getId(), userDTOs.get(i));
+            if (conflict == null) {
+                return false;
+            }
+            fail(results.get(i), conflict);
+            return true;
+        });
+    }
+
+    /**
+     * 标记写入成功的项并失效缓存、刷新搜索索引
+     * @param users 与 pending 一一对应，写入失败的位置为 null
+     */
+    private List<UserBatchItemVO> finishWrite(List<UserBatchItemVO> results, List<Integer> pending, List<SysUser> users) {
+        List<SysUser> written = new ArrayList<>(users.size());
+        for (int k = 0; k < users.size(); k++) {
+            SysUser user = users.get(k);
+            if (user != null) {
+                succeed(results.get(pending.get(k)), user);
+                written.add(user);
+            }
+        }
+        if (!written.isEmpty()) {
+            sysUserCache.evict(written);
+            sysUserSearchIndex.refresh(written.stream().map(SysUser::getId).collect(Collectors.toList()));
+        }
+        return results;
+    }
+
+    private void succeed(UserBatchItemVO item, SysUser user) {
+        item.setSuccess(true);
+        item.setCode(ResponseEnum.SUCCESS.getCode());
+        item.setMessage(ResponseEnum.SUCCESS.getMessage());
+        if (user != null) {
+            item.setId(user.getId());
+            item.setUser(sysUserConverter.toVO(user));
+        }
+    }
+
+    private void fail(UserBatchItemVO item, IResponse response) {
+        fail(item, response.getCode(), response.getMessage());
+    }
+
+    private void fail(UserBatchItemVO item, Integer code, String message) {
+        item.setSuccess(false);
+        item.setCode(code);
+        item.setMessage(message);
+    }
+
+    private void failDuplicate(UserBatchItemVO item, DuplicateKeyException e) {
+        RuntimeException translated = translateDuplicateKey(e);
+        if (translated instanceof BusinessException) {
+            fail(item, ((BusinessException) translated).getCode(), translated.getMessage());
+        } else {
+            fail(item, ResponseEnum.BUSINESS_ERROR.getCode(), "用户已存在");
+        }
+    }
+
+    /**
+     * 获取用户密码哈希（用户缓存不保存密码，直接读主库）
+     * @param id 用户ID
+     * @return 密码哈希
+     */
+    @Override
+    public String getPasswordHash(Long id) {
+        return sysUserCache.getPasswordHash(id);
+    }
+
+    /**
+     * 修改密码并清除密码过期标记
+     * @param user 用户（至少包含 id 与唯一列）
+     * @param rawPassword 新密码
+     */
+    @Override
+    public void changePassword(SysUser user, String rawPassword) {
+        this.lambdaUpdate()
+                .set(SysUser::getPassword, passwordHasher.hash(rawPassword))
+                .set(SysUser::getPasswordExpired, 0)
+                .eq(SysUser::getId, user.getId())
+                .update();
+        sysUserCache.evict(Collections.singletonList(user));
+    }
+
+    /**
+     * 升级密码哈希
+     * @param user 用户（至少包含 id 与唯一列）
+     * @param oldHash 旧密码值
+     * @param newHash 新密码哈希
+     * @return 是否已更新
+     */
+    @Override
+    public boolean upgradePasswordHash(SysUser user, String oldHash, String newHash) {
+        // WHERE id = ? AND password = ?，期间密码被修改过则不覆盖
+        boolean updated = this.lambdaUpdate()
+                .set(SysUser::getPassword, newHash)
+                .eq(SysUser::getId, user.getId())
+                .eq(SysUser::getPassword, oldHash)
+                .update();
+        if (updated) {
+            sysUserCache.evict(Collections.singletonList(user));
+        }
+        return updated;
+    }
+
     /**
      * 获取所有用户数据
      * @return 所有未删除的用户列表
@@ -261,4 +887,68 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
                 .eq(SysUser::getDeleted, 0)
                 .list();
     }
-}
\ No newline at end of file
+
+    /**
+     * 用户名/邮箱/手机号 -> 占用者ID，用于批量操作的内存查重
+     * 用户名与邮箱忽略大小写，与库表排序规则一致
+     */
+    private static class UniqueIndex {
+
+        private final Map<String, Long> usernames = new HashMap<>();
+
+        private final Map<String, Long> emails = new HashMap<>();
+
+        private final Map<String, Long> phones = new HashMap<>();
+
+        static UniqueIndex of(Collection<SysUser> users) {
+            UniqueIndex index = new UniqueIndex();
+            for (SysUser user : users) {
+                index.put(user.getId(), user.getUsername(), user.getEmail(), user.getPhone());
+            }
+            return index;
+        }
+
+        void put(Long ownerId, String username, String email, String phone) {
+            // 创建时尚无ID，用 0 占位
+            Long owner = ownerId != null ? ownerId : 0L;
+            putIfPresent(usernames, lower(username), owner);
+            putIfPresent(emails, lower(email), owner);
+            putIfPresent(phones, phone, owner);
+        }
+
+        /**
+         * 按用户名、邮箱、手机号的顺序返回第一个被其他用户占用的值
+         * @param selfId 当前用户ID，其占用的值不算冲突；为 null 时任何占用都算冲突
+         */
+        SystemResponseEnum conflict(Long selfId, SysUserDTO userDTO) {
+            if (occupied(usernames, lower(userDTO.getUsername()), selfId)) {
+                return SystemResponseEnum.USERNAME_EXIST;
+            }
+            if (occupied(emails, lower(userDTO.getEmail()), selfId)) {
+                return SystemResponseEnum.EMAIL_EXIST;
+            }
+            if (occupied(phones, userDTO.getPhone(), selfId)) {
+                return SystemResponseEnum.PHONE_EXIST;
+            }
+            return null;
+        }
+
+        private static void putIfPresent(Map<String, Long> owners, String value, Long owner) {
+            if (StringUtils.isNotBlank(value)) {
+                owners.put(value, owner);
+            }
+        }
+
+        private static boolean occupied(Map<String, Long> owners, String value, Long selfId) {
+            if (StringUtils.isBlank(value)) {
+                return false;
+            }
+            Long owner = owners.get(value);
+            return owner != null && !owner.equals(selfId);
+        }
+
+        private static String lower(String value) {
+            return value != null ? value.toLowerCase(Locale.ROOT) : null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.admin.module.system.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * 验证码VO
+ */
+@Data
+@ApiModel(description = "验证码")
+public class CaptchaVO {
+
+    /**
+     * 验证码标识，登录时回传
+     */
+    @ApiModelProperty(value = "验证码UUID，登录时回传")
+    private String uuid;
+
+    /**
+     * 图片 Base64（data URI）
+     */
+    @ApiModelProperty(value = "验证码图片(Base64)")
+    private String img;
+}
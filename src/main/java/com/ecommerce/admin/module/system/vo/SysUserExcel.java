@@ -52,7 +52,7 @@ public class SysUserExcel {
     private LocalDateTime createdAt;
     
     /**
-     * 用于ModelMapper设置原始值，同时设置导出显示值
+     * 用于转换器设置原始值，同时设置导出显示值
      * @param isActive 状态值
      */
     public void setIsActive(Integer isActive) {
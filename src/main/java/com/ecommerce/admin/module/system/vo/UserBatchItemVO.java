@@ -0,0 +1,49 @@
+package com.ecommerce.admin.module.system.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * 用户批量操作单项结果VO
+ */
+@Data
+@ApiModel(description = "用户批量操作单项结果")
+public class UserBatchItemVO {
+
+    /**
+     * 在请求数组中的下标
+     */
+    @ApiModelProperty(value = "在请求数组中的下标", example = "0")
+    private Integer index;
+
+    /**
+     * 用户ID
+     */
+    @ApiModelProperty(value = "用户ID", example = "1")
+    private Long id;
+
+    /**
+     * 是否成功
+     */
+    @ApiModelProperty(value = "是否成功", example = "true")
+    private Boolean success;
+
+    /**
+     * 状态码，与单条接口失败时的状态码一致
+     */
+    @ApiModelProperty(value = "状态码", example = "200")
+    private Integer code;
+
+    /**
+     * 提示信息
+     */
+    @ApiModelProperty(value = "提示信息", example = "success")
+    private String message;
+
+    /**
+     * 创建或更新后的用户，删除时为空
+     */
+    @ApiModelProperty(value = "创建或更新后的用户")
+    private SysUserVO user;
+}
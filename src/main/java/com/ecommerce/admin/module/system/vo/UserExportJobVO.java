@@ -0,0 +1,69 @@
+package com.ecommerce.admin.module.system.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户导出任务VO
+ */
+@Data
+@ApiModel(description = "用户导出任务")
+public class UserExportJobVO {
+
+    /**
+     * 任务ID
+     */
+    @ApiModelProperty(value = "任务ID")
+    private String jobId;
+
+    /**
+     * 发起导出的登录用户ID
+     */
+    @ApiModelProperty(value = "发起导出的登录用户ID")
+    private String loginId;
+
+    /**
+     * 导出文件名
+     */
+    @ApiModelProperty(value = "导出文件名")
+    private String fileName;
+
+    /**
+     * 任务状态: pending-排队中, running-执行中, completed-已完成, failed-执行失败
+     */
+    @ApiModelProperty(value = "任务状态: pending-排队中, running-执行中, completed-已完成, failed-执行失败")
+    private String status;
+
+    /**
+     * 导出行数
+     */
+    @ApiModelProperty(value = "导出行数")
+    private long rowCount;
+
+    /**
+     * 文件大小（字节）
+     */
+    @ApiModelProperty(value = "文件大小（字节）")
+    private Long fileSize;
+
+    /**
+     * 失败原因
+     */
+    @ApiModelProperty(value = "失败原因")
+    private String errorMsg;
+
+    /**
+     * 开始时间
+     */
+    @ApiModelProperty(value = "开始时间")
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    @ApiModelProperty(value = "结束时间")
+    private LocalDateTime endTime;
+}
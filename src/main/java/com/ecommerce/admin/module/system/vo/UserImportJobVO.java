@@ -0,0 +1,76 @@
+package com.ecommerce.admin.module.system.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户导入任务进度
+ */
+@Data
+@ApiModel(description = "用户导入任务进度")
+public class UserImportJobVO {
+
+    @ApiModelProperty(value = "任务ID")
+    private String jobId;
+
+    @ApiModelProperty(value = "发起导入的登录用户ID")
+    private String loginId;
+
+    @ApiModelProperty(value = "文件名")
+    private String fileName;
+
+    @ApiModelProperty(value = "状态: pending-排队中, running-导入中, completed-已完成, failed-导入失败")
+    private String status;
+
+    @ApiModelProperty(value = "已读取行数")
+    private Integer processedRows = 0;
+
+    @ApiModelProperty(value = "导入成功行数")
+    private Integer succeededRows = 0;
+
+    @ApiModelProperty(value = "导入失败行数")
+    private Integer failedRows = 0;
+
+    @ApiModelProperty(value = "失败明细（最多保留 max-errors 条）")
+    private List<RowError> errors = new ArrayList<>();
+
+    @ApiModelProperty(value = "任务异常信息")
+    private String errorMsg;
+
+    @ApiModelProperty(value = "开始时间")
+    private LocalDateTime startTime;
+
+    @ApiModelProperty(value = "结束时间")
+    private LocalDateTime endTime;
+
+    /**
+     * 行错误
+     */
+    @Data
+    @ApiModel(description = "导入失败行")
+    public static class RowError {
+
+        @ApiModelProperty(value = "Excel 行号（含表头，从1开始）")
+        private Integer rowNumber;
+
+        @ApiModelProperty(value = "用户名")
+        private String username;
+
+        @ApiModelProperty(value = "失败原因")
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(Integer rowNumber, String username, String message) {
+            this.rowNumber = rowNumber;
+            this.username = username;
+            this.message = message;
+        }
+    }
+}
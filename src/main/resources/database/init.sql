@@ -7,6 +7,7 @@ CREATE TABLE IF NOT EXISTS `sys_users` (
   `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '用户ID',
   `username` VARCHAR(50) NOT NULL COMMENT '用户名',
   `password` VARCHAR(255) NOT NULL COMMENT '密码',
+  `password_expired` TINYINT DEFAULT 0 COMMENT '密码是否过期: 0-否, 1-是（须修改后才能登录，如导入用户的初始密码）',
   `real_name` VARCHAR(50) DEFAULT NULL COMMENT '真实姓名',
   `email` VARCHAR(100) DEFAULT NULL COMMENT '邮箱',
   `phone` VARCHAR(20) DEFAULT NULL COMMENT '手机号',
@@ -20,7 +21,8 @@ CREATE TABLE IF NOT EXISTS `sys_users` (
   UNIQUE KEY `uk_sys_users_email` (`email`),
   UNIQUE KEY `uk_sys_users_phone` (`phone`),
   INDEX `idx_sys_users_deleted` (`deleted`),
-  INDEX `idx_sys_users_is_active` (`is_active`)
+  INDEX `idx_sys_users_is_active` (`is_active`),
+  INDEX `idx_sys_users_created_at` (`created_at`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='系统用户表';
 
 -- 插入用户模拟数据
@@ -0,0 +1,31 @@
+-- 校验并消费验证码（原子执行，一次往返）
+-- KEYS[1]: 验证码键，值为 "验证码" 或 "验证码:已失败次数"
+-- ARGV[1]: 用户输入（已转小写）
+-- ARGV[2]: 最大失败次数
+-- 返回: 0-已过期, 1-通过, 2-不匹配, 3-失败次数过多
+local value = redis.call('GET', KEYS[1])
+if not value then
+    return 0
+end
+local code = value
+local attempts = 0
+local sep = string.find(value, ':', 1, true)
+if sep then
+    code = string.sub(value, 1, sep - 1)
+    attempts = tonumber(string.sub(value, sep + 1))
+end
+if string.lower(code) == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    return 1
+end
+attempts = attempts + 1
+if attempts >= tonumber(ARGV[2]) then
+    redis.call('DEL', KEYS[1])
+    return 3
+end
+-- 保留剩余有效期，记录失败次数
+local ttl = redis.call('PTTL', KEYS[1])
+if ttl > 0 then
+    redis.call('SET', KEYS[1], code .. ':' .. attempts, 'PX', ttl)
+end
+return 2
@@ -0,0 +1,22 @@
+-- 登录滑动窗口限流（原子执行，一次往返）
+-- KEYS[1]: IP 维度键, KEYS[2]: 用户名维度键（有序集合，成员为每次尝试，分值为尝试时间）
+-- ARGV[1]: 当前时间（毫秒）
+-- ARGV[2]: 窗口长度（毫秒）
+-- ARGV[3]: IP 维度窗口内最大尝试次数
+-- ARGV[4]: 用户名维度窗口内最大尝试次数
+-- ARGV[5]: 本次尝试的唯一成员
+-- 返回: 0-放行并记录本次尝试, 1-IP 超限, 2-用户名超限（被拒绝的尝试不记录）
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local limits = { tonumber(ARGV[3]), tonumber(ARGV[4]) }
+for i = 1, 2 do
+    redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', now - window)
+    if redis.call('ZCARD', KEYS[i]) >= limits[i] then
+        return i
+    end
+end
+for i = 1, 2 do
+    redis.call('ZADD', KEYS[i], now, ARGV[5])
+    redis.call('PEXPIRE', KEYS[i], window)
+end
+return 0
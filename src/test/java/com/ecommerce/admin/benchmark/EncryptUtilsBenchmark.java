@@ -0,0 +1,140 @@
+package com.ecommerce.admin.benchmark;
+
+import com.ecommerce.admin.common.util.EncryptUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 密码哈希基准测试
+ * 对比原实现（每次调用 SecretKeyFactory.getInstance、new SecureRandom）与按线程缓存 Mac 的 EncryptUtils 在不同迭代次数下的校验耗时，
+ * 以及四个正则与单次遍历的强度检查耗时；main 方法按目标校验耗时（-Dtarget.ms，默认 50）标定本机应配置的迭代次数
+ * （admin.password-hash.pbkdf2-iterations）
+ * 运行方式：在 IDE 中执行 main 方法，或 mvn test-compile 后以 test classpath 启动本类
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptUtilsBenchmark {
+
+    private static final String PASSWORD = "Test@123456";
+
+    private static final Pattern DIGIT = Pattern.compile(".*\\d.*");
+    private static final Pattern LOWER = Pattern.compile(".*[a-z].*");
+    private static final Pattern UPPER = Pattern.compile(".*[A-Z].*");
+    private static final Pattern SPECIAL = Pattern.compile(".*[!@#$%^&*()_+\\-=\\[\\]{}|;:,.<>?].*");
+
+    @Param({"10000", "50000", "100000", "210000"})
+    private int iterations;
+
+    private String encrypted;
+
+    private byte[] salt;
+
+    private byte[] hash;
+
+    @Setup
+    public void setup() {
+        encrypted = EncryptUtils.encryptPassword(PASSWORD, EncryptUtils.Pbkdf2Algorithm.SHA256, iterations);
+        String[] parts = encrypted.split(":");
+        salt = Base64.getDecoder().decode(parts[2]);
+        hash = Base64.getDecoder().decode(parts[3]);
+    }
+
+    /**
+     * 原实现：每次查找 SecretKeyFactory 并新建 SecureRandom
+     */
+    @Benchmark
+    public boolean verifyLegacy() throws Exception {
+        new SecureRandom();
+        PBEKeySpec spec = new PBEKeySpec(PASSWORD.toCharArray(), salt, iterations, hash.length * 8);
+        byte[] testHash = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        return MessageDigest.isEqual(hash, testHash);
+    }
+
+    @Benchmark
+    public boolean verifyEngine() {
+        return EncryptUtils.verifyPassword(PASSWORD, encrypted);
+    }
+
+    /**
+     * 强度检查基准（与迭代次数无关，仅在默认参数下有意义）
+     */
+    @State(Scope.Thread)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public static class Strength {
+
+        @Benchmark
+        public int strengthRegex() {
+            int count = 0;
+            if (DIGIT.matcher(PASSWORD).matches()) {
+                count++;
+            }
+            if (LOWER.matcher(PASSWORD).matches()) {
+                count++;
+            }
+            if (UPPER.matcher(PASSWORD).matches()) {
+                count++;
+            }
+            if (SPECIAL.matcher(PASSWORD).matches()) {
+                count++;
+            }
+            return count;
+        }
+
+        @Benchmark
+        public int strengthScanner() {
+            return EncryptUtils.checkPasswordStrength(PASSWORD);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EncryptUtilsBenchmark.class.getSimpleName())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        // PBKDF2 耗时与迭代次数线性相关，取各参数下每次迭代耗时的最大值推算目标迭代次数
+        double targetMillis = Double.parseDouble(System.getProperty("target.ms", "50"));
+        double millisPerIteration = 0;
+        for (RunResult result : results) {
+            if (!result.getParams().getBenchmark().endsWith(".verifyEngine")) {
+                continue;
+            }
+            int paramIterations = Integer.parseInt(result.getParams().getParam("iterations"));
+            millisPerIteration = Math.max(millisPerIteration, result.getPrimaryResult().getScore() / paramIterations);
+        }
+        if (millisPerIteration > 0) {
+            // 取整到千次，便于配置
+            long recommended = Math.max(1000L, (long) (targetMillis / millisPerIteration) / 1000 * 1000);
+            System.out.printf("目标校验耗时 %.1f ms，建议 admin.password-hash.pbkdf2-iterations: %d%n",
+                    targetMillis, recommended);
+        }
+    }
+}
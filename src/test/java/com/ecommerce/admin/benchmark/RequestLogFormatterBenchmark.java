@@ -0,0 +1,116 @@
+package com.ecommerce.admin.benchmark;
+
+import com.alibaba.fastjson2.JSON;
+import com.ecommerce.admin.common.log.CompactRequestLogFormatter;
+import com.ecommerce.admin.common.log.OperationLogRecord;
+import com.ecommerce.admin.common.log.PrettyRequestLogFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 请求日志格式化基准测试
+ * 对比原多行美化格式（fastjson 参数序列化 + 报文重新解析）与单行紧凑格式在 /system/user/list 典型报文上的耗时与分配
+ * 运行方式：在 IDE 中执行 main 方法，或 mvn test-compile 后以 test classpath 启动本类
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLogFormatterBenchmark {
+
+    private final PrettyRequestLogFormatter prettyFormatter = new PrettyRequestLogFormatter();
+
+    private final CompactRequestLogFormatter compactFormatter = new CompactRequestLogFormatter();
+
+    private Map<String, String[]> parameterMap;
+
+    private OperationLogRecord record;
+
+    @Setup
+    public void setup() {
+        parameterMap = new LinkedHashMap<>();
+        parameterMap.put("page", new String[]{"1"});
+        parameterMap.put("size", new String[]{"10"});
+        parameterMap.put("username", new String[]{"zhang"});
+
+        record = new OperationLogRecord();
+        record.setIp("192.168.1.10");
+        record.setModule("system");
+        record.setAction("list");
+        record.setHandler("SysUserController");
+        record.setUrl("/admin/system/user/list");
+        record.setMethod("GET");
+        record.setResponseContentType("application/json");
+        record.setResponseBody(buildUserListBody(10));
+        record.setStatus(200);
+        record.setSuccess(true);
+        record.setStartTime(System.currentTimeMillis());
+        record.setDuration(12);
+    }
+
+    /**
+     * 原实现：Map 转换 + fastjson 序列化参数，多行美化输出
+     */
+    @Benchmark
+    public String legacyPretty() {
+        Map<String, String> simplified = parameterMap.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().length > 0 ? e.getValue()[0] : ""));
+        record.setParams(JSON.toJSONString(simplified));
+        return prettyFormatter.format(record);
+    }
+
+    /**
+     * 新实现：线程内缓冲区直接编码参数，单行紧凑输出
+     */
+    @Benchmark
+    public String compact() {
+        record.setParams(CompactRequestLogFormatter.encodeParams(parameterMap));
+        return compactFormatter.format(record);
+    }
+
+    private static String buildUserListBody(int size) {
+        StringBuilder sb = new StringBuilder("{\"code\":200,\"message\":\"success\",\"data\":{\"records\":[");
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i)
+              .append(",\"username\":\"user").append(i)
+              .append("\",\"realName\":\"用户").append(i)
+              .append("\",\"email\":\"user").append(i).append("@ecommerce.com")
+              .append("\",\"phone\":\"138001380").append(String.format("%02d", i))
+              .append("\",\"avatar\":null,\"isActive\":1")
+              .append(",\"createdAt\":\"2024-01-01 00:00:00\",\"updatedAt\":\"2024-01-01 00:00:00\"}");
+        }
+        sb.append("],\"total\":").append(size).append(",\"size\":10,\"current\":1,\"orders\":[],\"pages\":1}}");
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RequestLogFormatterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
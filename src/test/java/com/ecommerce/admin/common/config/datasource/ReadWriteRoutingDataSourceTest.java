@@ -0,0 +1,133 @@
+package com.ecommerce.admin.common.config.datasource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 读写分离路由测试
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection replicaConnection1 = mock(Connection.class);
+
+    private final Connection replicaConnection2 = mock(Connection.class);
+
+    private final DataSource primary = dataSource(primaryConnection);
+
+    private final DataSource replica1 = dataSource(replicaConnection1);
+
+    private final DataSource replica2 = dataSource(replicaConnection2);
+
+    private final ReadWriteRoutingDataSource routingDataSource =
+            new ReadWriteRoutingDataSource(primary, Arrays.asList(replica1, replica2));
+
+    private final ReadWriteRoutingInterceptor interceptor = new ReadWriteRoutingInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        DataSourceContextHolder.setRoute(null);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private static DataSource dataSource(Connection connection) {
+        DataSource dataSource = mock(DataSource.class);
+        try {
+            when(dataSource.getConnection()).thenReturn(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return dataSource;
+    }
+
+    /**
+     * 通过插件执行一条语句，返回执行期间取到的连接
+     */
+    private Connection execute(SqlCommandType commandType) throws Throwable {
+        MappedStatement ms = new MappedStatement.Builder(new Configuration(), "test." + commandType,
+                mock(SqlSource.class), commandType).build();
+        List<Connection> connections = new ArrayList<>();
+        Executor executor = mock(Executor.class);
+        when(executor.query(any(), any(), any(), any())).thenAnswer(invocation -> {
+            connections.add(routingDataSource.getConnection());
+            return Collections.emptyList();
+        });
+        Method method = Executor.class.getMethod("query",
+                MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class);
+        interceptor.intercept(new Invocation(executor, method,
+                new Object[]{ms, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER}));
+        return connections.get(0);
+    }
+
+    /**
+     * 测试未设置路由时走主库，事务外的查询轮询从库，执行后恢复路由
+     */
+    @Test
+    void testRouteSelect() throws Throwable {
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertSame(replicaConnection1, execute(SqlCommandType.SELECT));
+        assertSame(replicaConnection2, execute(SqlCommandType.SELECT));
+        assertSame(replicaConnection1, execute(SqlCommandType.SELECT));
+        assertEquals(DataSourceRoute.PRIMARY, DataSourceContextHolder.getRoute());
+    }
+
+    /**
+     * 测试事务内的查询与强制主库范围内的查询走主库
+     */
+    @Test
+    void testRoutePrimary() throws Throwable {
+        assertSame(primaryConnection, execute(SqlCommandType.UPDATE));
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertSame(primaryConnection, execute(SqlCommandType.SELECT));
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+
+        Connection connection = DataSourceContextHolder.executeOnPrimary(() -> {
+            // 嵌套调用结束后仍处于强制主库范围
+            DataSourceContextHolder.executeOnPrimary(() -> null);
+            try {
+                return execute(SqlCommandType.SELECT);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertSame(primaryConnection, connection);
+        assertFalse(DataSourceContextHolder.isPrimaryForced());
+        assertSame(replicaConnection1, execute(SqlCommandType.SELECT));
+    }
+
+    /**
+     * 测试从库获取连接失败时退回主库
+     */
+    @Test
+    void testReplicaFallback() throws Throwable {
+        when(replica1.getConnection()).thenThrow(new SQLException("replica down"));
+        assertSame(primaryConnection, execute(SqlCommandType.SELECT));
+        assertSame(replicaConnection2, execute(SqlCommandType.SELECT));
+    }
+}
@@ -0,0 +1,128 @@
+package com.ecommerce.admin.common.config.pagination;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import com.ecommerce.admin.common.enums.business.CountStrategyEnum;
+import com.ecommerce.admin.common.result.CountStrategyPage;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.mapper.SysUserMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 分页总数统计策略测试
+ */
+class CountStrategyPaginationInterceptorTest {
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) AS total FROM sys_users WHERE deleted = 0 AND (username LIKE ?)";
+
+    private final CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+
+    private final PageCountCache pageCountCache = new PageCountCache(new PageCountProperties(), publisher);
+
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        assistant.setCurrentNamespace(SysUserMapper.class.getName());
+        TableInfoHelper.initTableInfo(assistant, SysUser.class);
+    }
+
+    private static MappedStatement statement(String id, String sql) {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        return new MappedStatement.Builder(configuration, id, new StaticSqlSource(configuration, sql),
+                SqlCommandType.INSERT).build();
+    }
+
+    private PageCountCache.Count count(String sql, Object condition, AtomicInteger loads) throws Exception {
+        return pageCountCache.get(sql, condition, () -> new PageCountCache.Count(loads.incrementAndGet(), false));
+    }
+
+    /**
+     * 测试相同条件命中缓存，写入对应表后失效，写入其他表不影响
+     */
+    @Test
+    void testCacheInvalidation() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals(1, count(COUNT_SQL, "%a%", loads).getTotal());
+        assertEquals(1, count(COUNT_SQL, "%a%", loads).getTotal());
+        assertEquals(2, count(COUNT_SQL, "%b%", loads).getTotal());
+
+        // 无实体映射的 Mapper 按 SQL 识别写入的表
+        pageCountCache.onWrite(statement("com.example.OrderMapper.insert", "INSERT INTO order_orders (id) VALUES (?)"), null);
+        verify(publisher).publish(eq(PageCountCache.CACHE_NAME), eq(Collections.singleton("order_orders")));
+        assertEquals(1, count(COUNT_SQL, "%a%", loads).getTotal());
+
+        // 按 Mapper 命名空间识别写入的表，非事务内立即广播
+        pageCountCache.onWrite(statement(SysUserMapper.class.getName() + ".insertBatch", "INSERT INTO sys_users (id) VALUES (?)"), null);
+        verify(publisher).publish(eq(PageCountCache.CACHE_NAME), eq(Collections.singleton("sys_users")));
+        assertEquals(3, count(COUNT_SQL, "%a%", loads).getTotal());
+
+        // 其他节点的失效广播
+        pageCountCache.invalidateLocal(Collections.singletonList("sys_users"));
+        assertEquals(4, count(COUNT_SQL, "%a%", loads).getTotal());
+        pageCountCache.invalidateLocal(null);
+        assertEquals(5, count(COUNT_SQL, "%b%", loads).getTotal());
+        verify(publisher, times(2)).publish(any(), any());
+    }
+
+    /**
+     * 测试只有逻辑删除条件的单表查询可使用表统计信息估算
+     */
+    @Test
+    void testUnfilteredTable() {
+        assertEquals("sys_users", CountStrategyPaginationInterceptor.unfilteredTable("SELECT COUNT(*) AS total FROM sys_users WHERE deleted = 0"));
+        assertEquals("sys_users", CountStrategyPaginationInterceptor.unfilteredTable("SELECT COUNT(*) FROM `sys_users`"));
+        assertNull(CountStrategyPaginationInterceptor.unfilteredTable(COUNT_SQL));
+        assertNull(CountStrategyPaginationInterceptor.unfilteredTable(
+                "SELECT COUNT(*) FROM sys_users u LEFT JOIN sys_roles r ON u.id = r.id"));
+    }
+
+    /**
+     * 测试多取一条判断下一页，并在最后一页校正总数
+     */
+    @Test
+    void testProbe() {
+        CountStrategyPage<Integer> page = new CountStrategyPage<>(2, 3, CountStrategyEnum.CACHED);
+        page.setTotal(100);
+        page.startProbe();
+        assertEquals(4, page.getSize());
+        assertEquals(3, page.offset());
+        page.setRecords(Arrays.asList(4, 5, 6, 7));
+        assertEquals(Arrays.asList(4, 5, 6), page.getRecords());
+        assertEquals(3, page.getSize());
+        assertTrue(page.getHasMore());
+        assertEquals(100, page.getTotal());
+
+        // 缓存的总数已过期，最后一页按实际行数校正
+        page = new CountStrategyPage<>(3, 3, CountStrategyEnum.APPROXIMATE);
+        page.setTotal(100);
+        page.setTotalApproximate(true);
+        page.startProbe();
+        page.setRecords(Arrays.asList(7, 8));
+        assertFalse(page.getHasMore());
+        assertEquals(8, page.getTotal());
+        assertFalse(page.isTotalApproximate());
+
+        // 不统计总数
+        page = new CountStrategyPage<>(1, 3, CountStrategyEnum.NONE);
+        assertFalse(page.searchCount());
+        page.startProbe();
+        page.setRecords(Arrays.asList(1, 2, 3, 4));
+        assertTrue(page.getHasMore());
+        assertEquals(0, page.getTotal());
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.admin.common.config.satoken;
+
+import cn.dev33.satoken.dao.SaTokenDao;
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Sa-Token 近端缓存测试
+ */
+class NearCacheSaTokenDaoTest {
+
+    private static final String TOKEN_KEY = "Authorization:login:token:abc";
+
+    private SaTokenDao redisDao;
+
+    private CacheInvalidationPublisher publisher;
+
+    private NearCacheSaTokenDao dao;
+
+    @BeforeEach
+    void setUp() {
+        redisDao = mock(SaTokenDao.class);
+        publisher = mock(CacheInvalidationPublisher.class);
+        dao = new NearCacheSaTokenDao(redisDao, "Authorization", new SaTokenNearCacheProperties(), publisher);
+    }
+
+    /**
+     * 测试只缓存 token 映射键
+     */
+    @Test
+    void testIsTokenKey() {
+        assertTrue(dao.isTokenKey(TOKEN_KEY));
+        assertTrue(dao.isTokenKey("Authorization:admin:token:abc"));
+        assertFalse(dao.isTokenKey("Authorization:login:token-session:abc"));
+        assertFalse(dao.isTokenKey("Authorization:login:session:1"));
+        assertFalse(dao.isTokenKey("Authorization:login:disable:login:1"));
+        assertFalse(dao.isTokenKey("satoken:login:token:abc"));
+    }
+
+    /**
+     * 测试命中后不再访问 Redis，不存在的 token 不缓存，其他键直接透传
+     */
+    @Test
+    void testGetCachesTokenMapping() {
+        when(redisDao.get(TOKEN_KEY)).thenReturn("1");
+        assertEquals("1", dao.get(TOKEN_KEY));
+        assertEquals("1", dao.get(TOKEN_KEY));
+        verify(redisDao, times(1)).get(TOKEN_KEY);
+
+        assertNull(dao.get("Authorization:login:token:missing"));
+        assertNull(dao.get("Authorization:login:token:missing"));
+        verify(redisDao, times(2)).get("Authorization:login:token:missing");
+
+        dao.get("Authorization:login:last-active:abc");
+        dao.get("Authorization:login:last-active:abc");
+        verify(redisDao, times(2)).get("Authorization:login:last-active:abc");
+
+        NearCacheSaTokenDao.NearCacheStats stats = dao.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(3, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    /**
+     * 测试注销（删除）与踢人下线（改写）时本地立即失效并广播，续期不失效
+     */
+    @Test
+    void testWriteInvalidatesAndPublishes() {
+        when(redisDao.get(TOKEN_KEY)).thenReturn("1", "-5");
+        dao.get(TOKEN_KEY);
+
+        dao.updateTimeout(TOKEN_KEY, 100);
+        assertEquals("1", dao.get(TOKEN_KEY));
+        verify(publisher, never()).publish(any(), anyCollection());
+
+        dao.update(TOKEN_KEY, "-5");
+        verify(redisDao).update(TOKEN_KEY, "-5");
+        verify(publisher).publish(NearCacheSaTokenDao.CACHE_NAME, Collections.singletonList(TOKEN_KEY));
+        assertEquals("-5", dao.get(TOKEN_KEY));
+
+        dao.delete(TOKEN_KEY);
+        verify(redisDao).delete(TOKEN_KEY);
+        verify(publisher, times(2)).publish(eq(NearCacheSaTokenDao.CACHE_NAME), anyCollection());
+
+        dao.delete("Authorization:login:session:1");
+        verify(publisher, times(2)).publish(eq(NearCacheSaTokenDao.CACHE_NAME), anyCollection());
+    }
+
+    /**
+     * 测试收到其他节点的失效广播后重新读取 Redis；读取期间发生失效时不回填旧值
+     */
+    @Test
+    void testRemoteInvalidation() {
+        when(redisDao.get(TOKEN_KEY)).thenReturn("1");
+        dao.get(TOKEN_KEY);
+        dao.invalidateLocal(Collections.singletonList(TOKEN_KEY));
+        assertEquals("1", dao.get(TOKEN_KEY));
+        verify(redisDao, times(2)).get(TOKEN_KEY);
+
+        when(redisDao.get(TOKEN_KEY)).thenAnswer(invocation -> {
+            dao.invalidateLocal(null);
+            return "1";
+        });
+        dao.invalidateLocal(null);
+        dao.get(TOKEN_KEY);
+        dao.get(TOKEN_KEY);
+        verify(redisDao, times(4)).get(TOKEN_KEY);
+    }
+}
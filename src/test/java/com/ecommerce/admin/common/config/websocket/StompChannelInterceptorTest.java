@@ -0,0 +1,57 @@
+package com.ecommerce.admin.common.config.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * STOMP 通道拦截器测试
+ */
+class StompChannelInterceptorTest {
+
+    private final StompChannelInterceptor interceptor = new StompChannelInterceptor();
+
+    private Message<byte[]> subscribe(String destination, String loginId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        Map<String, Object> attributes = new HashMap<>();
+        if (loginId != null) {
+            attributes.put("loginId", loginId);
+        }
+        accessor.setSessionAttributes(attributes);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    /**
+     * 测试用户私有主题只允许本人订阅，公共主题不受限制
+     */
+    @Test
+    void testUserTopic() {
+        assertNotNull(interceptor.preSend(subscribe("/topic/user/1/export", "1"), null));
+        assertThrows(MessagingException.class, () -> interceptor.preSend(subscribe("/topic/user/1/export", "2"), null));
+        // 前缀相同的其他用户
+        assertThrows(MessagingException.class, () -> interceptor.preSend(subscribe("/topic/user/10/export", "1"), null));
+        assertThrows(MessagingException.class, () -> interceptor.preSend(subscribe("/topic/user/1/export", null), null));
+        assertNotNull(interceptor.preSend(subscribe("/topic/chat/room/1", null), null));
+    }
+
+    /**
+     * 测试 /topic 下的通配符与模板变量订阅一律拒绝，避免匹配到他人的私有主题
+     */
+    @Test
+    void testPatternSubscriptionRejected() {
+        for (String destination : new String[]{"/topic/**", "/topic/*/1/export", "/topic/user/*/export",
+                "/topic/user/1/../**", "/topic/user/?/export", "/topic/user/{id}/export"}) {
+            assertThrows(MessagingException.class, () -> interceptor.preSend(subscribe(destination, "1"), null), destination);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.admin.common.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 有界采集请求包装器测试
+ */
+class BoundedCaptureRequestWrapperTest {
+
+    /**
+     * 测试分块传输（无 Content-Length）的请求体按实际读取字节数标记截断
+     */
+    @Test
+    void testChunkedBodyTruncationUsesBytesRead() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/system/user/create");
+        request.setContentType("application/json");
+        request.setContent("{\"username\":\"zhangsan\",\"realName\":\"张三\"}".getBytes(StandardCharsets.UTF_8));
+        int bodyLength = request.getContentLength();
+        BoundedCaptureRequestWrapper wrapper = new BoundedCaptureRequestWrapper(new HttpServletRequestWrapper(request) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        }, 10);
+
+        byte[] read = StreamUtils.copyToByteArray(wrapper.getInputStream());
+
+        assertEquals(bodyLength, read.length);
+        assertEquals(bodyLength, wrapper.getTotalBytes());
+        assertEquals("{\"username...(truncated, " + bodyLength + " bytes)",
+                ContentCapturePolicy.preview(wrapper.getContentAsByteArray(), wrapper.getTotalBytes()));
+    }
+
+    /**
+     * 测试未超过上限时不标记截断
+     */
+    @Test
+    void testSmallBodyNotTruncated() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/system/user/create");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        BoundedCaptureRequestWrapper wrapper = new BoundedCaptureRequestWrapper(request, 10);
+
+        StreamUtils.copyToByteArray(wrapper.getInputStream());
+
+        assertEquals("{}", ContentCapturePolicy.preview(wrapper.getContentAsByteArray(), wrapper.getTotalBytes()));
+    }
+}
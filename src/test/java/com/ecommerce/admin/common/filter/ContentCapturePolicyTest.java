@@ -0,0 +1,118 @@
+package com.ecommerce.admin.common.filter;
+
+import com.ecommerce.admin.common.log.BodyCaptureProperties;
+import com.ecommerce.admin.common.log.RequestLogProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 报文采集策略测试
+ */
+class ContentCapturePolicyTest {
+
+    private RequestLogProperties newProperties() {
+        RequestLogProperties properties = new RequestLogProperties();
+        properties.getCapture().setSlowThreshold(Duration.ofMillis(500));
+
+        BodyCaptureProperties.CaptureRule listRule = new BodyCaptureProperties.CaptureRule();
+        listRule.setPattern("/system/user/list");
+        listRule.setSampleRate(0.0);
+        properties.getCapture().getRules().add(listRule);
+
+        BodyCaptureProperties.CaptureRule createRule = new BodyCaptureProperties.CaptureRule();
+        createRule.setPattern("/system/user/create");
+        createRule.setSlowThreshold(Duration.ZERO);
+        properties.getCapture().getRules().add(createRule);
+        return properties;
+    }
+
+    private MockHttpServletRequest request(String method, String path, String contentType) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setContentType(contentType);
+        return request;
+    }
+
+    /**
+     * 测试采样率为 0 的路由不做任何包装
+     */
+    @Test
+    void testSampledOutRouteSkipsWrapping() {
+        ContentCapturePolicy policy = new ContentCapturePolicy(newProperties());
+        CaptureDecision decision = policy.decide(request("GET", "/system/user/list", null));
+        assertSame(CaptureDecision.SKIP, decision);
+        assertFalse(decision.shouldKeepBodies(TimeUnit.SECONDS.toNanos(10), false), "未采样的请求不应保留报文");
+    }
+
+    /**
+     * 测试慢请求策略：成功且快速的请求丢弃报文，失败或慢请求保留
+     */
+    @Test
+    void testSlowOrErrorOnly() {
+        ContentCapturePolicy policy = new ContentCapturePolicy(newProperties());
+        CaptureDecision decision = policy.decide(request("POST", "/system/user/update", "application/json"));
+        assertTrue(decision.isCaptureRequest());
+        assertTrue(decision.isCaptureResponse());
+        assertFalse(decision.shouldKeepBodies(TimeUnit.MILLISECONDS.toNanos(20), true));
+        assertTrue(decision.shouldKeepBodies(TimeUnit.MILLISECONDS.toNanos(20), false));
+        assertTrue(decision.shouldKeepBodies(TimeUnit.MILLISECONDS.toNanos(800), true));
+    }
+
+    /**
+     * 测试路由规则覆盖阈值为 0 时始终保留报文，GET 请求不包装请求体
+     */
+    @Test
+    void testRuleOverrides() {
+        ContentCapturePolicy policy = new ContentCapturePolicy(newProperties());
+        CaptureDecision create = policy.decide(request("POST", "/system/user/create", "application/json"));
+        assertTrue(create.shouldKeepBodies(TimeUnit.MILLISECONDS.toNanos(1), true));
+
+        CaptureDecision get = policy.decide(request("GET", "/system/user/1", null));
+        assertFalse(get.isCaptureRequest());
+        assertTrue(get.isCaptureResponse());
+    }
+
+    /**
+     * 测试关闭请求日志时不采集
+     */
+    @Test
+    void testDisabled() {
+        RequestLogProperties properties = newProperties();
+        properties.setEnabled(false);
+        ContentCapturePolicy policy = new ContentCapturePolicy(properties);
+        assertSame(CaptureDecision.SKIP, policy.decide(request("POST", "/system/user/update", "application/json")));
+    }
+
+    /**
+     * 测试令牌与密码字段被屏蔽，截断的值同样屏蔽
+     */
+    @Test
+    void testMaskSensitive() {
+        String masked = ContentCapturePolicy.maskSensitive(
+                "{\"code\":200,\"data\":{\"token\":\"abc-123\",\"username\":\"admin\"}}");
+        assertEquals("{\"code\":200,\"data\":{\"token\":\"******\",\"username\":\"admin\"}}", masked);
+
+        assertEquals("{\"newPassword\" : \"******\"}", ContentCapturePolicy.maskSensitive("{\"newPassword\" : \"x\\\"y\"}"));
+        assertEquals("{\"tokenValue\":\"******\"", ContentCapturePolicy.maskSensitive("{\"tokenValue\":\"abc...(truncated, 9000 bytes)"));
+        assertNull(ContentCapturePolicy.maskSensitive(null));
+    }
+
+    /**
+     * 测试认证接口规则关闭请求与响应采集时不包装
+     */
+    @Test
+    void testAuthRouteSkipped() {
+        RequestLogProperties properties = newProperties();
+        BodyCaptureProperties.CaptureRule authRule = new BodyCaptureProperties.CaptureRule();
+        authRule.setPattern("/api/auth/**");
+        authRule.setRequest(false);
+        authRule.setResponse(false);
+        properties.getCapture().getRules().add(0, authRule);
+        ContentCapturePolicy policy = new ContentCapturePolicy(properties);
+        assertSame(CaptureDecision.SKIP, policy.decide(request("POST", "/api/auth/login", "application/json")));
+    }
+}
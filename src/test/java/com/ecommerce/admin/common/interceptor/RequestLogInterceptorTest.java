@@ -0,0 +1,144 @@
+package com.ecommerce.admin.common.interceptor;
+
+import cn.dev33.satoken.SaManager;
+import cn.dev33.satoken.spring.SaTokenContextForSpring;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.filter.BoundedCaptureResponseWrapper;
+import com.ecommerce.admin.common.filter.ContentCapturePolicy;
+import com.ecommerce.admin.common.log.OperationLogRecord;
+import com.ecommerce.admin.common.log.OperationLogWriter;
+import com.ecommerce.admin.common.log.RequestLogProperties;
+import com.ecommerce.admin.common.log.ResultCodeAdvice;
+import com.ecommerce.admin.common.metrics.RequestTiming;
+import com.ecommerce.admin.common.result.Result;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 请求日志拦截器测试
+ */
+class RequestLogInterceptorTest {
+
+    private final RequestLogInterceptor interceptor = new RequestLogInterceptor();
+
+    /**
+     * 测试延迟统计按 HTTP 方法与路径模式区分处理器，重载方法不会合并
+     */
+    @Test
+    void testHandlerKeyUsesMethodAndPattern() throws Exception {
+        HandlerMethod byId = new HandlerMethod(new SampleController(), SampleController.class.getMethod("get", Long.class));
+        HandlerMethod byName = new HandlerMethod(new SampleController(), SampleController.class.getMethod("get", String.class));
+
+        assertEquals("GET /sample/{id}", preHandle("GET", "/sample/{id}", byId).getHandler());
+        assertEquals("GET /sample/name/{name}", preHandle("GET", "/sample/name/{name}", byName).getHandler());
+        assertEquals("DELETE /sample/{id}", preHandle("DELETE", "/sample/{id}", byId).getHandler());
+    }
+
+    /**
+     * 测试取不到路径模式时使用完整方法签名
+     */
+    @Test
+    void testHandlerKeyFallsBackToSignature() throws Exception {
+        HandlerMethod byId = new HandlerMethod(new SampleController(), SampleController.class.getMethod("get", Long.class));
+
+        String handler = preHandle("GET", null, byId).getHandler();
+        assertTrue(handler.endsWith("SampleController#get(Long)"), handler);
+    }
+
+    /**
+     * 测试业务成功与否取自 Result 业务码，不依赖是否采集了响应体
+     */
+    @Test
+    void testSuccessUsesResultCode() {
+        ResultCodeAdvice advice = new ResultCodeAdvice();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        MockHttpServletRequest failed = new MockHttpServletRequest("POST", "/sample");
+        advice.beforeBodyWrite(Result.fail(ResponseEnum.BUSINESS_ERROR), null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(failed), new ServletServerHttpResponse(response));
+        assertFalse(RequestLogInterceptor.isSuccess(failed, response, null), "业务失败的 Result 不应记为成功");
+
+        MockHttpServletRequest succeeded = new MockHttpServletRequest("POST", "/sample");
+        advice.beforeBodyWrite(Result.success(), null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(succeeded), new ServletServerHttpResponse(response));
+        assertTrue(RequestLogInterceptor.isSuccess(succeeded, response, null));
+
+        // 非 Result 返回值按 HTTP 状态码与异常判断
+        assertTrue(RequestLogInterceptor.isSuccess(new MockHttpServletRequest(), response, null));
+        assertFalse(RequestLogInterceptor.isSuccess(succeeded, response, new IllegalStateException("boom")));
+    }
+
+    /**
+     * 测试登录响应中的会话令牌不会进入 result 字段
+     */
+    @Test
+    void testLoginTokenNotLogged() throws Exception {
+        RequestLogProperties properties = new RequestLogProperties();
+        OperationLogWriter writer = mock(OperationLogWriter.class);
+        RequestLogInterceptor loggingInterceptor = new RequestLogInterceptor();
+        ReflectionTestUtils.setField(loggingInterceptor, "requestLogProperties", properties);
+        ReflectionTestUtils.setField(loggingInterceptor, "operationLogWriter", writer);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setContentType("application/json");
+        BoundedCaptureResponseWrapper response = new BoundedCaptureResponseWrapper(
+                new MockHttpServletResponse(), new ContentCapturePolicy(properties));
+        response.setContentType("application/json");
+        response.getOutputStream().write(("{\"code\":200,\"data\":{\"token\":\"8c1f0e2a-secret\",\"username\":\"admin\"}}")
+                .getBytes(StandardCharsets.UTF_8));
+        HandlerMethod handler = new HandlerMethod(new SampleController(), SampleController.class.getMethod("get", String.class));
+
+        // 未登录请求：Sa-Token 从 Spring 请求上下文读取 token
+        SaManager.setSaTokenContext(new SaTokenContextForSpring());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            loggingInterceptor.preHandle(request, response, handler);
+            loggingInterceptor.afterCompletion(request, response, handler, null);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        ArgumentCaptor<OperationLogRecord> captor = ArgumentCaptor.forClass(OperationLogRecord.class);
+        verify(writer).offer(captor.capture());
+        String result = captor.getValue().getResponseBody();
+        assertNotNull(result);
+        assertFalse(result.contains("8c1f0e2a-secret"), result);
+        assertTrue(result.contains("\"username\":\"admin\""), result);
+    }
+
+    private RequestTiming preHandle(String method, String pattern, HandlerMethod handler) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/sample/1");
+        request.setAttribute(RequestTiming.ATTRIBUTE, new RequestTiming());
+        if (pattern != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        }
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        return RequestTiming.of(request);
+    }
+
+    static class SampleController {
+
+        public String get(Long id) {
+            return String.valueOf(id);
+        }
+
+        public String get(String name) {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.admin.common.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 异步批量写入器测试
+ * 测试队列容量、溢出策略与后台批量写入
+ */
+class AsyncBatchWriterTest {
+
+    /**
+     * 测试队列已满时丢弃策略
+     */
+    @Test
+    void testDropWhenFull() {
+        BatchWriterProperties properties = new BatchWriterProperties();
+        properties.setCapacity(3);
+        properties.setOverflowPolicy(OverflowPolicy.DROP);
+        CollectingWriter writer = new CollectingWriter(properties);
+
+        // 未启动后台线程，队列不会被消费
+        for (int i = 0; i < 5; i++) {
+            writer.offer(i);
+        }
+
+        AsyncBatchWriter.WriterStats stats = writer.getStats();
+        assertEquals(3, stats.getDepth(), "队列深度不应超过容量");
+        assertEquals(3, stats.getAccepted(), "应接收3条记录");
+        assertEquals(2, stats.getDropped(), "应丢弃2条记录");
+    }
+
+    /**
+     * 测试采样策略超过高水位后按比例保留
+     */
+    @Test
+    void testSampleAboveHighWatermark() {
+        BatchWriterProperties properties = new BatchWriterProperties();
+        properties.setCapacity(100);
+        properties.setOverflowPolicy(OverflowPolicy.SAMPLE);
+        properties.setSampleRate(10);
+        CollectingWriter writer = new CollectingWriter(properties);
+
+        for (int i = 0; i < 150; i++) {
+            writer.offer(i);
+        }
+
+        AsyncBatchWriter.WriterStats stats = writer.getStats();
+        // 前50条全部接收，之后100条每10条保留1条
+        assertEquals(60, stats.getAccepted(), "采样后应接收60条记录");
+        assertEquals(90, stats.getSampledOut(), "应采样丢弃90条记录");
+    }
+
+    /**
+     * 测试阻塞策略等待超时后丢弃
+     */
+    @Test
+    void testBlockTimeout() {
+        BatchWriterProperties properties = new BatchWriterProperties();
+        properties.setCapacity(1);
+        properties.setOverflowPolicy(OverflowPolicy.BLOCK);
+        properties.setBlockTimeout(Duration.ofMillis(20));
+        CollectingWriter writer = new CollectingWriter(properties);
+
+        assertTrue(writer.offer(1), "第一条记录应被接收");
+        assertFalse(writer.offer(2), "队列已满且无消费者时应超时丢弃");
+        assertEquals(1, writer.getStats().getDropped());
+    }
+
+    /**
+     * 测试后台线程批量写入并在关闭时写完剩余记录
+     */
+    @Test
+    void testFlushOnStop() throws InterruptedException {
+        BatchWriterProperties properties = new BatchWriterProperties();
+        properties.setBatchSize(4);
+        properties.setFlushInterval(Duration.ofSeconds(10));
+        CollectingWriter writer = new CollectingWriter(properties);
+        writer.start();
+
+        for (int i = 0; i < 10; i++) {
+            writer.offer(i);
+        }
+        writer.stop();
+
+        assertEquals(10, writer.records.size(), "关闭后所有记录都应写入");
+        assertEquals(10, writer.getStats().getWritten());
+        assertEquals(0, writer.getStats().getDepth());
+    }
+
+    /**
+     * 收集写入记录的测试写入器
+     */
+    private static class CollectingWriter extends AsyncBatchWriter<Integer> {
+
+        private final List<Integer> records = new CopyOnWriteArrayList<>();
+
+        CollectingWriter(BatchWriterProperties properties) {
+            super("test-writer", properties);
+        }
+
+        @Override
+        protected void flush(List<Integer> batch) {
+            records.addAll(batch);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.admin.common.log;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 单行紧凑请求日志格式化器测试
+ */
+class CompactRequestLogFormatterTest {
+
+    private final CompactRequestLogFormatter formatter = new CompactRequestLogFormatter();
+
+    /**
+     * 测试请求参数编码为合法 JSON 并正确转义
+     */
+    @Test
+    void testEncodeParams() {
+        Map<String, String[]> params = new LinkedHashMap<>();
+        params.put("page", new String[]{"1"});
+        params.put("name", new String[]{"a\"b\\c\nd"});
+        params.put("empty", new String[0]);
+
+        String json = CompactRequestLogFormatter.encodeParams(params);
+        JSONObject parsed = JSON.parseObject(json);
+        assertEquals("1", parsed.getString("page"));
+        assertEquals("a\"b\\c\nd", parsed.getString("name"), "特殊字符应被正确转义");
+        assertEquals("", parsed.getString("empty"), "无值参数应编码为空字符串");
+
+        assertEquals("{}", CompactRequestLogFormatter.encodeParams(Collections.emptyMap()));
+    }
+
+    /**
+     * 测试输出为单行且报文原样保留
+     */
+    @Test
+    void testFormatSingleLine() {
+        OperationLogRecord record = new OperationLogRecord();
+        record.setMethod("POST");
+        record.setUrl("/admin/system/user/create");
+        record.setStatus(200);
+        record.setDuration(5);
+        record.setHandler("SysUserController");
+        record.setAction("create");
+        record.setParams("{}");
+        record.setRequestBody("{\n  \"username\": \"test\"\n}");
+        record.setResponseBody("{\"code\":200,\"message\":\"success\",\"data\":null}");
+
+        String line = formatter.format(record);
+        assertFalse(line.contains("\n"), "紧凑格式应为单行");
+        assertTrue(line.contains("resBody={\"code\":200,\"message\":\"success\",\"data\":null}"), "响应体应原样拷贝");
+        assertFalse(line.contains("params="), "空参数不应输出");
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.admin.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 延迟直方图测试
+ */
+class LatencyHistogramTest {
+
+    /**
+     * 测试分桶上下界连续且包含原值
+     */
+    @Test
+    void testBucketBounds() {
+        long[] samples = {0, 1, 31, 32, 33, 63, 64, 1000, 123456, TimeUnit.SECONDS.toNanos(3)};
+        for (long value : samples) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.lowerBound(index) <= value, "下界不应大于原值: " + value);
+            assertTrue(LatencyHistogram.upperBound(index) >= value, "上界不应小于原值: " + value);
+        }
+        for (int i = 1; i < 500; i++) {
+            assertEquals(LatencyHistogram.upperBound(i - 1) + 1, LatencyHistogram.lowerBound(i), "相邻分桶应首尾相接");
+        }
+    }
+
+    /**
+     * 测试分位值误差在分桶精度内
+     */
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500, snapshot.millisAt(0.5), 500 * 0.07, "p50 应约为500ms");
+        assertEquals(990, snapshot.millisAt(0.99), 990 * 0.07, "p99 应约为990ms");
+        assertEquals(999, snapshot.millisAt(0.999), 999 * 0.07, "p999 应约为999ms");
+    }
+
+    /**
+     * 测试合并后计数与分位值
+     */
+    @Test
+    void testMerge() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            fast.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        slow.record(TimeUnit.SECONDS.toNanos(2));
+
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.merge(fast);
+        merged.merge(slow);
+        LatencyHistogram.Snapshot snapshot = merged.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(1, snapshot.millisAt(0.5), 0.07, "p50 应来自快请求");
+        assertEquals(2000, snapshot.millisAt(1.0), 2000 * 0.07, "最大分位应来自慢请求");
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.admin.common.util;
+
+import com.ecommerce.admin.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分页游标工具类测试
+ */
+class CursorUtilsTest {
+
+    /**
+     * 测试编码后可还原排序键
+     */
+    @Test
+    void testRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 10, 0, 0);
+        String cursor = CursorUtils.encode("createdAt", createdAt, 42L);
+        assertFalse(cursor.contains("|"), "游标应对客户端不透明");
+
+        String[] values = CursorUtils.decode(cursor, "createdAt", 2);
+        assertEquals(createdAt, LocalDateTime.parse(values[0]));
+        assertEquals("42", values[1]);
+    }
+
+    /**
+     * 测试游标不能跨排序方式使用，非法游标抛出业务异常
+     */
+    @Test
+    void testInvalidCursor() {
+        String cursor = CursorUtils.encode("id", 42L);
+        assertThrows(BusinessException.class, () -> CursorUtils.decode(cursor, "createdAt", 2));
+        assertThrows(BusinessException.class, () -> CursorUtils.decode("***", "id", 1));
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommerce.admin.common.util;
+
+import com.ecommerce.admin.module.system.vo.SysUserExcel;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Easy Excel 工具类测试
+ */
+class EasyUtilsTest {
+
+    /**
+     * 测试分批流式导出后可完整读回
+     */
+    @Test
+    void testWriteInChunks() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        EasyUtils.writeInChunks(SysUserExcel.class, "用户数据", "用户数据", 1000, response, sink -> {
+            for (long i = 1; i <= 2500; i++) {
+                SysUserExcel row = new SysUserExcel();
+                row.setId(i);
+                row.setUsername("user" + i);
+                row.setIsActive(1);
+                sink.accept(row);
+            }
+        });
+
+        List<SysUserExcel> rows = EasyUtils.read(new ByteArrayInputStream(response.getContentAsByteArray()), SysUserExcel.class);
+        assertEquals(2500, rows.size());
+        assertEquals("user2500", rows.get(2499).getUsername());
+        assertEquals("启用", rows.get(0).getStatusName());
+    }
+
+    /**
+     * 测试数据源中途失败时不输出截断的文件，异常向上抛出
+     */
+    @Test
+    void testWriteInChunksSourceFailure() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+                EasyUtils.writeInChunks(SysUserExcel.class, "用户数据", "用户数据", 1000, response, failingSource()));
+
+        assertEquals("数据库连接中断", e.getMessage());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertNull(response.getHeader("Content-disposition"));
+    }
+
+    /**
+     * 测试写入输出流时数据源中途失败不写出工作簿
+     */
+    @Test
+    void testWriteInChunksToStreamSourceFailure() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IllegalStateException.class, () ->
+                EasyUtils.writeInChunks(SysUserExcel.class, "用户数据", 1000, out, failingSource()));
+
+        assertEquals(0, out.size());
+    }
+
+    /**
+     * 推送 1500 行后抛出异常的数据源（已跨过一个批次）
+     */
+    private static Consumer<Consumer<SysUserExcel>> failingSource() {
+        return sink -> {
+            for (long i = 1; i <= 1500; i++) {
+                SysUserExcel row = new SysUserExcel();
+                row.setId(i);
+                row.setUsername("user" + i);
+                sink.accept(row);
+            }
+            throw new IllegalStateException("数据库连接中断");
+        };
+    }
+}
@@ -1,6 +1,11 @@
 package com.ecommerce.admin.common.util;
 
 import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.util.Base64;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -172,4 +177,69 @@ class EncryptUtilsTest {
         assertTrue(EncryptUtils.verifyPassword(password, encrypted1), "第一次加密结果应能通过验证");
         assertTrue(EncryptUtils.verifyPassword(password, encrypted2), "第二次加密结果应能通过验证");
     }
-}
\ No newline at end of file
+
+    /**
+     * 测试哈希为自描述格式，且与 JDK 的 PBKDF2WithHmacSHA256 结果一致
+     */
+    @Test
+    void testSelfDescribingFormat() throws Exception {
+        String encrypted = EncryptUtils.encryptPassword("Test@123456");
+        String[] parts = encrypted.split(":");
+        assertEquals(4, parts.length);
+        assertEquals("pbkdf2-sha256", parts[0]);
+        assertEquals(String.valueOf(EncryptUtils.DEFAULT_ITERATIONS), parts[1]);
+
+        byte[] salt = Base64.getDecoder().decode(parts[2]);
+        PBEKeySpec spec = new PBEKeySpec("Test@123456".toCharArray(), salt, EncryptUtils.DEFAULT_ITERATIONS, 256);
+        byte[] expected = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        assertArrayEquals(expected, Base64.getDecoder().decode(parts[3]));
+    }
+
+    /**
+     * 测试早期“盐值:密文”格式仍可验证，并被识别为需要升级
+     */
+    @Test
+    void testVerifyLegacyFormat() throws Exception {
+        byte[] salt = new byte[16];
+        salt[0] = 1;
+        PBEKeySpec spec = new PBEKeySpec("密码Abc123".toCharArray(), salt, 10000, 256);
+        byte[] hash = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        String legacy = Base64.getEncoder().encodeToString(salt) + ":" + Base64.getEncoder().encodeToString(hash);
+
+        assertTrue(EncryptUtils.verifyPassword("密码Abc123", legacy));
+        assertFalse(EncryptUtils.verifyPassword("密码Abc124", legacy));
+        assertTrue(EncryptUtils.isEncrypted(legacy));
+        assertTrue(EncryptUtils.needsRehash(legacy));
+    }
+
+    /**
+     * 测试提高迭代次数后旧哈希仍可验证，且被识别为需要升级；格式损坏时验证失败
+     */
+    @Test
+    void testIterationsUpgrade() {
+        String weak = EncryptUtils.encryptPassword("Test@123456", EncryptUtils.Pbkdf2Algorithm.SHA256, 1000);
+        String sha512 = EncryptUtils.encryptPassword("Test@123456", EncryptUtils.Pbkdf2Algorithm.SHA512, 1000);
+        assertTrue(sha512.startsWith("pbkdf2-sha512:1000:"));
+        EncryptUtils.Pbkdf2Algorithm sha256 = EncryptUtils.Pbkdf2Algorithm.SHA256;
+        assertTrue(EncryptUtils.verifyPassword("Test@123456", weak));
+        assertTrue(EncryptUtils.verifyPassword("Test@123456", sha512));
+        assertTrue(EncryptUtils.needsRehash(weak, sha256, 2000));
+        assertTrue(EncryptUtils.needsRehash(sha512, sha256, 2000));
+        assertFalse(EncryptUtils.needsRehash(EncryptUtils.encryptPassword("Test@123456", sha256, 2000), sha256, 2000));
+        assertFalse(EncryptUtils.needsRehash(EncryptUtils.encryptPassword("Test@123456")));
+        assertFalse(EncryptUtils.verifyPassword("Test@123456", "md5:1000:abc:def"));
+        assertFalse(EncryptUtils.verifyPassword("Test@123456", "pbkdf2-sha256:x:abc:def"));
+        assertFalse(EncryptUtils.verifyPassword("Test@123456", "not-base64!:@@"));
+        assertFalse(EncryptUtils.isEncrypted("123456"));
+    }
+
+    /**
+     * 测试强度检查不把非 ASCII 字符计为任何类别
+     */
+    @Test
+    void testPasswordStrengthNonAscii() {
+        assertEquals(1, EncryptUtils.checkPasswordStrength("密码密码密码"));
+        assertEquals(2, EncryptUtils.checkPasswordStrength("密码abc123"));
+        assertEquals(3, EncryptUtils.checkPasswordStrength("a1-密码密码"));
+    }
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.admin.common.util;
+
+import com.ecommerce.admin.common.config.JacksonConfig;
+import com.ecommerce.admin.common.enums.business.ExportFormatEnum;
+import com.ecommerce.admin.module.system.vo.SysUserExcel;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文本格式流式导出工具类测试
+ */
+class StreamExportUtilsTest {
+
+    private static final Map<String, Function<SysUserExcel, ?>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", SysUserExcel::getId);
+        COLUMNS.put("realName", SysUserExcel::getRealName);
+        COLUMNS.put("createdAt", SysUserExcel::getCreatedAt);
+    }
+
+    private static void source(Consumer<SysUserExcel> sink) {
+        SysUserExcel row = new SysUserExcel();
+        row.setId(1L);
+        row.setRealName("张三, \"小张\"");
+        row.setCreatedAt(LocalDateTime.of(2024, 1, 1, 8, 0));
+        sink.accept(row);
+        SysUserExcel empty = new SysUserExcel();
+        empty.setId(2L);
+        sink.accept(empty);
+    }
+
+    /**
+     * 测试 CSV 转义与空值
+     */
+    @Test
+    void testCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, StreamExportUtils.writeCsv(out, COLUMNS, StreamExportUtilsTest::source));
+        assertEquals("\uFEFFid,realName,createdAt\r\n"
+                        + "1,\"张三, \"\"小张\"\"\",2024-01-01 08:00:00\r\n"
+                        + "2,,\r\n",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 测试文件以 UTF-8 BOM 开头，Excel 打开时中文表头不乱码
+     */
+    @Test
+    void testCsvBom() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamExportUtils.writeCsv(out, COLUMNS, sink -> { });
+        byte[] bytes = out.toByteArray();
+        assertEquals((byte) 0xEF, bytes[0]);
+        assertEquals((byte) 0xBB, bytes[1]);
+        assertEquals((byte) 0xBF, bytes[2]);
+    }
+
+    /**
+     * 测试以公式字符开头的文本加单引号前缀（CSV 注入），数值不受影响
+     */
+    @Test
+    void testCsvFormulaInjection() throws IOException {
+        Map<String, Function<SysUserExcel, ?>> columns = new LinkedHashMap<>();
+        columns.put("id", SysUserExcel::getId);
+        columns.put("username", SysUserExcel::getUsername);
+        columns.put("realName", SysUserExcel::getRealName);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        StreamExportUtils.writeCsv(out, columns, sink -> {
+            SysUserExcel formula = new SysUserExcel();
+            formula.setId(-1L);
+            formula.setUsername("=HYPERLINK(\"http://evil\",\"x\")");
+            formula.setRealName("@SUM(A1)");
+            sink.accept(formula);
+            SysUserExcel signs = new SysUserExcel();
+            signs.setId(2L);
+            signs.setUsername("+86");
+            signs.setRealName("-张三");
+            sink.accept(signs);
+        });
+
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("-1,\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",'@SUM(A1)", lines[1]);
+        assertEquals("2,'+86,'-张三", lines[2]);
+    }
+
+    /**
+     * 测试 NDJSON 每行一个对象，并以 gzip 压缩输出
+     */
+    @Test
+    void testGzipNdjson() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long rows = StreamExportUtils.write(response, ExportFormatEnum.NDJSON, "用户数据", true, COLUMNS,
+                new JacksonConfig().objectMapper(), StreamExportUtilsTest::source);
+        assertEquals(2, rows);
+        assertEquals("application/gzip", response.getContentType());
+        assertTrue(response.getHeader("Content-disposition").endsWith(".ndjson.gz"));
+
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                plain.write(buffer, 0, n);
+            }
+        }
+        String[] lines = new String(plain.toByteArray(), StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[0].contains("\"createdAt\":\"2024-01-01 08:00:00\""));
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+        assertEquals("", lines[2]);
+    }
+
+    /**
+     * 测试 Accept 请求头选择格式
+     */
+    @Test
+    void testFromAccept() {
+        assertEquals(ExportFormatEnum.CSV, ExportFormatEnum.fromAccept("text/csv, */*"));
+        assertEquals(ExportFormatEnum.NDJSON, ExportFormatEnum.fromAccept("application/x-ndjson"));
+        assertEquals(ExportFormatEnum.XLSX, ExportFormatEnum.fromAccept("*/*"));
+        assertEquals(ExportFormatEnum.XLSX, ExportFormatEnum.fromAccept(null));
+    }
+}
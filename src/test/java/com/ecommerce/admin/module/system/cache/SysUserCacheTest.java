@@ -0,0 +1,137 @@
+package com.ecommerce.admin.module.system.cache;
+
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.mapper.SysUserMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户二级缓存测试（Redis 未命中场景）
+ */
+class SysUserCacheTest {
+
+    private SysUserMapper sysUserMapper;
+
+    private CacheInvalidationPublisher publisher;
+
+    private ValueOperations<String, String> valueOperations;
+
+    private SysUserCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sysUserMapper = mock(SysUserMapper.class);
+        publisher = mock(CacheInvalidationPublisher.class);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache = new SysUserCache(new UserCacheProperties(), sysUserMapper, redisTemplate, new ObjectMapper(), publisher);
+    }
+
+    private SysUser user(long id, String username) {
+        SysUser user = new SysUser();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+
+    /**
+     * 测试本地缓存命中后不再查库，用户名大小写不敏感
+     */
+    @Test
+    void testLocalHit() {
+        when(sysUserMapper.selectList(any())).thenReturn(Collections.singletonList(user(1L, "admin")));
+
+        assertEquals(1L, cache.getByUsername("admin").getId());
+        assertEquals(1L, cache.getByUsername("ADMIN").getId());
+        assertEquals(1L, cache.getById(1L).getId());
+        verify(sysUserMapper, times(1)).selectList(any());
+        verify(sysUserMapper, never()).selectById(any());
+    }
+
+    /**
+     * 测试失效后重新回源并广播失效消息
+     */
+    @Test
+    void testEvict() {
+        when(sysUserMapper.selectById(1L)).thenReturn(user(1L, "admin"), user(1L, "root"));
+        assertEquals("admin", cache.getById(1L).getUsername());
+
+        cache.evict(Collections.singletonList(user(1L, "admin")));
+        assertEquals("root", cache.getById(1L).getUsername());
+        verify(publisher).publish(eq(SysUserCache.CACHE_NAME), anyCollection());
+    }
+
+    /**
+     * 测试索引指向已改名用户时以数据库为准
+     */
+    @Test
+    void testStaleIndex() {
+        when(sysUserMapper.selectList(any()))
+                .thenReturn(Collections.singletonList(user(1L, "bob")))
+                .thenReturn(Collections.singletonList(user(2L, "bob")));
+        assertEquals(1L, cache.getByUsername("bob").getId());
+
+        // 模拟只收到了 ID 失效消息：用户1 已改名为 rob，用户名 bob 被用户2 使用
+        when(sysUserMapper.selectById(1L)).thenReturn(user(1L, "rob"));
+        cache.invalidateLocal(Collections.singletonList("id:1"));
+        assertEquals(2L, cache.getByUsername("bob").getId());
+    }
+
+    /**
+     * 测试不存在的用户同样被缓存
+     */
+    @Test
+    void testNegativeCache() {
+        when(sysUserMapper.selectList(any())).thenReturn(Collections.emptyList());
+        assertNull(cache.getByUsername("ghost"));
+        assertNull(cache.getByUsername("ghost"));
+        verify(sysUserMapper, times(1)).selectList(any());
+    }
+
+    /**
+     * 测试缓存（含 Redis 副本）中不保存密码
+     */
+    @Test
+    void testCredentialsNotCached() {
+        SysUser user = user(1L, "admin");
+        user.setPassword("$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iKaWHNXOWe5MeDFu/p5WQQoTITNi");
+        when(sysUserMapper.selectById(1L)).thenReturn(user);
+
+        assertNull(cache.getById(1L).getPassword());
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq("sys:user:id:1"), json.capture(), any(Duration.class));
+        assertFalse(json.getValue().contains("$2a$"), json.getValue());
+    }
+
+    /**
+     * 测试查库期间发生失效时不回填 Redis，避免旧行覆盖失效结果
+     */
+    @Test
+    void testConcurrentEvictSkipsRedisBackfill() {
+        when(sysUserMapper.selectById(1L)).thenAnswer(invocation -> {
+            // 模拟读到旧行后、回填之前，其他线程更新了用户并失效缓存
+            cache.evict(Collections.singletonList(user(1L, "admin")));
+            return user(1L, "admin");
+        });
+
+        assertEquals("admin", cache.getById(1L).getUsername());
+        verify(valueOperations, never()).set(eq("sys:user:id:1"), anyString(), any(Duration.class));
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecommerce.admin.module.system.captcha;
+
+import com.ecommerce.admin.module.system.enums.business.CaptchaVerifyResultEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 验证码池、合并写入与校验测试
+ */
+class CaptchaStoreTest {
+
+    private final CaptchaProperties properties = new CaptchaProperties();
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+
+    /**
+     * 每次管道提交写入的条数
+     */
+    private final List<Integer> pipelines = Collections.synchronizedList(new ArrayList<>());
+
+    private CaptchaStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        AtomicInteger writes = new AtomicInteger();
+        when(stringCommands.set(any(), any(), any(), any())).thenAnswer(invocation -> writes.incrementAndGet() > 0);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            writes.set(0);
+            // 模拟一次网络往返
+            Thread.sleep(20);
+            ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection);
+            pipelines.add(writes.get());
+            return Collections.emptyList();
+        });
+        store = new CaptchaStore(properties, redisTemplate);
+        store.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        store.stop();
+    }
+
+    /**
+     * 测试并发写入合并为少量管道提交，且每个请求都在写入后返回
+     */
+    @Test
+    void testGroupCommit() throws Exception {
+        int requests = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            String uuid = "uuid-" + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                store.save(uuid, "abcd");
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(requests, pipelines.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(pipelines.size() < requests, "pipelines=" + pipelines);
+    }
+
+    /**
+     * 测试 Redis 写入失败时请求线程收到异常
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWriteFailure() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new IllegalStateException("redis down"));
+        assertThrows(IllegalStateException.class, () -> store.save("uuid", "abcd"));
+    }
+
+    /**
+     * 测试校验通过脚本一次调用完成，输入转小写后比对
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testVerify() {
+        ArgumentCaptor<RedisScript<Long>> script = ArgumentCaptor.forClass(RedisScript.class);
+        when(redisTemplate.execute(script.capture(), eq(Collections.singletonList("captcha:uuid")), eq("ab1c"), eq("5")))
+                .thenReturn(2L, 1L, 0L);
+        assertEquals(CaptchaVerifyResultEnum.MISMATCH, store.verify("uuid", "AB1c"));
+        assertEquals(CaptchaVerifyResultEnum.OK, store.verify("uuid", "ab1C"));
+        assertEquals(CaptchaVerifyResultEnum.EXPIRED, store.verify("uuid", "ab1c"));
+        assertTrue(script.getValue().getScriptAsString().contains("redis.call('DEL', KEYS[1])"));
+    }
+
+    /**
+     * 测试池中的验证码只发放一次，池空时现场绘制
+     */
+    @Test
+    void testPool() throws InterruptedException {
+        properties.setPoolSize(4);
+        CaptchaPool pool = new CaptchaPool(properties);
+        pool.start();
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (pool.getStats().getAvailable() < 4 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            CaptchaImage first = pool.take();
+            CaptchaImage second = pool.take();
+            assertNotSame(first, second);
+            assertEquals(4, first.getCode().length());
+            assertTrue(first.getImageBase64().startsWith("data:image/png;base64,"));
+            assertEquals(2, pool.getStats().getServed());
+        } finally {
+            pool.stop();
+        }
+        // 停止后现场绘制
+        assertNotNull(pool.take());
+        assertEquals(1, pool.getStats().getMissed());
+    }
+}
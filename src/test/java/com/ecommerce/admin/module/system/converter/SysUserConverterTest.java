@@ -0,0 +1,71 @@
+package com.ecommerce.admin.module.system.converter;
+
+import com.ecommerce.admin.module.system.dto.SysUserDTO;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.vo.SysUserExcel;
+import com.ecommerce.admin.module.system.vo.SysUserVO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 用户对象转换器测试
+ */
+class SysUserConverterTest {
+
+    private final SysUserConverter converter = new SysUserConverterImpl();
+
+    private SysUser user() {
+        SysUser user = new SysUser();
+        user.setId(1L);
+        user.setUsername("admin");
+        user.setPassword("secret");
+        user.setRealName("管理员");
+        user.setEmail("admin@example.com");
+        user.setPhone("13800138000");
+        user.setIsActive(1);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return user;
+    }
+
+    /**
+     * 测试实体转VO不包含密码
+     */
+    @Test
+    void testToVO() {
+        SysUserVO vo = converter.toVO(user());
+        assertEquals(1L, vo.getId());
+        assertEquals("admin", vo.getUsername());
+        assertEquals("13800138000", vo.getPhone());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), vo.getCreatedAt());
+        assertNull(converter.toVO((SysUser) null));
+    }
+
+    /**
+     * 测试导出模型同时设置状态名称
+     */
+    @Test
+    void testToExcel() {
+        SysUserExcel excel = converter.toExcel(user());
+        assertEquals(1, excel.getIsActive());
+        assertEquals("启用", excel.getStatusName());
+    }
+
+    /**
+     * 测试DTO转实体
+     */
+    @Test
+    void testToEntity() {
+        SysUserDTO dto = new SysUserDTO();
+        dto.setUsername("bob");
+        dto.setPassword("123456");
+        dto.setIsActive(0);
+        SysUser user = converter.toEntity(dto);
+        assertEquals("bob", user.getUsername());
+        assertEquals("123456", user.getPassword());
+        assertEquals(0, user.getIsActive());
+        assertNull(user.getId());
+    }
+}
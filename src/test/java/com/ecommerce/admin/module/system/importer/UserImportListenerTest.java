@@ -0,0 +1,44 @@
+package com.ecommerce.admin.module.system.importer;
+
+import com.alibaba.excel.EasyExcel;
+import com.ecommerce.admin.module.system.vo.SysUserExcel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 用户导入读取监听器测试
+ */
+class UserImportListenerTest {
+
+    /**
+     * 测试按批次交付数据，行号对应 Excel 中的行（表头为第1行）
+     */
+    @Test
+    void testBatches() {
+        List<SysUserExcel> data = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            SysUserExcel row = new SysUserExcel();
+            row.setId(i);
+            row.setUsername("user" + i);
+            data.add(row);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EasyExcel.write(out, SysUserExcel.class).sheet("用户数据").doWrite(data);
+
+        List<List<UserImportRow>> batches = new ArrayList<>();
+        EasyExcel.read(new ByteArrayInputStream(out.toByteArray()), SysUserExcel.class,
+                new UserImportListener(2, batches::add)).sheet().doRead();
+
+        assertEquals(3, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(2).size());
+        assertEquals(2, batches.get(0).get(0).getRowNumber());
+        assertEquals("user5", batches.get(2).get(0).getData().getUsername());
+    }
+}
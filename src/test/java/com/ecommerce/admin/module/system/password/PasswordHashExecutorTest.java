@@ -0,0 +1,81 @@
+package com.ecommerce.admin.module.system.password;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 密码哈希线程池测试（批量执行）
+ */
+class PasswordHashExecutorTest {
+
+    private PasswordHashProperties properties;
+
+    private PasswordHashExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PasswordHashProperties();
+        properties.setThreads(4);
+        executor = new PasswordHashExecutor(properties);
+        executor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    /**
+     * 测试结果与任务顺序一致，且同时在途的任务不超过线程数的一半
+     */
+    @Test
+    void testExecuteAllKeepsOrderAndHalfThreads() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int value = i;
+            tasks.add(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                return value;
+            });
+        }
+
+        List<Integer> results = executor.executeAll(tasks);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, results.get(i));
+        }
+        assertTrue(maxRunning.get() <= 2, "批量任务最多占用一半线程: " + maxRunning.get());
+    }
+
+    /**
+     * 测试整批超过 batchTimeout 时立即失败并计入超时次数
+     */
+    @Test
+    void testExecuteAllTimeout() {
+        properties.setBatchTimeout(Duration.ofMillis(100));
+        Callable<Integer> slow = () -> {
+            Thread.sleep(80);
+            return 1;
+        };
+
+        long started = System.nanoTime();
+        assertThrows(RejectedExecutionException.class, () -> executor.executeAll(Arrays.asList(slow, slow, slow, slow)));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 300);
+        assertEquals(1, executor.getStats().getTimedOut());
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecommerce.admin.module.system.permission;
+
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 权限引擎测试
+ */
+class PermissionEngineTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ValueOperations<String, String> valueOperations;
+
+    private CacheInvalidationPublisher publisher;
+
+    private PermissionEngine engine;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(PermissionEngine.EPOCH_KEY)).thenReturn("3");
+        publisher = mock(CacheInvalidationPublisher.class);
+
+        // 菜单 1-3 有权限标识（2 与 3 相同），菜单 4 已被过滤；角色 1 启用，角色 2 禁用
+        when(jdbcTemplate.queryForList(contains("FROM sys_menus"))).thenReturn(Arrays.asList(
+                row("id", 1L, "permission", "system:user:list"),
+                row("id", 2L, "permission", "system:role:list"),
+                row("id", 3L, "permission", "system:role:list")));
+        when(jdbcTemplate.queryForList(contains("FROM sys_roles"))).thenReturn(Collections.singletonList(
+                row("id", 1L, "role_code", "admin")));
+        when(jdbcTemplate.queryForList(contains("FROM sys_role_menus"))).thenReturn(Arrays.asList(
+                row("role_id", 1L, "menu_id", 1L),
+                row("role_id", 1L, "menu_id", 4L),
+                row("role_id", 2L, "menu_id", 2L)));
+        when(jdbcTemplate.queryForList(contains("FROM sys_user_roles"), eq(Long.class), any()))
+                .thenReturn(Arrays.asList(1L, 2L));
+
+        engine = new PermissionEngine(new PermissionProperties(), jdbcTemplate, redisTemplate, publisher);
+    }
+
+    private static Map<String, Object> row(String k1, Object v1, String k2, Object v2) {
+        Map<String, Object> row = new HashMap<>();
+        row.put(k1, v1);
+        row.put(k2, v2);
+        return row;
+    }
+
+    /**
+     * 测试角色位图合并：禁用角色与未知菜单不参与，相同权限标识共用一个序号
+     */
+    @Test
+    void testUserPermissionsFromDatabase() {
+        UserPermissions permissions = engine.getUserPermissions(10L);
+        assertTrue(permissions.has("system:user:list"));
+        assertFalse(permissions.has("system:role:list"));
+        assertFalse(permissions.has("unknown"));
+        assertEquals(Collections.singletonList("system:user:list"), new ArrayList<>(permissions));
+        assertEquals(Collections.singletonList("admin"), permissions.getRoleCodes());
+        assertEquals(2, engine.getStats().getPermissionCount());
+        assertEquals(3, engine.getStats().getEpoch());
+
+        // 写入 Redis（键含代数），第二次读取命中本地缓存
+        verify(valueOperations).set(eq("perm:user:3:10"), eq("1,2|AAAAAAAAAAE="), any(Duration.class));
+        assertSame(permissions, engine.getUserPermissions(10L));
+        verify(jdbcTemplate, times(1)).queryForList(contains("FROM sys_user_roles"), eq(Long.class), any());
+        assertEquals(1, engine.getStats().getLocalHits());
+    }
+
+    /**
+     * 测试本地未命中时从 Redis 解码，不查询用户角色
+     */
+    @Test
+    void testUserPermissionsFromRedis() {
+        when(valueOperations.get("perm:user:3:10")).thenReturn("1|AAAAAAAAAAM=");
+        UserPermissions permissions = engine.getUserPermissions(10L);
+        assertTrue(permissions.has("system:user:list"));
+        assertTrue(permissions.has("system:role:list"));
+        assertEquals(1, engine.getStats().getRedisHits());
+        verify(jdbcTemplate, never()).queryForList(contains("FROM sys_user_roles"), eq(Long.class), any());
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    /**
+     * 测试全量失效递增代数并广播，之后重建快照；用户失效只删除对应键
+     */
+    @Test
+    void testInvalidation() {
+        engine.getUserPermissions(10L);
+        engine.invalidateUsers(Collections.singletonList(10L));
+        verify(publisher).publish(PermissionEngine.CACHE_NAME, Collections.singletonList("10"));
+        engine.getUserPermissions(10L);
+        verify(jdbcTemplate, times(2)).queryForList(contains("FROM sys_user_roles"), eq(Long.class), any());
+        assertEquals(1, engine.getStats().getSnapshotLoads());
+
+        engine.invalidateAll();
+        verify(valueOperations).increment(PermissionEngine.EPOCH_KEY);
+        verify(publisher).publish(PermissionEngine.CACHE_NAME, null);
+        assertEquals(0, engine.getStats().getPermissionCount());
+        engine.getUserPermissions(10L);
+        assertEquals(2, engine.getStats().getSnapshotLoads());
+    }
+
+    /**
+     * 测试 StpLogic 对位图列表走位测试，含通配符时按 Sa-Token 规则匹配
+     */
+    @Test
+    void testStpLogicHasElement() {
+        PermissionStpLogic stpLogic = new PermissionStpLogic("login");
+        UserPermissions permissions = engine.getUserPermissions(10L);
+        assertTrue(stpLogic.hasElement(permissions, "system:user:list"));
+        assertFalse(stpLogic.hasElement(permissions, "system:role:list"));
+
+        Map<Long, String> menus = new LinkedHashMap<>();
+        menus.put(1L, "system:*");
+        PermissionSnapshot snapshot = PermissionSnapshot.build(menus, Collections.singletonMap(1L, "admin"),
+                Collections.singletonList(new long[]{1L, 1L}), 0L);
+        UserPermissions wildcard = new UserPermissions(snapshot, Collections.singletonList(1L),
+                snapshot.bitsOf(Collections.singletonList(1L)));
+        assertTrue(wildcard.hasWildcard());
+        assertTrue(stpLogic.hasElement(wildcard, "system:user:list"));
+        assertFalse(stpLogic.hasElement(wildcard, "order:list"));
+    }
+
+    /**
+     * 测试位图编码往返，超过 64 个权限时跨多个字
+     */
+    @Test
+    void testEncodeDecode() {
+        Map<Long, String> menus = new LinkedHashMap<>();
+        List<long[]> roleMenus = new ArrayList<>();
+        for (long i = 1; i <= 130; i++) {
+            menus.put(i, "perm:" + i);
+            if (i % 64 == 0 || i == 130) {
+                roleMenus.add(new long[]{1L, i});
+            }
+        }
+        PermissionSnapshot snapshot = PermissionSnapshot.build(menus, Collections.singletonMap(1L, "admin"), roleMenus, 0L);
+        UserPermissions permissions = new UserPermissions(snapshot, Collections.singletonList(1L),
+                snapshot.bitsOf(Collections.singletonList(1L)));
+        assertEquals(Arrays.asList("perm:64", "perm:128", "perm:130"), new ArrayList<>(permissions));
+
+        UserPermissions decoded = PermissionEngine.decode(snapshot, PermissionEngine.encode(permissions));
+        assertNotNull(decoded);
+        assertEquals(new ArrayList<>(permissions), new ArrayList<>(decoded));
+        assertEquals(Collections.singletonList(1L), decoded.getRoleIds());
+        assertNull(PermissionEngine.decode(snapshot, "1|AAAAAAAAAAE="));
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.admin.module.system.ratelimit;
+
+import com.ecommerce.admin.module.system.enums.business.LoginRateLimitResultEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 登录限流测试
+ */
+class LoginRateLimiterTest {
+
+    private final LoginRateLimitProperties properties = new LoginRateLimitProperties();
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+
+    @BeforeEach
+    void setUp() {
+        properties.setLocalRate(0.001);
+        properties.setLocalBurst(3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redisReturns(Long code) {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any(), any())).thenReturn(code);
+    }
+
+    /**
+     * 测试本机令牌桶耗尽后直接拒绝，不再访问 Redis；不同 IP 互不影响
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLocalBucketRejectsWithoutRedis() {
+        redisReturns(0L);
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, stringRedisTemplate);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(LoginRateLimitResultEnum.ALLOWED, limiter.tryAcquire("10.0.0.1", "admin"));
+        }
+        assertEquals(LoginRateLimitResultEnum.LOCAL_LIMITED, limiter.tryAcquire("10.0.0.1", "admin"));
+        assertEquals(LoginRateLimitResultEnum.ALLOWED, limiter.tryAcquire("10.0.0.2", "admin"));
+        verify(stringRedisTemplate, times(4)).execute(any(RedisScript.class), anyList(), any(), any(), any(), any(), any());
+
+        LoginRateLimiter.LimiterStats stats = limiter.getStats();
+        assertEquals(4, stats.getAllowed());
+        assertEquals(1, stats.getLocalRejected());
+        assertEquals(2, stats.getTrackedIps());
+    }
+
+    /**
+     * 测试脚本结果映射与键（用户名忽略大小写与首尾空格）
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRedisSlidingWindowResult() {
+        redisReturns(2L);
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, stringRedisTemplate);
+        assertEquals(LoginRateLimitResultEnum.USERNAME_LIMITED, limiter.tryAcquire("10.0.0.1", " Admin "));
+        verify(stringRedisTemplate).execute(any(RedisScript.class),
+                eq(Arrays.asList("login:rate:ip:10.0.0.1", "login:rate:user:admin")),
+                any(), eq("60000"), eq("30"), eq("10"), any());
+
+        redisReturns(1L);
+        assertEquals(LoginRateLimitResultEnum.IP_LIMITED, limiter.tryAcquire("10.0.0.1", "other"));
+        assertEquals(1, limiter.getStats().getUsernameRejected());
+        assertEquals(1, limiter.getStats().getIpRejected());
+    }
+
+    /**
+     * 测试 Redis 不可用时按 failOpen 放行或拒绝
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRedisFailure() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, stringRedisTemplate);
+        assertEquals(LoginRateLimitResultEnum.ALLOWED, limiter.tryAcquire("10.0.0.1", "admin"));
+
+        properties.setFailOpen(false);
+        assertEquals(LoginRateLimitResultEnum.IP_LIMITED, limiter.tryAcquire("10.0.0.1", "admin"));
+        assertEquals(2, limiter.getStats().getRedisErrors());
+    }
+
+    /**
+     * 测试仅在配置信任时才使用 X-Forwarded-For
+     */
+    @Test
+    void testResolveClientIp() {
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, stringRedisTemplate);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("192.168.1.10");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 192.168.1.1");
+        assertEquals("192.168.1.10", limiter.resolveClientIp(request));
+
+        properties.setTrustForwardedFor(true);
+        assertEquals("1.2.3.4", limiter.resolveClientIp(request));
+    }
+}
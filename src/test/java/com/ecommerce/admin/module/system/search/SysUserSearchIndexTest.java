@@ -0,0 +1,101 @@
+package com.ecommerce.admin.module.system.search;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.ecommerce.admin.common.config.redis.cache.CacheInvalidationPublisher;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.mapper.SysUserMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户搜索索引测试
+ */
+class SysUserSearchIndexTest {
+
+    private SysUserMapper sysUserMapper;
+
+    private SysUserSearchIndex index;
+
+    private SysUser user(long id, String username, String realName, String email, String phone) {
+        SysUser user = new SysUser();
+        user.setId(id);
+        user.setUsername(username);
+        user.setRealName(realName);
+        user.setEmail(email);
+        user.setPhone(phone);
+        return user;
+    }
+
+    @BeforeAll
+    static void initTableInfo() {
+        // 构造 Lambda 查询条件需要实体表信息
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), SysUser.class);
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        sysUserMapper = mock(SysUserMapper.class);
+        when(sysUserMapper.selectList(any())).thenReturn(Arrays.asList(
+                user(1L, "admin", "超级管理员", "admin@ecommerce.com", "13800138000"),
+                user(2L, "zhangsan", "张三", "zhangsan@ecommerce.com", "13800138001"),
+                user(3L, "lisi", "李四", "lisi@shop.com", "13900139002")));
+        index = new SysUserSearchIndex(new UserSearchProperties(), sysUserMapper, mock(CacheInvalidationPublisher.class));
+        index.start();
+        for (int i = 0; i < 100 && !index.isReady(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(index.isReady(), "索引应在启动后构建完成");
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.stop();
+    }
+
+    private List<Integer> ids(List<SysUserSearchIndex.Entry> hits) {
+        return hits.stream().map(SysUserSearchIndex.Entry::getId).sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * 测试子串搜索与范围限定
+     */
+    @Test
+    void testSearch() {
+        assertEquals(Arrays.asList(1, 2), ids(index.search("ECOMMERCE", SysUserSearchIndex.Scope.ALL)));
+        assertEquals(Arrays.asList(1, 2), ids(index.search("1380013800", SysUserSearchIndex.Scope.ALL)));
+        assertEquals(Collections.singletonList(2), ids(index.search("张三", SysUserSearchIndex.Scope.ALL)));
+        assertEquals(Collections.singletonList(2), ids(index.search("san", SysUserSearchIndex.Scope.USERNAME)));
+        assertTrue(index.search("shop", SysUserSearchIndex.Scope.USERNAME).isEmpty(), "仅用户名范围不应匹配邮箱");
+        // 包含全部二元组但不是子串
+        assertTrue(index.search("adminad", SysUserSearchIndex.Scope.ALL).isEmpty());
+        // 单字符退化为扫描
+        assertEquals(Arrays.asList(1, 2), ids(index.search("n", SysUserSearchIndex.Scope.USERNAME)));
+    }
+
+    /**
+     * 测试增量刷新：改名与删除
+     */
+    @Test
+    void testRefresh() {
+        when(sysUserMapper.selectList(any())).thenReturn(
+                Collections.singletonList(user(2L, "wangwu", "王五", "wangwu@ecommerce.com", "13800138001")));
+        index.refresh(Arrays.asList(2L, 3L));
+
+        assertTrue(index.search("zhang", SysUserSearchIndex.Scope.ALL).isEmpty());
+        assertEquals(Collections.singletonList(2), ids(index.search("wangwu", SysUserSearchIndex.Scope.ALL)));
+        assertTrue(index.search("lisi", SysUserSearchIndex.Scope.ALL).isEmpty(), "已删除用户应移出索引");
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import cn.hutool.crypto.digest.BCrypt;
+import com.ecommerce.admin.common.exception.BusinessException;
+import com.ecommerce.admin.common.util.EncryptUtils;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.password.PasswordHashExecutor;
+import com.ecommerce.admin.module.system.password.PasswordHasher;
+import com.ecommerce.admin.module.system.password.PasswordHashProperties;
+import com.ecommerce.admin.module.system.service.SysUserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 密码校验测试
+ */
+class PasswordServiceImplTest {
+
+    private final PasswordHashProperties properties = new PasswordHashProperties();
+
+    private final SysUserService sysUserService = mock(SysUserService.class);
+
+    private PasswordHashExecutor executor;
+
+    private PasswordServiceImpl passwordService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setBcryptCost(5);
+        executor = new PasswordHashExecutor(properties);
+        executor.start();
+        passwordService = new PasswordServiceImpl();
+        ReflectionTestUtils.setField(passwordService, "properties", properties);
+        ReflectionTestUtils.setField(passwordService, "passwordHashExecutor", executor);
+        ReflectionTestUtils.setField(passwordService, "passwordHasher", new PasswordHasher(properties));
+        ReflectionTestUtils.setField(passwordService, "sysUserService", sysUserService);
+        when(sysUserService.upgradePasswordHash(any(), anyString(), anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    private SysUser user(String password) {
+        SysUser user = new SysUser();
+        user.setId(1L);
+        user.setPassword(password);
+        return user;
+    }
+
+    /**
+     * 测试 BCrypt 校验，工作因子不低于配置值时不升级
+     */
+    @Test
+    void testVerifyBcrypt() {
+        SysUser user = user(BCrypt.hashpw("123456", BCrypt.gensalt(5)));
+        assertTrue(passwordService.verifyLogin(user, "123456"));
+        assertFalse(passwordService.verifyLogin(user, "654321"));
+        assertEquals(2, executor.getStats().getCompleted());
+        verify(sysUserService, never()).upgradePasswordHash(any(), anyString(), anyString());
+    }
+
+    /**
+     * 测试缓存中取出的用户不含密码时从主库读取哈希
+     */
+    @Test
+    void testVerifyLoadsHashForCachedUser() {
+        when(sysUserService.getPasswordHash(1L)).thenReturn(BCrypt.hashpw("123456", BCrypt.gensalt(5)));
+
+        assertTrue(passwordService.verifyLogin(user(null), "123456"));
+        verify(sysUserService).getPasswordHash(1L);
+    }
+
+    /**
+     * 测试明文与低工作因子的旧密码登录成功后升级为当前哈希，失败时不升级
+     */
+    @Test
+    void testRehashOnLogin() {
+        assertFalse(passwordService.verifyLogin(user("123456"), "12345"));
+        assertTrue(passwordService.verifyLogin(user("123456"), "123456"));
+        verify(sysUserService, timeout(5000)).upgradePasswordHash(any(), eq("123456"),
+                argThat(hash -> hash.startsWith("$2a$05$") && BCrypt.checkpw("123456", hash)));
+
+        String legacy = BCrypt.hashpw("123456", BCrypt.gensalt(4));
+        assertTrue(passwordService.needsRehash(legacy));
+        assertTrue(passwordService.verifyLogin(user(legacy), "123456"));
+        verify(sysUserService, timeout(5000)).upgradePasswordHash(any(), eq(legacy), anyString());
+    }
+
+    /**
+     * 测试目标算法为 PBKDF2 时，PBKDF2 哈希在线程池中校验，迭代次数不足的哈希与 BCrypt 哈希升级为当前迭代次数
+     */
+    @Test
+    void testPbkdf2Target() {
+        properties.setAlgorithm("pbkdf2-sha256");
+        properties.setPbkdf2Iterations(2000);
+        executor.stop();
+        executor = new PasswordHashExecutor(properties);
+        executor.start();
+        ReflectionTestUtils.setField(passwordService, "passwordHashExecutor", executor);
+        PasswordHasher passwordHasher = new PasswordHasher(properties);
+        ReflectionTestUtils.setField(passwordService, "passwordHasher", passwordHasher);
+
+        // 按配置的迭代次数生成，不依赖全局状态
+        String current = passwordHasher.hash("123456");
+        assertTrue(current.startsWith("pbkdf2-sha256:2000:"));
+        assertTrue(passwordService.verifyLogin(user(current), "123456"));
+        assertFalse(passwordService.verifyLogin(user(current), "654321"));
+        assertEquals(2, executor.getStats().getCompleted());
+        verify(sysUserService, never()).upgradePasswordHash(any(), anyString(), anyString());
+
+        String weak = EncryptUtils.encryptPassword("123456", EncryptUtils.Pbkdf2Algorithm.SHA256, 1000);
+        assertTrue(passwordService.needsRehash(weak));
+        assertTrue(passwordService.needsRehash(BCrypt.hashpw("123456", BCrypt.gensalt(5))));
+        assertTrue(passwordService.verifyLogin(user(weak), "123456"));
+        verify(sysUserService, timeout(5000)).upgradePasswordHash(any(), eq(weak),
+                argThat(hash -> hash.startsWith("pbkdf2-sha256:2000:") && EncryptUtils.verifyPassword("123456", hash)));
+    }
+
+    /**
+     * 测试哈希线程与队列都被占满时立即拒绝
+     */
+    @Test
+    void testRejectWhenSaturated() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.submit(() -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        running.await();
+        executor.submit(() -> null);
+        try {
+            SysUser user = user(BCrypt.hashpw("123456", BCrypt.gensalt(5)));
+            assertThrows(BusinessException.class, () -> passwordService.verifyLogin(user, "123456"));
+            assertEquals(1, executor.getStats().getRejected());
+        } finally {
+            release.countDown();
+        }
+    }
+}
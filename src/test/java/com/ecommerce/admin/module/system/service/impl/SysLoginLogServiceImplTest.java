@@ -0,0 +1,105 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import com.ecommerce.admin.common.exception.BusinessException;
+import com.ecommerce.admin.module.system.audit.LoginLogProperties;
+import com.ecommerce.admin.module.system.audit.LoginLogRecord;
+import com.ecommerce.admin.module.system.audit.LoginLogWriter;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.ratelimit.LoginRateLimitProperties;
+import com.ecommerce.admin.module.system.ratelimit.LoginRateLimiter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 登录日志测试
+ */
+class SysLoginLogServiceImplTest {
+
+    private final LoginLogProperties properties = new LoginLogProperties();
+
+    private final LoginLogWriter loginLogWriter = mock(LoginLogWriter.class);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private SysLoginLogServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setPurgeChunkSize(100);
+        service = new SysLoginLogServiceImpl();
+        ReflectionTestUtils.setField(service, "properties", properties);
+        ReflectionTestUtils.setField(service, "loginLogWriter", loginLogWriter);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "loginRateLimiter",
+                new LoginRateLimiter(new LoginRateLimitProperties(), mock(StringRedisTemplate.class)));
+    }
+
+    /**
+     * 测试登录记录只入队，不直接写库
+     */
+    @Test
+    void testRecordLoginOffersToWriter() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("User-Agent", "JUnit");
+        // 未配置信任代理时忽略伪造的转发头
+        request.addHeader("X-Forwarded-For", "1.2.3.4");
+        SysUser user = new SysUser();
+        user.setId(7L);
+
+        service.recordLogin(request, "zhangsan", user, "密码错误");
+
+        ArgumentCaptor<LoginLogRecord> captor = ArgumentCaptor.forClass(LoginLogRecord.class);
+        verify(loginLogWriter).offer(captor.capture());
+        LoginLogRecord record = captor.getValue();
+        assertEquals(7L, record.getUserId());
+        assertEquals("zhangsan", record.getUsername());
+        assertEquals("10.0.0.1", record.getIp());
+        assertEquals("JUnit", record.getUserAgent());
+        assertFalse(record.isSuccess());
+        assertEquals("密码错误", record.getErrorMsg());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * 测试按块删除直到某块不满
+     */
+    @Test
+    void testPurgeInChunks() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 2, 1, 0, 0);
+        when(jdbcTemplate.update(anyString(), any(), any(), any())).thenReturn(100, 100, 42);
+
+        assertEquals(242, service.purge(start, end));
+        verify(jdbcTemplate, times(3)).update(contains("login_time >= ? AND login_time < ? LIMIT ?"),
+                eq(Timestamp.valueOf(start)), eq(Timestamp.valueOf(end)), eq(100));
+    }
+
+    /**
+     * 测试不限开始时间与参数校验
+     */
+    @Test
+    void testPurgeWithoutStart() {
+        LocalDateTime end = LocalDateTime.of(2024, 2, 1, 0, 0);
+        when(jdbcTemplate.update(anyString(), any(), any())).thenReturn(0);
+        assertEquals(0, service.purge(null, end));
+        verify(jdbcTemplate).update(contains("login_time < ? LIMIT ?"), eq(Timestamp.valueOf(end)), eq(100));
+
+        assertThrows(BusinessException.class, () -> service.purge(null, null));
+        assertThrows(BusinessException.class, () -> service.purge(end, end));
+    }
+}
@@ -0,0 +1,137 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.exception.BusinessException;
+import com.ecommerce.admin.module.file.entity.SysFileDetail;
+import com.ecommerce.admin.module.file.mapper.SysFileDetailMapper;
+import com.ecommerce.admin.module.system.enums.business.JobStatusEnum;
+import com.ecommerce.admin.module.system.exporter.UserExportProperties;
+import com.ecommerce.admin.module.system.vo.UserExportJobVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.dromara.x.file.storage.core.Downloader;
+import org.dromara.x.file.storage.core.FileInfo;
+import org.dromara.x.file.storage.core.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户异步导出测试（下载令牌、属主校验与过期清理）
+ */
+class SysUserExportServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ValueOperations<String, String> valueOperations;
+
+    private FileStorageService fileStorageService;
+
+    private SysFileDetailMapper sysFileDetailMapper;
+
+    private SysUserExportServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        fileStorageService = mock(FileStorageService.class);
+        sysFileDetailMapper = mock(SysFileDetailMapper.class);
+        service = new SysUserExportServiceImpl();
+        ReflectionTestUtils.setField(service, "properties", new UserExportProperties());
+        ReflectionTestUtils.setField(service, "stringRedisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "fileStorageService", fileStorageService);
+        ReflectionTestUtils.setField(service, "sysFileDetailMapper", sysFileDetailMapper);
+
+        UserExportJobVO job = new UserExportJobVO();
+        job.setJobId("job1");
+        job.setLoginId("1");
+        job.setFileName("用户数据.xlsx");
+        job.setStatus(JobStatusEnum.COMPLETED.getCode());
+        when(valueOperations.get("export:user:job:job1")).thenReturn(objectMapper.writeValueAsString(job));
+    }
+
+    private SysFileDetail detail(String jobId) {
+        SysFileDetail detail = new SysFileDetail();
+        detail.setUrl("export/user/" + jobId + ".xlsx");
+        detail.setPlatform("export-private");
+        detail.setPath("export/user/");
+        detail.setFilename(jobId + ".xlsx");
+        detail.setSize(4L);
+        return detail;
+    }
+
+    /**
+     * 测试只能为本人的任务生成下载令牌
+     */
+    @Test
+    void testDownloadTokenChecksOwner() {
+        String token = service.createDownloadToken("job1", "1");
+
+        verify(valueOperations).set(eq("export:user:download:" + token), eq("job1"), eq(Duration.ofMinutes(5)));
+        BusinessException e = assertThrows(BusinessException.class, () -> service.createDownloadToken("job1", "2"));
+        assertEquals(ResponseEnum.NOT_FOUND.getCode(), e.getCode());
+    }
+
+    /**
+     * 测试文件从存储平台读取（任一节点都可下载），他人拿到令牌也无法下载
+     */
+    @Test
+    void testDownloadReadsFromStorageAndChecksOwner() throws Exception {
+        when(valueOperations.get("export:user:download:t1")).thenReturn("job1");
+        when(sysFileDetailMapper.selectOne(any())).thenReturn(detail("job1"));
+        Downloader downloader = mock(Downloader.class);
+        when(fileStorageService.download(any(FileInfo.class))).thenReturn(downloader);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.download("t1", "1", response);
+        ArgumentCaptor<FileInfo> captor = ArgumentCaptor.forClass(FileInfo.class);
+        verify(fileStorageService).download(captor.capture());
+        assertEquals("export-private", captor.getValue().getPlatform());
+        assertEquals("job1.xlsx", captor.getValue().getFilename());
+        verify(downloader).outputStream(response.getOutputStream());
+        assertTrue(response.getHeader("Content-disposition").startsWith("attachment;"));
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> service.download("t1", "2", new MockHttpServletResponse()));
+        assertEquals(ResponseEnum.NOT_FOUND.getCode(), e.getCode());
+    }
+
+    /**
+     * 测试过期令牌无法下载
+     */
+    @Test
+    void testExpiredTokenRejected() {
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> service.download("expired", "1", new MockHttpServletResponse()));
+        assertEquals(ResponseEnum.NOT_FOUND.getCode(), e.getCode());
+        verifyNoInteractions(fileStorageService);
+    }
+
+    /**
+     * 测试定时清理删除过期文件及记录，单个失败不影响其余
+     */
+    @Test
+    void testPurgeExpiredFiles() {
+        when(sysFileDetailMapper.selectList(any())).thenReturn(Arrays.asList(detail("old1"), detail("old2")));
+        when(fileStorageService.delete(any(FileInfo.class))).thenReturn(false, true);
+
+        service.purgeExpiredFiles();
+
+        verify(fileStorageService, times(2)).delete(any(FileInfo.class));
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.common.exception.BusinessException;
+import com.ecommerce.admin.module.system.vo.UserImportJobVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户导入测试（任务提交与查询）
+ */
+class SysUserImportServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ValueOperations<String, String> valueOperations;
+
+    private SysUserImportServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        service = new SysUserImportServiceImpl();
+        ReflectionTestUtils.setField(service, "stringRedisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+    }
+
+    /**
+     * 测试只能查询本人发起的导入任务
+     */
+    @Test
+    void testGetImportJobChecksOwner() throws Exception {
+        UserImportJobVO job = new UserImportJobVO();
+        job.setJobId("job1");
+        job.setLoginId("1");
+        when(valueOperations.get("import:user:job:job1")).thenReturn(objectMapper.writeValueAsString(job));
+
+        assertEquals("job1", service.getImportJob("job1", "1").getJobId());
+        BusinessException e = assertThrows(BusinessException.class, () -> service.getImportJob("job1", "2"));
+        assertEquals(ResponseEnum.NOT_FOUND.getCode(), e.getCode());
+    }
+
+    /**
+     * 测试弱初始密码直接拒绝，不创建任务
+     */
+    @Test
+    void testWeakInitialPasswordRejected() {
+        MockMultipartFile file = new MockMultipartFile("excel", "users.xlsx", null, new byte[0]);
+
+        BusinessException e = assertThrows(BusinessException.class, () -> service.submitImport(file, "123456", "1"));
+        assertEquals(ResponseEnum.PARAM_ERROR.getCode(), e.getCode());
+        verifyNoInteractions(valueOperations);
+    }
+}
@@ -0,0 +1,178 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import cn.hutool.crypto.digest.BCrypt;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.ecommerce.admin.common.enums.response.ResponseEnum;
+import com.ecommerce.admin.module.system.cache.SysUserCache;
+import com.ecommerce.admin.module.system.converter.SysUserConverterImpl;
+import com.ecommerce.admin.module.system.dto.SysUserDTO;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.enums.response.SystemResponseEnum;
+import com.ecommerce.admin.module.system.mapper.SysUserMapper;
+import com.ecommerce.admin.module.system.password.PasswordHashExecutor;
+import com.ecommerce.admin.module.system.password.PasswordHashProperties;
+import com.ecommerce.admin.module.system.password.PasswordHasher;
+import com.ecommerce.admin.module.system.search.SysUserSearchIndex;
+import com.ecommerce.admin.module.system.vo.UserBatchItemVO;
+import com.ecommerce.admin.common.exception.BusinessException;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.validation.Validation;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户批量操作测试
+ */
+class SysUserServiceImplBatchTest {
+
+    private SysUserMapper sysUserMapper;
+
+    private SysUserServiceImpl service;
+
+    private PasswordHashProperties passwordHashProperties;
+
+    private PasswordHashExecutor passwordHashExecutor;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // 逻辑删除需要实体表信息
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), SysUser.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        sysUserMapper = mock(SysUserMapper.class);
+        service = new SysUserServiceImpl();
+        ReflectionTestUtils.setField(service, "baseMapper", sysUserMapper);
+        ReflectionTestUtils.setField(service, "sysUserConverter", new SysUserConverterImpl());
+        ReflectionTestUtils.setField(service, "sysUserCache", mock(SysUserCache.class));
+        ReflectionTestUtils.setField(service, "sysUserSearchIndex", mock(SysUserSearchIndex.class));
+        ReflectionTestUtils.setField(service, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        passwordHashProperties = new PasswordHashProperties();
+        passwordHashProperties.setBcryptCost(4);
+        passwordHashProperties.setThreads(2);
+        ReflectionTestUtils.setField(service, "passwordHasher", new PasswordHasher(passwordHashProperties));
+        passwordHashExecutor = new PasswordHashExecutor(passwordHashProperties);
+        passwordHashExecutor.start();
+        ReflectionTestUtils.setField(service, "passwordHashExecutor", passwordHashExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashExecutor.stop();
+    }
+
+    private SysUserDTO dto(String username, String email, String phone) {
+        SysUserDTO dto = new SysUserDTO();
+        dto.setUsername(username);
+        dto.setPassword("123456");
+        dto.setRealName("测试用户");
+        dto.setEmail(email);
+        dto.setPhone(phone);
+        return dto;
+    }
+
+    /**
+     * 测试逐项结果：格式错误、批次内重复、库中已存在的项失败，其余一次插入
+     */
+    @Test
+    void testBatchCreate() {
+        SysUser existing = new SysUser();
+        existing.setId(9L);
+        existing.setUsername("Taken");
+        when(sysUserMapper.selectByUniqueValues(anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(Collections.singletonList(existing));
+
+        List<UserBatchItemVO> results = service.batchCreateUsers(Arrays.asList(
+                dto("alice", "alice@example.com", "13800000001"),
+                dto("bob", "not-an-email", "13800000002"),
+                dto("ALICE", "alice2@example.com", "13800000003"),
+                dto("taken", "taken@example.com", "13800000004")));
+
+        assertTrue(results.get(0).getSuccess());
+        assertEquals(ResponseEnum.PARAM_ERROR.getCode(), results.get(1).getCode());
+        assertEquals(SystemResponseEnum.USERNAME_EXIST.getCode(), results.get(2).getCode());
+        assertTrue(results.get(2).getMessage().startsWith("批次内"));
+        assertEquals(SystemResponseEnum.USERNAME_EXIST.getMessage(), results.get(3).getMessage());
+        verify(sysUserMapper, times(1)).insertBatch(argThat(list -> list.size() == 1));
+        verify(sysUserMapper, times(1)).selectByUniqueValues(anyCollection(), anyCollection(), anyCollection());
+    }
+
+    /**
+     * 测试批量创建的密码按配置算法哈希后入库，不保存明文
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchCreateHashesPasswords() {
+        when(sysUserMapper.selectByUniqueValues(anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(Collections.emptyList());
+
+        service.batchCreateUsers(Arrays.asList(
+                dto("alice", "alice@example.com", "13800000001"),
+                dto("bob", "bob@example.com", "13800000002")));
+
+        ArgumentCaptor<List<SysUser>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sysUserMapper).insertBatch(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        for (SysUser user : captor.getValue()) {
+            assertNotEquals("123456", user.getPassword());
+            assertTrue(BCrypt.checkpw("123456", user.getPassword()));
+            assertTrue(user.getPassword().startsWith("$2a$04$"), "应使用配置的工作因子");
+        }
+    }
+
+    /**
+     * 测试批量哈希超过 batchTimeout 时整批失败，不占住请求线程也不写入
+     */
+    @Test
+    void testBatchCreateHashTimeout() {
+        when(sysUserMapper.selectByUniqueValues(anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(Collections.emptyList());
+        // 工作因子 14 单个哈希约 1 秒，远超 50ms 的批量时限
+        passwordHashProperties.setBcryptCost(14);
+        passwordHashProperties.setBatchTimeout(Duration.ofMillis(50));
+
+        long started = System.nanoTime();
+        BusinessException e = assertThrows(BusinessException.class, () -> service.batchCreateUsers(Arrays.asList(
+                dto("alice", "alice@example.com", "13800000001"),
+                dto("bob", "bob@example.com", "13800000002"))));
+        assertEquals(ResponseEnum.SERVICE_BUSY.getCode(), e.getCode());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 900, "应在时限到达后立即返回");
+        verify(sysUserMapper, never()).insertBatch(any());
+        assertEquals(1, passwordHashExecutor.getStats().getTimedOut());
+    }
+
+    /**
+     * 测试批量删除只执行一次逻辑删除，不存在的ID单独报告
+     */
+    @Test
+    void testBatchDelete() {
+        SysUser user = new SysUser();
+        user.setId(1L);
+        user.setUsername("alice");
+        when(sysUserMapper.selectBatchIds(anyCollection())).thenReturn(Collections.singletonList(user));
+
+        List<UserBatchItemVO> results = service.batchDeleteUsers(Arrays.asList(1L, 2L));
+
+        assertTrue(results.get(0).getSuccess());
+        assertFalse(results.get(1).getSuccess());
+        assertEquals(SystemResponseEnum.USER_NOT_EXIST.getCode(), results.get(1).getCode());
+        verify(sysUserMapper, times(1)).deleteBatchIds(argThat(ids -> ids.size() == 1));
+        verify(sysUserMapper, never()).deleteById(any(SysUser.class));
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.ecommerce.admin.module.system.converter.SysUserConverterImpl;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.mapper.SysUserMapper;
+import com.ecommerce.admin.module.system.search.SysUserSearchIndex;
+import com.ecommerce.admin.module.system.vo.SysUserVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户分页查询测试（搜索索引分支）
+ */
+class SysUserServiceImplPageTest {
+
+    private SysUserMapper sysUserMapper;
+
+    private SysUserSearchIndex sysUserSearchIndex;
+
+    private SysUserServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sysUserMapper = mock(SysUserMapper.class);
+        sysUserSearchIndex = mock(SysUserSearchIndex.class);
+        service = new SysUserServiceImpl();
+        ReflectionTestUtils.setField(service, "baseMapper", sysUserMapper);
+        ReflectionTestUtils.setField(service, "sysUserConverter", new SysUserConverterImpl());
+        ReflectionTestUtils.setField(service, "sysUserSearchIndex", sysUserSearchIndex);
+
+        List<SysUserSearchIndex.Entry> hits = new ArrayList<>();
+        for (int i = 1; i <= 1500; i++) {
+            SysUserSearchIndex.Entry entry = mock(SysUserSearchIndex.Entry.class);
+            when(entry.getId()).thenReturn(i);
+            hits.add(entry);
+        }
+        when(sysUserSearchIndex.search(eq("user"), any())).thenReturn(hits);
+        when(sysUserMapper.selectBatchIds(anyCollection())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream().map(id -> {
+                    SysUser user = new SysUser();
+                    user.setId(id);
+                    return user;
+                }).collect(Collectors.toList()));
+    }
+
+    /**
+     * 测试非法页码与每页大小被修正，不抛出越界异常
+     */
+    @Test
+    void testInvalidPageClamped() {
+        IPage<SysUserVO> first = service.getUserPage(0, 10, null, "user", "exact");
+        assertEquals(1, first.getCurrent());
+        assertEquals(10, first.getRecords().size());
+        assertEquals(1L, first.getRecords().get(0).getId());
+
+        IPage<SysUserVO> negativeSize = service.getUserPage(1, -5, null, "user", "exact");
+        assertEquals(1, negativeSize.getRecords().size());
+    }
+
+    /**
+     * 测试每页大小不超过 1000
+     */
+    @Test
+    void testPageSizeCapped() {
+        IPage<SysUserVO> page = service.getUserPage(1, 100000, null, "user", "exact");
+
+        assertEquals(1000, page.getSize());
+        assertEquals(1000, page.getRecords().size());
+        assertEquals(1500, page.getTotal());
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecommerce.admin.module.system.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.ecommerce.admin.common.config.datasource.DataSourceContextHolder;
+import com.ecommerce.admin.common.config.datasource.ReadWriteDataSourceConfig;
+import com.ecommerce.admin.module.system.cache.SysUserCache;
+import com.ecommerce.admin.module.system.converter.SysUserConverterImpl;
+import com.ecommerce.admin.module.system.dto.SysUserDTO;
+import com.ecommerce.admin.module.system.entity.SysUser;
+import com.ecommerce.admin.module.system.mapper.SysUserMapper;
+import com.ecommerce.admin.module.system.password.PasswordHashProperties;
+import com.ecommerce.admin.module.system.password.PasswordHasher;
+import com.ecommerce.admin.module.system.search.SysUserSearchIndex;
+import com.ecommerce.admin.module.system.service.SysUserService;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户写操作读写分离路由测试
+ * 写前校验（存在性、唯一性）必须在主库执行，否则刚创建的用户在从库复制完成前会被判定为不存在
+ */
+class SysUserServiceImplRoutingTest {
+
+    private SysUserMapper sysUserMapper;
+
+    private SysUserService proxy;
+
+    /**
+     * 每次查询执行时是否处于强制主库范围
+     */
+    private final List<Boolean> primaryForced = new ArrayList<>();
+
+    @BeforeAll
+    static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), SysUser.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        sysUserMapper = mock(SysUserMapper.class);
+        SysUserServiceImpl service = new SysUserServiceImpl();
+        ReflectionTestUtils.setField(service, "baseMapper", sysUserMapper);
+        ReflectionTestUtils.setField(service, "sysUserConverter", new SysUserConverterImpl());
+        ReflectionTestUtils.setField(service, "sysUserCache", mock(SysUserCache.class));
+        ReflectionTestUtils.setField(service, "sysUserSearchIndex", mock(SysUserSearchIndex.class));
+        ReflectionTestUtils.setField(service, "passwordHasher", new PasswordHasher(new PasswordHashProperties()));
+
+        // 与运行时相同的 @ForcePrimary 切面
+        ProxyFactory proxyFactory = new ProxyFactory(service);
+        proxyFactory.addAdvisor(ReadWriteDataSourceConfig.forcePrimaryAdvisor());
+        proxy = (SysUserService) proxyFactory.getProxy();
+
+        SysUser existing = new SysUser();
+        existing.setId(1L);
+        existing.setUsername("alice");
+        when(sysUserMapper.selectList(any())).thenAnswer(invocation -> {
+            primaryForced.add(DataSourceContextHolder.isPrimaryForced());
+            return Collections.singletonList(existing);
+        });
+        when(sysUserMapper.selectById(any())).thenAnswer(invocation -> {
+            primaryForced.add(DataSourceContextHolder.isPrimaryForced());
+            return existing;
+        });
+        when(sysUserMapper.updateById(any())).thenReturn(1);
+        when(sysUserMapper.deleteById(any(SysUser.class))).thenReturn(1);
+        when(sysUserMapper.deleteById(any(Long.class))).thenReturn(1);
+    }
+
+    /**
+     * 测试更新用户的存在性与唯一性校验在主库执行，方法返回后恢复
+     */
+    @Test
+    void testUpdateReadsOnPrimary() {
+        SysUserDTO dto = new SysUserDTO();
+        dto.setId(1L);
+        dto.setUsername("alice");
+
+        proxy.updateUser(dto);
+
+        assertFalse(primaryForced.isEmpty());
+        assertTrue(primaryForced.stream().allMatch(Boolean::booleanValue), "写前校验应走主库");
+        assertFalse(DataSourceContextHolder.isPrimaryForced());
+    }
+
+    /**
+     * 测试删除用户前的存在性检查在主库执行
+     */
+    @Test
+    void testDeleteReadsOnPrimary() {
+        proxy.deleteUser(1L);
+
+        assertFalse(primaryForced.isEmpty());
+        assertTrue(primaryForced.stream().allMatch(Boolean::booleanValue), "写前校验应走主库");
+    }
+}